@@ -1,6 +1,8 @@
 package com.relyon.metasmart.config;
 
 import com.relyon.metasmart.entity.actionplan.*;
+import com.relyon.metasmart.entity.activity.DailyActivityRollup;
+import com.relyon.metasmart.entity.activity.DailyActivityRollupId;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalNote;
@@ -32,7 +34,9 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
@@ -69,6 +73,7 @@ public class DataSeeder implements CommandLineRunner {
     private final GoalNoteRepository goalNoteRepository;
     private final GuardianNudgeRepository guardianNudgeRepository;
     private final DailyJournalRepository dailyJournalRepository;
+    private final DailyActivityRollupRepository dailyActivityRollupRepository;
     private final PasswordEncoder passwordEncoder;
 
     private final Random random = new Random();
@@ -102,6 +107,7 @@ public class DataSeeder implements CommandLineRunner {
         createGoalNotes(goals);
         createGuardianNudges(guardians);
         createDailyJournals(users);
+        createActivityRollups();
 
         log.info("Database seeding completed!");
         log.info("Created {} users, {} goals", users.size(), goals.size());
@@ -273,10 +279,12 @@ public class DataSeeder implements CommandLineRunner {
                         .createdVia(ScheduleSlotCreationType.values()[random.nextInt(ScheduleSlotCreationType.values().length)])
                         .effectiveFrom(LocalDate.now().minusDays(30))
                         .build();
-                slots.add(taskScheduleSlotRepository.save(slot));
+                slots.add(slot);
             }
+            taskScheduleSlotRepository.saveAll(slots);
 
             // Create completions for the past 14 days
+            var completions = new ArrayList<TaskCompletion>();
             for (int dayOffset = 14; dayOffset >= 0; dayOffset--) {
                 var scheduledDate = LocalDate.now().minusDays(dayOffset);
                 var shouldComplete = random.nextDouble() < 0.75;
@@ -292,8 +300,9 @@ public class DataSeeder implements CommandLineRunner {
                         .completedAt(shouldComplete ? scheduledDate.atTime(10 + random.nextInt(10), random.nextInt(60)) : null)
                         .note(shouldComplete ? getRandomCompletionNote() : null)
                         .build();
-                taskCompletionRepository.save(completion);
+                completions.add(completion);
             }
+            taskCompletionRepository.saveAll(completions);
         }
     }
 
@@ -841,6 +850,7 @@ public class DataSeeder implements CommandLineRunner {
                 "Focado(a) no objetivo final"
         );
 
+        var entries = new ArrayList<ProgressEntry>();
         for (var goal : goals) {
             var entryCount = goal.getOwner().getEmail().equals(POLY_EMAIL) ? 15 : 8 + random.nextInt(8);
             var progressPerEntry = goal.getCurrentProgress()
@@ -853,9 +863,10 @@ public class DataSeeder implements CommandLineRunner {
                         .progressValue(progressPerEntry.multiply(BigDecimal.valueOf(variation)).setScale(2, RoundingMode.HALF_UP))
                         .note(notes.get(random.nextInt(notes.size())))
                         .build();
-                progressEntryRepository.save(entry);
+                entries.add(entry);
             }
         }
+        progressEntryRepository.saveAll(entries);
     }
 
     private void createMilestones(List<Goal> goals) {
@@ -867,6 +878,7 @@ public class DataSeeder implements CommandLineRunner {
                 new Object[]{100, "Meta alcancada!"}
         );
 
+        var milestones = new ArrayList<Milestone>();
         for (var goal : goals) {
             var progressPercentage = goal.getCurrentProgress()
                     .multiply(BigDecimal.valueOf(100))
@@ -885,9 +897,10 @@ public class DataSeeder implements CommandLineRunner {
                         .achieved(achieved)
                         .achievedAt(achieved ? LocalDateTime.now().minusDays(random.nextInt(30)) : null)
                         .build();
-                milestoneRepository.save(milestone);
+                milestones.add(milestone);
             }
         }
+        milestoneRepository.saveAll(milestones);
     }
 
     private List<ActionItem> createActionItems(List<Goal> goals) {
@@ -1187,4 +1200,36 @@ public class DataSeeder implements CommandLineRunner {
 
         log.info("Created daily journal entries for users");
     }
+
+    // Built in memory and saved as entities: the repository's upserts are Postgres-only and the seeder also runs on H2
+    private void createActivityRollups() {
+        log.info("Creating daily activity rollups...");
+
+        Map<DailyActivityRollupId, DailyActivityRollup> rollups = new HashMap<>();
+        for (var entry : progressEntryRepository.findAll()) {
+            var rollup = rollupOf(rollups, entry.getOwner().getId(), entry.getProgressDate());
+            rollup.setProgressEntries(rollup.getProgressEntries() + 1);
+        }
+        for (var completion : taskCompletionRepository.findAll()) {
+            if (completion.getStatus() == CompletionStatus.COMPLETED || completion.getStatus() == CompletionStatus.PARTIAL) {
+                var rollup = rollupOf(rollups, completion.getOwner().getId(), completion.getScheduledDate());
+                rollup.setTaskCompletions(rollup.getTaskCompletions() + 1);
+            }
+        }
+        for (var journal : dailyJournalRepository.findAll()) {
+            var rollup = rollupOf(rollups, journal.getUser().getId(), journal.getJournalDate());
+            rollup.setJournal(true);
+            rollup.setShieldUsed(Boolean.TRUE.equals(journal.getShieldUsed()));
+        }
+        dailyActivityRollupRepository.saveAll(rollups.values());
+
+        log.info("Created {} daily activity rollups", rollups.size());
+    }
+
+    private DailyActivityRollup rollupOf(Map<DailyActivityRollupId, DailyActivityRollup> rollups, Long userId, LocalDate date) {
+        return rollups.computeIfAbsent(new DailyActivityRollupId(userId, date), id -> DailyActivityRollup.builder()
+                .userId(userId)
+                .activityDate(date)
+                .build());
+    }
 }
@@ -0,0 +1,28 @@
+package com.relyon.metasmart.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Email outbox dispatcher. Each of the {@code parallelism} workers sends up to {@code batchSize}
+ * messages over one SMTP connection, and all workers together stay under {@code maxPerMinute}.
+ * Failed messages back off from {@code initialBackoff}, doubling per attempt up to
+ * {@code maxBackoff}, and are marked failed after {@code maxAttempts}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.mail.outbox")
+@Getter
+@Setter
+public class EmailOutboxConfig {
+
+    private int batchSize = 50;
+    private int parallelism = 2;
+    private int maxPerMinute = 600;
+    private int maxAttempts = 6;
+    private Duration initialBackoff = Duration.ofMinutes(1);
+    private Duration maxBackoff = Duration.ofHours(1);
+    private Duration lease = Duration.ofMinutes(5);
+}
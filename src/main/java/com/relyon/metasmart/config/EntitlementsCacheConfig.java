@@ -0,0 +1,22 @@
+package com.relyon.metasmart.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-user entitlements cache. Subscription webhooks and purchase consumption invalidate entries
+ * explicitly; {@code ttl} bounds staleness for changes made on another instance.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.entitlements-cache")
+@Getter
+@Setter
+public class EntitlementsCacheConfig {
+
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,48 @@
+package com.relyon.metasmart.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory buckets for a single instance, bounded to {@code maxBuckets}. The least recently used
+ * bucket is dropped first, so a client cycling through addresses cannot grow the heap; a dropped
+ * bucket simply starts full again.
+ */
+public class LocalRateLimitBucketStore implements RateLimitBucketStore {
+
+    private final Map<String, Bucket> buckets;
+
+    public LocalRateLimitBucketStore(int maxBuckets) {
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxBuckets;
+            }
+        };
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+        synchronized (buckets) {
+            return buckets.computeIfAbsent(key, ignored -> createBucket(configuration.get()));
+        }
+    }
+
+    int size() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    private static Bucket createBucket(BucketConfiguration configuration) {
+        var builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+}
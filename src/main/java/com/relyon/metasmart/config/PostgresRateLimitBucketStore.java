@@ -0,0 +1,65 @@
+package com.relyon.metasmart.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfigurationBuilder;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import java.time.Duration;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Buckets stored in the {@code rate_limit_buckets} table, so every instance draws from the same
+ * tokens. Each consume is one row-locked round trip to the database.
+ * <p>
+ * A trigger stamps {@code updated_at} on every write, since bucket4j does not track expiry in its
+ * JDBC store. Rows idle for longer than {@code idleTtl} are deleted in batches on a schedule.
+ */
+@Slf4j
+public class PostgresRateLimitBucketStore implements RateLimitBucketStore {
+
+    static final String TABLE = "rate_limit_buckets";
+
+    private static final String DELETE_IDLE_SQL = "DELETE FROM " + TABLE + " WHERE id IN (SELECT id FROM " + TABLE +
+            " WHERE updated_at < CURRENT_TIMESTAMP - (? * INTERVAL '1 second') LIMIT ?)";
+
+    private final ProxyManager<String> proxyManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration idleTtl;
+    private final int pruneBatchSize;
+
+    public PostgresRateLimitBucketStore(DataSource dataSource, Duration idleTtl, int pruneBatchSize) {
+        var configuration = SQLProxyConfigurationBuilder.builder()
+                .withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+                .withTableSettings(BucketTableSettings.customSettings(TABLE, "id", "state"))
+                .build(dataSource);
+        this.proxyManager = new PostgreSQLSelectForUpdateBasedProxyManager<>(configuration);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.idleTtl = idleTtl;
+        this.pruneBatchSize = pruneBatchSize;
+    }
+
+    @Override
+    public Bucket resolve(String key, Supplier<BucketConfiguration> configuration) {
+        return proxyManager.builder().build(key, configuration);
+    }
+
+    @Scheduled(cron = "${metasmart.rate-limit.prune-cron:0 */10 * * * *}")
+    public void pruneIdleBuckets() {
+        var total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_IDLE_SQL, idleTtl.toSeconds(), pruneBatchSize);
+            total += deleted;
+        } while (deleted == pruneBatchSize);
+        if (total > 0) {
+            log.debug("Pruned {} idle rate limit buckets", total);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.relyon.metasmart.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Authenticated-user cache. Writes to user rows invalidate their entry explicitly; {@code ttl} only
+ * bounds how long a change made outside this instance can go unseen.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.principal-cache")
+@Getter
+@Setter
+public class PrincipalCacheConfig {
+
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,14 @@
+package com.relyon.metasmart.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import java.util.function.Supplier;
+
+/**
+ * Where rate limit buckets live. The configuration supplier is only called when {@code key} has no
+ * bucket yet.
+ */
+public interface RateLimitBucketStore {
+
+    Bucket resolve(String key, Supplier<BucketConfiguration> configuration);
+}
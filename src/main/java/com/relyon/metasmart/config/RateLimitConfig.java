@@ -1,10 +1,23 @@
 package com.relyon.metasmart.config;
 
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Rate limits for auth endpoints and expensive user writes. Shared buckets idle for
+ * {@code bucketIdleTtl} are pruned from Postgres; keep it above the longest full refill, since a
+ * pruned bucket starts full again.
+ */
 @Configuration
 @ConfigurationProperties(prefix = "metasmart.rate-limit")
 @Getter
@@ -12,7 +25,32 @@ import org.springframework.context.annotation.Configuration;
 public class RateLimitConfig {
 
     private boolean enabled = true;
+    private Store store = Store.LOCAL;
+    private int localMaxBuckets = 100_000;
+    private Duration bucketIdleTtl = Duration.ofHours(1);
+    private int pruneBatchSize = 1000;
     private AuthRateLimit auth = new AuthRateLimit();
+    private UserWriteRateLimit userWrites = new UserWriteRateLimit();
+
+    @Bean
+    @ConditionalOnProperty(name = "metasmart.rate-limit.store", havingValue = "local", matchIfMissing = true)
+    public RateLimitBucketStore localRateLimitBucketStore() {
+        return new LocalRateLimitBucketStore(localMaxBuckets);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "metasmart.rate-limit.store", havingValue = "postgres")
+    public RateLimitBucketStore postgresRateLimitBucketStore(DataSource dataSource) {
+        return new PostgresRateLimitBucketStore(dataSource, bucketIdleTtl, pruneBatchSize);
+    }
+
+    /**
+     * {@code LOCAL} keeps buckets per instance; {@code POSTGRES} shares them across instances.
+     */
+    public enum Store {
+        LOCAL,
+        POSTGRES
+    }
 
     @Getter
     @Setter
@@ -20,5 +58,37 @@ public class RateLimitConfig {
         private int capacity = 10;
         private int refillTokens = 10;
         private int refillDurationSeconds = 60;
+
+        public BucketConfiguration toBucketConfiguration() {
+            return bucketConfiguration(capacity, refillTokens, refillDurationSeconds);
+        }
+    }
+
+    /**
+     * Quota per authenticated user, shared by the expensive write endpoints matched by {@code paths}.
+     */
+    @Getter
+    @Setter
+    public static class UserWriteRateLimit {
+        private int capacity = 20;
+        private int refillTokens = 20;
+        private int refillDurationSeconds = 60;
+        private List<String> paths = new ArrayList<>(List.of(
+                "/api/v1/goals/*/progress/bulk",
+                "/api/v1/goals/*/scheduled-tasks/generate/*",
+                "/api/v1/users/profile/picture"));
+
+        public BucketConfiguration toBucketConfiguration() {
+            return bucketConfiguration(capacity, refillTokens, refillDurationSeconds);
+        }
+    }
+
+    private static BucketConfiguration bucketConfiguration(int capacity, int refillTokens, int refillDurationSeconds) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(capacity)
+                        .refillGreedy(refillTokens, Duration.ofSeconds(refillDurationSeconds))
+                        .build())
+                .build();
     }
 }
@@ -1,15 +1,10 @@
 package com.relyon.metasmart.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -27,9 +22,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class RateLimitFilter extends OncePerRequestFilter {
 
     private final RateLimitConfig rateLimitConfig;
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimitBucketStore bucketStore;
 
     private static final String AUTH_PATH = "/api/v1/auth/";
+    private static final String AUTH_KEY_PREFIX = "auth:";
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -38,7 +34,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
         if (isAuthEndpoint(path)) {
             var clientIp = getClientIP(request);
-            var bucket = buckets.computeIfAbsent(clientIp, this::createAuthBucket);
+            var bucket = bucketStore.resolve(AUTH_KEY_PREFIX + clientIp, rateLimitConfig.getAuth()::toBucketConfiguration);
 
             if (bucket.tryConsume(1)) {
                 filterChain.doFilter(request, response);
@@ -57,24 +53,12 @@ public class RateLimitFilter extends OncePerRequestFilter {
         return path.contains(AUTH_PATH);
     }
 
-    private Bucket createAuthBucket(String key) {
-        var authConfig = rateLimitConfig.getAuth();
-        var limit = Bandwidth.builder()
-                .capacity(authConfig.getCapacity())
-                .refillGreedy(authConfig.getRefillTokens(), Duration.ofSeconds(authConfig.getRefillDurationSeconds()))
-                .build();
-        return Bucket.builder().addLimit(limit).build();
-    }
-
+    /**
+     * The connecting address. Forwarded headers are not read here: the client controls them, so any
+     * value would dodge the limit. Behind a proxy, {@code server.forward-headers-strategy} rewrites
+     * the remote address from the last hop the trusted proxies added.
+     */
     private String getClientIP(HttpServletRequest request) {
-        var xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        var xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
         return request.getRemoteAddr();
     }
 }
@@ -0,0 +1,22 @@
+package com.relyon.metasmart.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "metasmart.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitWebConfig implements WebMvcConfigurer {
+
+    private final RateLimitConfig rateLimitConfig;
+    private final RateLimitBucketStore bucketStore;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new UserWriteQuotaInterceptor(rateLimitConfig, bucketStore))
+                .addPathPatterns(rateLimitConfig.getUserWrites().getPaths());
+    }
+}
@@ -0,0 +1,29 @@
+package com.relyon.metasmart.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.social-proof.cache")
+@Getter
+@Setter
+public class SocialProofCacheConfig {
+
+    private int refreshThreads = 2;
+    private Ttl globalStats = new Ttl();
+    private Ttl categoryStats = new Ttl();
+
+    /**
+     * Entries older than {@code refreshAfter} are still served while a reload runs in the
+     * background; entries older than {@code expireAfter} are reloaded before being served.
+     */
+    @Getter
+    @Setter
+    public static class Ttl {
+        private Duration refreshAfter = Duration.ofMinutes(1);
+        private Duration expireAfter = Duration.ofMinutes(30);
+    }
+}
@@ -0,0 +1,34 @@
+package com.relyon.metasmart.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.streaks")
+@Getter
+@Setter
+public class StreakJobConfig {
+
+    private Duration repairLockAtMostFor = Duration.ofHours(1);
+    private Recalculation recalculation = new Recalculation();
+    private EndOfDay endOfDay = new EndOfDay();
+
+    @Getter
+    @Setter
+    public static class Recalculation {
+        private int chunkSize = 500;
+        private int parallelism = 4;
+        private Duration lockAtMostFor = Duration.ofHours(2);
+    }
+
+    @Getter
+    @Setter
+    public static class EndOfDay {
+        private int chunkSize = 200;
+        private int parallelism = 4;
+        private Duration lease = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,51 @@
+package com.relyon.metasmart.config;
+
+import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Charges one token per write request to the authenticated user's bucket. Registered only on the
+ * expensive write paths configured in {@link RateLimitConfig.UserWriteRateLimit#getPaths()}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class UserWriteQuotaInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final String KEY_PREFIX = "user-write:";
+
+    private final RateLimitConfig rateLimitConfig;
+    private final RateLimitBucketStore bucketStore;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (READ_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            return true;
+        }
+
+        var userWrites = rateLimitConfig.getUserWrites();
+        var bucket = bucketStore.resolve(KEY_PREFIX + user.getId(), userWrites::toBucketConfiguration);
+        var probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) {
+            return true;
+        }
+
+        var retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()));
+        log.warn("Write quota exceeded for user: {} on path: {}", user.getId(), request.getRequestURI());
+        throw new RateLimitExceededException(ErrorMessages.TOO_MANY_WRITE_REQUESTS, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.relyon.metasmart.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stripe webhook inbox worker. A failed event is retried after {@code initialBackoff}, doubling per
+ * attempt up to {@code maxBackoff}, and dead-lettered after {@code maxAttempts}. Processed and dead
+ * events, payload included, are deleted once older than {@code processedRetention} and
+ * {@code deadRetention}, {@code pruneBatchSize} rows per transaction.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.webhooks")
+@Getter
+@Setter
+public class WebhookInboxConfig {
+
+    private int batchSize = 50;
+    private int parallelism = 4;
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+    private Duration lease = Duration.ofMinutes(5);
+    private Duration processedRetention = Duration.ofDays(30);
+    private Duration deadRetention = Duration.ofDays(90);
+    private int pruneBatchSize = 1000;
+}
@@ -0,0 +1,21 @@
+package com.relyon.metasmart.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Weekly digest job. Users are split into id ranges of {@code rangeSize}; each range is aggregated,
+ * rendered and queued in one transaction, with {@code parallelism} ranges in flight at a time.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "metasmart.digest")
+@Getter
+@Setter
+public class WeeklyDigestConfig {
+
+    private boolean enabled = true;
+    private int rangeSize = 1000;
+    private int parallelism = 4;
+}
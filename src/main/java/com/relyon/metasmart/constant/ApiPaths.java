@@ -19,6 +19,7 @@ public final class ApiPaths {
     public static final String GUARDIANS = "/guardians";
     public static final String GUARDIAN = API_V1 + "/guardian";
     public static final String NUDGES = "/nudges";
+    public static final String FEED = "/feed";
     public static final String SOCIAL = API_V1 + "/social";
     public static final String DASHBOARD = API_V1 + "/dashboard";
     public static final String USERS = API_V1 + "/users";
@@ -28,4 +29,5 @@ public final class ApiPaths {
     public static final String STREAKS = API_V1 + "/streaks";
     public static final String JOURNAL = API_V1 + "/journal";
     public static final String HISTORY = API_V1 + "/history";
+    public static final String ADMIN = API_V1 + "/admin";
 }
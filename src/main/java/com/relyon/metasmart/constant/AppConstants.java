@@ -30,6 +30,9 @@ public final class AppConstants {
     public static final int DEFAULT_PAGE_SIZE = 10;
     public static final int MAX_PAGE_SIZE = 100;
 
+    // Goal response enrichment
+    public static final int GOAL_RESPONSE_CHECKIN_LIMIT = 50;
+
     // Subscription Tier Limits - FREE
     public static final int FREE_MAX_GOALS = 2;
     public static final int FREE_MAX_GUARDIANS_PER_GOAL = 1;
@@ -45,4 +48,36 @@ public final class AppConstants {
     public static final int MAX_STREAK_SHIELDS = 2;
     public static final int CONSECUTIVE_JOURNAL_DAYS_FOR_SHIELD = 7;
     public static final int SHIELDS_PER_WEEK = 1;
+
+    // Goal streak repair job
+    public static final int GOAL_STREAK_REPAIR_BATCH_SIZE = 200;
+
+    // Goal progress reconciliation job
+    public static final int GOAL_PROGRESS_RECONCILIATION_BATCH_SIZE = 500;
+
+    // Attempts for a goal edit that keeps losing its optimistic lock to concurrent progress writes
+    public static final int GOAL_UPDATE_MAX_ATTEMPTS = 3;
+
+    // User streak recalculation: history read per user before falling back to the full calendar
+    public static final int STREAK_RECALCULATION_WINDOW_DAYS = 366;
+
+    // Timezone assumed for users without preferences
+    public static final String DEFAULT_TIMEZONE = "UTC";
+
+    // Dashboard snapshot: rebuilt once older than this even without writes (pending reflections are time-based)
+    public static final int DASHBOARD_SNAPSHOT_MAX_AGE_MINUTES = 15;
+
+    // Ids reserved per sequence call; must match the INCREMENT BY of every entity id sequence
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Rows pulled per round trip by the streaming activity history export (query hint value)
+    public static final String HISTORY_EXPORT_FETCH_SIZE = "500";
+
+    // Keyset history feeds: page size when the client sends none, and the largest page it may ask for
+    public static final int HISTORY_FEED_DEFAULT_SIZE = 20;
+    public static final int HISTORY_FEED_MAX_SIZE = 100;
+
+    // Calendar years the activity heatmap accepts
+    public static final int HEATMAP_MIN_YEAR = 1970;
+    public static final int HEATMAP_MAX_YEAR = 9999;
 }
@@ -15,13 +15,19 @@ public final class ErrorMessages {
     public static final String VALIDATION_FAILED = "Validation failed";
     public static final String GOAL_NOT_FOUND = "Goal not found";
     public static final String GOAL_ACCESS_DENIED = "You don't have access to this goal";
+    public static final String GOAL_CONCURRENTLY_MODIFIED = "Goal was changed by another request, please try again";
     public static final String INVALID_DATE_RANGE = "Target date must be after start date";
+    public static final String INVALID_HISTORY_RANGE = "Start date must not be after end date";
+    public static final String INVALID_HISTORY_CURSOR = "Invalid or expired history cursor";
+    public static final String INVALID_HEATMAP_YEAR = "Year must be between 1970 and 9999";
     public static final String PROGRESS_ENTRY_NOT_FOUND = "Progress entry not found";
     public static final String MILESTONE_NOT_FOUND = "Milestone not found";
     public static final String MILESTONE_ALREADY_EXISTS = "Milestone with this percentage already exists";
     public static final String ACTION_ITEM_NOT_FOUND = "Action item not found";
     public static final String OBSTACLE_ENTRY_NOT_FOUND = "Obstacle entry not found";
     public static final String GOAL_TEMPLATE_NOT_FOUND = "Goal template not found";
+    public static final String INVALID_GOAL_FIELDS = "Invalid fields value. Use 'full' or 'summary'";
+    public static final String INVALID_GOAL_INCLUDE = "Unknown goal section in include: ";
 
     // Guardian related
     public static final String GUARDIAN_NOT_FOUND = "Guardian not found";
@@ -45,6 +51,7 @@ public final class ErrorMessages {
     public static final String TASK_COMPLETION_NOT_FOUND = "Task completion not found";
     public static final String SCHEDULED_TASK_NOT_FOUND = "Scheduled task not found";
     public static final String SCHEDULED_TASK_ALREADY_EXISTS = "Scheduled task already exists for this date";
+    public static final String SCHEDULED_TASKS_CONFLICT = "Some dates were scheduled by another request, please retry";
 
     // Schedule slot related
     public static final String SCHEDULE_SLOT_NOT_FOUND = "Schedule slot not found";
@@ -52,6 +59,7 @@ public final class ErrorMessages {
 
     // Streak related
     public static final String STREAK_NOT_FOUND = "Streak info not found";
+    public static final String STREAK_RECALCULATION_RUNNING = "A streak recalculation is already running";
 
     // Daily journal related
     public static final String DAILY_JOURNAL_NOT_FOUND = "Journal entry not found";
@@ -62,6 +70,9 @@ public final class ErrorMessages {
     public static final String INVALID_NUMBER_FORMAT = "Invalid number format provided";
     public static final String UNEXPECTED_ERROR = "An unexpected error occurred. Please try again later.";
 
+    // Rate limiting related
+    public static final String TOO_MANY_WRITE_REQUESTS = "Too many write requests. Please try again later.";
+
     // Payment related
     public static final String FAILED_TO_CREATE_PAYMENT_SESSION = "Failed to create payment session";
     public static final String FAILED_TO_DESERIALIZE_SESSION = "Failed to deserialize session";
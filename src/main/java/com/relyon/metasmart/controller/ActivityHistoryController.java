@@ -1,19 +1,26 @@
 package com.relyon.metasmart.controller;
 
 import com.relyon.metasmart.constant.ApiPaths;
+import com.relyon.metasmart.entity.history.dto.ActivityHeatmapResponse;
 import com.relyon.metasmart.entity.history.dto.ActivityHistoryResponse;
 import com.relyon.metasmart.entity.history.dto.DailyActivityResponse;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.service.ActivityHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 @Slf4j
 @RestController
@@ -23,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class ActivityHistoryController {
 
     private final ActivityHistoryService activityHistoryService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(summary = "Get activity history grouped by day")
@@ -34,6 +42,32 @@ public class ActivityHistoryController {
         return ResponseEntity.ok(activityHistoryService.getActivityHistory(user, startDate, endDate));
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream activity history as one JSON line per active day, newest first")
+    public ResponseEntity<StreamingResponseBody> exportActivityHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal User user) {
+        log.debug("Export activity history request from {} to {} for user: {}", startDate, endDate, user.getEmail());
+        activityHistoryService.validateHistoryRange(startDate, endDate);
+
+        StreamingResponseBody body = outputStream -> activityHistoryService.streamActivityHistory(
+                user, startDate, endDate, day -> writeLine(outputStream, day));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/heatmap")
+    @Operation(summary = "Get per-day activity counts for a calendar year")
+    public ResponseEntity<ActivityHeatmapResponse> getYearHeatmap(
+            @RequestParam(required = false) Integer year,
+            @AuthenticationPrincipal User user) {
+        var heatmapYear = year != null ? year : LocalDate.now().getYear();
+        log.debug("Get activity heatmap request for {} for user: {}", heatmapYear, user.getEmail());
+        return ResponseEntity.ok(activityHistoryService.getYearHeatmap(user, heatmapYear));
+    }
+
     @GetMapping("/date/{date}")
     @Operation(summary = "Get activity for a specific day")
     public ResponseEntity<DailyActivityResponse> getDailyActivity(
@@ -42,4 +76,13 @@ public class ActivityHistoryController {
         log.debug("Get daily activity request for date: {} for user: {}", date, user.getEmail());
         return ResponseEntity.ok(activityHistoryService.getDailyActivity(user, date));
     }
+
+    private void writeLine(OutputStream outputStream, DailyActivityResponse day) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(day));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
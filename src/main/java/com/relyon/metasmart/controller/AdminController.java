@@ -0,0 +1,38 @@
+package com.relyon.metasmart.controller;
+
+import com.relyon.metasmart.constant.ApiPaths;
+import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.DuplicateResourceException;
+import com.relyon.metasmart.service.UserStreakRecalculationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping(ApiPaths.ADMIN)
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Maintenance endpoints restricted to administrators")
+public class AdminController {
+
+    private final UserStreakRecalculationService userStreakRecalculationService;
+
+    @PostMapping("/streaks/recalculate")
+    @Operation(summary = "Start recalculating every user's streak in the background")
+    public ResponseEntity<Void> recalculateAllStreaks(
+            @AuthenticationPrincipal User user) {
+
+        log.info("User streak recalculation requested by: {}", user.getEmail());
+        if (!userStreakRecalculationService.startRecalculation()) {
+            throw new DuplicateResourceException(ErrorMessages.STREAK_RECALCULATION_RUNNING);
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
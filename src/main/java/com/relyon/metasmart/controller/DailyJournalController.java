@@ -1,6 +1,7 @@
 package com.relyon.metasmart.controller;
 
 import com.relyon.metasmart.constant.ApiPaths;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.journal.dto.DailyJournalRequest;
 import com.relyon.metasmart.entity.journal.dto.DailyJournalResponse;
 import com.relyon.metasmart.entity.journal.dto.UpdateDailyJournalRequest;
@@ -71,6 +72,16 @@ public class DailyJournalController {
         return ResponseEntity.ok(dailyJournalService.getJournalHistory(user, pageable));
     }
 
+    @GetMapping(ApiPaths.FEED)
+    @Operation(summary = "Get journal history page by page from a continuation cursor")
+    public ResponseEntity<CursorPage<DailyJournalResponse>> getJournalFeed(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Get journal feed request for user: {}", user.getEmail());
+        return ResponseEntity.ok(dailyJournalService.getJournalFeed(user, cursor, size));
+    }
+
     @GetMapping("/range")
     @Operation(summary = "Get journal entries by date range")
     public ResponseEntity<List<DailyJournalResponse>> getJournalEntriesByDateRange(
@@ -3,6 +3,7 @@ package com.relyon.metasmart.controller;
 import com.relyon.metasmart.constant.ApiPaths;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalFieldSelection;
 import com.relyon.metasmart.entity.goal.dto.GoalRequest;
 import com.relyon.metasmart.entity.goal.dto.GoalResponse;
 import com.relyon.metasmart.entity.goal.dto.UpdateGoalRequest;
@@ -42,39 +43,47 @@ public class GoalController {
     @GetMapping("/{id}")
     public ResponseEntity<GoalResponse> findById(
             @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user
     ) {
         log.debug("Received request to get goal ID: {} for user ID: {}", id, user.getId());
-        return ResponseEntity.ok(goalService.findById(id, user));
+        return ResponseEntity.ok(goalService.findById(id, user, GoalFieldSelection.of(fields, include)));
     }
 
     @GetMapping
     public ResponseEntity<Page<GoalResponse>> findAll(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         log.debug("Received request to get all goals for user ID: {}", user.getId());
-        return ResponseEntity.ok(goalService.findAll(user, pageable));
+        return ResponseEntity.ok(goalService.findAll(user, pageable, GoalFieldSelection.of(fields, include)));
     }
 
     @GetMapping("/status/{status}")
     public ResponseEntity<Page<GoalResponse>> findByStatus(
             @PathVariable("status") GoalStatus goalStatus,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         log.debug("Received request to get goals by status: {} for user ID: {}", goalStatus, user.getId());
-        return ResponseEntity.ok(goalService.findByStatus(user, goalStatus, pageable));
+        return ResponseEntity.ok(goalService.findByStatus(user, goalStatus, pageable, GoalFieldSelection.of(fields, include)));
     }
 
     @GetMapping("/category/{category}")
     public ResponseEntity<Page<GoalResponse>> findByCategory(
             @PathVariable("category") GoalCategory goalCategory,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         log.debug("Received request to get goals by category: {} for user ID: {}", goalCategory, user.getId());
-        return ResponseEntity.ok(goalService.findByCategory(user, goalCategory, pageable));
+        return ResponseEntity.ok(goalService.findByCategory(user, goalCategory, pageable, GoalFieldSelection.of(fields, include)));
     }
 
     @PutMapping("/{id}")
@@ -117,32 +126,38 @@ public class GoalController {
 
     @GetMapping("/archived")
     public ResponseEntity<Page<GoalResponse>> findArchived(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user,
             @PageableDefault(size = 10, sort = "archivedAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         log.debug("Received request to get archived goals for user ID: {}", user.getId());
-        return ResponseEntity.ok(goalService.findArchived(user, pageable));
+        return ResponseEntity.ok(goalService.findArchived(user, pageable, GoalFieldSelection.of(fields, include)));
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<GoalResponse>> search(
             @RequestParam String query,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         log.debug("Searching goals with query: {} for user ID: {}", query, user.getId());
-        return ResponseEntity.ok(goalService.search(user, query, pageable));
+        return ResponseEntity.ok(goalService.search(user, query, pageable, GoalFieldSelection.of(fields, include)));
     }
 
     @GetMapping("/filter")
     public ResponseEntity<Page<GoalResponse>> filter(
             @RequestParam(required = false) GoalStatus status,
             @RequestParam(required = false) GoalCategory category,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
             @AuthenticationPrincipal User user,
             @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
         log.debug("Filtering goals with status: {}, category: {} for user ID: {}", status, category, user.getId());
-        return ResponseEntity.ok(goalService.filter(user, status, category, pageable));
+        return ResponseEntity.ok(goalService.filter(user, status, category, pageable, GoalFieldSelection.of(fields, include)));
     }
 
     @GetMapping("/due-soon")
@@ -5,6 +5,7 @@ import com.relyon.metasmart.entity.guardian.dto.GoalGuardianResponse;
 import com.relyon.metasmart.entity.guardian.dto.InviteGuardianRequest;
 import com.relyon.metasmart.entity.guardian.dto.NudgeResponse;
 import com.relyon.metasmart.entity.guardian.dto.ReactToNudgeRequest;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.service.GoalGuardianService;
 import com.relyon.metasmart.service.GuardianNudgeService;
@@ -73,6 +74,17 @@ public class GoalGuardianController {
         return ResponseEntity.ok(guardianNudgeService.getNudgesForGoal(goalId, user, pageable));
     }
 
+    @GetMapping(ApiPaths.NUDGES + ApiPaths.FEED)
+    public ResponseEntity<CursorPage<NudgeResponse>> getNudgeFeed(
+            @PathVariable Long goalId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        log.debug("Getting nudge feed for goal ID: {} by user ID: {}", goalId, user.getId());
+        return ResponseEntity.ok(guardianNudgeService.getNudgeFeedForGoal(goalId, user, cursor, size));
+    }
+
     @PutMapping(ApiPaths.NUDGES + "/{nudgeId}/read")
     public ResponseEntity<NudgeResponse> markNudgeAsRead(
             @PathVariable Long goalId,
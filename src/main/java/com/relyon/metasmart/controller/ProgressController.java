@@ -1,6 +1,7 @@
 package com.relyon.metasmart.controller;
 
 import com.relyon.metasmart.constant.ApiPaths;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.progress.dto.*;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.service.ProgressService;
@@ -67,6 +68,17 @@ public class ProgressController {
         return ResponseEntity.ok(progressService.getProgressHistory(goalId, user, pageable));
     }
 
+    @GetMapping(ApiPaths.PROGRESS + ApiPaths.FEED)
+    public ResponseEntity<CursorPage<ProgressEntryResponse>> getProgressFeed(
+            @PathVariable Long goalId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        log.debug("Received request to get progress feed for goal ID: {}", goalId);
+        return ResponseEntity.ok(progressService.getProgressFeed(goalId, user, cursor, size));
+    }
+
     @PutMapping(ApiPaths.PROGRESS + "/{entryId}")
     public ResponseEntity<ProgressEntryResponse> updateProgressEntry(
             @PathVariable Long goalId,
@@ -1,6 +1,7 @@
 package com.relyon.metasmart.controller;
 
 import com.relyon.metasmart.constant.ApiPaths;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.reflection.dto.PendingReflectionResponse;
 import com.relyon.metasmart.entity.reflection.dto.ReflectionRequest;
 import com.relyon.metasmart.entity.reflection.dto.ReflectionResponse;
@@ -65,6 +66,17 @@ public class ReflectionController {
         return ResponseEntity.ok(reflectionService.getReflectionHistory(goalId, user, pageable));
     }
 
+    @GetMapping("/{goalId}/reflections" + ApiPaths.FEED)
+    @Operation(summary = "Get reflection history page by page from a continuation cursor")
+    public ResponseEntity<CursorPage<ReflectionResponse>> getReflectionFeed(
+            @PathVariable Long goalId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Getting reflection feed for goal: {} by user: {}", goalId, user.getEmail());
+        return ResponseEntity.ok(reflectionService.getReflectionFeed(goalId, user, cursor, size));
+    }
+
     @GetMapping("/{goalId}/reflections/{reflectionId}")
     @Operation(summary = "Get a specific reflection")
     public ResponseEntity<ReflectionResponse> getReflection(
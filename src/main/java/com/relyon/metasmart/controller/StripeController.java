@@ -4,6 +4,7 @@ import com.relyon.metasmart.entity.subscription.dto.CheckoutResponse;
 import com.relyon.metasmart.entity.subscription.dto.CreateCheckoutRequest;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.service.StripeService;
+import com.relyon.metasmart.service.WebhookInboxService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class StripeController {
 
     private final StripeService stripeService;
+    private final WebhookInboxService webhookInboxService;
 
     @PostMapping("/checkout")
     @Operation(summary = "Create a checkout session for subscription or one-time purchase")
@@ -33,13 +35,13 @@ public class StripeController {
     }
 
     @PostMapping("/webhook")
-    @Operation(summary = "Handle Stripe webhook events")
+    @Operation(summary = "Record a Stripe webhook event for asynchronous processing")
     public ResponseEntity<String> handleWebhook(
             @RequestBody String payload,
             @RequestHeader("Stripe-Signature") String sigHeader) {
         log.debug("Received Stripe webhook");
         var event = stripeService.constructEvent(payload, sigHeader);
-        stripeService.handleWebhookEvent(event);
+        webhookInboxService.record(event, payload);
         return ResponseEntity.ok("Received");
     }
 }
@@ -1,6 +1,7 @@
 package com.relyon.metasmart.controller;
 
 import com.relyon.metasmart.constant.ApiPaths;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.struggling.dto.StrugglingHelpRequest;
 import com.relyon.metasmart.entity.struggling.dto.StrugglingHelpResponse;
 import com.relyon.metasmart.entity.struggling.dto.StrugglingStatusResponse;
@@ -52,6 +53,16 @@ public class StrugglingController {
         return ResponseEntity.ok(strugglingService.getHistory(user, pageable));
     }
 
+    @GetMapping("/struggling/history" + ApiPaths.FEED)
+    @Operation(summary = "Get struggling help history page by page from a continuation cursor")
+    public ResponseEntity<CursorPage<StrugglingHelpResponse>> getHistoryFeed(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Getting struggling history feed for user: {}", user.getEmail());
+        return ResponseEntity.ok(strugglingService.getHistoryFeed(user, cursor, size));
+    }
+
     @PutMapping("/struggling/{requestId}/feedback")
     @Operation(summary = "Mark if the help was useful")
     public ResponseEntity<Void> markHelpful(
@@ -3,6 +3,7 @@ package com.relyon.metasmart.controller;
 import com.relyon.metasmart.constant.ApiPaths;
 import com.relyon.metasmart.entity.actionplan.dto.TaskCompletionDto;
 import com.relyon.metasmart.entity.actionplan.dto.TaskCompletionRequest;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.service.TaskCompletionService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -79,6 +80,20 @@ public class TaskCompletionController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping(ApiPaths.FEED)
+    @Operation(summary = "Get completion history page by page from a continuation cursor")
+    public ResponseEntity<CursorPage<TaskCompletionDto>> getCompletionFeed(
+            @PathVariable Long goalId,
+            @PathVariable Long actionItemId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        log.debug("Retrieving completion feed for action item: {} in goal: {} by user: {}",
+                actionItemId, goalId, user.getEmail());
+        return ResponseEntity.ok(taskCompletionService.getCompletionFeed(goalId, actionItemId, user, cursor, size));
+    }
+
     @GetMapping("/range")
     @Operation(summary = "Get completions within a date range")
     public ResponseEntity<List<TaskCompletionDto>> getCompletionsByDateRange(
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.actionplan;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
 import jakarta.persistence.*;
@@ -19,7 +21,8 @@ import lombok.experimental.SuperBuilder;
 public class ActionItem extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "action_items_id_seq")
+    @SequenceGenerator(name = "action_items_id_seq", sequenceName = "action_items_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,6 +1,9 @@
 package com.relyon.metasmart.entity.actionplan;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
+import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -8,7 +11,11 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "scheduled_tasks")
+@Table(name = "scheduled_tasks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_scheduled_tasks_action_item_date", columnNames = {"action_item_id", "scheduled_date"})
+}, indexes = {
+    @Index(name = "idx_scheduled_tasks_user_date", columnList = "user_id, scheduled_date")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -17,13 +24,21 @@ import lombok.experimental.SuperBuilder;
 public class ScheduledTask extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "scheduled_tasks_id_seq")
+    @SequenceGenerator(name = "scheduled_tasks_id_seq", sequenceName = "scheduled_tasks_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "action_item_id", nullable = false)
     private ActionItem actionItem;
 
+    /**
+     * Copy of the goal owner, kept on the row so user-scoped queries skip the action item and goal joins.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User owner;
+
     @Column(nullable = false)
     private LocalDate scheduledDate;
 
@@ -33,4 +48,11 @@ public class ScheduledTask extends AuditableEntity {
 
     @Column
     private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (owner == null && actionItem != null && actionItem.getGoal() != null) {
+            owner = actionItem.getGoal().getOwner();
+        }
+    }
 }
@@ -1,6 +1,9 @@
 package com.relyon.metasmart.entity.actionplan;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
+import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -8,7 +11,11 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "task_completions")
+@Table(name = "task_completions", indexes = {
+    @Index(name = "idx_task_completions_item_date_status", columnList = "action_item_id, scheduled_date, status"),
+    @Index(name = "idx_task_completions_user_date", columnList = "user_id, scheduled_date"),
+    @Index(name = "idx_task_completions_item_created_id", columnList = "action_item_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -17,13 +24,21 @@ import lombok.experimental.SuperBuilder;
 public class TaskCompletion extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_completions_id_seq")
+    @SequenceGenerator(name = "task_completions_id_seq", sequenceName = "task_completions_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "action_item_id", nullable = false)
     private ActionItem actionItem;
 
+    /**
+     * Copy of the goal owner, kept on the row so user-scoped queries skip the action item and goal joins.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User owner;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "schedule_slot_id")
     private TaskScheduleSlot scheduleSlot;
@@ -59,4 +74,11 @@ public class TaskCompletion extends AuditableEntity {
     public void setDate(LocalDate date) {
         this.scheduledDate = date;
     }
+
+    @PrePersist
+    protected void onCreate() {
+        if (owner == null && actionItem != null && actionItem.getGoal() != null) {
+            owner = actionItem.getGoal().getOwner();
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.actionplan;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import jakarta.persistence.*;
 import java.time.LocalDate;
@@ -16,7 +18,8 @@ import lombok.experimental.SuperBuilder;
 public class TaskScheduleSlot extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_schedule_slots_id_seq")
+    @SequenceGenerator(name = "task_schedule_slots_id_seq", sequenceName = "task_schedule_slots_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
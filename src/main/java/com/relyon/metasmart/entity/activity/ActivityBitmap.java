@@ -0,0 +1,265 @@
+package com.relyon.metasmart.entity.activity;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Set of days stored as a bitset over epoch days. Bit {@code i} of the word array stands for
+ * epoch day {@code originEpochDay + i}. The origin is always a multiple of 64, so two bitmaps
+ * line up word for word and the set can grow backwards by prepending whole words.
+ * <p>
+ * Runs, gaps and range counts are computed on whole {@code long} words rather than by walking
+ * individual dates. Not thread-safe.
+ */
+public final class ActivityBitmap {
+
+    private static final int WORD_BITS = 64;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = WORD_BITS - 1;
+
+    private long originEpochDay;
+    private long[] words;
+
+    private ActivityBitmap(long originEpochDay, long[] words) {
+        this.originEpochDay = originEpochDay;
+        this.words = words;
+    }
+
+    public static ActivityBitmap empty() {
+        return new ActivityBitmap(0, new long[0]);
+    }
+
+    public static ActivityBitmap of(long originEpochDay, byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return empty();
+        }
+        var words = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(words);
+        return new ActivityBitmap(originEpochDay, words);
+    }
+
+    public static ActivityBitmap of(Collection<LocalDate> days) {
+        var bitmap = empty();
+        days.forEach(bitmap::set);
+        return bitmap;
+    }
+
+    public long getOriginEpochDay() {
+        return originEpochDay;
+    }
+
+    /**
+     * Backing words, bit {@code i} of word {@code w} being epoch day {@code origin + w * 64 + i}.
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    public byte[] toBytes() {
+        var buffer = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    public boolean isEmpty() {
+        for (var word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean contains(LocalDate day) {
+        var index = day.toEpochDay() - originEpochDay;
+        if (index < 0 || index >= (long) words.length * WORD_BITS) {
+            return false;
+        }
+        return (words[(int) (index >>> WORD_SHIFT)] & (1L << (index & WORD_MASK))) != 0;
+    }
+
+    /**
+     * @return whether the day was newly added
+     */
+    public boolean set(LocalDate day) {
+        ensureCovers(day.toEpochDay());
+        var index = day.toEpochDay() - originEpochDay;
+        var wordIndex = (int) (index >>> WORD_SHIFT);
+        var bit = 1L << (index & WORD_MASK);
+        var changed = (words[wordIndex] & bit) == 0;
+        words[wordIndex] |= bit;
+        return changed;
+    }
+
+    /**
+     * @return whether the day was present
+     */
+    public boolean clear(LocalDate day) {
+        if (!contains(day)) {
+            return false;
+        }
+        var index = day.toEpochDay() - originEpochDay;
+        words[(int) (index >>> WORD_SHIFT)] &= ~(1L << (index & WORD_MASK));
+        return true;
+    }
+
+    /**
+     * Number of days set between {@code from} and {@code to}, both inclusive.
+     */
+    public int countInRange(LocalDate from, LocalDate to) {
+        var fromIndex = Math.max(from.toEpochDay() - originEpochDay, 0);
+        var toIndex = Math.min(to.toEpochDay() - originEpochDay, (long) words.length * WORD_BITS - 1);
+        if (fromIndex > toIndex) {
+            return 0;
+        }
+
+        var firstWord = (int) (fromIndex >>> WORD_SHIFT);
+        var lastWord = (int) (toIndex >>> WORD_SHIFT);
+        var count = 0;
+        for (var wordIndex = firstWord; wordIndex <= lastWord; wordIndex++) {
+            var word = words[wordIndex];
+            if (wordIndex == firstWord) {
+                word &= -1L << (fromIndex & WORD_MASK);
+            }
+            if (wordIndex == lastWord) {
+                word &= -1L >>> (WORD_MASK - (toIndex & WORD_MASK));
+            }
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Length of the run of consecutive days ending at {@code day}, or zero when the day is not set.
+     */
+    public int runEndingAt(LocalDate day) {
+        var index = day.toEpochDay() - originEpochDay;
+        if (!contains(day)) {
+            return 0;
+        }
+
+        var wordIndex = (int) (index >>> WORD_SHIFT);
+        var topBit = (int) (index & WORD_MASK);
+        var run = 0;
+        while (wordIndex >= 0) {
+            var inRange = topBit == WORD_MASK ? -1L : (1L << (topBit + 1)) - 1;
+            var missing = ~words[wordIndex] & inRange;
+            if (missing == 0) {
+                run += topBit + 1;
+                wordIndex--;
+                topBit = WORD_MASK;
+            } else {
+                var highestMissing = WORD_MASK - Long.numberOfLeadingZeros(missing);
+                return run + topBit - highestMissing;
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Length of the longest run of consecutive days anywhere in the set.
+     */
+    public int longestRun() {
+        var longest = 0;
+        var current = 0;
+        for (var word : words) {
+            if (word == -1L) {
+                current += WORD_BITS;
+                continue;
+            }
+            current += Long.numberOfTrailingZeros(~word);
+            longest = Math.max(longest, Math.max(current, longestRunWithin(word)));
+            current = Long.numberOfLeadingZeros(~word);
+        }
+        return Math.max(longest, current);
+    }
+
+    /**
+     * Latest day set on or before {@code day}; the gap to a later day is the distance between them.
+     */
+    public Optional<LocalDate> lastDayOnOrBefore(LocalDate day) {
+        var index = Math.min(day.toEpochDay() - originEpochDay, (long) words.length * WORD_BITS - 1);
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        var wordIndex = (int) (index >>> WORD_SHIFT);
+        var word = words[wordIndex] & (-1L >>> (WORD_MASK - (index & WORD_MASK)));
+        while (word == 0) {
+            if (--wordIndex < 0) {
+                return Optional.empty();
+            }
+            word = words[wordIndex];
+        }
+        var bit = WORD_MASK - Long.numberOfLeadingZeros(word);
+        return Optional.of(LocalDate.ofEpochDay(originEpochDay + ((long) wordIndex << WORD_SHIFT) + bit));
+    }
+
+    public Optional<LocalDate> lastDay() {
+        if (words.length == 0) {
+            return Optional.empty();
+        }
+        return lastDayOnOrBefore(LocalDate.ofEpochDay(originEpochDay + (long) words.length * WORD_BITS - 1));
+    }
+
+    /**
+     * Union of this set and {@code other}, e.g. real activity plus shield-covered days.
+     */
+    public ActivityBitmap or(ActivityBitmap other) {
+        if (other.words.length == 0) {
+            return new ActivityBitmap(originEpochDay, words.clone());
+        }
+        if (words.length == 0) {
+            return new ActivityBitmap(other.originEpochDay, other.words.clone());
+        }
+
+        var origin = Math.min(originEpochDay, other.originEpochDay);
+        var end = Math.max(originEpochDay + (long) words.length * WORD_BITS,
+                other.originEpochDay + (long) other.words.length * WORD_BITS);
+        var result = new long[(int) ((end - origin) >>> WORD_SHIFT)];
+        orInto(result, origin, this);
+        orInto(result, origin, other);
+        return new ActivityBitmap(origin, result);
+    }
+
+    private static void orInto(long[] target, long targetOrigin, ActivityBitmap source) {
+        var offset = (int) ((source.originEpochDay - targetOrigin) >>> WORD_SHIFT);
+        for (var wordIndex = 0; wordIndex < source.words.length; wordIndex++) {
+            target[offset + wordIndex] |= source.words[wordIndex];
+        }
+    }
+
+    private static int longestRunWithin(long word) {
+        var run = 0;
+        while (word != 0) {
+            word &= word << 1;
+            run++;
+        }
+        return run;
+    }
+
+    private void ensureCovers(long epochDay) {
+        if (words.length == 0) {
+            originEpochDay = Math.floorDiv(epochDay, WORD_BITS) * WORD_BITS;
+            words = new long[1];
+            return;
+        }
+        if (epochDay < originEpochDay) {
+            var newOrigin = Math.floorDiv(epochDay, WORD_BITS) * WORD_BITS;
+            var prepended = (int) ((originEpochDay - newOrigin) >>> WORD_SHIFT);
+            var grown = new long[words.length + prepended];
+            System.arraycopy(words, 0, grown, prepended, words.length);
+            words = grown;
+            originEpochDay = newOrigin;
+            return;
+        }
+        var wordIndex = (epochDay - originEpochDay) >>> WORD_SHIFT;
+        if (wordIndex >= words.length) {
+            words = Arrays.copyOf(words, (int) wordIndex + 1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.relyon.metasmart.entity.activity;
+
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Persistent {@link ActivityBitmap}: one row per user and calendar type for user-level days,
+ * plus one {@link ActivityCalendarType#ACTIVITY} row per goal for its progress days.
+ * <p>
+ * Uniqueness is enforced by the partial unique indexes of V9, on {@code (user_id, calendar_type)}
+ * for user rows and {@code (goal_id, calendar_type)} for goal rows, which JPA cannot declare.
+ */
+@Entity
+@Table(name = "activity_calendars")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityCalendar extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_calendars_id_seq")
+    @SequenceGenerator(name = "activity_calendars_id_seq", sequenceName = "activity_calendars_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "goal_id")
+    private Goal goal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "calendar_type", nullable = false, length = 20)
+    private ActivityCalendarType calendarType;
+
+    @Builder.Default
+    @Column(name = "origin_epoch_day", nullable = false)
+    private Long originEpochDay = 0L;
+
+    @Builder.Default
+    @Column(name = "day_bits", nullable = false, length = 8192)
+    private byte[] dayBits = new byte[0];
+
+    public ActivityBitmap toBitmap() {
+        return ActivityBitmap.of(originEpochDay, dayBits);
+    }
+
+    public void setBitmap(ActivityBitmap bitmap) {
+        this.originEpochDay = bitmap.getOriginEpochDay();
+        this.dayBits = bitmap.toBytes();
+    }
+}
@@ -0,0 +1,7 @@
+package com.relyon.metasmart.entity.activity;
+
+public enum ActivityCalendarType {
+    ACTIVITY,
+    JOURNAL,
+    SHIELD
+}
@@ -0,0 +1,56 @@
+package com.relyon.metasmart.entity.activity;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Activity of one user on one day, keyed by user and date so a year is a single index range of at
+ * most 366 rows. Counts only include real activity (progress entries and completed or partial tasks);
+ * rows are written by upserts in {@link com.relyon.metasmart.repository.DailyActivityRollupRepository}
+ * and may remain with zero counts after deletes.
+ */
+@Entity
+@Table(name = "daily_activity_rollup")
+@IdClass(DailyActivityRollupId.class)
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyActivityRollup extends AuditableEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    @Builder.Default
+    @Column(name = "task_completions", nullable = false)
+    private Integer taskCompletions = 0;
+
+    @Builder.Default
+    @Column(name = "progress_entries", nullable = false)
+    private Integer progressEntries = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean journal = false;
+
+    @Builder.Default
+    @Column(name = "shield_used", nullable = false)
+    private Boolean shieldUsed = false;
+
+    public boolean hasRealActivity() {
+        return taskCompletions > 0 || progressEntries > 0;
+    }
+
+    public boolean hasActivity() {
+        return hasRealActivity() || Boolean.TRUE.equals(journal);
+    }
+}
@@ -0,0 +1,16 @@
+package com.relyon.metasmart.entity.activity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyActivityRollupId implements Serializable {
+
+    private Long userId;
+    private LocalDate activityDate;
+}
@@ -0,0 +1,17 @@
+package com.relyon.metasmart.entity.activity.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivityDate {
+
+    private Long userId;
+    private LocalDate activityDate;
+}
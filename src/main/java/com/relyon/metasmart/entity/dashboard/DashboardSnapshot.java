@@ -0,0 +1,70 @@
+package com.relyon.metasmart.entity.dashboard;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import com.relyon.metasmart.entity.dashboard.dto.StreakAtRiskDto;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Dashboard counters of one user, keyed by user id so the dashboard is a single primary-key read.
+ * Writes that change any of the counters flag the row stale; it is also rebuilt on a new day, since
+ * streaks at risk depend on the date, and once it is older than the staleness bound.
+ */
+@Entity
+@Table(name = "dashboard_snapshot")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSnapshot extends AuditableEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Builder.Default
+    @Column(name = "active_goals_count", nullable = false)
+    private Long activeGoalsCount = 0L;
+
+    @Builder.Default
+    @Column(name = "completed_goals_count", nullable = false)
+    private Long completedGoalsCount = 0L;
+
+    @Builder.Default
+    @Column(name = "pending_reflections_count", nullable = false)
+    private Long pendingReflectionsCount = 0L;
+
+    @Builder.Default
+    @Column(name = "unread_nudges_count", nullable = false)
+    private Long unreadNudgesCount = 0L;
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "streaks_at_risk")
+    private List<StreakAtRiskDto> streaksAtRisk = new ArrayList<>();
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean stale = false;
+
+    public boolean isFresh(LocalDate today, LocalDateTime refreshedAfter) {
+        return !Boolean.TRUE.equals(stale)
+                && today.equals(snapshotDate)
+                && refreshedAt != null
+                && refreshedAt.isAfter(refreshedAfter);
+    }
+}
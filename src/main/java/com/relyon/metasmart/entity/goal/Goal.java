@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.goal;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
@@ -15,10 +17,11 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Goal extends AuditableEntity {
+public class Goal extends AuditableEntity implements GoalCore {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goals_id_seq")
+    @SequenceGenerator(name = "goals_id_seq", sequenceName = "goals_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -97,4 +100,14 @@ public class Goal extends AuditableEntity {
     @Builder.Default
     @Column(name = "streak")
     private Integer streak = 0;
+
+    @Builder.Default
+    @Column(name = "longest_streak")
+    private Integer longestStreak = 0;
+
+    @Column(name = "last_progress_date")
+    private LocalDate lastProgressDate;
+
+    @Version
+    private Long version;
 }
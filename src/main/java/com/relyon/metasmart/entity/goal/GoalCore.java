@@ -0,0 +1,49 @@
+package com.relyon.metasmart.entity.goal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Scalar goal fields needed to build the core of a goal response. Implemented by the
+ * {@link Goal} entity and by the lightweight summary projection, so the same calculations
+ * run regardless of how the goal was loaded.
+ */
+public interface GoalCore {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    GoalCategory getGoalCategory();
+
+    BigDecimal getTargetValue();
+
+    String getUnit();
+
+    BigDecimal getCurrentProgress();
+
+    String getMotivation();
+
+    LocalDate getStartDate();
+
+    LocalDate getTargetDate();
+
+    GoalStatus getGoalStatus();
+
+    LocalDate getLastStreakShieldUsedAt();
+
+    String getActionPlanOverview();
+
+    Integer getStreak();
+
+    Integer getLongestStreak();
+
+    LocalDate getLastProgressDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
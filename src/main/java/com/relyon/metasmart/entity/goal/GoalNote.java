@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.goal;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -15,7 +17,8 @@ import lombok.experimental.SuperBuilder;
 public class GoalNote extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goal_notes_id_seq")
+    @SequenceGenerator(name = "goal_notes_id_seq", sequenceName = "goal_notes_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
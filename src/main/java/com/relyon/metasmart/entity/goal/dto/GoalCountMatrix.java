@@ -0,0 +1,47 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.goal.GoalStatus;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Goal counts by status and category, built from the rows of a single {@code GROUP BY} query.
+ * Cells without goals read as zero, and row, column and grand totals are summed in memory.
+ */
+public class GoalCountMatrix {
+
+    private final Map<GoalStatus, Map<GoalCategory, Long>> counts = new EnumMap<>(GoalStatus.class);
+
+    public static GoalCountMatrix of(List<GoalStatusCategoryCount> rows) {
+        var matrix = new GoalCountMatrix();
+        rows.forEach(row -> matrix.counts
+                .computeIfAbsent(row.getGoalStatus(), status -> new EnumMap<>(GoalCategory.class))
+                .merge(row.getGoalCategory(), row.getCount(), Long::sum));
+        return matrix;
+    }
+
+    public long count(GoalStatus status, GoalCategory category) {
+        return counts.getOrDefault(status, Map.of()).getOrDefault(category, 0L);
+    }
+
+    public long count(GoalStatus status) {
+        return counts.getOrDefault(status, Map.of()).values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    public long count(GoalCategory category) {
+        return counts.values().stream()
+                .mapToLong(byCategory -> byCategory.getOrDefault(category, 0L))
+                .sum();
+    }
+
+    public long total() {
+        return counts.values().stream()
+                .flatMap(byCategory -> byCategory.values().stream())
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+}
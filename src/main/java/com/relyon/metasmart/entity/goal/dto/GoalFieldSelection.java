@@ -0,0 +1,76 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.exception.BadRequestException;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Which parts of a {@link GoalResponse} a caller wants, parsed from the {@code fields} and
+ * {@code include} query parameters.
+ * <ul>
+ *   <li>{@code fields=summary} loads core fields through {@link GoalSummary} instead of the
+ *   full entity; embedded blocks and tags are omitted. Default is {@code full}.</li>
+ *   <li>{@code include} is a comma-separated list of {@link GoalResponseSection} names, or
+ *   {@code all} / {@code none}. Defaults to all sections for full responses and none for
+ *   summaries.</li>
+ * </ul>
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GoalFieldSelection {
+
+    private static final String FIELDS_FULL = "full";
+    private static final String FIELDS_SUMMARY = "summary";
+    private static final String INCLUDE_ALL = "all";
+    private static final String INCLUDE_NONE = "none";
+
+    private final boolean summary;
+    private final Set<GoalResponseSection> sections;
+
+    public static GoalFieldSelection full() {
+        return new GoalFieldSelection(false, EnumSet.allOf(GoalResponseSection.class));
+    }
+
+    public static GoalFieldSelection of(String fields, String include) {
+        var summary = parseFields(fields);
+        var sections = include == null
+                ? (summary ? EnumSet.noneOf(GoalResponseSection.class) : EnumSet.allOf(GoalResponseSection.class))
+                : parseSections(include);
+        return new GoalFieldSelection(summary, sections);
+    }
+
+    public boolean includes(GoalResponseSection section) {
+        return sections.contains(section);
+    }
+
+    private static boolean parseFields(String fields) {
+        if (fields == null || fields.isBlank() || FIELDS_FULL.equalsIgnoreCase(fields.trim())) {
+            return false;
+        }
+        if (FIELDS_SUMMARY.equalsIgnoreCase(fields.trim())) {
+            return true;
+        }
+        throw new BadRequestException(ErrorMessages.INVALID_GOAL_FIELDS);
+    }
+
+    private static EnumSet<GoalResponseSection> parseSections(String include) {
+        var sections = EnumSet.noneOf(GoalResponseSection.class);
+        for (var token : include.split(",")) {
+            var value = token.trim();
+            if (value.isEmpty() || INCLUDE_NONE.equalsIgnoreCase(value)) {
+                continue;
+            }
+            if (INCLUDE_ALL.equalsIgnoreCase(value)) {
+                sections.addAll(EnumSet.allOf(GoalResponseSection.class));
+                continue;
+            }
+            sections.add(GoalResponseSection.fromParamName(value)
+                    .orElseThrow(() -> new BadRequestException(ErrorMessages.INVALID_GOAL_INCLUDE + value)));
+        }
+        return sections;
+    }
+}
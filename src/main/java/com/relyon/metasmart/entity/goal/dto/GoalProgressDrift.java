@@ -0,0 +1,21 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A goal whose stored progress no longer matches the sum of its progress entries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalProgressDrift {
+
+    private Long goalId;
+    private BigDecimal storedProgress;
+    private BigDecimal entriesTotal;
+}
@@ -1,5 +1,6 @@
 package com.relyon.metasmart.entity.goal.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
 import java.math.BigDecimal;
@@ -11,10 +12,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Goal read model. Sections left out by {@code fields=summary} or {@code include} are null and are
+ * omitted from the JSON rather than serialized as nulls.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GoalResponse {
 
     private Long id;
@@ -0,0 +1,26 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Expensive sections of {@link GoalResponse} that are only built when requested.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum GoalResponseSection {
+    CHECKINS("checkins"),
+    ACTION_PLAN("actionPlan"),
+    MILESTONES("milestones"),
+    SUPPORT_SYSTEM("supportSystem");
+
+    private final String paramName;
+
+    public static Optional<GoalResponseSection> fromParamName(String value) {
+        return Arrays.stream(values())
+                .filter(section -> section.paramName.equalsIgnoreCase(value))
+                .findFirst();
+    }
+}
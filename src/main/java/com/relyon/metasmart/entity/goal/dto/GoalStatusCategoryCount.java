@@ -0,0 +1,22 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.goal.GoalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cell of a grouped goal count: the number of goals with a given status and category.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalStatusCategoryCount {
+
+    private GoalStatus goalStatus;
+    private GoalCategory goalCategory;
+    private Long count;
+}
@@ -0,0 +1,19 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Best streaks across a user's goals: the longest run ever and the best run still alive today.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalStreakStats {
+
+    private Integer longestStreak;
+    private Integer currentBestStreak;
+}
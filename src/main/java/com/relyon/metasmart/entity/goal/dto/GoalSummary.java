@@ -0,0 +1,45 @@
+package com.relyon.metasmart.entity.goal.dto;
+
+import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.goal.GoalCore;
+import com.relyon.metasmart.entity.goal.GoalStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Constructor projection of a goal's scalar columns, used for sparse responses so the
+ * embedded pillar, measurement, reminder, anchor and AI blocks are never read.
+ * Field order must match {@code GoalRepository.GOAL_SUMMARY_SELECT}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalSummary implements GoalCore {
+
+    private Long id;
+    private String title;
+    private String description;
+    private GoalCategory goalCategory;
+    private BigDecimal targetValue;
+    private String unit;
+    private BigDecimal currentProgress;
+    private String motivation;
+    private LocalDate startDate;
+    private LocalDate targetDate;
+    private GoalStatus goalStatus;
+    private LocalDate lastStreakShieldUsedAt;
+    private String actionPlanOverview;
+    private Integer streak;
+    private Integer longestStreak;
+    private LocalDate lastProgressDate;
+    private Boolean createdDuringPremium;
+    private LocalDate deletedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -28,8 +28,6 @@ public class UpdateGoalRequest {
 
     private String unit;
 
-    private BigDecimal currentProgress;
-
     @Size(max = 500, message = "Motivation must be at most 500 characters")
     private String motivation;
 
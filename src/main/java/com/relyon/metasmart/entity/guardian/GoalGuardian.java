@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.guardian;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.user.User;
@@ -22,7 +24,8 @@ import lombok.experimental.SuperBuilder;
 public class GoalGuardian extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goal_guardians_id_seq")
+    @SequenceGenerator(name = "goal_guardians_id_seq", sequenceName = "goal_guardians_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
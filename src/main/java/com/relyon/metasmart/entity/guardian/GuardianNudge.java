@@ -1,6 +1,9 @@
 package com.relyon.metasmart.entity.guardian;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
+import com.relyon.metasmart.entity.goal.Goal;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -10,7 +13,10 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "guardian_nudges")
+@Table(name = "guardian_nudges", indexes = {
+    @Index(name = "idx_guardian_nudges_guardian_created_id", columnList = "goal_guardian_id, created_at DESC, id DESC"),
+    @Index(name = "idx_guardian_nudges_goal_created_id", columnList = "goal_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -19,13 +25,21 @@ import lombok.experimental.SuperBuilder;
 public class GuardianNudge extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "guardian_nudges_id_seq")
+    @SequenceGenerator(name = "guardian_nudges_id_seq", sequenceName = "guardian_nudges_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "goal_guardian_id", nullable = false)
     private GoalGuardian goalGuardian;
 
+    /**
+     * Copy of the guardian's goal, kept on the row so the per-goal feed seeks one index range.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "goal_id", nullable = false, updatable = false)
+    private Goal goal;
+
     @Column(nullable = false, length = 500)
     private String message;
 
@@ -38,6 +52,13 @@ public class GuardianNudge extends AuditableEntity {
     @Column(length = 10)
     private String reaction;
 
+    @PrePersist
+    protected void onCreate() {
+        if (goal == null && goalGuardian != null) {
+            goal = goalGuardian.getGoal();
+        }
+    }
+
     public boolean isRead() {
         return readAt != null;
     }
@@ -0,0 +1,32 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHeatmapResponse {
+
+    private int year;
+    private int activeDays;
+    private int realActiveDays;
+    private List<HeatmapDay> days;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HeatmapDay {
+        private LocalDate date;
+        private int taskCompletions;
+        private int progressEntries;
+        private boolean journal;
+        private boolean shieldUsed;
+    }
+}
@@ -0,0 +1,50 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import static com.relyon.metasmart.constant.AppConstants.HISTORY_FEED_DEFAULT_SIZE;
+import static com.relyon.metasmart.constant.AppConstants.HISTORY_FEED_MAX_SIZE;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset history feed. Pass {@code nextCursor} back to read the following page; it is
+ * null on the last page. Unlike {@code Page} there is no total, so no count query runs per request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * Resolves the page size a client asked for: the default when absent, otherwise kept within bounds.
+     */
+    public static int resolveSize(Integer requested) {
+        return requested == null ? HISTORY_FEED_DEFAULT_SIZE : Math.clamp(requested, 1, HISTORY_FEED_MAX_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only signals
+     * that another page exists and is dropped.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, HistoryCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        var hasNext = rows.size() > size;
+        var pageRows = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.getLast()).encode() : null)
+                .build();
+    }
+}
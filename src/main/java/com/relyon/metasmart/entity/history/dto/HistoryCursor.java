@@ -0,0 +1,46 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import lombok.Value;
+
+/**
+ * Seek position in a history feed ordered by {@code (createdAt DESC, id DESC)}. Clients only ever see
+ * the encoded token; the next page holds the rows strictly after this position.
+ */
+@Value
+public class HistoryCursor {
+
+    /**
+     * Position before the newest row, so the first page uses the same seek predicate as every other page.
+     */
+    public static final HistoryCursor START = new HistoryCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime createdAt;
+    Long id;
+
+    public static HistoryCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = value.lastIndexOf(SEPARATOR);
+            return new HistoryCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException(ErrorMessages.INVALID_HISTORY_CURSOR);
+        }
+    }
+
+    public String encode() {
+        var value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,34 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import com.relyon.metasmart.entity.journal.Mood;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Journal entry projected with its date for the history export.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalHistoryRow {
+
+    private LocalDate journalDate;
+    private Long id;
+    private String content;
+    private Mood mood;
+    private Boolean shieldUsed;
+    private LocalDateTime createdAt;
+
+    public JournalEntrySummary toSummary() {
+        return JournalEntrySummary.builder()
+                .id(id)
+                .content(content)
+                .mood(mood)
+                .shieldUsed(shieldUsed)
+                .createdAt(createdAt)
+                .build();
+    }
+}
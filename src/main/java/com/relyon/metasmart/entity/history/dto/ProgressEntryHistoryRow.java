@@ -0,0 +1,46 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress entry projected with its goal's title, unit and target in one row for the history export.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressEntryHistoryRow {
+
+    private Long id;
+    private Long goalId;
+    private String goalTitle;
+    private BigDecimal progressValue;
+    private String unit;
+    private BigDecimal targetValue;
+    private String note;
+    private LocalDateTime createdAt;
+
+    public ProgressEntrySummary toSummary() {
+        var percentage = BigDecimal.ZERO;
+        if (targetValue != null && targetValue.compareTo(BigDecimal.ZERO) > 0) {
+            percentage = progressValue
+                    .multiply(BigDecimal.valueOf(100))
+                    .divide(targetValue, 2, RoundingMode.HALF_UP);
+        }
+
+        return ProgressEntrySummary.builder()
+                .id(id)
+                .goalId(goalId)
+                .goalTitle(goalTitle)
+                .progressValue(progressValue)
+                .unit(unit)
+                .percentageOfGoal(percentage)
+                .note(note)
+                .createdAt(createdAt)
+                .build();
+    }
+}
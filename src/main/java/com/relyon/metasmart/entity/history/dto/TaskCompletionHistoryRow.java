@@ -0,0 +1,40 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Task completion projected with its action item and goal in one row for the history export.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCompletionHistoryRow {
+
+    private LocalDate scheduledDate;
+    private Long id;
+    private Long actionItemId;
+    private String actionItemTitle;
+    private Long goalId;
+    private String goalTitle;
+    private CompletionStatus status;
+    private String note;
+    private LocalDateTime completedAt;
+
+    public TaskCompletionSummary toSummary() {
+        return TaskCompletionSummary.builder()
+                .id(id)
+                .actionItemId(actionItemId)
+                .actionItemTitle(actionItemTitle)
+                .goalId(goalId)
+                .goalTitle(goalTitle)
+                .status(status)
+                .note(note)
+                .completedAt(completedAt)
+                .build();
+    }
+}
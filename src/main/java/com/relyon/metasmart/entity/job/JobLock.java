@@ -0,0 +1,32 @@
+package com.relyon.metasmart.entity.job;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Cluster-wide lock for a scheduled job, so only one instance runs it at a time. The holder's
+ * token is kept in {@code lockedBy}; a lock whose {@code lockedUntil} has passed is free again,
+ * which frees it even if the holder died.
+ */
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock extends AuditableEntity {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", length = 36)
+    private String lockedBy;
+}
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.journal;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
@@ -13,6 +15,8 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @Table(name = "daily_journals", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "journal_date"})
+}, indexes = {
+    @Index(name = "idx_daily_journals_user_created_id", columnList = "user_id, created_at DESC, id DESC")
 })
 @Getter
 @Setter
@@ -22,7 +26,8 @@ import lombok.experimental.SuperBuilder;
 public class DailyJournal extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_journals_id_seq")
+    @SequenceGenerator(name = "daily_journals_id_seq", sequenceName = "daily_journals_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,8 @@
+package com.relyon.metasmart.entity.notification;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
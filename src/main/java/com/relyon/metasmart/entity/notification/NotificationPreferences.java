@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.notification;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
@@ -16,7 +18,8 @@ import lombok.experimental.SuperBuilder;
 public class NotificationPreferences extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_preferences_id_seq")
+    @SequenceGenerator(name = "notification_preferences_id_seq", sequenceName = "notification_preferences_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
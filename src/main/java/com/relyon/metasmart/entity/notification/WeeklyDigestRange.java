@@ -0,0 +1,45 @@
+package com.relyon.metasmart.entity.notification;
+
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A user id range whose weekly digests have been queued for the week starting at {@code weekStart}.
+ * The row is inserted in the same transaction that writes the range's emails to the outbox, so a
+ * range is either fully queued and recorded or not at all, and the unique key stops two runs from
+ * queueing it twice.
+ */
+@Entity
+@Table(name = "weekly_digest_ranges", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"week_start", "range_start"})
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyDigestRange extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weekly_digest_ranges_id_seq")
+    @SequenceGenerator(name = "weekly_digest_ranges_id_seq", sequenceName = "weekly_digest_ranges_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    @Builder.Default
+    @Column(name = "digests_queued", nullable = false)
+    private Integer digestsQueued = 0;
+}
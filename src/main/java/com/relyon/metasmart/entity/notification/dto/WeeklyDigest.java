@@ -0,0 +1,29 @@
+package com.relyon.metasmart.entity.notification.dto;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyDigest {
+
+    private LocalDate weekStart;
+    private int activeGoals;
+    private int progressEntries;
+    private int taskCompletions;
+    private int activeDays;
+    private int previousActiveDays;
+    private int currentStreak;
+    private int bestStreak;
+    private int milestonesAchieved;
+    private int nudgesReceived;
+
+    public int getActiveDaysChange() {
+        return activeDays - previousActiveDays;
+    }
+}
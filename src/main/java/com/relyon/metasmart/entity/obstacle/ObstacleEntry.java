@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.obstacle;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
 import jakarta.persistence.*;
@@ -17,7 +19,8 @@ import lombok.experimental.SuperBuilder;
 public class ObstacleEntry extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "obstacle_entries_id_seq")
+    @SequenceGenerator(name = "obstacle_entries_id_seq", sequenceName = "obstacle_entries_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
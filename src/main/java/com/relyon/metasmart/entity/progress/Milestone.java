@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.progress;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
 import jakarta.persistence.*;
@@ -8,7 +10,9 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "milestones")
+@Table(name = "milestones", indexes = {
+    @Index(name = "idx_milestones_goal_achieved_at", columnList = "goal_id, achieved_at")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -17,7 +21,8 @@ import lombok.experimental.SuperBuilder;
 public class Milestone extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "milestones_id_seq")
+    @SequenceGenerator(name = "milestones_id_seq", sequenceName = "milestones_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
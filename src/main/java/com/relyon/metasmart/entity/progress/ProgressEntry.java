@@ -1,9 +1,13 @@
 package com.relyon.metasmart.entity.progress;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,7 +15,11 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "progress_entries")
+@Table(name = "progress_entries", indexes = {
+    @Index(name = "idx_progress_entries_goal_date", columnList = "goal_id, progress_date"),
+    @Index(name = "idx_progress_entries_goal_created_id", columnList = "goal_id, created_at DESC, id DESC"),
+    @Index(name = "idx_progress_entries_user_date", columnList = "user_id, progress_date")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -20,16 +28,40 @@ import lombok.experimental.SuperBuilder;
 public class ProgressEntry extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "progress_entries_id_seq")
+    @SequenceGenerator(name = "progress_entries_id_seq", sequenceName = "progress_entries_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "goal_id", nullable = false)
     private Goal goal;
 
+    /**
+     * Copy of the goal owner, kept on the row so user-scoped activity queries skip the goals join.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User owner;
+
     @Column(name = "progress_value", nullable = false, precision = 10, scale = 2)
     private BigDecimal progressValue;
 
     @Column(length = 500)
     private String note;
+
+    /**
+     * Calendar day of {@code createdAt}, stored so per-day lookups can use an index.
+     */
+    @Column(name = "progress_date", nullable = false, updatable = false)
+    private LocalDate progressDate;
+
+    @PrePersist
+    protected void onCreate() {
+        if (progressDate == null) {
+            progressDate = getCreatedAt() != null ? getCreatedAt().toLocalDate() : LocalDate.now();
+        }
+        if (owner == null && goal != null) {
+            owner = goal.getOwner();
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.reflection;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.user.User;
@@ -12,7 +14,9 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "goal_reflections")
+@Table(name = "goal_reflections", indexes = {
+    @Index(name = "idx_goal_reflections_goal_user_created_id", columnList = "goal_id, user_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -21,7 +25,8 @@ import lombok.experimental.SuperBuilder;
 public class GoalReflection extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goal_reflections_id_seq")
+    @SequenceGenerator(name = "goal_reflections_id_seq", sequenceName = "goal_reflections_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
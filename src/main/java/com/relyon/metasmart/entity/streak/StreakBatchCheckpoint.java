@@ -0,0 +1,69 @@
+package com.relyon.metasmart.entity.streak;
+
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Progress of the end-of-day streak batch for one timezone and local day. Users are processed in
+ * id order, so everything up to {@code lastUserId} is settled and a restarted run resumes after it.
+ * A run holds the row through {@code leaseOwner} until {@code leaseUntil}, renewed after each wave,
+ * so only one replica works on a timezone and day at a time.
+ */
+@Entity
+@Table(name = "streak_batch_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"timezone", "target_date"})
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreakBatchCheckpoint extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "streak_batch_checkpoints_id_seq")
+    @SequenceGenerator(name = "streak_batch_checkpoints_id_seq", sequenceName = "streak_batch_checkpoints_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String timezone;
+
+    @Column(name = "target_date", nullable = false)
+    private LocalDate targetDate;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StreakBatchStatus status = StreakBatchStatus.RUNNING;
+
+    @Builder.Default
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId = 0L;
+
+    @Builder.Default
+    @Column(name = "users_processed", nullable = false)
+    private Long usersProcessed = 0L;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "lease_owner", length = 36)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    public boolean isCompleted() {
+        return status == StreakBatchStatus.COMPLETED;
+    }
+
+    public boolean isLeasedAt(LocalDateTime now) {
+        return leaseUntil != null && leaseUntil.isAfter(now);
+    }
+}
@@ -0,0 +1,6 @@
+package com.relyon.metasmart.entity.streak;
+
+public enum StreakBatchStatus {
+    RUNNING,
+    COMPLETED
+}
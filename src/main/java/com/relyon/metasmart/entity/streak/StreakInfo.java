@@ -1,10 +1,13 @@
 package com.relyon.metasmart.entity.streak;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.actionplan.ActionItem;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -21,7 +24,8 @@ import lombok.experimental.SuperBuilder;
 public class StreakInfo extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "streak_info_id_seq")
+    @SequenceGenerator(name = "streak_info_id_seq", sequenceName = "streak_info_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,6 +59,9 @@ public class StreakInfo extends AuditableEntity {
     @Column(name = "last_updated_at")
     private LocalDateTime lastUpdatedAt;
 
+    @Column(name = "last_end_of_day_date")
+    private LocalDate lastEndOfDayDate;
+
     public boolean isUserLevel() {
         return goal == null && actionItem == null;
     }
@@ -83,6 +90,20 @@ public class StreakInfo extends AuditableEntity {
         this.lastUpdatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Replaces the current maintained streak with a recalculated value, raising the best if needed.
+     *
+     * @return whether either counter changed
+     */
+    public boolean applyMaintainedStreak(int streak) {
+        if (this.currentMaintainedStreak == streak && streak <= this.bestMaintainedStreak) {
+            return false;
+        }
+        this.currentMaintainedStreak = streak;
+        this.bestMaintainedStreak = Math.max(this.bestMaintainedStreak, streak);
+        return true;
+    }
+
     public void resetMaintainedStreak() {
         this.currentMaintainedStreak = 0;
         this.lastUpdatedAt = LocalDateTime.now();
@@ -0,0 +1,19 @@
+package com.relyon.metasmart.entity.streak.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreakRecalculationResponse {
+
+    private long usersProcessed;
+    private long streaksUpdated;
+    private int chunks;
+    private int failedChunks;
+    private long durationMs;
+}
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.struggling;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.user.User;
@@ -11,7 +13,9 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "struggling_requests")
+@Table(name = "struggling_requests", indexes = {
+    @Index(name = "idx_struggling_requests_user_created_id", columnList = "user_id, created_at DESC, id DESC")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -20,7 +24,8 @@ import lombok.experimental.SuperBuilder;
 public class StrugglingRequest extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "struggling_requests_id_seq")
+    @SequenceGenerator(name = "struggling_requests_id_seq", sequenceName = "struggling_requests_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
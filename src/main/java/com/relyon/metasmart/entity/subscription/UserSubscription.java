@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.subscription;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.user.User;
 import jakarta.persistence.*;
@@ -18,7 +20,8 @@ import lombok.experimental.SuperBuilder;
 public class UserSubscription extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_subscriptions_id_seq")
+    @SequenceGenerator(name = "user_subscriptions_id_seq", sequenceName = "user_subscriptions_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
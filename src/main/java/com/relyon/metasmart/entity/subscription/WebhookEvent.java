@@ -0,0 +1,69 @@
+package com.relyon.metasmart.entity.subscription;
+
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
+import com.relyon.metasmart.entity.AuditableEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A Stripe webhook event recorded on receipt and processed later by the inbox worker. Events that
+ * share a {@code customerKey} are processed one at a time in the order Stripe created them, by
+ * {@code stripeCreatedAt} and then id, since Stripe timestamps are whole seconds. {@code nextAttemptAt}
+ * is the retry time for pending events and the lease expiry for events being processed.
+ */
+@Entity
+@Table(name = "webhook_events", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_webhook_events_event_id", columnNames = "event_id")
+}, indexes = {
+    @Index(name = "idx_webhook_events_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_webhook_events_customer_created_id", columnList = "customer_key, stripe_created_at, id"),
+    @Index(name = "idx_webhook_events_status_created", columnList = "status, created_at")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEvent extends AuditableEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_events_id_seq")
+    @SequenceGenerator(name = "webhook_events_id_seq", sequenceName = "webhook_events_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "customer_key", nullable = false)
+    private String customerKey;
+
+    @Column(name = "stripe_created_at", nullable = false)
+    private LocalDateTime stripeCreatedAt;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WebhookEventStatus status = WebhookEventStatus.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,8 @@
+package com.relyon.metasmart.entity.subscription;
+
+public enum WebhookEventStatus {
+    PENDING,
+    PROCESSING,
+    PROCESSED,
+    DEAD
+}
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.template;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.user.User;
@@ -18,7 +20,8 @@ import lombok.experimental.SuperBuilder;
 public class GoalTemplate extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goal_templates_id_seq")
+    @SequenceGenerator(name = "goal_templates_id_seq", sequenceName = "goal_templates_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,7 @@
 package com.relyon.metasmart.entity.user;
 
+import static com.relyon.metasmart.constant.AppConstants.ID_ALLOCATION_SIZE;
+
 import com.relyon.metasmart.entity.AuditableEntity;
 import jakarta.persistence.*;
 import lombok.*;
@@ -15,7 +17,8 @@ import lombok.experimental.SuperBuilder;
 public class UserPreferences extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_preferences_id_seq")
+    @SequenceGenerator(name = "user_preferences_id_seq", sequenceName = "user_preferences_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -1,12 +0,0 @@
-package com.relyon.metasmart.exception;
-
-public class EmailSendingException extends RuntimeException {
-
-    public EmailSendingException(String message) {
-        super(message);
-    }
-
-    public EmailSendingException(String message, Throwable cause) {
-        super(message, cause);
-    }
-}
@@ -20,7 +20,6 @@ public interface GoalMapper {
     @Mapping(target = "smartPillars", ignore = true)
     @Mapping(target = "setupCompletionPercentage", ignore = true)
     @Mapping(target = "currentStreak", source = "streak")
-    @Mapping(target = "longestStreak", ignore = true)
     @Mapping(target = "progressPercentage", ignore = true)
     @Mapping(target = "category", source = "goalCategory", qualifiedByName = "toCategoryDto")
     @Mapping(target = "status", source = ".", qualifiedByName = "toStatusDto")
@@ -37,8 +36,27 @@ public interface GoalMapper {
     @Mapping(target = "isLocked", source = ".", qualifiedByName = "toIsLocked")
     GoalResponse toResponse(@NonNull Goal goal);
 
+    @Mapping(target = "smartPillars", ignore = true)
+    @Mapping(target = "setupCompletionPercentage", ignore = true)
+    @Mapping(target = "currentStreak", source = "streak")
+    @Mapping(target = "progressPercentage", ignore = true)
+    @Mapping(target = "category", source = "goalCategory", qualifiedByName = "toCategoryDto")
+    @Mapping(target = "status", source = ".", qualifiedByName = "toStatusDto")
+    @Mapping(target = "pillars", ignore = true)
+    @Mapping(target = "measurement", ignore = true)
+    @Mapping(target = "reminders", ignore = true)
+    @Mapping(target = "emotionalAnchors", ignore = true)
+    @Mapping(target = "aiSupport", ignore = true)
+    @Mapping(target = "tags", ignore = true)
+    @Mapping(target = "actionPlan", ignore = true)
+    @Mapping(target = "checkins", ignore = true)
+    @Mapping(target = "supportSystem", ignore = true)
+    @Mapping(target = "milestones", ignore = true)
+    @Mapping(target = "isLocked", source = ".", qualifiedByName = "toIsLocked")
+    GoalResponse toSummaryResponse(@NonNull GoalSummary summary);
+
     @Named("toIsLocked")
-    default boolean toIsLocked(Goal goal) {
+    default boolean toIsLocked(GoalCore goal) {
         return goal != null && goal.getGoalStatus() == GoalStatus.LOCKED;
     }
 
@@ -52,6 +70,9 @@ public interface GoalMapper {
     @Mapping(target = "previousStatus", ignore = true)
     @Mapping(target = "lastStreakShieldUsedAt", ignore = true)
     @Mapping(target = "streak", ignore = true)
+    @Mapping(target = "longestStreak", ignore = true)
+    @Mapping(target = "lastProgressDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdBy", ignore = true)
@@ -74,6 +95,9 @@ public interface GoalMapper {
     @Mapping(target = "previousStatus", ignore = true)
     @Mapping(target = "lastStreakShieldUsedAt", ignore = true)
     @Mapping(target = "streak", ignore = true)
+    @Mapping(target = "longestStreak", ignore = true)
+    @Mapping(target = "lastProgressDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdBy", ignore = true)
@@ -92,7 +116,7 @@ public interface GoalMapper {
     }
 
     @Named("toStatusDto")
-    default GoalStatusDto toStatusDto(Goal goal) {
+    default GoalStatusDto toStatusDto(GoalCore goal) {
         if (goal == null) return null;
         return GoalStatusDto.builder()
                 .createdAt(goal.getCreatedAt())
@@ -103,7 +127,7 @@ public interface GoalMapper {
                 .build();
     }
 
-    default BigDecimal calculateProgressPercentage(Goal goal) {
+    default BigDecimal calculateProgressPercentage(GoalCore goal) {
         if (goal.getTargetValue() == null || goal.getCurrentProgress() == null) {
             return BigDecimal.ZERO;
         }
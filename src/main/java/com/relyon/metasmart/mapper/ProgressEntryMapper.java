@@ -15,6 +15,8 @@ public interface ProgressEntryMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "goal", ignore = true)
+    @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "progressDate", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdBy", ignore = true)
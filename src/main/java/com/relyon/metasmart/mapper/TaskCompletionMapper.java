@@ -14,6 +14,7 @@ public interface TaskCompletionMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "actionItem", ignore = true)
+    @Mapping(target = "owner", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "createdBy", ignore = true)
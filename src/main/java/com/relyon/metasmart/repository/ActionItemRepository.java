@@ -2,6 +2,7 @@ package com.relyon.metasmart.repository;
 
 import com.relyon.metasmart.entity.actionplan.ActionItem;
 import com.relyon.metasmart.entity.goal.Goal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,8 @@ public interface ActionItemRepository extends JpaRepository<ActionItem, Long> {
 
     List<ActionItem> findByGoalOrderByOrderIndexAscCreatedAtAsc(Goal goal);
 
+    List<ActionItem> findByGoalIdInOrderByOrderIndexAscCreatedAtAsc(Collection<Long> goalIds);
+
     Optional<ActionItem> findByIdAndGoal(Long id, Goal goal);
 
     void deleteByGoal(Goal goal);
@@ -0,0 +1,65 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.activity.ActivityCalendar;
+import com.relyon.metasmart.entity.activity.ActivityCalendarType;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ActivityCalendarRepository extends JpaRepository<ActivityCalendar, Long> {
+
+    Optional<ActivityCalendar> findByUserAndGoalIsNullAndCalendarType(User user, ActivityCalendarType calendarType);
+
+    Optional<ActivityCalendar> findByGoalAndCalendarType(Goal goal, ActivityCalendarType calendarType);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ActivityCalendar c " +
+            "WHERE c.user = :user AND c.goal IS NULL AND c.calendarType = :calendarType")
+    Optional<ActivityCalendar> findUserCalendarForUpdate(@Param("user") User user,
+                                                         @Param("calendarType") ActivityCalendarType calendarType);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ActivityCalendar c WHERE c.goal = :goal AND c.calendarType = :calendarType")
+    Optional<ActivityCalendar> findGoalCalendarForUpdate(@Param("goal") Goal goal,
+                                                         @Param("calendarType") ActivityCalendarType calendarType);
+
+    /**
+     * Stores a user calendar unless one already exists; a concurrent insert wins and this is a no-op.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO activity_calendars " +
+            "(user_id, goal_id, calendar_type, origin_epoch_day, day_bits, created_at, updated_at) " +
+            "VALUES (:userId, NULL, :calendarType, :originEpochDay, :dayBits, :now, :now) " +
+            "ON CONFLICT (user_id, calendar_type) WHERE goal_id IS NULL DO NOTHING", nativeQuery = true)
+    int insertUserCalendarIfMissing(@Param("userId") Long userId,
+                                    @Param("calendarType") String calendarType,
+                                    @Param("originEpochDay") long originEpochDay,
+                                    @Param("dayBits") byte[] dayBits,
+                                    @Param("now") LocalDateTime now);
+
+    /**
+     * Stores a goal calendar unless one already exists; a concurrent insert wins and this is a no-op.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO activity_calendars " +
+            "(user_id, goal_id, calendar_type, origin_epoch_day, day_bits, created_at, updated_at) " +
+            "VALUES (:userId, :goalId, :calendarType, :originEpochDay, :dayBits, :now, :now) " +
+            "ON CONFLICT (goal_id, calendar_type) WHERE goal_id IS NOT NULL DO NOTHING", nativeQuery = true)
+    int insertGoalCalendarIfMissing(@Param("userId") Long userId,
+                                    @Param("goalId") Long goalId,
+                                    @Param("calendarType") String calendarType,
+                                    @Param("originEpochDay") long originEpochDay,
+                                    @Param("dayBits") byte[] dayBits,
+                                    @Param("now") LocalDateTime now);
+
+    void deleteByGoal(Goal goal);
+
+    void deleteByUserAndGoalIsNullAndCalendarType(User user, ActivityCalendarType calendarType);
+}
@@ -0,0 +1,130 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.activity.DailyActivityRollup;
+import com.relyon.metasmart.entity.activity.DailyActivityRollupId;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DailyActivityRollupRepository extends JpaRepository<DailyActivityRollup, DailyActivityRollupId> {
+
+    @Query("SELECT r FROM DailyActivityRollup r " +
+            "WHERE r.userId = :userId " +
+            "AND r.activityDate BETWEEN :startDate AND :endDate " +
+            "AND (r.taskCompletions > 0 OR r.progressEntries > 0 OR r.journal = true) " +
+            "ORDER BY r.activityDate")
+    List<DailyActivityRollup> findActiveDays(@Param("userId") Long userId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(r) > 0 FROM DailyActivityRollup r " +
+            "WHERE r.userId = :userId AND r.activityDate = :date " +
+            "AND (r.taskCompletions > 0 OR r.progressEntries > 0)")
+    boolean hasRealActivity(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT COUNT(r) > 0 FROM DailyActivityRollup r " +
+            "WHERE r.userId = :userId AND r.activityDate BETWEEN :startDate AND :endDate " +
+            "AND (r.taskCompletions > 0 OR r.progressEntries > 0)")
+    boolean hasRealActivityBetween(@Param("userId") Long userId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(r) > 0 FROM DailyActivityRollup r " +
+            "WHERE r.userId = :userId AND r.activityDate = :date AND r.journal = true")
+    boolean hasJournal(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    /**
+     * Adds to the day's counts, creating the row when missing.
+     *
+     * @return task completions plus progress entries left on the day
+     */
+    @Query(value = "INSERT INTO daily_activity_rollup " +
+            "(user_id, activity_date, task_completions, progress_entries, journal, shield_used, created_at, updated_at) " +
+            "VALUES (:userId, :date, GREATEST(:taskDelta, 0), GREATEST(:progressDelta, 0), false, false, :now, :now) " +
+            "ON CONFLICT (user_id, activity_date) DO UPDATE SET " +
+            "task_completions = GREATEST(daily_activity_rollup.task_completions + :taskDelta, 0), " +
+            "progress_entries = GREATEST(daily_activity_rollup.progress_entries + :progressDelta, 0), " +
+            "updated_at = :now " +
+            "RETURNING task_completions + progress_entries", nativeQuery = true)
+    int addCounts(@Param("userId") Long userId,
+                  @Param("date") LocalDate date,
+                  @Param("taskDelta") int taskDelta,
+                  @Param("progressDelta") int progressDelta,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollup " +
+            "(user_id, activity_date, task_completions, progress_entries, journal, shield_used, created_at, updated_at) " +
+            "VALUES (:userId, :date, 0, 0, :journal, :shieldUsed, :now, :now) " +
+            "ON CONFLICT (user_id, activity_date) DO UPDATE SET " +
+            "journal = :journal, shield_used = :shieldUsed, updated_at = :now", nativeQuery = true)
+    void setJournal(@Param("userId") Long userId,
+                    @Param("date") LocalDate date,
+                    @Param("journal") boolean journal,
+                    @Param("shieldUsed") boolean shieldUsed,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Flags the day as shielded, creating the row when missing; the journal flag is left as it is.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollup " +
+            "(user_id, activity_date, task_completions, progress_entries, journal, shield_used, created_at, updated_at) " +
+            "VALUES (:userId, :date, 0, 0, false, true, :now, :now) " +
+            "ON CONFLICT (user_id, activity_date) DO UPDATE SET " +
+            "shield_used = true, updated_at = :now", nativeQuery = true)
+    void markShieldUsed(@Param("userId") Long userId,
+                        @Param("date") LocalDate date,
+                        @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE DailyActivityRollup r SET r.taskCompletions = 0, r.progressEntries = 0 WHERE r.userId = :userId")
+    void resetCounts(@Param("userId") Long userId);
+
+    /**
+     * Recounts a user's task completions and progress entries from the source tables. Used after
+     * bulk deletes that bypass the per-row hooks; call {@link #resetCounts} first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_activity_rollup " +
+            "(user_id, activity_date, task_completions, progress_entries, journal, shield_used, created_at, updated_at) " +
+            "SELECT :userId, activity_date, SUM(task_completions), SUM(progress_entries), false, false, :now, :now FROM (" +
+            "SELECT tc.scheduled_date AS activity_date, COUNT(*) AS task_completions, 0 AS progress_entries " +
+            "FROM task_completions tc " +
+            "WHERE tc.user_id = :userId AND tc.status IN ('COMPLETED', 'PARTIAL') " +
+            "GROUP BY tc.scheduled_date " +
+            "UNION ALL " +
+            "SELECT p.progress_date, 0, COUNT(*) " +
+            "FROM progress_entries p " +
+            "WHERE p.user_id = :userId " +
+            "GROUP BY p.progress_date" +
+            ") activity GROUP BY activity_date " +
+            "ON CONFLICT (user_id, activity_date) DO UPDATE SET " +
+            "task_completions = EXCLUDED.task_completions, " +
+            "progress_entries = EXCLUDED.progress_entries, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void recountActivity(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * Per-user activity for the users in [fromId, toId): progress entries, task completions and active
+     * days of the week starting at {@code weekStart}, plus active days of the week before it.
+     */
+    @Query("SELECT r.userId, " +
+            "SUM(CASE WHEN r.activityDate >= :weekStart THEN r.progressEntries ELSE 0 END), " +
+            "SUM(CASE WHEN r.activityDate >= :weekStart THEN r.taskCompletions ELSE 0 END), " +
+            "SUM(CASE WHEN r.activityDate >= :weekStart AND (r.taskCompletions > 0 OR r.progressEntries > 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN r.activityDate < :weekStart AND (r.taskCompletions > 0 OR r.progressEntries > 0) THEN 1 ELSE 0 END) " +
+            "FROM DailyActivityRollup r " +
+            "WHERE r.userId >= :fromId AND r.userId < :toId " +
+            "AND r.activityDate >= :previousWeekStart AND r.activityDate < :weekEnd " +
+            "GROUP BY r.userId")
+    List<Object[]> summarizeWeek(@Param("fromId") Long fromId,
+                                 @Param("toId") Long toId,
+                                 @Param("previousWeekStart") LocalDate previousWeekStart,
+                                 @Param("weekStart") LocalDate weekStart,
+                                 @Param("weekEnd") LocalDate weekEnd);
+}
@@ -1,14 +1,25 @@
 package com.relyon.metasmart.repository;
 
+import static com.relyon.metasmart.constant.AppConstants.HISTORY_EXPORT_FETCH_SIZE;
+
+import com.relyon.metasmart.entity.activity.dto.UserActivityDate;
+import com.relyon.metasmart.entity.history.dto.JournalHistoryRow;
 import com.relyon.metasmart.entity.journal.DailyJournal;
 import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface DailyJournalRepository extends JpaRepository<DailyJournal, Long> {
@@ -19,9 +30,28 @@ public interface DailyJournalRepository extends JpaRepository<DailyJournal, Long
 
     Page<DailyJournal> findByUserOrderByJournalDateDesc(User user, Pageable pageable);
 
+    @Query("SELECT dj FROM DailyJournal dj WHERE dj.user = :user " +
+            "AND (dj.createdAt, dj.id) < (:createdAt, :id) " +
+            "ORDER BY dj.createdAt DESC, dj.id DESC")
+    List<DailyJournal> findHistoryFeed(@Param("user") User user,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
     List<DailyJournal> findByUserAndJournalDateBetweenOrderByJournalDateDesc(
             User user, LocalDate startDate, LocalDate endDate);
 
+    @Query("SELECT new com.relyon.metasmart.entity.history.dto.JournalHistoryRow(" +
+            "d.journalDate, d.id, d.content, d.mood, d.shieldUsed, d.createdAt) " +
+            "FROM DailyJournal d " +
+            "WHERE d.user = :user " +
+            "AND d.journalDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY d.journalDate DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = HISTORY_EXPORT_FETCH_SIZE))
+    Stream<JournalHistoryRow> streamHistoryRows(@Param("user") User user,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
     @Query("SELECT COUNT(d) FROM DailyJournal d WHERE d.user = :user AND d.shieldUsed = true " +
             "AND d.journalDate >= :weekStart AND d.journalDate <= :weekEnd")
     int countShieldsUsedInWeek(@Param("user") User user,
@@ -34,6 +64,22 @@ public interface DailyJournalRepository extends JpaRepository<DailyJournal, Long
                                                        @Param("startDate") LocalDate startDate,
                                                        @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT d.journalDate FROM DailyJournal d WHERE d.user = :user")
+    List<LocalDate> findJournalDatesByUser(@Param("user") User user);
+
+    @Query("SELECT d.journalDate FROM DailyJournal d WHERE d.user = :user AND d.shieldUsed = true")
+    List<LocalDate> findShieldDatesByUser(@Param("user") User user);
+
+    // Days a journal keeps a streak alive: shielded days, plus today while it is still open
+    @Query("SELECT new com.relyon.metasmart.entity.activity.dto.UserActivityDate(d.user.id, d.journalDate) " +
+            "FROM DailyJournal d " +
+            "WHERE d.user.id IN :userIds " +
+            "AND d.journalDate >= :since " +
+            "AND (d.shieldUsed = true OR d.journalDate = :today)")
+    List<UserActivityDate> findStreakCoveringDatesByUserIds(@Param("userIds") Collection<Long> userIds,
+                                                            @Param("since") LocalDate since,
+                                                            @Param("today") LocalDate today);
+
     boolean existsByUserAndJournalDate(User user, LocalDate journalDate);
 
     @Query("SELECT COUNT(d) FROM DailyJournal d WHERE d.user = :user " +
@@ -0,0 +1,24 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.dashboard.DashboardSnapshot;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DashboardSnapshotRepository extends JpaRepository<DashboardSnapshot, Long> {
+
+    @Modifying
+    @Query("UPDATE DashboardSnapshot s SET s.stale = true WHERE s.userId = :userId AND s.stale = false")
+    int markStale(@Param("userId") Long userId);
+
+    // Stale placeholder for the first read; a concurrent first read leaves the existing row in place
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_snapshot (user_id, active_goals_count, completed_goals_count, " +
+            "pending_reflections_count, unread_nudges_count, snapshot_date, refreshed_at, stale, created_at, updated_at) " +
+            "VALUES (:userId, 0, 0, 0, 0, :today, :now, true, :now, :now) " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertStaleIfMissing(@Param("userId") Long userId, @Param("today") LocalDate today, @Param("now") LocalDateTime now);
+}
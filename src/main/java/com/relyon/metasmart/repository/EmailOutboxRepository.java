@@ -0,0 +1,47 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.notification.EmailOutbox;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status IN ('PENDING', 'SENDING') AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Conditional claim: rows another dispatcher leased in the meantime keep their token and are skipped
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.attempts = e.attempts + 1, e.claimToken = :claimToken, " +
+            "e.nextAttemptAt = :leaseUntil " +
+            "WHERE e.id IN :ids AND e.status IN ('PENDING', 'SENDING') AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<EmailOutbox> findByClaimTokenOrderById(String claimToken);
+
+    // Outcome updates only apply while the caller still holds the claim; a reclaimed row carries another token
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENT', e.sentAt = :sentAt, e.claimToken = NULL, e.lastError = NULL " +
+            "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.nextAttemptAt = :nextAttemptAt, e.claimToken = NULL, e.lastError = :error " +
+            "WHERE e.id = :id AND e.claimToken = :claimToken")
+    int scheduleRetry(@Param("id") Long id, @Param("claimToken") String claimToken,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'FAILED', e.claimToken = NULL, e.lastError = :error " +
+            "WHERE e.id = :id AND e.claimToken = :claimToken")
+    int markFailed(@Param("id") Long id, @Param("claimToken") String claimToken, @Param("error") String error);
+
+    @Query("SELECT COUNT(e) FROM EmailOutbox e WHERE e.status IN ('PENDING', 'SENDING')")
+    long countQueued();
+}
@@ -4,6 +4,7 @@ import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.guardian.GoalGuardian;
 import com.relyon.metasmart.entity.guardian.GuardianStatus;
 import com.relyon.metasmart.entity.user.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -43,4 +44,9 @@ public interface GoalGuardianRepository extends JpaRepository<GoalGuardian, Long
 
     // Find all guardians for a goal with specific status
     List<GoalGuardian> findByGoalAndStatus(Goal goal, GuardianStatus status);
+
+    // Guardians for a page of goals, with guardian user and permissions fetched up front
+    @Query("SELECT DISTINCT gg FROM GoalGuardian gg JOIN FETCH gg.guardian LEFT JOIN FETCH gg.permissions " +
+            "WHERE gg.goal.id IN :goalIds AND gg.status = :status")
+    List<GoalGuardian> findByGoalIdsAndStatusWithGuardian(@Param("goalIds") Collection<Long> goalIds, @Param("status") GuardianStatus status);
 }
@@ -4,8 +4,10 @@ import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.reflection.GoalReflection;
 import com.relyon.metasmart.entity.user.User;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,6 +20,15 @@ public interface GoalReflectionRepository extends JpaRepository<GoalReflection,
 
     Page<GoalReflection> findByGoalAndUserOrderByPeriodEndDesc(Goal goal, User user, Pageable pageable);
 
+    @Query("SELECT r FROM GoalReflection r WHERE r.goal = :goal AND r.user = :user " +
+            "AND (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<GoalReflection> findHistoryFeed(@Param("goal") Goal goal,
+                                         @Param("user") User user,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
     Optional<GoalReflection> findFirstByGoalAndUserOrderByPeriodEndDesc(Goal goal, User user);
 
     @Query("SELECT gr FROM GoalReflection gr WHERE gr.goal = :goal AND gr.user = :user AND gr.periodStart = :periodStart AND gr.periodEnd = :periodEnd")
@@ -3,17 +3,35 @@ package com.relyon.metasmart.repository;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalProgressDrift;
+import com.relyon.metasmart.entity.goal.dto.GoalStatusCategoryCount;
+import com.relyon.metasmart.entity.goal.dto.GoalStreakStats;
+import com.relyon.metasmart.entity.goal.dto.GoalSummary;
 import com.relyon.metasmart.entity.user.User;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface GoalRepository extends JpaRepository<Goal, Long> {
 
+    String GOAL_SUMMARY_SELECT = "SELECT new com.relyon.metasmart.entity.goal.dto.GoalSummary(" +
+            "g.id, g.title, g.description, g.goalCategory, g.targetValue, g.unit, g.currentProgress, " +
+            "g.motivation, g.startDate, g.targetDate, g.goalStatus, g.lastStreakShieldUsedAt, " +
+            "g.actionPlanOverview, g.streak, g.longestStreak, g.lastProgressDate, g.createdDuringPremium, " +
+            "g.deletedAt, g.createdAt, g.updatedAt) " +
+            "FROM Goal g ";
+
+    String STATUS_CATEGORY_COUNT_SELECT = "SELECT new com.relyon.metasmart.entity.goal.dto.GoalStatusCategoryCount(" +
+            "g.goalStatus, g.goalCategory, COUNT(g)) " +
+            "FROM Goal g ";
+
     // Active goals (non-archived, non-deleted)
     Page<Goal> findByOwnerAndArchivedAtIsNullAndDeletedAtIsNull(User owner, Pageable pageable);
 
@@ -40,6 +58,24 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
 
     long countByOwnerAndGoalStatusAndArchivedAtIsNullAndDeletedAtIsNull(User owner, GoalStatus goalStatus);
 
+    // Status x category counts in one grouped query, read through GoalCountMatrix
+    @Query(STATUS_CATEGORY_COUNT_SELECT +
+            "WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
+            "GROUP BY g.goalStatus, g.goalCategory")
+    List<GoalStatusCategoryCount> countByOwnerGroupedByStatusAndCategory(@Param("owner") User owner);
+
+    // A run is alive while its last progress is from yesterday or later, or from the day before with yesterday shielded
+    @Query("SELECT new com.relyon.metasmart.entity.goal.dto.GoalStreakStats(" +
+            "COALESCE(MAX(g.longestStreak), 0), " +
+            "COALESCE(MAX(CASE WHEN g.goalStatus = 'ACTIVE' AND (g.lastProgressDate >= :yesterday " +
+            "OR (g.lastProgressDate = :dayBeforeYesterday AND g.lastStreakShieldUsedAt = :yesterday)) " +
+            "THEN g.streak ELSE 0 END), 0)) " +
+            "FROM Goal g WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL")
+    GoalStreakStats findStreakStatsByOwner(
+            @Param("owner") User owner,
+            @Param("yesterday") java.time.LocalDate yesterday,
+            @Param("dayBeforeYesterday") java.time.LocalDate dayBeforeYesterday);
+
     // Count active (non-locked, non-archived, non-deleted) goals
     @Query("SELECT COUNT(g) FROM Goal g WHERE g.owner = :owner " +
             "AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
@@ -75,6 +111,63 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
             @Param("category") GoalCategory category,
             Pageable pageable);
 
+    // Sparse summaries (scalar columns only, no embedded blocks)
+    @Query(value = GOAL_SUMMARY_SELECT +
+            "WHERE g.id = :id AND g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL")
+    Optional<GoalSummary> findSummaryByIdAndOwner(@Param("id") Long id, @Param("owner") User owner);
+
+    @Query(value = GOAL_SUMMARY_SELECT +
+            "WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
+            "AND (:status IS NULL OR g.goalStatus = :status) " +
+            "AND (:category IS NULL OR g.goalCategory = :category)",
+            countQuery = "SELECT COUNT(g) FROM Goal g " +
+                    "WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
+                    "AND (:status IS NULL OR g.goalStatus = :status) " +
+                    "AND (:category IS NULL OR g.goalCategory = :category)")
+    Page<GoalSummary> findSummariesByOwnerWithFilters(
+            @Param("owner") User owner,
+            @Param("status") GoalStatus status,
+            @Param("category") GoalCategory category,
+            Pageable pageable);
+
+    @Query(value = GOAL_SUMMARY_SELECT +
+            "WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
+            "AND (LOWER(g.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
+            "OR LOWER(g.description) LIKE LOWER(CONCAT('%', :query, '%')))",
+            countQuery = "SELECT COUNT(g) FROM Goal g " +
+                    "WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
+                    "AND (LOWER(g.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
+                    "OR LOWER(g.description) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<GoalSummary> searchSummariesByOwner(@Param("owner") User owner, @Param("query") String query, Pageable pageable);
+
+    @Query(value = GOAL_SUMMARY_SELECT +
+            "WHERE g.owner = :owner AND g.archivedAt IS NOT NULL AND g.deletedAt IS NULL",
+            countQuery = "SELECT COUNT(g) FROM Goal g " +
+                    "WHERE g.owner = :owner AND g.archivedAt IS NOT NULL AND g.deletedAt IS NULL")
+    Page<GoalSummary> findArchivedSummariesByOwner(@Param("owner") User owner, Pageable pageable);
+
+    // Progress writes: atomic delta, bumping the version so goals loaded before the write fail their optimistic check
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Goal g SET g.currentProgress = g.currentProgress + :delta, g.version = g.version + 1 WHERE g.id = :id")
+    int addToCurrentProgress(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    // Progress reconciliation: only overwrites when no progress write landed since the drift was read
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Goal g SET g.currentProgress = :total, g.version = g.version + 1 " +
+            "WHERE g.id = :id AND g.currentProgress = :expected")
+    int reconcileCurrentProgress(@Param("id") Long id, @Param("expected") BigDecimal expected, @Param("total") BigDecimal total);
+
+    @Query("SELECT new com.relyon.metasmart.entity.goal.dto.GoalProgressDrift(" +
+            "g.id, g.currentProgress, COALESCE(SUM(p.progressValue), 0)) " +
+            "FROM Goal g LEFT JOIN ProgressEntry p ON p.goal = g " +
+            "WHERE g.id IN :goalIds " +
+            "GROUP BY g.id, g.currentProgress " +
+            "HAVING g.currentProgress <> COALESCE(SUM(p.progressValue), 0)")
+    List<GoalProgressDrift> findProgressDrift(@Param("goalIds") Collection<Long> goalIds);
+
+    @Query("SELECT g.id FROM Goal g WHERE g.id > :afterId ORDER BY g.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     // Goals due soon (within days, exclude deleted)
     @Query("SELECT g FROM Goal g WHERE g.owner = :owner AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
             "AND g.goalStatus = 'ACTIVE' " +
@@ -138,21 +231,21 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
     @Query("SELECT COUNT(g) FROM Goal g WHERE g.goalStatus = 'ACTIVE'")
     long countActiveGoals();
 
-    @Query("SELECT COUNT(g) FROM Goal g WHERE g.goalStatus = 'COMPLETED'")
-    long countCompletedGoals();
-
-    @Query("SELECT COUNT(g) FROM Goal g WHERE g.goalCategory = :category")
-    long countByCategory(@Param("category") GoalCategory category);
+    @Query(STATUS_CATEGORY_COUNT_SELECT + "GROUP BY g.goalStatus, g.goalCategory")
+    List<GoalStatusCategoryCount> countAllGroupedByStatusAndCategory();
 
-    @Query("SELECT COUNT(g) FROM Goal g WHERE g.goalCategory = :category AND g.goalStatus = 'ACTIVE'")
-    long countActiveByCatgory(@Param("category") GoalCategory category);
-
-    @Query("SELECT COUNT(g) FROM Goal g WHERE g.goalCategory = :category AND g.goalStatus = 'COMPLETED'")
-    long countCompletedByCategory(@Param("category") GoalCategory category);
+    @Query(STATUS_CATEGORY_COUNT_SELECT + "WHERE g.goalCategory = :category GROUP BY g.goalStatus, g.goalCategory")
+    List<GoalStatusCategoryCount> countByCategoryGroupedByStatus(@Param("category") GoalCategory category);
 
     @Query("SELECT COUNT(DISTINCT g.owner) FROM Goal g WHERE g.goalCategory = :category")
     long countDistinctUsersByCategory(@Param("category") GoalCategory category);
 
     @Query("SELECT COUNT(DISTINCT g.owner) FROM Goal g WHERE g.goalCategory = :category AND g.goalStatus IN ('ACTIVE', 'COMPLETED')")
     long countUsersWithSimilarGoals(@Param("category") GoalCategory category);
+
+    @Query("SELECT g.owner.id, COUNT(g) FROM Goal g " +
+            "WHERE g.owner.id >= :fromId AND g.owner.id < :toId " +
+            "AND g.goalStatus = 'ACTIVE' AND g.archivedAt IS NULL AND g.deletedAt IS NULL " +
+            "GROUP BY g.owner.id")
+    List<Object[]> countActiveByOwnerRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -2,7 +2,9 @@ package com.relyon.metasmart.repository;
 
 import com.relyon.metasmart.entity.guardian.GoalGuardian;
 import com.relyon.metasmart.entity.guardian.GuardianNudge;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,11 +19,20 @@ public interface GuardianNudgeRepository extends JpaRepository<GuardianNudge, Lo
     Page<GuardianNudge> findByGoalGuardianOrderByCreatedAtDesc(GoalGuardian goalGuardian, Pageable pageable);
 
     // Find all nudges for a goal (from all guardians)
-    @Query("SELECT gn FROM GuardianNudge gn WHERE gn.goalGuardian.goal.id = :goalId ORDER BY gn.createdAt DESC")
+    @Query("SELECT gn FROM GuardianNudge gn WHERE gn.goal.id = :goalId ORDER BY gn.createdAt DESC")
     Page<GuardianNudge> findByGoalId(@Param("goalId") Long goalId, Pageable pageable);
 
+    // Keyset page of nudges for a goal, newest first
+    @Query("SELECT gn FROM GuardianNudge gn WHERE gn.goal.id = :goalId " +
+            "AND (gn.createdAt, gn.id) < (:createdAt, :id) " +
+            "ORDER BY gn.createdAt DESC, gn.id DESC")
+    List<GuardianNudge> findFeedByGoalId(@Param("goalId") Long goalId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
     // Find unread nudges for a goal owner
-    @Query("SELECT gn FROM GuardianNudge gn WHERE gn.goalGuardian.goal.id = :goalId AND gn.readAt IS NULL ORDER BY gn.createdAt DESC")
+    @Query("SELECT gn FROM GuardianNudge gn WHERE gn.goal.id = :goalId AND gn.readAt IS NULL ORDER BY gn.createdAt DESC")
     List<GuardianNudge> findUnreadByGoalId(@Param("goalId") Long goalId);
 
     // Count unread nudges for all goals of a user
@@ -31,4 +42,14 @@ public interface GuardianNudgeRepository extends JpaRepository<GuardianNudge, Lo
     // Find recent nudges sent by a guardian
     @Query("SELECT gn FROM GuardianNudge gn WHERE gn.goalGuardian.guardian.id = :guardianId ORDER BY gn.createdAt DESC")
     Page<GuardianNudge> findSentByGuardian(@Param("guardianId") Long guardianId, Pageable pageable);
+
+    // Nudges received per goal owner in [fromId, toId)
+    @Query("SELECT gn.goalGuardian.owner.id, COUNT(gn) FROM GuardianNudge gn " +
+            "WHERE gn.goalGuardian.owner.id >= :fromId AND gn.goalGuardian.owner.id < :toId " +
+            "AND gn.createdAt >= :from AND gn.createdAt < :to " +
+            "GROUP BY gn.goalGuardian.owner.id")
+    List<Object[]> countReceivedByOwnerRange(@Param("fromId") Long fromId,
+                                             @Param("toId") Long toId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,29 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.job.JobLock;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Takes the lock when it is missing or expired; returns zero while another holder has it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_locks (name, locked_until, locked_by, created_at, updated_at) " +
+            "VALUES (:name, :lockedUntil, :lockedBy, :now, :now) " +
+            "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+            "locked_by = EXCLUDED.locked_by, updated_at = EXCLUDED.updated_at " +
+            "WHERE job_locks.locked_until <= :now", nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("lockedBy") String lockedBy,
+                   @Param("lockedUntil") LocalDateTime lockedUntil,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :lockedBy")
+    int release(@Param("name") String name, @Param("lockedBy") String lockedBy, @Param("now") LocalDateTime now);
+}
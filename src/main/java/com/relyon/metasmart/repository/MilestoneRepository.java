@@ -2,19 +2,51 @@ package com.relyon.metasmart.repository;
 
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.progress.Milestone;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MilestoneRepository extends JpaRepository<Milestone, Long> {
 
     List<Milestone> findByGoalOrderByPercentageAsc(Goal goal);
 
+    List<Milestone> findByGoalIdInOrderByPercentageAsc(Collection<Long> goalIds);
+
     List<Milestone> findByGoalAndAchievedFalseOrderByPercentageAsc(Goal goal);
 
+    // Locks the milestones the goal has now reached, so concurrent progress writes mark and announce each once
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Milestone m WHERE m.goal.id = :goalId AND m.achieved = false AND m.percentage <= :percentage " +
+            "ORDER BY m.percentage")
+    List<Milestone> findReachedForUpdate(@Param("goalId") Long goalId, @Param("percentage") BigDecimal percentage);
+
+    @Modifying
+    @Query("UPDATE Milestone m SET m.achieved = false, m.achievedAt = NULL, m.updatedAt = :now " +
+            "WHERE m.goal.id = :goalId AND m.achieved = true AND m.percentage > :percentage")
+    int revertAbove(@Param("goalId") Long goalId,
+                    @Param("percentage") BigDecimal percentage,
+                    @Param("now") LocalDateTime now);
+
     Optional<Milestone> findByIdAndGoal(Long id, Goal goal);
 
     void deleteByGoal(Goal goal);
 
     boolean existsByGoalAndPercentage(Goal goal, Integer percentage);
+
+    @Query("SELECT m.goal.owner.id, COUNT(m) FROM Milestone m " +
+            "WHERE m.goal.owner.id >= :fromId AND m.goal.owner.id < :toId " +
+            "AND m.achieved = true AND m.achievedAt >= :from AND m.achievedAt < :to " +
+            "GROUP BY m.goal.owner.id")
+    List<Object[]> countAchievedByOwnerRange(@Param("fromId") Long fromId,
+                                             @Param("toId") Long toId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
 }
@@ -9,5 +9,7 @@ public interface NotificationPreferencesRepository extends JpaRepository<Notific
 
     Optional<NotificationPreferences> findByUser(User user);
 
+    Optional<NotificationPreferences> findByUserId(Long userId);
+
     boolean existsByUser(User user);
 }
@@ -1,23 +1,43 @@
 package com.relyon.metasmart.repository;
 
+import static com.relyon.metasmart.constant.AppConstants.HISTORY_EXPORT_FETCH_SIZE;
+
+import com.relyon.metasmart.entity.activity.dto.UserActivityDate;
 import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.history.dto.ProgressEntryHistoryRow;
 import com.relyon.metasmart.entity.progress.ProgressEntry;
+import com.relyon.metasmart.entity.progress.dto.GoalProgressDate;
 import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, Long> {
 
     Page<ProgressEntry> findByGoalOrderByCreatedAtDesc(Goal goal, Pageable pageable);
 
+    // Row-value seek, so the planner bounds the (goal, created_at, id) index range directly
+    @Query("SELECT p FROM ProgressEntry p WHERE p.goal = :goal " +
+            "AND (p.createdAt, p.id) < (:createdAt, :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProgressEntry> findHistoryFeed(@Param("goal") Goal goal,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
     Page<ProgressEntry> findByGoalAndCreatedAtBetweenOrderByCreatedAtDesc(
             Goal goal, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
@@ -26,9 +46,27 @@ public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, Lo
     @Query("SELECT COALESCE(SUM(p.progressValue), 0) FROM ProgressEntry p WHERE p.goal = :goal")
     BigDecimal sumValueByGoal(@Param("goal") Goal goal);
 
-    @Query("SELECT DISTINCT CAST(p.createdAt AS LocalDate) FROM ProgressEntry p WHERE p.goal = :goal ORDER BY CAST(p.createdAt AS LocalDate) DESC")
+    @Query("SELECT DISTINCT p.progressDate FROM ProgressEntry p WHERE p.goal = :goal ORDER BY p.progressDate DESC")
     List<LocalDate> findDistinctProgressDates(@Param("goal") Goal goal);
 
+    @Query("SELECT COUNT(p) > 0 FROM ProgressEntry p WHERE p.goal = :goal AND p.progressDate = :date")
+    boolean hasGoalProgressOnDate(@Param("goal") Goal goal, @Param("date") LocalDate date);
+
+    @Query("SELECT DISTINCT new com.relyon.metasmart.entity.progress.dto.GoalProgressDate(p.goal.id, p.progressDate) " +
+            "FROM ProgressEntry p WHERE p.goal.id IN :goalIds " +
+            "ORDER BY p.goal.id, p.progressDate DESC")
+    List<GoalProgressDate> findDistinctProgressDatesByGoalIds(@Param("goalIds") Collection<Long> goalIds);
+
+    // Latest entries per goal for a whole page of goals, ranked in the database
+    @Query(value = "SELECT p.* FROM progress_entries p WHERE p.id IN (" +
+            "SELECT ranked.id FROM (" +
+            "SELECT pe.id, ROW_NUMBER() OVER (PARTITION BY pe.goal_id ORDER BY pe.created_at DESC) AS row_num " +
+            "FROM progress_entries pe WHERE pe.goal_id IN (:goalIds)) ranked " +
+            "WHERE ranked.row_num <= :limit) " +
+            "ORDER BY p.goal_id, p.created_at DESC",
+            nativeQuery = true)
+    List<ProgressEntry> findLatestByGoalIds(@Param("goalIds") Collection<Long> goalIds, @Param("limit") int limit);
+
     void deleteByGoal(Goal goal);
 
     Optional<ProgressEntry> findTopByGoalOrderByCreatedAtDesc(Goal goal);
@@ -38,25 +76,40 @@ public interface ProgressEntryRepository extends JpaRepository<ProgressEntry, Lo
     long countAllProgressEntries();
 
     @Query("SELECT p FROM ProgressEntry p " +
-            "JOIN p.goal g " +
-            "WHERE g.owner = :user " +
-            "AND p.createdAt BETWEEN :startDateTime AND :endDateTime " +
+            "WHERE p.owner = :user " +
+            "AND p.progressDate BETWEEN :startDate AND :endDate " +
             "ORDER BY p.createdAt DESC")
     List<ProgressEntry> findByUserAndDateRange(@Param("user") User user,
-                                               @Param("startDateTime") LocalDateTime startDateTime,
-                                               @Param("endDateTime") LocalDateTime endDateTime);
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
 
-    @Query("SELECT DISTINCT CAST(p.createdAt AS LocalDate) FROM ProgressEntry p " +
+    @Query("SELECT new com.relyon.metasmart.entity.history.dto.ProgressEntryHistoryRow(" +
+            "p.id, g.id, g.title, p.progressValue, g.unit, g.targetValue, p.note, p.createdAt) " +
+            "FROM ProgressEntry p " +
             "JOIN p.goal g " +
-            "WHERE g.owner = :user " +
-            "AND p.createdAt BETWEEN :startDateTime AND :endDateTime")
+            "WHERE p.owner = :user " +
+            "AND p.progressDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY p.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = HISTORY_EXPORT_FETCH_SIZE))
+    Stream<ProgressEntryHistoryRow> streamHistoryRows(@Param("user") User user,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT DISTINCT p.progressDate FROM ProgressEntry p " +
+            "WHERE p.owner = :user " +
+            "AND p.progressDate BETWEEN :startDate AND :endDate")
     List<LocalDate> findActiveDatesForUser(@Param("user") User user,
-                                           @Param("startDateTime") LocalDateTime startDateTime,
-                                           @Param("endDateTime") LocalDateTime endDateTime);
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
 
-    @Query("SELECT COUNT(p) > 0 FROM ProgressEntry p " +
-            "JOIN p.goal g " +
-            "WHERE g.owner = :user " +
-            "AND CAST(p.createdAt AS LocalDate) = :date")
-    boolean hasProgressOnDate(@Param("user") User user, @Param("date") LocalDate date);
+    @Query("SELECT DISTINCT p.progressDate FROM ProgressEntry p " +
+            "WHERE p.owner = :user")
+    List<LocalDate> findAllActiveDatesForUser(@Param("user") User user);
+
+    @Query("SELECT DISTINCT new com.relyon.metasmart.entity.activity.dto.UserActivityDate(p.owner.id, p.progressDate) " +
+            "FROM ProgressEntry p " +
+            "WHERE p.owner.id IN :userIds " +
+            "AND p.progressDate >= :since")
+    List<UserActivityDate> findActiveDatesByUserIds(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("since") LocalDate since);
 }
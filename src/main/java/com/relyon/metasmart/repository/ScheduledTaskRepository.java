@@ -4,8 +4,10 @@ import com.relyon.metasmart.entity.actionplan.ActionItem;
 import com.relyon.metasmart.entity.actionplan.ScheduledTask;
 import com.relyon.metasmart.entity.goal.Goal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -25,9 +27,15 @@ public interface ScheduledTaskRepository extends JpaRepository<ScheduledTask, Lo
 
     Optional<ScheduledTask> findByActionItemAndScheduledDate(ActionItem actionItem, LocalDate date);
 
+    @Query("SELECT st.scheduledDate FROM ScheduledTask st WHERE st.actionItem = :actionItem AND st.scheduledDate BETWEEN :startDate AND :endDate")
+    Set<LocalDate> findScheduledDatesBetween(@Param("actionItem") ActionItem actionItem, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     @Query("SELECT st FROM ScheduledTask st WHERE st.actionItem.goal = :goal ORDER BY st.scheduledDate ASC")
     List<ScheduledTask> findByGoalOrderByScheduledDateAsc(@Param("goal") Goal goal);
 
+    @Query("SELECT st FROM ScheduledTask st JOIN FETCH st.actionItem ai WHERE ai.goal.id IN :goalIds ORDER BY st.scheduledDate ASC")
+    List<ScheduledTask> findByGoalIdsOrderByScheduledDateAsc(@Param("goalIds") Collection<Long> goalIds);
+
     @Query("SELECT st FROM ScheduledTask st WHERE st.actionItem.goal = :goal AND st.scheduledDate BETWEEN :startDate AND :endDate ORDER BY st.scheduledDate ASC")
     List<ScheduledTask> findByGoalAndDateRange(@Param("goal") Goal goal, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
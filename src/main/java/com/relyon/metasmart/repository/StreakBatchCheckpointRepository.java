@@ -0,0 +1,48 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.streak.StreakBatchCheckpoint;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface StreakBatchCheckpointRepository extends JpaRepository<StreakBatchCheckpoint, Long> {
+
+    Optional<StreakBatchCheckpoint> findByTimezoneAndTargetDate(String timezone, LocalDate targetDate);
+
+    boolean existsByTimezoneAndTargetDate(String timezone, LocalDate targetDate);
+
+    @Query("SELECT c.targetDate FROM StreakBatchCheckpoint c " +
+            "WHERE c.timezone = :timezone AND c.targetDate < :before AND c.status <> 'COMPLETED' " +
+            "ORDER BY c.targetDate")
+    List<LocalDate> findIncompleteTargetDates(@Param("timezone") String timezone, @Param("before") LocalDate before);
+
+    // SELECT ... FOR UPDATE SKIP LOCKED: a checkpoint another replica is claiming right now reads as absent
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM StreakBatchCheckpoint c WHERE c.timezone = :timezone AND c.targetDate = :targetDate")
+    Optional<StreakBatchCheckpoint> findForClaim(@Param("timezone") String timezone, @Param("targetDate") LocalDate targetDate);
+
+    // Moves the cursor and renews the lease; zero rows means the lease was lost to another replica
+    @Modifying
+    @Query("UPDATE StreakBatchCheckpoint c SET c.lastUserId = :lastUserId, c.usersProcessed = :usersProcessed, " +
+            "c.leaseUntil = :leaseUntil WHERE c.id = :id AND c.leaseOwner = :leaseOwner")
+    int advance(@Param("id") Long id,
+                @Param("leaseOwner") String leaseOwner,
+                @Param("lastUserId") Long lastUserId,
+                @Param("usersProcessed") Long usersProcessed,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE StreakBatchCheckpoint c SET c.status = 'COMPLETED', c.completedAt = :completedAt, " +
+            "c.leaseOwner = NULL, c.leaseUntil = NULL WHERE c.id = :id AND c.leaseOwner = :leaseOwner")
+    int complete(@Param("id") Long id, @Param("leaseOwner") String leaseOwner, @Param("completedAt") LocalDateTime completedAt);
+}
@@ -4,6 +4,7 @@ import com.relyon.metasmart.entity.actionplan.ActionItem;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.streak.StreakInfo;
 import com.relyon.metasmart.entity.user.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -26,6 +27,9 @@ public interface StreakInfoRepository extends JpaRepository<StreakInfo, Long> {
     @Query("SELECT s FROM StreakInfo s WHERE s.user = :user AND s.actionItem IS NOT NULL")
     List<StreakInfo> findTaskStreaksByUser(@Param("user") User user);
 
+    @Query("SELECT s FROM StreakInfo s WHERE s.user.id IN :userIds AND s.goal IS NULL AND s.actionItem IS NULL")
+    List<StreakInfo> findUserStreaksByUserIds(@Param("userIds") Collection<Long> userIds);
+
     List<StreakInfo> findByGoal(Goal goal);
 
     List<StreakInfo> findByActionItem(ActionItem actionItem);
@@ -33,4 +37,8 @@ public interface StreakInfoRepository extends JpaRepository<StreakInfo, Long> {
     void deleteByGoal(Goal goal);
 
     void deleteByActionItem(ActionItem actionItem);
+
+    @Query("SELECT s.user.id, s.currentMaintainedStreak, s.bestMaintainedStreak FROM StreakInfo s " +
+            "WHERE s.user.id >= :fromId AND s.user.id < :toId AND s.goal IS NULL AND s.actionItem IS NULL")
+    List<Object[]> findUserStreaksInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
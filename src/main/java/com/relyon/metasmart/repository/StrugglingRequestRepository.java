@@ -4,6 +4,7 @@ import com.relyon.metasmart.entity.struggling.StrugglingRequest;
 import com.relyon.metasmart.entity.user.User;
 import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -19,6 +20,14 @@ public interface StrugglingRequestRepository extends JpaRepository<StrugglingReq
 
     Page<StrugglingRequest> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
 
+    @Query("SELECT sr FROM StrugglingRequest sr WHERE sr.user = :user " +
+            "AND (sr.createdAt, sr.id) < (:createdAt, :id) " +
+            "ORDER BY sr.createdAt DESC, sr.id DESC")
+    List<StrugglingRequest> findHistoryFeed(@Param("user") User user,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
     List<StrugglingRequest> findByGoalIdAndUserOrderByCreatedAtDesc(Long goalId, User user);
 
     // Social Proof - common obstacles by category
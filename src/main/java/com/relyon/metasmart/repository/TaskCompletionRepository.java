@@ -1,25 +1,46 @@
 package com.relyon.metasmart.repository;
 
+import static com.relyon.metasmart.constant.AppConstants.HISTORY_EXPORT_FETCH_SIZE;
+
 import com.relyon.metasmart.entity.actionplan.ActionItem;
 import com.relyon.metasmart.entity.actionplan.CompletionStatus;
 import com.relyon.metasmart.entity.actionplan.TaskCompletion;
+import com.relyon.metasmart.entity.activity.dto.UserActivityDate;
 import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.history.dto.TaskCompletionHistoryRow;
 import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface TaskCompletionRepository extends JpaRepository<TaskCompletion, Long> {
 
     List<TaskCompletion> findByActionItemOrderByCompletedAtDesc(ActionItem actionItem);
 
+    List<TaskCompletion> findByActionItemIdInOrderByCompletedAtDesc(Collection<Long> actionItemIds);
+
     Page<TaskCompletion> findByActionItemOrderByCompletedAtDesc(ActionItem actionItem, Pageable pageable);
 
+    @Query("SELECT tc FROM TaskCompletion tc WHERE tc.actionItem = :actionItem " +
+            "AND (tc.createdAt, tc.id) < (:createdAt, :id) " +
+            "ORDER BY tc.createdAt DESC, tc.id DESC")
+    List<TaskCompletion> findHistoryFeed(@Param("actionItem") ActionItem actionItem,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
     List<TaskCompletion> findByActionItemAndScheduledDateBetween(ActionItem actionItem, LocalDate startDate, LocalDate endDate);
 
     long countByActionItem(ActionItem actionItem);
@@ -33,19 +54,28 @@ public interface TaskCompletionRepository extends JpaRepository<TaskCompletion,
     void deleteByGoal(@Param("goal") Goal goal);
 
     @Query("SELECT tc FROM TaskCompletion tc " +
-            "JOIN tc.actionItem ai " +
-            "JOIN ai.goal g " +
-            "WHERE g.owner = :user " +
+            "WHERE tc.owner = :user " +
             "AND tc.scheduledDate BETWEEN :startDate AND :endDate " +
             "ORDER BY tc.scheduledDate DESC, tc.completedAt DESC")
     List<TaskCompletion> findByUserAndDateRange(@Param("user") User user,
                                                  @Param("startDate") LocalDate startDate,
                                                  @Param("endDate") LocalDate endDate);
 
-    @Query("SELECT DISTINCT tc.scheduledDate FROM TaskCompletion tc " +
+    @Query("SELECT new com.relyon.metasmart.entity.history.dto.TaskCompletionHistoryRow(" +
+            "tc.scheduledDate, tc.id, ai.id, ai.title, g.id, g.title, tc.status, tc.note, tc.completedAt) " +
+            "FROM TaskCompletion tc " +
             "JOIN tc.actionItem ai " +
             "JOIN ai.goal g " +
-            "WHERE g.owner = :user " +
+            "WHERE tc.owner = :user " +
+            "AND tc.scheduledDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY tc.scheduledDate DESC, tc.completedAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = HISTORY_EXPORT_FETCH_SIZE))
+    Stream<TaskCompletionHistoryRow> streamHistoryRows(@Param("user") User user,
+                                                        @Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT DISTINCT tc.scheduledDate FROM TaskCompletion tc " +
+            "WHERE tc.owner = :user " +
             "AND tc.status IN :statuses " +
             "AND tc.scheduledDate BETWEEN :startDate AND :endDate")
     List<LocalDate> findActiveDatesForUser(@Param("user") User user,
@@ -53,13 +83,18 @@ public interface TaskCompletionRepository extends JpaRepository<TaskCompletion,
                                            @Param("startDate") LocalDate startDate,
                                            @Param("endDate") LocalDate endDate);
 
-    @Query("SELECT COUNT(tc) > 0 FROM TaskCompletion tc " +
-            "JOIN tc.actionItem ai " +
-            "JOIN ai.goal g " +
-            "WHERE g.owner = :user " +
+    @Query("SELECT DISTINCT tc.scheduledDate FROM TaskCompletion tc " +
+            "WHERE tc.owner = :user " +
+            "AND tc.status IN :statuses")
+    List<LocalDate> findAllActiveDatesForUser(@Param("user") User user,
+                                              @Param("statuses") List<CompletionStatus> statuses);
+
+    @Query("SELECT DISTINCT new com.relyon.metasmart.entity.activity.dto.UserActivityDate(tc.owner.id, tc.scheduledDate) " +
+            "FROM TaskCompletion tc " +
+            "WHERE tc.owner.id IN :userIds " +
             "AND tc.status IN :statuses " +
-            "AND tc.scheduledDate = :date")
-    boolean hasCompletedTaskOnDate(@Param("user") User user,
-                                   @Param("statuses") List<CompletionStatus> statuses,
-                                   @Param("date") LocalDate date);
+            "AND tc.scheduledDate >= :since")
+    List<UserActivityDate> findActiveDatesByUserIds(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("statuses") List<CompletionStatus> statuses,
+                                                    @Param("since") LocalDate since);
 }
@@ -2,12 +2,17 @@ package com.relyon.metasmart.repository;
 
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.entity.user.UserPreferences;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface UserPreferencesRepository extends JpaRepository<UserPreferences, Long> {
 
     Optional<UserPreferences> findByUser(User user);
 
     boolean existsByUser(User user);
+
+    @Query("SELECT DISTINCT p.timezone FROM UserPreferences p")
+    List<String> findDistinctTimezones();
 }
@@ -16,8 +16,14 @@ public interface UserPurchaseRepository extends JpaRepository<UserPurchase, Long
     @Query("SELECT up FROM UserPurchase up WHERE up.user = :user AND up.purchaseType = :type AND up.quantityRemaining > 0 AND (up.expiresAt IS NULL OR up.expiresAt > :now)")
     List<UserPurchase> findAvailablePurchases(@Param("user") User user, @Param("type") PurchaseType type, @Param("now") LocalDateTime now);
 
-    @Query("SELECT COALESCE(SUM(up.quantityRemaining), 0) FROM UserPurchase up WHERE up.user = :user AND up.purchaseType = :type AND up.quantityRemaining > 0 AND (up.expiresAt IS NULL OR up.expiresAt > :now)")
-    int countAvailable(@Param("user") User user, @Param("type") PurchaseType type, @Param("now") LocalDateTime now);
+    /**
+     * Available quantity per purchase type in one round trip, as {@code [PurchaseType, Long sum,
+     * LocalDateTime earliestExpiry]} rows. Types with nothing available are absent.
+     */
+    @Query("SELECT up.purchaseType, SUM(up.quantityRemaining), MIN(up.expiresAt) FROM UserPurchase up " +
+            "WHERE up.user = :user AND up.quantityRemaining > 0 AND (up.expiresAt IS NULL OR up.expiresAt > :now) " +
+            "GROUP BY up.purchaseType")
+    List<Object[]> countAvailableByType(@Param("user") User user, @Param("now") LocalDateTime now);
 
     List<UserPurchase> findByUserOrderByPurchasedAtDesc(User user);
 }
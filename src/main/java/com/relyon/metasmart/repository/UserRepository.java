@@ -1,12 +1,66 @@
 package com.relyon.metasmart.repository;
 
 import com.relyon.metasmart.entity.user.User;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    // Shield awards: atomic increment so an award is not lost to a concurrent read-modify-write
+    @Modifying
+    @Query("UPDATE User u SET u.streakShields = u.streakShields + :count WHERE u.id = :id")
+    int addStreakShields(@Param("id") Long id, @Param("count") int count);
+
+    // Shield use: conditional decrement, so a stale cached principal can neither overspend nor overwrite the count
+    @Modifying
+    @Query("UPDATE User u SET u.streakShields = u.streakShields - :count WHERE u.id = :id AND u.streakShields >= :count")
+    int consumeStreakShields(@Param("id") Long id, @Param("count") int count);
+
+    // Profile edits write only their own column instead of merging a possibly stale principal
+    @Modifying
+    @Query("UPDATE User u SET u.name = :name WHERE u.id = :id")
+    int updateName(@Param("id") Long id, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE User u SET u.profilePictureUrl = :url WHERE u.id = :id")
+    int updateProfilePictureUrl(@Param("id") Long id, @Param("url") String url);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Users without preferences fall into the default timezone bucket
+    @Query("SELECT u.id FROM User u LEFT JOIN UserPreferences p ON p.user = u " +
+            "WHERE u.id > :afterId " +
+            "AND COALESCE(p.timezone, :defaultTimezone) = :timezone " +
+            "ORDER BY u.id")
+    List<Long> findIdsInTimezoneAfter(@Param("timezone") String timezone,
+                                      @Param("defaultTimezone") String defaultTimezone,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+
+    // Opted-in digest recipients in [fromId, toId); missing preference rows count as the defaults (opted in)
+    @Query("SELECT u.id, u.name, u.email FROM User u " +
+            "LEFT JOIN UserPreferences p ON p.user = u " +
+            "LEFT JOIN NotificationPreferences n ON n.user = u " +
+            "WHERE u.id >= :fromId AND u.id < :toId AND u.createdAt < :createdBefore " +
+            "AND COALESCE(p.weeklyDigest, true) = true " +
+            "AND COALESCE(n.emailEnabled, true) = true " +
+            "AND COALESCE(n.emailWeeklyDigest, true) = true " +
+            "ORDER BY u.id")
+    List<Object[]> findWeeklyDigestRecipients(@Param("fromId") Long fromId,
+                                              @Param("toId") Long toId,
+                                              @Param("createdBefore") LocalDateTime createdBefore);
 }
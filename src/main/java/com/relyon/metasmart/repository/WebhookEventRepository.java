@@ -0,0 +1,52 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.subscription.WebhookEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+
+    boolean existsByEventId(String eventId);
+
+    // Due events that are the oldest unfinished one for their customer, so a customer's events never overtake each other
+    @Query("SELECT e.id FROM WebhookEvent e WHERE e.status IN ('PENDING', 'PROCESSING') AND e.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM WebhookEvent earlier WHERE earlier.customerKey = e.customerKey " +
+            "AND (earlier.stripeCreatedAt, earlier.id) < (e.stripeCreatedAt, e.id) " +
+            "AND earlier.status IN ('PENDING', 'PROCESSING')) " +
+            "ORDER BY e.stripeCreatedAt, e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    // Conditional claim: only one worker wins a due event; an expired lease makes a stuck PROCESSING event due again
+    @Modifying
+    @Query("UPDATE WebhookEvent e SET e.status = 'PROCESSING', e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil " +
+            "WHERE e.id = :id AND e.status IN ('PENDING', 'PROCESSING') AND e.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Outcome updates only apply to the caller's own attempt; 0 rows means the lease expired and another worker reclaimed the event
+    @Modifying
+    @Query("UPDATE WebhookEvent e SET e.status = 'PROCESSED', e.processedAt = :processedAt, e.lastError = NULL " +
+            "WHERE e.id = :id AND e.status = 'PROCESSING' AND e.attempts = :attempt")
+    int markProcessed(@Param("id") Long id, @Param("attempt") int attempt, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE WebhookEvent e SET e.status = 'PENDING', e.nextAttemptAt = :nextAttemptAt, e.lastError = :error " +
+            "WHERE e.id = :id AND e.status = 'PROCESSING' AND e.attempts = :attempt")
+    int scheduleRetry(@Param("id") Long id, @Param("attempt") int attempt,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE WebhookEvent e SET e.status = 'DEAD', e.lastError = :error " +
+            "WHERE e.id = :id AND e.status = 'PROCESSING' AND e.attempts = :attempt")
+    int markDead(@Param("id") Long id, @Param("attempt") int attempt, @Param("error") String error);
+
+    // Bounded delete so pruning a large backlog never holds one long transaction
+    @Modifying
+    @Query(value = "DELETE FROM webhook_events WHERE id IN (SELECT id FROM webhook_events " +
+            "WHERE status = :status AND created_at < :cutoff ORDER BY id LIMIT :limit)", nativeQuery = true)
+    int deleteFinishedBefore(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,14 @@
+package com.relyon.metasmart.repository;
+
+import com.relyon.metasmart.entity.notification.WeeklyDigestRange;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface WeeklyDigestRangeRepository extends JpaRepository<WeeklyDigestRange, Long> {
+
+    @Query("SELECT r.rangeStart FROM WeeklyDigestRange r WHERE r.weekStart = :weekStart")
+    List<Long> findRangeStartsByWeekStart(@Param("weekStart") LocalDate weekStart);
+}
@@ -0,0 +1,219 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import com.relyon.metasmart.entity.activity.ActivityBitmap;
+import com.relyon.metasmart.entity.activity.ActivityCalendar;
+import com.relyon.metasmart.entity.activity.ActivityCalendarType;
+import com.relyon.metasmart.entity.activity.DailyActivityRollup;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.ActivityCalendarRepository;
+import com.relyon.metasmart.repository.DailyActivityRollupRepository;
+import com.relyon.metasmart.repository.DailyJournalRepository;
+import com.relyon.metasmart.repository.ProgressEntryRepository;
+import com.relyon.metasmart.repository.TaskCompletionRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the persistent activity calendars and the daily activity rollup in sync with progress
+ * entries, task completions and journals, and answers "was the user active" questions from them
+ * instead of querying each source.
+ * <p>
+ * A calendar that does not exist yet is built from the source tables. Reads use the built bitmap
+ * without storing it; the first write inserts it if no concurrent write got there first. Writes
+ * hold the calendar row lock until commit, so concurrent updates to one bitmap are serialized
+ * instead of overwriting each other. Rollup rows are upserted with count deltas, so a single day
+ * check is one primary key probe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityCalendarService {
+
+    static final List<CompletionStatus> REAL_ACTIVITY_STATUSES = List.of(CompletionStatus.COMPLETED, CompletionStatus.PARTIAL);
+
+    private final ActivityCalendarRepository activityCalendarRepository;
+    private final ProgressEntryRepository progressEntryRepository;
+    private final TaskCompletionRepository taskCompletionRepository;
+    private final DailyJournalRepository dailyJournalRepository;
+    private final DailyActivityRollupRepository dailyActivityRollupRepository;
+
+    @Transactional
+    public void onProgressRecorded(Goal goal, LocalDate date) {
+        onProgressRecorded(goal, date, 1);
+    }
+
+    @Transactional
+    public void onProgressRecorded(Goal goal, LocalDate date, int entries) {
+        dailyActivityRollupRepository.addCounts(goal.getOwner().getId(), date, 0, entries, LocalDateTime.now());
+        mark(loadGoalCalendar(goal), date);
+        mark(loadUserCalendar(goal.getOwner(), ActivityCalendarType.ACTIVITY), date);
+    }
+
+    @Transactional
+    public void onProgressRemoved(Goal goal, LocalDate date) {
+        if (!progressEntryRepository.hasGoalProgressOnDate(goal, date)) {
+            unmark(loadGoalCalendar(goal), date);
+        }
+        var remaining = dailyActivityRollupRepository.addCounts(goal.getOwner().getId(), date, 0, -1, LocalDateTime.now());
+        onRealActivityRemoved(goal.getOwner(), date, remaining);
+    }
+
+    @Transactional
+    public void onTaskCompleted(User user, LocalDate date) {
+        dailyActivityRollupRepository.addCounts(user.getId(), date, 1, 0, LocalDateTime.now());
+        mark(loadUserCalendar(user, ActivityCalendarType.ACTIVITY), date);
+    }
+
+    @Transactional
+    public void onTaskCompletionRemoved(User user, LocalDate date) {
+        var remaining = dailyActivityRollupRepository.addCounts(user.getId(), date, -1, 0, LocalDateTime.now());
+        onRealActivityRemoved(user, date, remaining);
+    }
+
+    @Transactional
+    public void onJournalWritten(User user, LocalDate date) {
+        dailyActivityRollupRepository.setJournal(user.getId(), date, true, false, LocalDateTime.now());
+        mark(loadUserCalendar(user, ActivityCalendarType.JOURNAL), date);
+    }
+
+    @Transactional
+    public void onJournalRemoved(User user, LocalDate date) {
+        dailyActivityRollupRepository.setJournal(user.getId(), date, false, false, LocalDateTime.now());
+        unmark(loadUserCalendar(user, ActivityCalendarType.JOURNAL), date);
+        unmark(loadUserCalendar(user, ActivityCalendarType.SHIELD), date);
+    }
+
+    @Transactional
+    public void onShieldUsed(User user, LocalDate date) {
+        dailyActivityRollupRepository.markShieldUsed(user.getId(), date, LocalDateTime.now());
+        mark(loadUserCalendar(user, ActivityCalendarType.SHIELD), date);
+    }
+
+    /**
+     * Drops the goal's calendar and the owner's activity calendar, which may now hold days that
+     * only the deleted goal contributed. The latter is rebuilt from source on next use. The owner's
+     * rollup counts are recounted from source, since the goal's rows were removed in bulk.
+     */
+    @Transactional
+    public void onGoalDeleted(Goal goal) {
+        activityCalendarRepository.deleteByGoal(goal);
+        activityCalendarRepository.deleteByUserAndGoalIsNullAndCalendarType(goal.getOwner(), ActivityCalendarType.ACTIVITY);
+        dailyActivityRollupRepository.resetCounts(goal.getOwner().getId());
+        dailyActivityRollupRepository.recountActivity(goal.getOwner().getId(), LocalDateTime.now());
+        log.debug("Activity calendars invalidated for deleted goal ID: {}", goal.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public ActivityBitmap getUserCalendar(User user, ActivityCalendarType calendarType) {
+        return activityCalendarRepository.findByUserAndGoalIsNullAndCalendarType(user, calendarType)
+                .map(ActivityCalendar::toBitmap)
+                .orElseGet(() -> buildUserBitmap(user, calendarType));
+    }
+
+    @Transactional(readOnly = true)
+    public ActivityBitmap getGoalCalendar(Goal goal) {
+        return activityCalendarRepository.findByGoalAndCalendarType(goal, ActivityCalendarType.ACTIVITY)
+                .map(ActivityCalendar::toBitmap)
+                .orElseGet(() -> ActivityBitmap.of(progressEntryRepository.findDistinctProgressDates(goal)));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasRealActivityOnDate(User user, LocalDate date) {
+        return dailyActivityRollupRepository.hasRealActivity(user.getId(), date);
+    }
+
+    /**
+     * Whether any day of the inclusive range has progress or a completed task.
+     */
+    @Transactional(readOnly = true)
+    public boolean hasRealActivityBetween(User user, LocalDate startDate, LocalDate endDate) {
+        return dailyActivityRollupRepository.hasRealActivityBetween(user.getId(), startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasJournalOnDate(User user, LocalDate date) {
+        return dailyActivityRollupRepository.hasJournal(user.getId(), date);
+    }
+
+    /**
+     * Days of the range with any activity, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyActivityRollup> getActiveDays(User user, LocalDate startDate, LocalDate endDate) {
+        return dailyActivityRollupRepository.findActiveDays(user.getId(), startDate, endDate);
+    }
+
+    private void onRealActivityRemoved(User user, LocalDate date, int remaining) {
+        if (remaining == 0) {
+            unmark(loadUserCalendar(user, ActivityCalendarType.ACTIVITY), date);
+        }
+    }
+
+    private void mark(ActivityCalendar calendar, LocalDate date) {
+        var bitmap = calendar.toBitmap();
+        if (bitmap.set(date)) {
+            calendar.setBitmap(bitmap);
+            activityCalendarRepository.save(calendar);
+        }
+    }
+
+    private void unmark(ActivityCalendar calendar, LocalDate date) {
+        var bitmap = calendar.toBitmap();
+        if (bitmap.clear(date)) {
+            calendar.setBitmap(bitmap);
+            activityCalendarRepository.save(calendar);
+        }
+    }
+
+    /**
+     * Row-locks the user's calendar for the rest of the transaction, storing it first when missing.
+     */
+    private ActivityCalendar loadUserCalendar(User user, ActivityCalendarType calendarType) {
+        var existing = activityCalendarRepository.findUserCalendarForUpdate(user, calendarType);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        var bitmap = buildUserBitmap(user, calendarType);
+        if (activityCalendarRepository.insertUserCalendarIfMissing(user.getId(), calendarType.name(),
+                bitmap.getOriginEpochDay(), bitmap.toBytes(), LocalDateTime.now()) > 0) {
+            log.debug("Built {} calendar for user ID: {}", calendarType, user.getId());
+        }
+        return activityCalendarRepository.findUserCalendarForUpdate(user, calendarType).orElseThrow();
+    }
+
+    /**
+     * Row-locks the goal's calendar for the rest of the transaction, storing it first when missing.
+     */
+    private ActivityCalendar loadGoalCalendar(Goal goal) {
+        var existing = activityCalendarRepository.findGoalCalendarForUpdate(goal, ActivityCalendarType.ACTIVITY);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        var bitmap = ActivityBitmap.of(progressEntryRepository.findDistinctProgressDates(goal));
+        if (activityCalendarRepository.insertGoalCalendarIfMissing(goal.getOwner().getId(), goal.getId(),
+                ActivityCalendarType.ACTIVITY.name(), bitmap.getOriginEpochDay(), bitmap.toBytes(), LocalDateTime.now()) > 0) {
+            log.debug("Built activity calendar for goal ID: {}", goal.getId());
+        }
+        return activityCalendarRepository.findGoalCalendarForUpdate(goal, ActivityCalendarType.ACTIVITY).orElseThrow();
+    }
+
+    private ActivityBitmap buildUserBitmap(User user, ActivityCalendarType calendarType) {
+        return switch (calendarType) {
+            case ACTIVITY -> {
+                var dates = new ArrayList<>(progressEntryRepository.findAllActiveDatesForUser(user));
+                dates.addAll(taskCompletionRepository.findAllActiveDatesForUser(user, REAL_ACTIVITY_STATUSES));
+                yield ActivityBitmap.of(dates);
+            }
+            case JOURNAL -> ActivityBitmap.of(dailyJournalRepository.findJournalDatesByUser(user));
+            case SHIELD -> ActivityBitmap.of(dailyJournalRepository.findShieldDatesByUser(user));
+        };
+    }
+}
@@ -1,19 +1,25 @@
 package com.relyon.metasmart.service;
 
-import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import static com.relyon.metasmart.constant.AppConstants.HEATMAP_MAX_YEAR;
+import static com.relyon.metasmart.constant.AppConstants.HEATMAP_MIN_YEAR;
+
+import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.actionplan.TaskCompletion;
 import com.relyon.metasmart.entity.history.dto.*;
 import com.relyon.metasmart.entity.journal.DailyJournal;
 import com.relyon.metasmart.entity.progress.ProgressEntry;
 import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.BadRequestException;
 import com.relyon.metasmart.repository.DailyJournalRepository;
 import com.relyon.metasmart.repository.ProgressEntryRepository;
 import com.relyon.metasmart.repository.TaskCompletionRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.Year;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,16 +34,14 @@ public class ActivityHistoryService {
     private final TaskCompletionRepository taskCompletionRepository;
     private final ProgressEntryRepository progressEntryRepository;
     private final DailyJournalRepository dailyJournalRepository;
+    private final ActivityCalendarService activityCalendarService;
 
     @Transactional(readOnly = true)
     public ActivityHistoryResponse getActivityHistory(User user, LocalDate startDate, LocalDate endDate) {
         log.debug("Fetching activity history for user: {} from {} to {}", user.getEmail(), startDate, endDate);
 
         var taskCompletions = taskCompletionRepository.findByUserAndDateRange(user, startDate, endDate);
-        var progressEntries = progressEntryRepository.findByUserAndDateRange(
-                user,
-                startDate.atStartOfDay(),
-                endDate.atTime(LocalTime.MAX));
+        var progressEntries = progressEntryRepository.findByUserAndDateRange(user, startDate, endDate);
         var journalEntries = dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(
                 user, startDate, endDate);
 
@@ -54,25 +58,15 @@ public class ActivityHistoryService {
             var progress = progressByDate.getOrDefault(date, List.of());
             var journal = journalsByDate.get(date);
 
-            var hasRealActivity = !tasks.isEmpty() || !progress.isEmpty();
-            var hasActivity = hasRealActivity || journal != null;
-            var protectedByShield = journal != null && Boolean.TRUE.equals(journal.getShieldUsed());
-
-            if (hasActivity) {
+            if (!tasks.isEmpty() || !progress.isEmpty() || journal != null) {
                 activeDays++;
             }
 
-            var dailyActivity = DailyActivityResponse.builder()
-                    .date(date)
-                    .taskCompletions(tasks.stream().map(this::toTaskSummary).toList())
-                    .progressEntries(progress.stream().map(this::toProgressSummary).toList())
-                    .journalEntry(journal != null ? toJournalSummary(journal) : null)
-                    .hasActivity(hasActivity)
-                    .hasRealActivity(hasRealActivity)
-                    .protectedByShield(protectedByShield)
-                    .build();
-
-            dailyActivities.put(date, dailyActivity);
+            dailyActivities.put(date, toDailyActivity(
+                    date,
+                    tasks.stream().map(this::toTaskSummary).toList(),
+                    progress.stream().map(this::toProgressSummary).toList(),
+                    journal != null ? toJournalSummary(journal) : null));
         }
 
         var summary = ActivityHistoryResponse.ActivitySummary.builder()
@@ -96,42 +90,118 @@ public class ActivityHistoryService {
         log.debug("Fetching daily activity for user: {} on date: {}", user.getEmail(), date);
 
         var taskCompletions = taskCompletionRepository.findByUserAndDateRange(user, date, date);
-        var progressEntries = progressEntryRepository.findByUserAndDateRange(
-                user,
-                date.atStartOfDay(),
-                date.atTime(LocalTime.MAX));
+        var progressEntries = progressEntryRepository.findByUserAndDateRange(user, date, date);
         var journalEntry = dailyJournalRepository.findByUserAndJournalDate(user, date).orElse(null);
 
-        var hasRealActivity = !taskCompletions.isEmpty() || !progressEntries.isEmpty();
-        var hasActivity = hasRealActivity || journalEntry != null;
-        var protectedByShield = journalEntry != null && Boolean.TRUE.equals(journalEntry.getShieldUsed());
+        return toDailyActivity(
+                date,
+                taskCompletions.stream().map(this::toTaskSummary).toList(),
+                progressEntries.stream().map(this::toProgressSummary).toList(),
+                journalEntry != null ? toJournalSummary(journalEntry) : null);
+    }
 
-        return DailyActivityResponse.builder()
-                .date(date)
-                .taskCompletions(taskCompletions.stream().map(this::toTaskSummary).toList())
-                .progressEntries(progressEntries.stream().map(this::toProgressSummary).toList())
-                .journalEntry(journalEntry != null ? toJournalSummary(journalEntry) : null)
-                .hasActivity(hasActivity)
-                .hasRealActivity(hasRealActivity)
-                .protectedByShield(protectedByShield)
-                .build();
+    public void validateHistoryRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException(ErrorMessages.INVALID_HISTORY_RANGE);
+        }
     }
 
-    public boolean hasRealActivityOnDate(User user, LocalDate date) {
-        var hasTaskCompletion = taskCompletionRepository.hasCompletedTaskOnDate(
-                user,
-                List.of(CompletionStatus.COMPLETED, CompletionStatus.PARTIAL),
-                date);
+    /**
+     * Hands every day of the range that has activity to {@code consumer}, newest first. Tasks,
+     * progress and journal entries are read as flat projections through three forward-only cursors
+     * ordered by date, and merged one day at a time, so only the current day is held in memory however
+     * long the range is. Days without activity are skipped.
+     */
+    @Transactional(readOnly = true)
+    public void streamActivityHistory(User user, LocalDate startDate, LocalDate endDate,
+                                      Consumer<DailyActivityResponse> consumer) {
+        validateHistoryRange(startDate, endDate);
+        log.debug("Streaming activity history for user: {} from {} to {}", user.getEmail(), startDate, endDate);
 
-        if (hasTaskCompletion) {
-            return true;
+        try (var taskRows = taskCompletionRepository.streamHistoryRows(user, startDate, endDate);
+             var progressRows = progressEntryRepository.streamHistoryRows(user, startDate, endDate);
+             var journalRows = dailyJournalRepository.streamHistoryRows(user, startDate, endDate)) {
+            var tasks = new DayCursor<>(taskRows.iterator(), TaskCompletionHistoryRow::getScheduledDate);
+            var progress = new DayCursor<>(progressRows.iterator(), row -> row.getCreatedAt().toLocalDate());
+            var journals = new DayCursor<>(journalRows.iterator(), JournalHistoryRow::getJournalDate);
+
+            var days = 0;
+            for (var date = latest(tasks, progress, journals); date != null; date = latest(tasks, progress, journals)) {
+                var journal = journals.takeDay(date).stream().findFirst().map(JournalHistoryRow::toSummary).orElse(null);
+                consumer.accept(toDailyActivity(
+                        date,
+                        tasks.takeDay(date).stream().map(TaskCompletionHistoryRow::toSummary).toList(),
+                        progress.takeDay(date).stream().map(ProgressEntryHistoryRow::toSummary).toList(),
+                        journal));
+                days++;
+            }
+            log.debug("Streamed {} active days for user: {}", days, user.getEmail());
+        }
+    }
+
+    /**
+     * Active days of a calendar year from the daily activity rollup, oldest first. Days without
+     * activity are left out.
+     */
+    @Transactional(readOnly = true)
+    public ActivityHeatmapResponse getYearHeatmap(User user, int year) {
+        log.debug("Fetching activity heatmap for user: {} in {}", user.getEmail(), year);
+        if (year < HEATMAP_MIN_YEAR || year > HEATMAP_MAX_YEAR) {
+            throw new BadRequestException(ErrorMessages.INVALID_HEATMAP_YEAR);
         }
 
-        return progressEntryRepository.hasProgressOnDate(user, date);
+        var yearStart = Year.of(year).atDay(1);
+        var days = activityCalendarService.getActiveDays(user, yearStart, yearStart.plusYears(1).minusDays(1)).stream()
+                .map(rollup -> ActivityHeatmapResponse.HeatmapDay.builder()
+                        .date(rollup.getActivityDate())
+                        .taskCompletions(rollup.getTaskCompletions())
+                        .progressEntries(rollup.getProgressEntries())
+                        .journal(Boolean.TRUE.equals(rollup.getJournal()))
+                        .shieldUsed(Boolean.TRUE.equals(rollup.getShieldUsed()))
+                        .build())
+                .toList();
+
+        return ActivityHeatmapResponse.builder()
+                .year(year)
+                .activeDays(days.size())
+                .realActiveDays((int) days.stream()
+                        .filter(day -> day.getTaskCompletions() > 0 || day.getProgressEntries() > 0)
+                        .count())
+                .days(days)
+                .build();
+    }
+
+    public boolean hasRealActivityOnDate(User user, LocalDate date) {
+        return activityCalendarService.hasRealActivityOnDate(user, date);
     }
 
     public boolean hasJournalOnDate(User user, LocalDate date) {
-        return dailyJournalRepository.existsByUserAndJournalDate(user, date);
+        return activityCalendarService.hasJournalOnDate(user, date);
+    }
+
+    private DailyActivityResponse toDailyActivity(LocalDate date,
+                                                  List<TaskCompletionSummary> tasks,
+                                                  List<ProgressEntrySummary> progress,
+                                                  JournalEntrySummary journal) {
+        var hasRealActivity = !tasks.isEmpty() || !progress.isEmpty();
+
+        return DailyActivityResponse.builder()
+                .date(date)
+                .taskCompletions(tasks)
+                .progressEntries(progress)
+                .journalEntry(journal)
+                .hasActivity(hasRealActivity || journal != null)
+                .hasRealActivity(hasRealActivity)
+                .protectedByShield(journal != null && Boolean.TRUE.equals(journal.getShieldUsed()))
+                .build();
+    }
+
+    private static LocalDate latest(DayCursor<?>... cursors) {
+        return Arrays.stream(cursors)
+                .map(DayCursor::peekDate)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
     }
 
     private Map<LocalDate, List<TaskCompletion>> groupTasksByDate(List<TaskCompletion> completions) {
@@ -191,4 +261,33 @@ public class ActivityHistoryService {
                 .createdAt(journal.getCreatedAt())
                 .build();
     }
+
+    /**
+     * Walks rows arriving in descending date order and hands them out one day at a time.
+     */
+    private static final class DayCursor<T> {
+
+        private final Iterator<T> rows;
+        private final Function<T, LocalDate> dateOf;
+        private T next;
+
+        private DayCursor(Iterator<T> rows, Function<T, LocalDate> dateOf) {
+            this.rows = rows;
+            this.dateOf = dateOf;
+            this.next = rows.hasNext() ? rows.next() : null;
+        }
+
+        private LocalDate peekDate() {
+            return next != null ? dateOf.apply(next) : null;
+        }
+
+        private List<T> takeDay(LocalDate date) {
+            var day = new ArrayList<T>();
+            while (next != null && dateOf.apply(next).equals(date)) {
+                day.add(next);
+                next = rows.hasNext() ? rows.next() : null;
+            }
+            return day;
+        }
+    }
 }
@@ -33,6 +33,7 @@ public class AuthService {
     private final AuthMapper authMapper;
     private final EmailService emailService;
     private final SubscriptionService subscriptionService;
+    private final PrincipalCache principalCache;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -133,6 +134,7 @@ public class AuthService {
         var user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         // Mark token as used
         resetToken.setUsed(true);
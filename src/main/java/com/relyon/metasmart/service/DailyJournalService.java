@@ -1,6 +1,8 @@
 package com.relyon.metasmart.service;
 
 import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.journal.DailyJournal;
 import com.relyon.metasmart.entity.journal.dto.DailyJournalRequest;
 import com.relyon.metasmart.entity.journal.dto.DailyJournalResponse;
@@ -15,6 +17,7 @@ import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -28,6 +31,7 @@ public class DailyJournalService {
     private final DailyJournalRepository dailyJournalRepository;
     private final DailyJournalMapper dailyJournalMapper;
     private final UserStreakService userStreakService;
+    private final ActivityCalendarService activityCalendarService;
 
     @Transactional
     public DailyJournalResponse createJournalEntry(DailyJournalRequest request, User user) {
@@ -45,6 +49,7 @@ public class DailyJournalService {
         var savedJournal = dailyJournalRepository.save(journal);
         log.info("Journal entry created with ID: {} for user: {}", savedJournal.getId(), user.getEmail());
 
+        activityCalendarService.onJournalWritten(user, savedJournal.getJournalDate());
         userStreakService.checkAndAwardJournalShield(user, request.getJournalDate());
 
         return dailyJournalMapper.toResponse(savedJournal);
@@ -79,6 +84,18 @@ public class DailyJournalService {
                 .map(dailyJournalMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<DailyJournalResponse> getJournalFeed(User user, String cursor, Integer size) {
+        log.debug("Fetching journal feed for user: {}", user.getEmail());
+
+        var position = HistoryCursor.decode(cursor);
+        var pageSize = CursorPage.resolveSize(size);
+        var rows = dailyJournalRepository.findHistoryFeed(
+                user, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, journal -> new HistoryCursor(journal.getCreatedAt(), journal.getId()),
+                dailyJournalMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     public List<DailyJournalResponse> getJournalEntriesByDateRange(User user, LocalDate startDate, LocalDate endDate) {
         log.debug("Fetching journal entries for user: {} between {} and {}", user.getEmail(), startDate, endDate);
@@ -120,6 +137,8 @@ public class DailyJournalService {
 
         dailyJournalRepository.delete(journal);
         log.info("Journal entry deleted with ID: {} for user: {}", id, user.getEmail());
+
+        activityCalendarService.onJournalRemoved(user, journal.getJournalDate());
     }
 
     @Transactional(readOnly = true)
@@ -139,6 +158,7 @@ public class DailyJournalService {
                 .ifPresent(journal -> {
                     journal.setShieldUsed(true);
                     dailyJournalRepository.save(journal);
+                    activityCalendarService.onShieldUsed(user, date);
                     log.info("Shield marked as used for user: {} on date: {}", user.getEmail(), date);
                 });
     }
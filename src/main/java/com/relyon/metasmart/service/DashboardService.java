@@ -1,16 +1,22 @@
 package com.relyon.metasmart.service;
 
+import static com.relyon.metasmart.constant.AppConstants.DASHBOARD_SNAPSHOT_MAX_AGE_MINUTES;
+
+import com.relyon.metasmart.entity.dashboard.DashboardSnapshot;
 import com.relyon.metasmart.entity.dashboard.dto.DashboardResponse;
 import com.relyon.metasmart.entity.dashboard.dto.GoalStatsResponse;
 import com.relyon.metasmart.entity.dashboard.dto.StreakAtRiskDto;
 import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalCountMatrix;
 import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.DashboardSnapshotRepository;
 import com.relyon.metasmart.repository.GoalRepository;
-import com.relyon.metasmart.repository.ProgressEntryRepository;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -27,27 +33,37 @@ import org.springframework.transaction.annotation.Transactional;
 public class DashboardService {
 
     private final GoalRepository goalRepository;
-    private final ProgressEntryRepository progressEntryRepository;
+    private final GoalStreakService goalStreakService;
     private final ReflectionService reflectionService;
     private final GuardianNudgeService guardianNudgeService;
+    private final DashboardSnapshotRepository dashboardSnapshotRepository;
 
-    @Transactional(readOnly = true)
+    /**
+     * Serves the stored snapshot when it is fresh, otherwise rebuilds and stores it first.
+     */
+    @Transactional
     public DashboardResponse getDashboard(User user) {
         log.debug("Getting dashboard for user: {}", user.getEmail());
 
-        var activeGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE);
-        var completedGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED);
-        var pendingReflections = reflectionService.getPendingReflections(user).size();
-        var unreadNudges = guardianNudgeService.countUnreadNudges(user);
-        var streaksAtRisk = findStreaksAtRisk(user);
+        var today = LocalDate.now();
+        var refreshedAfter = LocalDateTime.now().minusMinutes(DASHBOARD_SNAPSHOT_MAX_AGE_MINUTES);
+        var snapshot = dashboardSnapshotRepository.findById(user.getId()).orElse(null);
+        if (snapshot == null) {
+            // Concurrent first reads both get here; the upsert lets one insert and the other reuse its row
+            dashboardSnapshotRepository.insertStaleIfMissing(user.getId(), today, LocalDateTime.now());
+            snapshot = dashboardSnapshotRepository.findById(user.getId()).orElseThrow();
+        }
+        if (!snapshot.isFresh(today, refreshedAfter)) {
+            refreshSnapshot(snapshot, user, today);
+        }
 
         return DashboardResponse.builder()
-                .activeGoalsCount(activeGoals)
-                .completedGoalsCount(completedGoals)
-                .pendingReflectionsCount(pendingReflections)
-                .unreadNudgesCount(unreadNudges)
+                .activeGoalsCount(snapshot.getActiveGoalsCount())
+                .completedGoalsCount(snapshot.getCompletedGoalsCount())
+                .pendingReflectionsCount(snapshot.getPendingReflectionsCount())
+                .unreadNudgesCount(snapshot.getUnreadNudgesCount())
                 .streakShieldsAvailable(user.getStreakShields())
-                .streaksAtRisk(streaksAtRisk)
+                .streaksAtRisk(snapshot.getStreaksAtRisk())
                 .build();
     }
 
@@ -55,40 +71,52 @@ public class DashboardService {
     public GoalStatsResponse getGoalStats(User user) {
         log.debug("Getting goal stats for user: {}", user.getEmail());
 
-        var totalGoals = goalRepository.countByOwnerAndArchivedAtIsNull(user);
-        var activeGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE);
-        var completedGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED);
-        var pausedGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.PAUSED);
-        var abandonedGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ABANDONED);
+        var counts = GoalCountMatrix.of(goalRepository.countByOwnerGroupedByStatusAndCategory(user));
+        var totalGoals = counts.total();
+        var completedGoals = counts.count(GoalStatus.COMPLETED);
 
         var completionRate = totalGoals > 0
                 ? BigDecimal.valueOf(completedGoals * 100.0 / totalGoals).setScale(2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
 
-        var streaks = calculateBestStreaks(user);
-        var goalsByCategory = calculateGoalsByCategory(user);
+        var streaks = goalStreakService.getStreakStats(user, LocalDate.now());
 
         return GoalStatsResponse.builder()
                 .totalGoals(totalGoals)
-                .activeGoals(activeGoals)
+                .activeGoals(counts.count(GoalStatus.ACTIVE))
                 .completedGoals(completedGoals)
-                .pausedGoals(pausedGoals)
-                .abandonedGoals(abandonedGoals)
+                .pausedGoals(counts.count(GoalStatus.PAUSED))
+                .abandonedGoals(counts.count(GoalStatus.ABANDONED))
                 .completionRate(completionRate)
-                .bestStreak(streaks[0])
-                .currentBestStreak(streaks[1])
-                .goalsByCategory(goalsByCategory)
+                .bestStreak(streaks.getLongestStreak())
+                .currentBestStreak(streaks.getCurrentBestStreak())
+                .goalsByCategory(countGoalsByCategory(counts))
                 .build();
     }
 
+    private void refreshSnapshot(DashboardSnapshot snapshot, User user, LocalDate today) {
+        var counts = GoalCountMatrix.of(goalRepository.countByOwnerGroupedByStatusAndCategory(user));
+        snapshot.setActiveGoalsCount(counts.count(GoalStatus.ACTIVE));
+        snapshot.setCompletedGoalsCount(counts.count(GoalStatus.COMPLETED));
+        snapshot.setPendingReflectionsCount((long) reflectionService.getPendingReflections(user).size());
+        snapshot.setUnreadNudgesCount(guardianNudgeService.countUnreadNudges(user));
+        snapshot.setStreaksAtRisk(findStreaksAtRisk(user));
+        snapshot.setSnapshotDate(today);
+        snapshot.setRefreshedAt(LocalDateTime.now());
+        snapshot.setStale(false);
+
+        dashboardSnapshotRepository.save(snapshot);
+        log.debug("Dashboard snapshot refreshed for user ID: {}", user.getId());
+    }
+
     private List<StreakAtRiskDto> findStreaksAtRisk(User user) {
         var activeGoals = goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE);
         var streaksAtRisk = new ArrayList<StreakAtRiskDto>();
+        var today = LocalDate.now();
 
         for (var goal : activeGoals) {
-            var streakInfo = calculateStreakInfo(goal);
-            var currentStreak = streakInfo[0];
-            var daysWithoutProgress = streakInfo[1];
+            var currentStreak = goalStreakService.getCurrentStreak(goal, today);
+            var daysWithoutProgress = calculateDaysWithoutProgress(goal, today);
 
             // Only include goals with streak > 0 and at risk (no progress today)
             if (currentStreak > 0 && daysWithoutProgress >= 1) {
@@ -104,41 +132,16 @@ public class DashboardService {
         return streaksAtRisk;
     }
 
-    private int[] calculateStreakInfo(Goal goal) {
-        var dates = progressEntryRepository.findDistinctProgressDates(goal);
-        if (dates.isEmpty()) {
-            return new int[]{0, Integer.MAX_VALUE};
-        }
-
-        var today = LocalDate.now();
-        var lastProgressDate = dates.getFirst();
-        var daysWithoutProgress = (int) ChronoUnit.DAYS.between(lastProgressDate, today);
-        var shieldUsed = wasShieldUsedYesterday(goal, today);
-
-        if (shieldUsed && daysWithoutProgress == 1) {
-            daysWithoutProgress = 0;
+    private int calculateDaysWithoutProgress(Goal goal, LocalDate today) {
+        if (goal.getLastProgressDate() == null) {
+            return Integer.MAX_VALUE;
         }
 
-        var hasRecentProgress = isRecentProgress(lastProgressDate, today, shieldUsed);
-        var currentStreak = hasRecentProgress ? 1 : 0;
-        var streak = 1;
-
-        for (var dateIndex = 0; dateIndex < dates.size() - 1; dateIndex++) {
-            var current = dates.get(dateIndex);
-            var next = dates.get(dateIndex + 1);
-            var gapCoveredByShield = isGapCoveredByShield(goal, current, next);
-
-            if (current.minusDays(1).equals(next) || gapCoveredByShield) {
-                streak++;
-                if (hasRecentProgress) {
-                    currentStreak = streak;
-                }
-            } else {
-                break;
-            }
+        var daysWithoutProgress = (int) ChronoUnit.DAYS.between(goal.getLastProgressDate(), today);
+        if (wasShieldUsedYesterday(goal, today) && daysWithoutProgress > 0) {
+            daysWithoutProgress--;
         }
-
-        return new int[]{currentStreak, daysWithoutProgress};
+        return daysWithoutProgress;
     }
 
     private boolean wasShieldUsedYesterday(Goal goal, LocalDate today) {
@@ -146,75 +149,14 @@ public class DashboardService {
                 && goal.getLastStreakShieldUsedAt().equals(today.minusDays(1));
     }
 
-    private boolean isRecentProgress(LocalDate lastProgressDate, LocalDate today, boolean shieldUsed) {
-        return lastProgressDate.equals(today) || lastProgressDate.equals(today.minusDays(1)) || shieldUsed;
-    }
-
-    private boolean isGapCoveredByShield(Goal goal, LocalDate current, LocalDate next) {
-        return goal.getLastStreakShieldUsedAt() != null
-                && goal.getLastStreakShieldUsedAt().equals(current.minusDays(1))
-                && next.equals(current.minusDays(2));
-    }
-
-    private int[] calculateBestStreaks(User user) {
-        var allGoals = goalRepository.findByOwnerAndArchivedAtIsNull(user, org.springframework.data.domain.Pageable.unpaged());
-        var bestStreak = 0;
-        var currentBestStreak = 0;
-
-        for (var goal : allGoals) {
-            var streaks = calculateStreaks(goal);
-            bestStreak = Math.max(bestStreak, streaks[1]);
-            if (goal.getGoalStatus() == GoalStatus.ACTIVE) {
-                currentBestStreak = Math.max(currentBestStreak, streaks[0]);
-            }
-        }
-
-        return new int[]{bestStreak, currentBestStreak};
-    }
-
-    private int[] calculateStreaks(Goal goal) {
-        var dates = progressEntryRepository.findDistinctProgressDates(goal);
-        if (dates.isEmpty()) {
-            return new int[]{0, 0};
-        }
-
-        var currentStreak = 0;
-        var longestStreak = 0;
-        var streak = 1;
-        var today = LocalDate.now();
-
-        if (dates.getFirst().equals(today) || dates.getFirst().equals(today.minusDays(1))) {
-            currentStreak = 1;
-        }
-
-        for (var dateIndex = 0; dateIndex < dates.size() - 1; dateIndex++) {
-            var current = dates.get(dateIndex);
-            var next = dates.get(dateIndex + 1);
-
-            if (current.minusDays(1).equals(next)) {
-                streak++;
-                if (dateIndex == 0 || dates.getFirst().equals(today) || dates.getFirst().equals(today.minusDays(1))) {
-                    currentStreak = streak;
-                }
-            } else {
-                longestStreak = Math.max(longestStreak, streak);
-                streak = 1;
-            }
-        }
-        longestStreak = Math.max(longestStreak, streak);
-
-        return new int[]{currentStreak, longestStreak};
-    }
-
-    private Map<String, Long> calculateGoalsByCategory(User user) {
+    private Map<String, Long> countGoalsByCategory(GoalCountMatrix counts) {
         var categoryMap = new HashMap<String, Long>();
-        var allGoals = goalRepository.findByOwnerAndArchivedAtIsNull(user, org.springframework.data.domain.Pageable.unpaged());
-
-        for (var goal : allGoals) {
-            var category = goal.getGoalCategory().name();
-            categoryMap.merge(category, 1L, Long::sum);
+        for (var category : GoalCategory.values()) {
+            var count = counts.count(category);
+            if (count > 0) {
+                categoryMap.put(category.name(), count);
+            }
         }
-
         return categoryMap;
     }
 }
@@ -0,0 +1,31 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.DashboardSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Invalidation side of the dashboard snapshot, kept apart from {@link DashboardService} so that the
+ * services feeding the dashboard can depend on it without a cycle.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotService {
+
+    private final DashboardSnapshotRepository dashboardSnapshotRepository;
+
+    /**
+     * Flags the user's dashboard snapshot for rebuild on the next read. Joins the caller's transaction,
+     * so the flag is only set if the write that changed the dashboard commits.
+     */
+    @Transactional
+    public void markStale(User user) {
+        if (dashboardSnapshotRepository.markStale(user.getId()) > 0) {
+            log.debug("Dashboard snapshot marked stale for user ID: {}", user.getId());
+        }
+    }
+}
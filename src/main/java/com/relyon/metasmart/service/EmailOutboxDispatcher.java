@@ -0,0 +1,218 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.config.EmailOutboxConfig;
+import com.relyon.metasmart.entity.notification.EmailOutbox;
+import com.relyon.metasmart.repository.EmailOutboxRepository;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the email outbox. Each tick leases the due rows under one claim token, splits them into
+ * batches and sends every batch with a single {@code JavaMailSender.send(MimeMessage...)} call, so
+ * the whole batch shares one SMTP connection. Batches run on a pool of {@code parallelism} workers.
+ * Send permits come from a shared per-minute token bucket and are taken before claiming, so a tick
+ * only leases as many rows as it may send right away.
+ * <p>
+ * Messages the server rejected are retried with exponential backoff and marked failed after the
+ * configured attempts. A dispatcher that dies mid-batch leaves its rows leased; they become due
+ * again once the lease expires. Outcome updates match the claim token, so a dispatcher whose lease
+ * ran out cannot overwrite the outcome of the one that reclaimed the rows.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "metasmart.mail.enabled", havingValue = "true")
+public class EmailOutboxDispatcher {
+
+    static final String MESSAGES_METRIC = "metasmart.mail.outbox.messages";
+    static final String QUEUE_DEPTH_METRIC = "metasmart.mail.outbox.depth";
+    static final String BATCH_DURATION_METRIC = "metasmart.mail.outbox.batch";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailOutboxConfig emailOutboxConfig;
+    private final MeterRegistry meterRegistry;
+    private final String fromEmail;
+    private final Bucket sendRate;
+    private final AtomicLong queueDepth;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 EmailOutboxConfig emailOutboxConfig,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${metasmart.mail.from}") String fromEmail) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.emailOutboxConfig = emailOutboxConfig;
+        this.meterRegistry = meterRegistry;
+        this.fromEmail = fromEmail;
+        var perMinute = emailOutboxConfig.getMaxPerMinute();
+        this.sendRate = Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(Math.max(perMinute, emailOutboxConfig.getBatchSize()))
+                        .refillGreedy(perMinute, Duration.ofMinutes(1))
+                        .build())
+                .build();
+        this.queueDepth = meterRegistry.gauge(QUEUE_DEPTH_METRIC, new AtomicLong());
+    }
+
+    @Scheduled(fixedDelayString = "${metasmart.mail.outbox.poll-delay-ms:5000}")
+    public void dispatch() {
+        var now = LocalDateTime.now();
+        var batchSize = emailOutboxConfig.getBatchSize();
+        var permits = (int) sendRate.tryConsumeAsMuchAsPossible((long) batchSize * emailOutboxConfig.getParallelism());
+
+        if (permits > 0) {
+            var claimed = claim(now, permits);
+            if (claimed.size() < permits) {
+                sendRate.addTokens(permits - claimed.size());
+            }
+
+            var batches = new ArrayList<List<EmailOutbox>>();
+            for (var from = 0; from < claimed.size(); from += batchSize) {
+                batches.add(claimed.subList(from, Math.min(from + batchSize, claimed.size())));
+            }
+            if (!batches.isEmpty()) {
+                try (var executor = Executors.newFixedThreadPool(Math.min(emailOutboxConfig.getParallelism(), batches.size()))) {
+                    var tasks = batches.stream()
+                            .map(batch -> CompletableFuture.runAsync(() -> sendBatch(batch), executor))
+                            .toArray(CompletableFuture[]::new);
+                    CompletableFuture.allOf(tasks).join();
+                }
+            }
+        }
+
+        queueDepth.set(emailOutboxRepository.countQueued());
+    }
+
+    /**
+     * Leases at most {@code limit} due rows, the send permits already taken, so no row waits on the
+     * rate limit while its lease runs down.
+     */
+    private List<EmailOutbox> claim(LocalDateTime now, int limit) {
+        var ids = emailOutboxRepository.findDueIds(now, Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        var claimToken = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status ->
+                emailOutboxRepository.claim(ids, claimToken, now, now.plus(emailOutboxConfig.getLease())));
+        return emailOutboxRepository.findByClaimTokenOrderById(claimToken);
+    }
+
+    private void sendBatch(List<EmailOutbox> batch) {
+        var sample = Timer.start(meterRegistry);
+        var messages = new LinkedHashMap<MimeMessage, EmailOutbox>();
+        for (var email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException e) {
+                handleFailure(email, e);
+            }
+        }
+
+        Map<Object, Exception> failedMessages = Map.of();
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                failedMessages = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+            } catch (MailException e) {
+                failedMessages = allFailed(messages, e);
+            }
+        }
+
+        var sentIds = new ArrayList<Long>();
+        for (var entry : messages.entrySet()) {
+            var failure = failedMessages.get(entry.getKey());
+            if (failure == null) {
+                sentIds.add(entry.getValue().getId());
+            } else {
+                handleFailure(entry.getValue(), failure);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            var claimToken = batch.getFirst().getClaimToken();
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.markSent(sentIds, claimToken, LocalDateTime.now()));
+            meterRegistry.counter(MESSAGES_METRIC, "result", "sent").increment(sentIds.size());
+        }
+        sample.stop(meterRegistry.timer(BATCH_DURATION_METRIC));
+        log.debug("Email batch dispatched - sent: {}, failed: {}", sentIds.size(), batch.size() - sentIds.size());
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        var message = mailSender.createMimeMessage();
+        var helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, EmailOutbox> messages, Exception e) {
+        var failed = new LinkedHashMap<Object, Exception>();
+        messages.keySet().forEach(message -> failed.put(message, e));
+        return failed;
+    }
+
+    private void handleFailure(EmailOutbox email, Exception e) {
+        var error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        var attempts = email.getAttempts();
+
+        if (attempts >= emailOutboxConfig.getMaxAttempts()) {
+            transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.markFailed(email.getId(), email.getClaimToken(), error));
+            meterRegistry.counter(MESSAGES_METRIC, "result", "failed").increment();
+            log.error("Email {} to {} failed after {} attempts: {}", email.getId(), email.getRecipient(), attempts, error);
+            return;
+        }
+
+        var nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+        transactionTemplate.executeWithoutResult(status ->
+                emailOutboxRepository.scheduleRetry(email.getId(), email.getClaimToken(), nextAttemptAt, error));
+        meterRegistry.counter(MESSAGES_METRIC, "result", "retried").increment();
+        log.warn("Email {} to {} failed on attempt {}, retrying at {}: {}", email.getId(), email.getRecipient(), attempts, nextAttemptAt, error);
+    }
+
+    /**
+     * {@code initialBackoff * 2^(attempts - 1)}, capped at {@code maxBackoff}.
+     */
+    Duration backoff(int attempts) {
+        var doublings = Math.clamp(attempts - 1, 0, 20);
+        var delay = emailOutboxConfig.getInitialBackoff().multipliedBy(1L << doublings);
+        return delay.compareTo(emailOutboxConfig.getMaxBackoff()) > 0 ? emailOutboxConfig.getMaxBackoff() : delay;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,33 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.entity.notification.EmailOutbox;
+import com.relyon.metasmart.repository.EmailOutboxRepository;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    /**
+     * Queues a rendered email in the caller's transaction; nothing is sent if that transaction rolls
+     * back. {@link EmailOutboxDispatcher} delivers it afterwards.
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String htmlBody) {
+        var email = EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(htmlBody)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        emailOutboxRepository.save(email);
+        log.debug("Queued email '{}' for: {}", subject, to);
+    }
+}
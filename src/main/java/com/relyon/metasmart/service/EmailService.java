@@ -1,5 +1,7 @@
 package com.relyon.metasmart.service;
 
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
+
 public interface EmailService {
 
     void sendPasswordResetEmail(String to, String resetToken, String userName);
@@ -10,5 +12,5 @@ public interface EmailService {
 
     void sendMilestoneEmail(String to, String userName, String goalTitle, int percentage);
 
-    void sendWeeklyDigestEmail(String to, String userName, int goalsCount, int completedMilestones);
+    void sendWeeklyDigestEmail(String to, String userName, WeeklyDigest digest);
 }
@@ -0,0 +1,250 @@
+package com.relyon.metasmart.service;
+
+import static com.relyon.metasmart.constant.AppConstants.DEFAULT_TIMEZONE;
+
+import com.relyon.metasmart.config.StreakJobConfig;
+import com.relyon.metasmart.entity.streak.StreakBatchCheckpoint;
+import com.relyon.metasmart.repository.StreakBatchCheckpointRepository;
+import com.relyon.metasmart.repository.UserPreferencesRepository;
+import com.relyon.metasmart.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Settles each user's streak for the day that just ended in their timezone. Every tick checks the
+ * timezones users have picked in their preferences. A zone is processed when its previous local day
+ * has no completed checkpoint yet.
+ * <p>
+ * Users of a zone are read with a keyset cursor in id-ordered chunks. A wave of chunks runs on a
+ * bounded worker pool, one transaction per chunk, and the checkpoint advances once the whole wave
+ * is done. A chunk that fails is retried user by user, each in its own transaction, and users that
+ * still fail are logged and skipped so one bad row cannot hold the day back. Only a database outage
+ * stops the zone, which then resumes from its checkpoint on the next tick.
+ * <p>
+ * Days of a zone settle in order: checkpoints left incomplete for earlier days are finished before
+ * the day that just ended. The checkpoint row is claimed with a lease before any work, so
+ * concurrent replicas skip a zone that another one is settling.
+ * {@link UserStreakService#processEndOfDay} skips users already settled for the day, so a repeated
+ * wave changes nothing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EndOfDayStreakService {
+
+    static final String USERS_PROCESSED_METRIC = "metasmart.streaks.end_of_day.users";
+    static final String FAILED_CHUNKS_METRIC = "metasmart.streaks.end_of_day.failed_chunks";
+    static final String FAILED_USERS_METRIC = "metasmart.streaks.end_of_day.failed_users";
+    static final String CHUNK_DURATION_METRIC = "metasmart.streaks.end_of_day.chunk";
+    static final String LAG_METRIC = "metasmart.streaks.end_of_day.lag";
+
+    private final UserRepository userRepository;
+    private final UserPreferencesRepository userPreferencesRepository;
+    private final StreakBatchCheckpointRepository streakBatchCheckpointRepository;
+    private final UserStreakService userStreakService;
+    private final TransactionTemplate transactionTemplate;
+    private final StreakJobConfig streakJobConfig;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(cron = "${metasmart.streaks.end-of-day-cron:0 */15 * * * *}")
+    public void processEndedDays() {
+        processEndedDays(Instant.now());
+    }
+
+    void processEndedDays(Instant now) {
+        var timezones = new TreeSet<>(userPreferencesRepository.findDistinctTimezones());
+        timezones.add(DEFAULT_TIMEZONE);
+
+        for (var timezone : timezones) {
+            ZoneId zone;
+            try {
+                zone = ZoneId.of(timezone);
+            } catch (DateTimeException e) {
+                log.warn("Skipping end of day streaks for unknown timezone: {}", timezone);
+                continue;
+            }
+
+            try {
+                processTimezone(timezone, zone, now);
+            } catch (RuntimeException e) {
+                log.error("End of day streaks stopped for timezone {}, resuming on next run: {}", timezone, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void processTimezone(String timezone, ZoneId zone, Instant now) {
+        var targetDate = LocalDate.ofInstant(now, zone).minusDays(1);
+        for (var earlierDate : streakBatchCheckpointRepository.findIncompleteTargetDates(timezone, targetDate)) {
+            if (!settleDay(timezone, zone, earlierDate)) {
+                log.info("End of day streaks for {} on {} are not settled yet, holding back {}", timezone, earlierDate, targetDate);
+                return;
+            }
+        }
+        settleDay(timezone, zone, targetDate);
+    }
+
+    /**
+     * @return whether this call completed the day; false when it was settled already, another
+     * replica holds its checkpoint, or the lease was lost midway
+     */
+    private boolean settleDay(String timezone, ZoneId zone, LocalDate targetDate) {
+        var leaseOwner = UUID.randomUUID().toString();
+        var checkpoint = claimCheckpoint(timezone, targetDate, leaseOwner);
+        if (checkpoint == null) {
+            return false;
+        }
+        if (checkpoint.getLastUserId() > 0) {
+            log.info("Resuming end of day streaks for {} on {} after user ID: {}", timezone, targetDate, checkpoint.getLastUserId());
+        }
+
+        var checkpointId = checkpoint.getId();
+        var lastUserId = checkpoint.getLastUserId();
+        var usersProcessed = checkpoint.getUsersProcessed();
+        var parallelism = streakJobConfig.getEndOfDay().getParallelism();
+        try (var executor = Executors.newFixedThreadPool(parallelism)) {
+            var wave = nextWave(timezone, lastUserId);
+            while (!wave.isEmpty()) {
+                var chunks = wave.stream()
+                        .map(userIds -> CompletableFuture.runAsync(() -> processChunk(timezone, zone, userIds, targetDate), executor))
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(chunks).join();
+
+                lastUserId = wave.getLast().getLast();
+                usersProcessed += wave.stream().mapToLong(List::size).sum();
+                if (!advanceCheckpoint(checkpointId, leaseOwner, lastUserId, usersProcessed)) {
+                    log.warn("End of day streaks for {} on {} lost the checkpoint lease, leaving it to its new holder", timezone, targetDate);
+                    return false;
+                }
+                wave = nextWave(timezone, lastUserId);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                streakBatchCheckpointRepository.complete(checkpointId, leaseOwner, LocalDateTime.now()));
+
+        var lag = Duration.between(targetDate.plusDays(1).atStartOfDay(zone).toInstant(), Instant.now());
+        meterRegistry.timer(LAG_METRIC, "timezone", timezone).record(lag);
+        log.info("End of day streaks settled for {} on {} - users: {}, lag: {}s",
+                timezone, targetDate, usersProcessed, lag.toSeconds());
+        return true;
+    }
+
+    /**
+     * Locks the checkpoint row with {@code SKIP LOCKED} and takes its lease, creating the row on the
+     * first run. Returns null when the day is settled or another replica holds the checkpoint.
+     */
+    private StreakBatchCheckpoint claimCheckpoint(String timezone, LocalDate targetDate, String leaseOwner) {
+        var now = LocalDateTime.now();
+        try {
+            return transactionTemplate.execute(status -> {
+                var existing = streakBatchCheckpointRepository.findForClaim(timezone, targetDate);
+                if (existing.isEmpty() && streakBatchCheckpointRepository.existsByTimezoneAndTargetDate(timezone, targetDate)) {
+                    return null;
+                }
+
+                var checkpoint = existing.orElseGet(() -> StreakBatchCheckpoint.builder()
+                        .timezone(timezone)
+                        .targetDate(targetDate)
+                        .build());
+                if (checkpoint.isCompleted() || checkpoint.isLeasedAt(now)) {
+                    return null;
+                }
+                checkpoint.setLeaseOwner(leaseOwner);
+                checkpoint.setLeaseUntil(now.plus(streakJobConfig.getEndOfDay().getLease()));
+                return streakBatchCheckpointRepository.saveAndFlush(checkpoint);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("End of day checkpoint for {} on {} was created by another replica", timezone, targetDate);
+            return null;
+        }
+    }
+
+    private boolean advanceCheckpoint(Long checkpointId, String leaseOwner, Long lastUserId, long usersProcessed) {
+        var leaseUntil = LocalDateTime.now().plus(streakJobConfig.getEndOfDay().getLease());
+        Integer updated = transactionTemplate.execute(status ->
+                streakBatchCheckpointRepository.advance(checkpointId, leaseOwner, lastUserId, usersProcessed, leaseUntil));
+        return updated != null && updated > 0;
+    }
+
+    /**
+     * Up to one chunk per worker, continuing the keyset cursor from {@code afterUserId}.
+     */
+    private List<List<Long>> nextWave(String timezone, Long afterUserId) {
+        var chunkSize = streakJobConfig.getEndOfDay().getChunkSize();
+        var parallelism = streakJobConfig.getEndOfDay().getParallelism();
+        var wave = new ArrayList<List<Long>>();
+        var cursor = afterUserId;
+
+        while (wave.size() < parallelism) {
+            var userIds = userRepository.findIdsInTimezoneAfter(timezone, DEFAULT_TIMEZONE, cursor, PageRequest.ofSize(chunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            wave.add(userIds);
+            cursor = userIds.getLast();
+            if (userIds.size() < chunkSize) {
+                break;
+            }
+        }
+        return wave;
+    }
+
+    private void processChunk(String timezone, ZoneId zone, List<Long> userIds, LocalDate targetDate) {
+        var sample = Timer.start(meterRegistry);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.findAllById(userIds)
+                    .forEach(user -> userStreakService.processEndOfDay(user, targetDate, zone)));
+            meterRegistry.counter(USERS_PROCESSED_METRIC, "timezone", timezone).increment(userIds.size());
+        } catch (RuntimeException e) {
+            meterRegistry.counter(FAILED_CHUNKS_METRIC, "timezone", timezone).increment();
+            log.warn("End of day streaks failed for {} users {}..{}, settling them one by one: {}",
+                    timezone, userIds.getFirst(), userIds.getLast(), e.getMessage(), e);
+            processUsers(timezone, zone, userIds, targetDate);
+        } finally {
+            sample.stop(meterRegistry.timer(CHUNK_DURATION_METRIC, "timezone", timezone));
+        }
+    }
+
+    /**
+     * One transaction per user. A failing user is skipped, but a database outage is rethrown so the
+     * zone stops instead of skipping everyone.
+     */
+    private void processUsers(String timezone, ZoneId zone, List<Long> userIds, LocalDate targetDate) {
+        var processed = 0;
+        for (var userId : userIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.findById(userId)
+                        .ifPresent(user -> userStreakService.processEndOfDay(user, targetDate, zone)));
+                processed++;
+            } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                meterRegistry.counter(FAILED_USERS_METRIC, "timezone", timezone).increment();
+                log.error("End of day streak failed for {} user {} on {}, skipping: {}",
+                        timezone, userId, targetDate, e.getMessage(), e);
+            }
+        }
+        meterRegistry.counter(USERS_PROCESSED_METRIC, "timezone", timezone).increment(processed);
+    }
+}
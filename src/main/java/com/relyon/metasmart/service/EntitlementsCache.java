@@ -0,0 +1,143 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.config.EntitlementsCacheConfig;
+import com.relyon.metasmart.entity.subscription.dto.UserEntitlementsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, TTL-based cache of {@link UserEntitlementsResponse} keyed by user id, so limit checks do
+ * not re-read the subscription and purchase tables on every call. An entry never outlives the
+ * earliest expiry of the purchases it counted.
+ */
+@Slf4j
+@Service
+public class EntitlementsCache {
+
+    static final String CACHE_NAME = "entitlements";
+
+    private final EntitlementsCacheConfig entitlementsCacheConfig;
+    private final Clock clock;
+    private final Map<Long, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public EntitlementsCache(EntitlementsCacheConfig entitlementsCacheConfig, MeterRegistry meterRegistry) {
+        this(entitlementsCacheConfig, meterRegistry, Clock.systemUTC());
+    }
+
+    EntitlementsCache(EntitlementsCacheConfig entitlementsCacheConfig, MeterRegistry meterRegistry, Clock clock) {
+        this.entitlementsCacheConfig = entitlementsCacheConfig;
+        this.clock = clock;
+        var maxEntries = entitlementsCacheConfig.getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter(RefreshAheadCache.GETS_METRIC, "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter(RefreshAheadCache.GETS_METRIC, "cache", CACHE_NAME, "result", "miss");
+    }
+
+    public Optional<UserEntitlementsResponse> get(Long userId) {
+        if (!entitlementsCacheConfig.isEnabled()) {
+            return Optional.empty();
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+            if (entry != null && !clock.instant().isBefore(entry.getExpiresAt())) {
+                entries.remove(userId);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(copyOf(entry.getEntitlements()));
+    }
+
+    /**
+     * Caches {@code entitlements} until the configured TTL or {@code validUntil}, whichever comes
+     * first. Pass {@code null} when nothing counted in them expires.
+     */
+    public void put(Long userId, UserEntitlementsResponse entitlements, Instant validUntil) {
+        if (!entitlementsCacheConfig.isEnabled()) {
+            return;
+        }
+        var expiresAt = clock.instant().plus(entitlementsCacheConfig.getTtl());
+        if (validUntil != null && validUntil.isBefore(expiresAt)) {
+            expiresAt = validUntil;
+        }
+        var entry = new Entry(copyOf(entitlements), expiresAt);
+        synchronized (entries) {
+            entries.put(userId, entry);
+        }
+    }
+
+    /**
+     * Drops the user's entry now and, inside a transaction, again after commit, so entitlements
+     * recomputed from uncommitted or rolled back rows do not stay cached.
+     */
+    public void invalidate(Long userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+        log.debug("Evicted cached entitlements for user ID: {}", userId);
+    }
+
+    private static UserEntitlementsResponse copyOf(UserEntitlementsResponse entitlements) {
+        return UserEntitlementsResponse.builder()
+                .tier(entitlements.getTier())
+                .isPremium(entitlements.getIsPremium())
+                .maxActiveGoals(entitlements.getMaxActiveGoals())
+                .maxGuardiansPerGoal(entitlements.getMaxGuardiansPerGoal())
+                .progressHistoryDays(entitlements.getProgressHistoryDays())
+                .streakShieldsPerMonth(entitlements.getStreakShieldsPerMonth())
+                .strugglingRequestsPerMonth(entitlements.getStrugglingRequestsPerMonth())
+                .streakShieldsAvailable(entitlements.getStreakShieldsAvailable())
+                .strugglingAssistsAvailable(entitlements.getStrugglingAssistsAvailable())
+                .goalBoostsAvailable(entitlements.getGoalBoostsAvailable())
+                .guardianSlotsAvailable(entitlements.getGuardianSlotsAvailable())
+                .features(entitlements.getFeatures() != null ? new HashMap<>(entitlements.getFeatures()) : null)
+                .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final UserEntitlementsResponse entitlements;
+        private final Instant expiresAt;
+    }
+}
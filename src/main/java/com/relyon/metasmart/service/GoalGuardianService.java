@@ -18,6 +18,7 @@ import com.relyon.metasmart.mapper.GoalGuardianMapper;
 import com.relyon.metasmart.repository.*;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +41,7 @@ public class GoalGuardianService {
     private final ObstacleEntryRepository obstacleEntryRepository;
     private final GoalGuardianMapper goalGuardianMapper;
     private final UsageLimitService usageLimitService;
+    private final GoalStreakService goalStreakService;
 
     @Transactional
     public GoalGuardianResponse inviteGuardian(Long goalId, InviteGuardianRequest request, User owner) {
@@ -232,9 +234,8 @@ public class GoalGuardianService {
         }
 
         if (permissions.contains(GuardianPermission.VIEW_STREAK)) {
-            var streaks = calculateStreaks(goal);
-            response.setCurrentStreak(streaks[0]);
-            response.setLongestStreak(streaks[1]);
+            response.setCurrentStreak(goalStreakService.getCurrentStreak(goal, LocalDate.now()));
+            response.setLongestStreak(goalStreakService.getLongestStreak(goal));
         }
 
         if (permissions.contains(GuardianPermission.VIEW_ACTION_PLAN)) {
@@ -259,38 +260,4 @@ public class GoalGuardianService {
                 .multiply(BigDecimal.valueOf(100))
                 .divide(goal.getTargetValue(), 2, RoundingMode.HALF_UP);
     }
-
-    private int[] calculateStreaks(Goal goal) {
-        var dates = progressEntryRepository.findDistinctProgressDates(goal);
-        if (dates.isEmpty()) {
-            return new int[]{0, 0};
-        }
-
-        var currentStreak = 0;
-        var longestStreak = 0;
-        var streak = 1;
-        var today = java.time.LocalDate.now();
-
-        if (dates.getFirst().equals(today) || dates.getFirst().equals(today.minusDays(1))) {
-            currentStreak = 1;
-        }
-
-        for (var dateIndex = 0; dateIndex < dates.size() - 1; dateIndex++) {
-            var current = dates.get(dateIndex);
-            var next = dates.get(dateIndex + 1);
-
-            if (current.minusDays(1).equals(next)) {
-                streak++;
-                if (dateIndex == 0 || (dates.getFirst().equals(today) || dates.getFirst().equals(today.minusDays(1)))) {
-                    currentStreak = streak;
-                }
-            } else {
-                longestStreak = Math.max(longestStreak, streak);
-                streak = 1;
-            }
-        }
-        longestStreak = Math.max(longestStreak, streak);
-
-        return new int[]{currentStreak, longestStreak};
-    }
 }
@@ -31,6 +31,7 @@ public class GoalLockService {
 
     private final GoalRepository goalRepository;
     private final SubscriptionService subscriptionService;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     /**
      * Recalculates the lock state for all goals of a user.
@@ -74,6 +75,7 @@ public class GoalLockService {
         }
 
         goalRepository.saveAll(lockedGoals);
+        dashboardSnapshotService.markStale(user);
         log.info("Unlocked {} goals for user {}", lockedGoals.size(), user.getId());
     }
 
@@ -102,6 +104,7 @@ public class GoalLockService {
             }
 
             goalRepository.saveAll(goalsToUnlock);
+            dashboardSnapshotService.markStale(user);
             log.info("Unlocked {} goals for user {} (filled available slots)",
                     goalsToUnlock.size(), user.getId());
 
@@ -125,6 +128,7 @@ public class GoalLockService {
             }
 
             goalRepository.saveAll(goalsToLock);
+            dashboardSnapshotService.markStale(user);
             log.info("Locked {} goals for user {} (exceeded tier limit)",
                     goalsToLock.size(), user.getId());
         }
@@ -0,0 +1,61 @@
+package com.relyon.metasmart.service;
+
+import static com.relyon.metasmart.constant.AppConstants.GOAL_PROGRESS_RECONCILIATION_BATCH_SIZE;
+
+import com.relyon.metasmart.repository.GoalRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Progress writes only apply deltas to {@code current_progress}, so this job is the one place that
+ * re-sums every goal's entries. Goals are read in id-ordered batches, one transaction per batch. A
+ * drifted total is only overwritten if the stored value is still the one that was read, so a progress
+ * write landing in between is kept and checked again on the next run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GoalProgressReconciliationService {
+
+    private final GoalRepository goalRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${metasmart.progress.reconciliation-cron:0 45 3 * * *}")
+    public void reconcileAllGoals() {
+        log.info("Starting goal progress reconciliation");
+
+        var goalsChecked = 0L;
+        var goalsCorrected = 0;
+        var afterId = 0L;
+        while (true) {
+            var goalIds = goalRepository.findIdsAfter(afterId, PageRequest.ofSize(GOAL_PROGRESS_RECONCILIATION_BATCH_SIZE));
+            if (goalIds.isEmpty()) {
+                break;
+            }
+
+            var corrected = transactionTemplate.execute(status -> reconcileBatch(goalIds));
+            goalsCorrected += corrected == null ? 0 : corrected;
+            goalsChecked += goalIds.size();
+            afterId = goalIds.getLast();
+        }
+
+        log.info("Goal progress reconciliation finished - checked: {}, corrected: {}", goalsChecked, goalsCorrected);
+    }
+
+    private int reconcileBatch(List<Long> goalIds) {
+        var corrected = 0;
+        for (var drift : goalRepository.findProgressDrift(goalIds)) {
+            if (goalRepository.reconcileCurrentProgress(drift.getGoalId(), drift.getStoredProgress(), drift.getEntriesTotal()) > 0) {
+                log.warn("Goal ID: {} stored progress {} but its entries sum to {}, corrected",
+                        drift.getGoalId(), drift.getStoredProgress(), drift.getEntriesTotal());
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+}
@@ -1,18 +1,25 @@
 package com.relyon.metasmart.service;
 
 import static com.relyon.metasmart.constant.AppConstants.DEFAULT_MILESTONE_PERCENTAGES;
+import static com.relyon.metasmart.constant.AppConstants.GOAL_RESPONSE_CHECKIN_LIMIT;
+import static com.relyon.metasmart.constant.AppConstants.GOAL_UPDATE_MAX_ATTEMPTS;
 
 import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.constant.LogMessages;
 import com.relyon.metasmart.entity.actionplan.ActionItem;
+import com.relyon.metasmart.entity.actionplan.ScheduledTask;
+import com.relyon.metasmart.entity.actionplan.TaskCompletion;
 import com.relyon.metasmart.entity.actionplan.dto.ActionItemResponse;
 import com.relyon.metasmart.entity.actionplan.dto.TaskCompletionDto;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.goal.GoalCore;
 import com.relyon.metasmart.entity.goal.GoalStatus;
 import com.relyon.metasmart.entity.goal.dto.*;
+import com.relyon.metasmart.entity.guardian.GoalGuardian;
 import com.relyon.metasmart.entity.guardian.GuardianStatus;
 import com.relyon.metasmart.entity.progress.Milestone;
+import com.relyon.metasmart.entity.progress.ProgressEntry;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.exception.ResourceNotFoundException;
 import com.relyon.metasmart.mapper.ActionItemMapper;
@@ -23,10 +30,18 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -51,6 +66,12 @@ public class GoalService {
     private final UsageLimitService usageLimitService;
     private final SubscriptionService subscriptionService;
     private final GoalLockService goalLockService;
+    private final GoalStreakService goalStreakService;
+    private final ActivityCalendarService activityCalendarService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private GoalService self;
 
     @Transactional
     public GoalResponse create(GoalRequest request, User owner) {
@@ -68,6 +89,7 @@ public class GoalService {
         var savedGoal = goalRepository.save(goal);
         log.info("Goal created with ID: {} for user ID: {} (premium: {})",
                 savedGoal.getId(), owner.getId(), isPremium);
+        dashboardSnapshotService.markStale(owner);
 
         createDefaultMilestones(savedGoal);
 
@@ -75,23 +97,27 @@ public class GoalService {
     }
 
     private void createDefaultMilestones(Goal goal) {
-        for (var percentage : DEFAULT_MILESTONE_PERCENTAGES) {
-            var milestone = Milestone.builder()
-                    .goal(goal)
-                    .percentage(percentage)
-                    .description(percentage + "% completed")
-                    .achieved(false)
-                    .build();
-            milestoneRepository.save(milestone);
-        }
+        var milestones = DEFAULT_MILESTONE_PERCENTAGES.stream()
+                .map(percentage -> Milestone.builder()
+                        .goal(goal)
+                        .percentage(percentage)
+                        .description(percentage + "% completed")
+                        .achieved(false)
+                        .build())
+                .toList();
+        milestoneRepository.saveAll(milestones);
         log.debug("Default milestones created for goal ID: {}", goal.getId());
     }
 
     @Transactional(readOnly = true)
-    public GoalResponse findById(Long id, User owner) {
+    public GoalResponse findById(Long id, User owner, GoalFieldSelection selection) {
         log.debug("Finding goal ID: {} for user ID: {}", id, owner.getId());
-        return goalRepository.findByIdAndOwner(id, owner)
-                .map(this::enrichGoalResponse)
+        var response = selection.isSummary()
+                ? goalRepository.findSummaryByIdAndOwner(id, owner)
+                        .map(summary -> assembleGoalResponses(List.of(summary), goalMapper::toSummaryResponse, selection).getFirst())
+                : goalRepository.findByIdAndOwner(id, owner)
+                        .map(goal -> assembleGoalResponses(List.of(goal), goalMapper::toResponse, selection).getFirst());
+        return response
                 .orElseThrow(() -> {
                     log.warn(LogMessages.GOAL_NOT_FOUND_FOR_USER, id, owner.getId());
                     return new ResourceNotFoundException(ErrorMessages.GOAL_NOT_FOUND);
@@ -99,28 +125,52 @@ public class GoalService {
     }
 
     @Transactional(readOnly = true)
-    public Page<GoalResponse> findAll(User owner, Pageable pageable) {
+    public Page<GoalResponse> findAll(User owner, Pageable pageable, GoalFieldSelection selection) {
         log.debug("Finding all goals for user ID: {}", owner.getId());
-        return goalRepository.findByOwner(owner, pageable)
-                .map(this::enrichGoalResponse);
+        if (selection.isSummary()) {
+            return enrichSummaryPage(goalRepository.findSummariesByOwnerWithFilters(owner, null, null, pageable), selection);
+        }
+        return enrichGoalPage(goalRepository.findByOwner(owner, pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<GoalResponse> findByStatus(User owner, GoalStatus goalStatus, Pageable pageable) {
+    public Page<GoalResponse> findByStatus(User owner, GoalStatus goalStatus, Pageable pageable, GoalFieldSelection selection) {
         log.debug("Finding goals by status: {} for user ID: {}", goalStatus, owner.getId());
-        return goalRepository.findByOwnerAndGoalStatus(owner, goalStatus, pageable)
-                .map(this::enrichGoalResponse);
+        if (selection.isSummary()) {
+            return enrichSummaryPage(goalRepository.findSummariesByOwnerWithFilters(owner, goalStatus, null, pageable), selection);
+        }
+        return enrichGoalPage(goalRepository.findByOwnerAndGoalStatus(owner, goalStatus, pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<GoalResponse> findByCategory(User owner, GoalCategory goalCategory, Pageable pageable) {
+    public Page<GoalResponse> findByCategory(User owner, GoalCategory goalCategory, Pageable pageable, GoalFieldSelection selection) {
         log.debug("Finding goals by category: {} for user ID: {}", goalCategory, owner.getId());
-        return goalRepository.findByOwnerAndGoalCategory(owner, goalCategory, pageable)
-                .map(this::enrichGoalResponse);
+        if (selection.isSummary()) {
+            return enrichSummaryPage(goalRepository.findSummariesByOwnerWithFilters(owner, null, goalCategory, pageable), selection);
+        }
+        return enrichGoalPage(goalRepository.findByOwnerAndGoalCategory(owner, goalCategory, pageable), selection);
     }
 
-    @Transactional
+    /**
+     * Progress writes bump the goal version, so an edit racing one fails its optimistic check. The
+     * edit only sets fields from the request, so it is replayed on a fresh copy of the goal. Progress
+     * is not editable here; it only moves through progress entries.
+     */
     public GoalResponse update(Long id, UpdateGoalRequest request, User owner) {
+        for (var attempt = 1; ; attempt++) {
+            try {
+                return self.applyUpdate(id, request, owner);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= GOAL_UPDATE_MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Goal ID: {} changed during update, retrying (attempt {})", id, attempt + 1);
+            }
+        }
+    }
+
+    @Transactional
+    public GoalResponse applyUpdate(Long id, UpdateGoalRequest request, User owner) {
         log.debug("Updating goal ID: {} for user ID: {}", id, owner.getId());
 
         var goal = goalRepository.findByIdAndOwner(id, owner)
@@ -134,7 +184,6 @@ public class GoalService {
         Optional.ofNullable(request.getGoalCategory()).ifPresent(goal::setGoalCategory);
         Optional.ofNullable(request.getTargetValue()).ifPresent(goal::setTargetValue);
         Optional.ofNullable(request.getUnit()).ifPresent(goal::setUnit);
-        Optional.ofNullable(request.getCurrentProgress()).ifPresent(goal::setCurrentProgress);
         Optional.ofNullable(request.getMotivation()).ifPresent(goal::setMotivation);
         Optional.ofNullable(request.getStartDate()).ifPresent(goal::setStartDate);
         Optional.ofNullable(request.getTargetDate()).ifPresent(goal::setTargetDate);
@@ -157,6 +206,7 @@ public class GoalService {
 
         var savedGoal = goalRepository.save(goal);
         log.info("Goal updated with ID: {}", savedGoal.getId());
+        dashboardSnapshotService.markStale(owner);
         return enrichGoalResponse(savedGoal);
     }
 
@@ -174,6 +224,7 @@ public class GoalService {
         goal.setDeletedAt(LocalDate.now());
         goalRepository.save(goal);
         log.info("Goal soft deleted with ID: {}", id);
+        dashboardSnapshotService.markStale(owner);
 
         // Recalculate locks - a slot may have been freed
         goalLockService.recalculateLocksForUser(owner);
@@ -206,6 +257,7 @@ public class GoalService {
         var savedGoal = goalRepository.save(goal);
         log.info("Goal reactivated with ID: {} for user ID: {} (premium: {})",
                 id, owner.getId(), isPremium);
+        dashboardSnapshotService.markStale(owner);
 
         return enrichGoalResponse(savedGoal);
     }
@@ -213,8 +265,7 @@ public class GoalService {
     @Transactional(readOnly = true)
     public Page<GoalResponse> findDeleted(User owner, Pageable pageable) {
         log.debug("Finding deleted goals for user ID: {}", owner.getId());
-        return goalRepository.findByOwnerAndDeletedAtIsNotNull(owner, pageable)
-                .map(this::enrichGoalResponse);
+        return enrichGoalPage(goalRepository.findByOwnerAndDeletedAtIsNotNull(owner, pageable), GoalFieldSelection.full());
     }
 
     @Transactional
@@ -234,8 +285,10 @@ public class GoalService {
         milestoneRepository.deleteByGoal(goal);
         scheduledTaskRepository.deleteByGoal(goal);
         taskCompletionRepository.deleteByGoal(goal);
+        activityCalendarService.onGoalDeleted(goal);
         goalRepository.delete(goal);
         log.info("Goal permanently deleted with ID: {}", id);
+        dashboardSnapshotService.markStale(owner);
     }
 
     @Transactional
@@ -251,6 +304,7 @@ public class GoalService {
         goal.setArchivedAt(LocalDate.now());
         var savedGoal = goalRepository.save(goal);
         log.info("Goal archived with ID: {}", id);
+        dashboardSnapshotService.markStale(owner);
         return enrichGoalResponse(savedGoal);
     }
 
@@ -267,37 +321,43 @@ public class GoalService {
         goal.setArchivedAt(null);
         var savedGoal = goalRepository.save(goal);
         log.info("Goal unarchived with ID: {}", id);
+        dashboardSnapshotService.markStale(owner);
         return enrichGoalResponse(savedGoal);
     }
 
     @Transactional(readOnly = true)
-    public Page<GoalResponse> findArchived(User owner, Pageable pageable) {
+    public Page<GoalResponse> findArchived(User owner, Pageable pageable, GoalFieldSelection selection) {
         log.debug("Finding archived goals for user ID: {}", owner.getId());
-        return goalRepository.findByOwnerAndArchivedAtIsNotNull(owner, pageable)
-                .map(this::enrichGoalResponse);
+        if (selection.isSummary()) {
+            return enrichSummaryPage(goalRepository.findArchivedSummariesByOwner(owner, pageable), selection);
+        }
+        return enrichGoalPage(goalRepository.findByOwnerAndArchivedAtIsNotNull(owner, pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<GoalResponse> search(User owner, String query, Pageable pageable) {
+    public Page<GoalResponse> search(User owner, String query, Pageable pageable, GoalFieldSelection selection) {
         log.debug("Searching goals with query: {} for user ID: {}", query, owner.getId());
-        return goalRepository.searchByOwner(owner, query, pageable)
-                .map(this::enrichGoalResponse);
+        if (selection.isSummary()) {
+            return enrichSummaryPage(goalRepository.searchSummariesByOwner(owner, query, pageable), selection);
+        }
+        return enrichGoalPage(goalRepository.searchByOwner(owner, query, pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<GoalResponse> filter(User owner, GoalStatus status, GoalCategory category, Pageable pageable) {
+    public Page<GoalResponse> filter(User owner, GoalStatus status, GoalCategory category, Pageable pageable,
+                                     GoalFieldSelection selection) {
         log.debug("Filtering goals with status: {}, category: {} for user ID: {}", status, category, owner.getId());
-        return goalRepository.findByOwnerWithFilters(owner, status, category, pageable)
-                .map(this::enrichGoalResponse);
+        if (selection.isSummary()) {
+            return enrichSummaryPage(goalRepository.findSummariesByOwnerWithFilters(owner, status, category, pageable), selection);
+        }
+        return enrichGoalPage(goalRepository.findByOwnerWithFilters(owner, status, category, pageable), selection);
     }
 
     @Transactional(readOnly = true)
     public List<GoalResponse> findDueSoon(User owner, int days) {
         log.debug("Finding goals due within {} days for user ID: {}", days, owner.getId());
         var dueDate = LocalDate.now().plusDays(days);
-        return goalRepository.findGoalsDueSoon(owner, dueDate).stream()
-                .map(this::enrichGoalResponse)
-                .toList();
+        return assembleGoalResponses(goalRepository.findGoalsDueSoon(owner, dueDate), goalMapper::toResponse, GoalFieldSelection.full());
     }
 
     @Transactional
@@ -328,6 +388,7 @@ public class GoalService {
 
         var savedGoal = goalRepository.save(duplicate);
         log.info("Goal duplicated from ID: {} to new ID: {} for user ID: {}", id, savedGoal.getId(), owner.getId());
+        dashboardSnapshotService.markStale(owner);
 
         createDefaultMilestones(savedGoal);
 
@@ -358,39 +419,117 @@ public class GoalService {
         goal.setLastStreakShieldUsedAt(LocalDate.now());
         var savedGoal = goalRepository.save(goal);
         log.info("Streak shield used for goal ID: {} by user ID: {}", goalId, owner.getId());
+        dashboardSnapshotService.markStale(owner);
 
         return enrichGoalResponse(savedGoal);
     }
 
     private GoalResponse enrichGoalResponse(Goal goal) {
-        var response = goalMapper.toResponse(goal);
-        response.setSmartPillars(calculateSmartPillars(goal));
-        response.setSetupCompletionPercentage(calculateSetupCompletion(goal));
-        response.setProgressPercentage(calculateProgressPercentage(goal));
+        return assembleGoalResponses(List.of(goal), goalMapper::toResponse, GoalFieldSelection.full()).getFirst();
+    }
 
-        var streaks = calculateStreaks(goal);
-        response.setCurrentStreak(streaks[0]);
-        response.setLongestStreak(streaks[1]);
+    private Page<GoalResponse> enrichGoalPage(Page<Goal> goals, GoalFieldSelection selection) {
+        var responses = assembleGoalResponses(goals.getContent(), goalMapper::toResponse, selection);
+        return new PageImpl<>(responses, goals.getPageable(), goals.getTotalElements());
+    }
 
-        // Populate checkins from progress entries
-        response.setCheckins(buildCheckins(goal));
+    private Page<GoalResponse> enrichSummaryPage(Page<GoalSummary> summaries, GoalFieldSelection selection) {
+        var responses = assembleGoalResponses(summaries.getContent(), goalMapper::toSummaryResponse, selection);
+        return new PageImpl<>(responses, summaries.getPageable(), summaries.getTotalElements());
+    }
 
-        // Populate action plan with tasks and scheduled tasks
-        response.setActionPlan(buildActionPlan(goal));
+    /**
+     * Builds responses for a batch of goals. Every child collection is loaded for the whole
+     * batch with one query and grouped in memory, so the query count does not grow with the
+     * number of goals or action items. Sections the caller did not select are neither queried
+     * nor serialized.
+     */
+    private <T extends GoalCore> List<GoalResponse> assembleGoalResponses(List<T> goals,
+                                                                          Function<T, GoalResponse> toResponse,
+                                                                          GoalFieldSelection selection) {
+        if (goals.isEmpty()) {
+            return List.of();
+        }
 
-        // Populate milestones
-        response.setMilestones(buildMilestones(goal));
+        var goalIds = goals.stream().map(GoalCore::getId).toList();
+        var today = LocalDate.now();
 
-        // Populate support system (guardians as accountability partners)
-        response.setSupportSystem(buildSupportSystem(goal));
+        Map<Long, List<ProgressEntry>> checkinsByGoal = selection.includes(GoalResponseSection.CHECKINS)
+                ? progressEntryRepository.findLatestByGoalIds(goalIds, GOAL_RESPONSE_CHECKIN_LIMIT).stream()
+                        .collect(Collectors.groupingBy(entry -> entry.getGoal().getId()))
+                : Map.of();
+
+        var includeActionPlan = selection.includes(GoalResponseSection.ACTION_PLAN);
+        List<ActionItem> actionItems = includeActionPlan
+                ? actionItemRepository.findByGoalIdInOrderByOrderIndexAscCreatedAtAsc(goalIds)
+                : List.of();
+        var actionItemsByGoal = actionItems.stream()
+                .collect(Collectors.groupingBy(actionItem -> actionItem.getGoal().getId()));
+        var completionsByActionItem = loadCompletionsByActionItem(actionItems);
+        Map<Long, List<ScheduledTask>> scheduledTasksByGoal = includeActionPlan
+                ? scheduledTaskRepository.findByGoalIdsOrderByScheduledDateAsc(goalIds).stream()
+                        .collect(Collectors.groupingBy(task -> task.getActionItem().getGoal().getId()))
+                : Map.of();
+
+        Map<Long, List<Milestone>> milestonesByGoal = selection.includes(GoalResponseSection.MILESTONES)
+                ? milestoneRepository.findByGoalIdInOrderByPercentageAsc(goalIds).stream()
+                        .collect(Collectors.groupingBy(milestone -> milestone.getGoal().getId()))
+                : Map.of();
+        Map<Long, List<GoalGuardian>> guardiansByGoal = selection.includes(GoalResponseSection.SUPPORT_SYSTEM)
+                ? goalGuardianRepository.findByGoalIdsAndStatusWithGuardian(goalIds, GuardianStatus.ACTIVE).stream()
+                        .collect(Collectors.groupingBy(guardian -> guardian.getGoal().getId()))
+                : Map.of();
+
+        return goals.stream()
+                .map(goal -> {
+                    var goalId = goal.getId();
+                    var response = toResponse.apply(goal);
+                    response.setSmartPillars(calculateSmartPillars(goal));
+                    response.setSetupCompletionPercentage(calculateSetupCompletion(goal));
+                    response.setProgressPercentage(calculateProgressPercentage(goal));
+
+                    response.setCurrentStreak(goalStreakService.getCurrentStreak(goal, today));
+                    response.setLongestStreak(goalStreakService.getLongestStreak(goal));
+
+                    // Populate checkins from progress entries
+                    if (selection.includes(GoalResponseSection.CHECKINS)) {
+                        response.setCheckins(buildCheckins(checkinsByGoal.getOrDefault(goalId, List.of())));
+                    }
+
+                    // Populate action plan with tasks and scheduled tasks
+                    if (includeActionPlan) {
+                        response.setActionPlan(buildActionPlan(goal,
+                                actionItemsByGoal.getOrDefault(goalId, List.of()),
+                                completionsByActionItem,
+                                scheduledTasksByGoal.getOrDefault(goalId, List.of())));
+                    }
+
+                    // Populate milestones
+                    if (selection.includes(GoalResponseSection.MILESTONES)) {
+                        response.setMilestones(buildMilestones(milestonesByGoal.getOrDefault(goalId, List.of())));
+                    }
+
+                    // Populate support system (guardians as accountability partners)
+                    if (selection.includes(GoalResponseSection.SUPPORT_SYSTEM)) {
+                        response.setSupportSystem(buildSupportSystem(guardiansByGoal.getOrDefault(goalId, List.of())));
+                    }
+
+                    return response;
+                })
+                .toList();
+    }
 
-        return response;
+    private Map<Long, List<TaskCompletion>> loadCompletionsByActionItem(List<ActionItem> actionItems) {
+        if (actionItems.isEmpty()) {
+            return Map.of();
+        }
+        var actionItemIds = actionItems.stream().map(ActionItem::getId).toList();
+        return taskCompletionRepository.findByActionItemIdInOrderByCompletedAtDesc(actionItemIds).stream()
+                .collect(Collectors.groupingBy(completion -> completion.getActionItem().getId()));
     }
 
-    private List<CheckinDto> buildCheckins(Goal goal) {
-        return progressEntryRepository.findByGoalOrderByCreatedAtDesc(goal, Pageable.ofSize(50))
-                .getContent()
-                .stream()
+    private List<CheckinDto> buildCheckins(List<ProgressEntry> entries) {
+        return entries.stream()
                 .map(entry -> CheckinDto.builder()
                         .id(entry.getId())
                         .createdAt(entry.getCreatedAt())
@@ -400,12 +539,12 @@ public class GoalService {
                 .toList();
     }
 
-    private ActionPlanDto buildActionPlan(Goal goal) {
-        var actionItems = actionItemRepository.findByGoalOrderByOrderIndexAscCreatedAtAsc(goal);
-        var scheduledTasks = scheduledTaskRepository.findByGoalOrderByScheduledDateAsc(goal);
-
+    private ActionPlanDto buildActionPlan(GoalCore goal, List<ActionItem> actionItems,
+                                          Map<Long, List<TaskCompletion>> completionsByActionItem,
+                                          List<ScheduledTask> scheduledTasks) {
         var taskResponses = actionItems.stream()
-                .map(this::enrichActionItemWithCompletionHistory)
+                .map(actionItem -> enrichActionItemWithCompletionHistory(actionItem,
+                        completionsByActionItem.getOrDefault(actionItem.getId(), List.of())))
                 .toList();
 
         var scheduledTaskDtos = scheduledTasks.stream()
@@ -419,9 +558,8 @@ public class GoalService {
                 .build();
     }
 
-    private ActionItemResponse enrichActionItemWithCompletionHistory(ActionItem actionItem) {
+    private ActionItemResponse enrichActionItemWithCompletionHistory(ActionItem actionItem, List<TaskCompletion> completions) {
         var response = actionItemMapper.toResponse(actionItem);
-        var completions = taskCompletionRepository.findByActionItemOrderByCompletedAtDesc(actionItem);
         var completionDtos = completions.stream()
                 .map(completion -> TaskCompletionDto.builder()
                         .id(completion.getId())
@@ -437,9 +575,8 @@ public class GoalService {
         return response;
     }
 
-    private List<MilestoneDto> buildMilestones(Goal goal) {
-        return milestoneRepository.findByGoalOrderByPercentageAsc(goal)
-                .stream()
+    private List<MilestoneDto> buildMilestones(List<Milestone> milestones) {
+        return milestones.stream()
                 .map(milestone -> MilestoneDto.builder()
                         .value(BigDecimal.valueOf(milestone.getPercentage()))
                         .label(milestone.getDescription())
@@ -448,8 +585,7 @@ public class GoalService {
                 .toList();
     }
 
-    private SupportSystemDto buildSupportSystem(Goal goal) {
-        var guardians = goalGuardianRepository.findByGoalAndStatus(goal, GuardianStatus.ACTIVE);
+    private SupportSystemDto buildSupportSystem(List<GoalGuardian> guardians) {
         var partners = guardians.stream()
                 .map(guardian -> SupportSystemDto.AccountabilityPartnerDto.builder()
                         .name(guardian.getGuardian().getName())
@@ -462,7 +598,7 @@ public class GoalService {
                 .build();
     }
 
-    private SmartPillarsDto calculateSmartPillars(Goal goal) {
+    private SmartPillarsDto calculateSmartPillars(GoalCore goal) {
         var specific = hasContent(goal.getTitle()) && hasContent(goal.getDescription());
         var measurable = goal.getTargetValue() != null && hasContent(goal.getUnit());
         var achievable = hasContent(goal.getMotivation());
@@ -488,7 +624,7 @@ public class GoalService {
                 .build();
     }
 
-    private Integer calculateSetupCompletion(Goal goal) {
+    private Integer calculateSetupCompletion(GoalCore goal) {
         var totalFields = 8;
         var completedFields = 0;
 
@@ -504,7 +640,7 @@ public class GoalService {
         return (completedFields * 100) / totalFields;
     }
 
-    private BigDecimal calculateProgressPercentage(Goal goal) {
+    private BigDecimal calculateProgressPercentage(GoalCore goal) {
         if (goal.getTargetValue() == null || goal.getTargetValue().compareTo(BigDecimal.ZERO) == 0) {
             return BigDecimal.ZERO;
         }
@@ -513,50 +649,6 @@ public class GoalService {
                 .divide(goal.getTargetValue(), 2, RoundingMode.HALF_UP);
     }
 
-    private int[] calculateStreaks(Goal goal) {
-        var dates = progressEntryRepository.findDistinctProgressDates(goal);
-        if (dates.isEmpty()) {
-            return new int[]{0, 0};
-        }
-
-        var currentStreak = 0;
-        var longestStreak = 0;
-        var streak = 1;
-        var today = LocalDate.now();
-
-        // Check if streak shield was used within recovery window (today or yesterday)
-        var shieldUsed = goal.getLastStreakShieldUsedAt() != null
-                && (goal.getLastStreakShieldUsedAt().equals(today)
-                || goal.getLastStreakShieldUsedAt().equals(today.minusDays(1)));
-
-        if (dates.getFirst().equals(today) || dates.getFirst().equals(today.minusDays(1)) || shieldUsed) {
-            currentStreak = 1;
-        }
-
-        for (var dateIndex = 0; dateIndex < dates.size() - 1; dateIndex++) {
-            var current = dates.get(dateIndex);
-            var next = dates.get(dateIndex + 1);
-
-            // Check if this gap was covered by a shield
-            var gapCoveredByShield = goal.getLastStreakShieldUsedAt() != null
-                    && goal.getLastStreakShieldUsedAt().equals(current.minusDays(1))
-                    && next.equals(current.minusDays(2));
-
-            if (current.minusDays(1).equals(next) || gapCoveredByShield) {
-                streak++;
-                if (dateIndex == 0 || dates.getFirst().equals(today) || dates.getFirst().equals(today.minusDays(1)) || shieldUsed) {
-                    currentStreak = streak;
-                }
-            } else {
-                longestStreak = Math.max(longestStreak, streak);
-                streak = 1;
-            }
-        }
-        longestStreak = Math.max(longestStreak, streak);
-
-        return new int[]{currentStreak, longestStreak};
-    }
-
     private boolean hasContent(String value) {
         return value != null && !value.isBlank();
     }
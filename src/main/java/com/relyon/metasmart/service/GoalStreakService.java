@@ -0,0 +1,207 @@
+package com.relyon.metasmart.service;
+
+import static com.relyon.metasmart.constant.AppConstants.GOAL_STREAK_REPAIR_BATCH_SIZE;
+
+import com.relyon.metasmart.config.StreakJobConfig;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.goal.GoalCore;
+import com.relyon.metasmart.entity.goal.dto.GoalStreakStats;
+import com.relyon.metasmart.entity.progress.dto.GoalProgressDate;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.GoalRepository;
+import com.relyon.metasmart.repository.ProgressEntryRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the streak counters stored on {@link Goal}: {@code streak} is the run of consecutive
+ * progress days ending at {@code lastProgressDate}, {@code longestStreak} the best run ever.
+ * Counters are advanced as progress is written, so reads never walk the progress history.
+ * A shield used on the single missed day between two progress days keeps the run going.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GoalStreakService {
+
+    static final String REPAIR_LOCK = "goal-streak-repair";
+
+    private final GoalRepository goalRepository;
+    private final ProgressEntryRepository progressEntryRepository;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final StreakJobConfig streakJobConfig;
+
+    /**
+     * Current streak as seen on {@code today}: the stored run while it is still alive
+     * (progress today or yesterday, or yesterday covered by a shield), otherwise zero.
+     */
+    public int getCurrentStreak(GoalCore goal, LocalDate today) {
+        var lastProgressDate = goal.getLastProgressDate();
+        if (lastProgressDate == null) {
+            return 0;
+        }
+
+        var yesterday = today.minusDays(1);
+        var alive = !lastProgressDate.isBefore(yesterday)
+                || (lastProgressDate.equals(today.minusDays(2)) && yesterday.equals(goal.getLastStreakShieldUsedAt()));
+        return alive ? Objects.requireNonNullElse(goal.getStreak(), 0) : 0;
+    }
+
+    public int getLongestStreak(GoalCore goal) {
+        return Objects.requireNonNullElse(goal.getLongestStreak(), 0);
+    }
+
+    /**
+     * Longest and best current streak across the owner's goals, aggregated in the database with the
+     * same liveness rule as {@link #getCurrentStreak}.
+     */
+    public GoalStreakStats getStreakStats(User owner, LocalDate today) {
+        var yesterday = today.minusDays(1);
+        return goalRepository.findStreakStatsByOwner(owner, yesterday, yesterday.minusDays(1));
+    }
+
+    /**
+     * Advances the counters for progress recorded on {@code progressDate}. The caller is
+     * responsible for saving the goal.
+     */
+    public void onProgressRecorded(Goal goal, LocalDate progressDate) {
+        var lastProgressDate = goal.getLastProgressDate();
+        if (lastProgressDate != null && progressDate.isBefore(lastProgressDate)) {
+            recalculate(goal);
+            return;
+        }
+        if (progressDate.equals(lastProgressDate)) {
+            return;
+        }
+
+        var continuesRun = lastProgressDate != null && continuesRun(goal, progressDate, lastProgressDate);
+        var streak = continuesRun ? Objects.requireNonNullElse(goal.getStreak(), 0) + 1 : 1;
+
+        goal.setStreak(streak);
+        goal.setLongestStreak(Math.max(getLongestStreak(goal), streak));
+        goal.setLastProgressDate(progressDate);
+        log.debug("Goal ID: {} streak advanced to {} on {}", goal.getId(), streak, progressDate);
+    }
+
+    /**
+     * Updates the counters after progress recorded on {@code progressDate} was removed. Nothing
+     * changes while other progress exists on that day; otherwise the run may have been split and
+     * the counters are rebuilt from history. The caller is responsible for saving the goal.
+     */
+    public void onProgressRemoved(Goal goal, LocalDate progressDate) {
+        if (progressEntryRepository.hasGoalProgressOnDate(goal, progressDate)) {
+            return;
+        }
+        recalculate(goal);
+    }
+
+    /**
+     * Rebuilds the counters of a single goal from its full progress history.
+     */
+    public void recalculate(Goal goal) {
+        applyCounters(goal, progressEntryRepository.findDistinctProgressDates(goal));
+        log.debug("Goal ID: {} streak recalculated - current: {}, longest: {}",
+                goal.getId(), goal.getStreak(), goal.getLongestStreak());
+    }
+
+    /**
+     * Repair job: rebuilds every goal's counters from history in id-ordered batches, one transaction
+     * per batch, loading the progress dates of each batch with a single query. Only goals whose
+     * counters drifted are written. Runs on one instance at a time.
+     */
+    @Scheduled(cron = "${metasmart.streaks.repair-cron:0 30 3 * * *}")
+    public void repairAllGoalStreaks() {
+        if (!jobLockService.runExclusively(REPAIR_LOCK, streakJobConfig.getRepairLockAtMostFor(), this::repairInBatches)) {
+            log.info("Goal streak repair is running on another instance, skipping");
+        }
+    }
+
+    private void repairInBatches() {
+        log.info("Starting goal streak repair");
+
+        var repaired = 0;
+        var scanned = 0;
+        var afterId = 0L;
+        while (true) {
+            var goalIds = goalRepository.findIdsAfter(afterId, PageRequest.ofSize(GOAL_STREAK_REPAIR_BATCH_SIZE));
+            if (goalIds.isEmpty()) {
+                break;
+            }
+
+            var changed = transactionTemplate.execute(status -> repairBatch(goalIds));
+            repaired += changed == null ? 0 : changed;
+            scanned += goalIds.size();
+            afterId = goalIds.getLast();
+        }
+
+        log.info("Goal streak repair finished - scanned: {}, repaired: {}", scanned, repaired);
+    }
+
+    private int repairBatch(List<Long> goalIds) {
+        var datesByGoal = progressEntryRepository.findDistinctProgressDatesByGoalIds(goalIds).stream()
+                .collect(Collectors.groupingBy(GoalProgressDate::getGoalId,
+                        Collectors.mapping(GoalProgressDate::getProgressDate, Collectors.toList())));
+
+        var changed = new ArrayList<Goal>();
+        for (var goal : goalRepository.findAllById(goalIds)) {
+            if (applyCounters(goal, datesByGoal.getOrDefault(goal.getId(), List.of()))) {
+                changed.add(goal);
+            }
+        }
+        goalRepository.saveAll(changed);
+        return changed.size();
+    }
+
+    private boolean continuesRun(GoalCore goal, LocalDate progressDate, LocalDate previousDate) {
+        return previousDate.plusDays(1).equals(progressDate)
+                || (previousDate.plusDays(2).equals(progressDate)
+                && progressDate.minusDays(1).equals(goal.getLastStreakShieldUsedAt()));
+    }
+
+    /**
+     * Sets the counters from distinct progress dates sorted newest first.
+     *
+     * @return whether any counter changed
+     */
+    private boolean applyCounters(Goal goal, List<LocalDate> datesDesc) {
+        var streak = 0;
+        var longestStreak = 0;
+        var run = 0;
+
+        for (var dateIndex = 0; dateIndex < datesDesc.size(); dateIndex++) {
+            var continues = dateIndex > 0 && continuesRun(goal, datesDesc.get(dateIndex - 1), datesDesc.get(dateIndex));
+            if (continues) {
+                run++;
+            } else {
+                if (dateIndex > 0 && streak == 0) {
+                    streak = run;
+                }
+                run = 1;
+            }
+            longestStreak = Math.max(longestStreak, run);
+        }
+        if (streak == 0) {
+            streak = run;
+        }
+
+        var lastProgressDate = datesDesc.isEmpty() ? null : datesDesc.getFirst();
+        var changed = !Objects.equals(goal.getStreak(), streak)
+                || !Objects.equals(goal.getLongestStreak(), longestStreak)
+                || !Objects.equals(goal.getLastProgressDate(), lastProgressDate);
+
+        goal.setStreak(streak);
+        goal.setLongestStreak(longestStreak);
+        goal.setLastProgressDate(lastProgressDate);
+        return changed;
+    }
+}
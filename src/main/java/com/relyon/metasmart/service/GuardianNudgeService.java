@@ -7,6 +7,8 @@ import com.relyon.metasmart.entity.guardian.GuardianStatus;
 import com.relyon.metasmart.entity.guardian.dto.NudgeResponse;
 import com.relyon.metasmart.entity.guardian.dto.ReactToNudgeRequest;
 import com.relyon.metasmart.entity.guardian.dto.SendNudgeRequest;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.exception.AccessDeniedException;
 import com.relyon.metasmart.exception.ResourceNotFoundException;
@@ -17,6 +19,7 @@ import com.relyon.metasmart.repository.GuardianNudgeRepository;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -31,6 +34,7 @@ public class GuardianNudgeService {
     private final GoalGuardianRepository goalGuardianRepository;
     private final GoalRepository goalRepository;
     private final GuardianNudgeMapper guardianNudgeMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     @Transactional
     public NudgeResponse sendNudge(Long goalId, SendNudgeRequest request, User guardian) {
@@ -52,6 +56,7 @@ public class GuardianNudgeService {
 
         var saved = guardianNudgeRepository.save(nudge);
         log.info("Nudge {} sent by guardian {} for goal {}", saved.getId(), guardian.getId(), goalId);
+        dashboardSnapshotService.markStale(goalGuardian.getGoal().getOwner());
 
         return guardianNudgeMapper.toResponse(saved);
     }
@@ -70,6 +75,24 @@ public class GuardianNudgeService {
                 .map(guardianNudgeMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<NudgeResponse> getNudgeFeedForGoal(Long goalId, User owner, String cursor, Integer size) {
+        log.debug("Getting nudge feed for goal {} by owner {}", goalId, owner.getId());
+
+        goalRepository.findByIdAndOwner(goalId, owner)
+                .orElseThrow(() -> {
+                    log.warn(LogMessages.GOAL_NOT_FOUND_FOR_USER, goalId, owner.getId());
+                    return new ResourceNotFoundException(ErrorMessages.GOAL_NOT_FOUND);
+                });
+
+        var position = HistoryCursor.decode(cursor);
+        var pageSize = CursorPage.resolveSize(size);
+        var rows = guardianNudgeRepository.findFeedByGoalId(
+                goalId, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, nudge -> new HistoryCursor(nudge.getCreatedAt(), nudge.getId()),
+                guardianNudgeMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     public long countUnreadNudges(User owner) {
         log.debug("Counting unread nudges for owner {}", owner.getId());
@@ -101,6 +124,7 @@ public class GuardianNudgeService {
             nudge.setReadAt(LocalDateTime.now());
             nudge = guardianNudgeRepository.save(nudge);
             log.info("Nudge {} marked as read", nudgeId);
+            dashboardSnapshotService.markStale(owner);
         }
 
         return guardianNudgeMapper.toResponse(nudge);
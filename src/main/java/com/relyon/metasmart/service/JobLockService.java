@@ -0,0 +1,46 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.repository.JobLockRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a scheduled job on one instance at a time. The lock is taken and released in transactions
+ * of their own, so the job is free to use as many transactions as it needs. {@code lockAtMostFor}
+ * bounds how long a crashed holder keeps others out and should exceed the job's longest run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @return whether the task ran; false when another instance holds the lock
+     */
+    public boolean runExclusively(String name, Duration lockAtMostFor, Runnable task) {
+        var lockedBy = UUID.randomUUID().toString();
+        var now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                jobLockRepository.tryAcquire(name, lockedBy, now.plus(lockAtMostFor), now));
+        if (acquired == null || acquired == 0) {
+            log.debug("Job lock {} is held by another instance", name);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobLockRepository.release(name, lockedBy, LocalDateTime.now()));
+        }
+    }
+}
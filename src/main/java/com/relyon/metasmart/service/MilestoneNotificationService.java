@@ -0,0 +1,44 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.repository.NotificationPreferencesRepository;
+import com.relyon.metasmart.service.event.MilestonesAchievedEvent;
+import java.util.Collections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MilestoneNotificationService {
+
+    private final NotificationPreferencesRepository notificationPreferencesRepository;
+    private final EmailService emailService;
+
+    /**
+     * Runs just before the progress write commits, so the email lands in the outbox in the same
+     * transaction: a rolled back write never sends anything, and a failed enqueue rolls the write back
+     * rather than losing the email. Delivery itself happens later from the outbox. Crossing several
+     * milestones at once sends a single email for the highest one.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMilestonesAchieved(MilestonesAchievedEvent event) {
+        if (!wantsMilestoneEmails(event.getUserId())) {
+            log.debug("Milestone emails disabled for user ID: {}", event.getUserId());
+            return;
+        }
+
+        var percentage = Collections.max(event.getPercentages());
+        emailService.sendMilestoneEmail(event.getUserEmail(), event.getUserName(), event.getGoalTitle(), percentage);
+        log.debug("Milestone email queued for goal ID: {} at {}%", event.getGoalId(), percentage);
+    }
+
+    private boolean wantsMilestoneEmails(Long userId) {
+        return notificationPreferencesRepository.findByUserId(userId)
+                .map(preferences -> Boolean.TRUE.equals(preferences.getEmailEnabled())
+                        && Boolean.TRUE.equals(preferences.getEmailMilestones()))
+                .orElse(true);
+    }
+}
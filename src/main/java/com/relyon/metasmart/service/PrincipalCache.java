@@ -0,0 +1,156 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.config.PrincipalCacheConfig;
+import com.relyon.metasmart.entity.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, TTL-based cache of authenticated users keyed by email, so the JWT filter does not read
+ * the {@code users} row on every request. Entries are detached snapshots: every hit returns a fresh
+ * copy, so a request mutating its principal never leaks into the cache or into another request.
+ * <p>
+ * Reads and writes go straight to a concurrent map. Each hit stamps its entry from a shared
+ * sequence, and a put that takes the map past {@code maxEntries} drops the least recently used
+ * tenth of it. Only one thread prunes at a time; the others carry on without waiting.
+ */
+@Slf4j
+@Service
+public class PrincipalCache {
+
+    static final String CACHE_NAME = "principals";
+
+    private final PrincipalCacheConfig principalCacheConfig;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong accessSequence = new AtomicLong();
+    private final ReentrantLock pruneLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public PrincipalCache(PrincipalCacheConfig principalCacheConfig, MeterRegistry meterRegistry) {
+        this(principalCacheConfig, meterRegistry, Clock.systemUTC());
+    }
+
+    PrincipalCache(PrincipalCacheConfig principalCacheConfig, MeterRegistry meterRegistry, Clock clock) {
+        this.principalCacheConfig = principalCacheConfig;
+        this.clock = clock;
+        this.hits = meterRegistry.counter(RefreshAheadCache.GETS_METRIC, "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter(RefreshAheadCache.GETS_METRIC, "cache", CACHE_NAME, "result", "miss");
+    }
+
+    public Optional<User> get(String email) {
+        if (!principalCacheConfig.isEnabled()) {
+            return Optional.empty();
+        }
+
+        var entry = entries.get(email);
+        if (entry != null && !clock.instant().isBefore(entry.getExpiresAt())) {
+            entries.remove(email, entry);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        entry.setLastAccess(accessSequence.incrementAndGet());
+        hits.increment();
+        return Optional.of(copyOf(entry.getUser()));
+    }
+
+    public void put(User user) {
+        if (!principalCacheConfig.isEnabled()) {
+            return;
+        }
+        var entry = new Entry(copyOf(user), clock.instant().plus(principalCacheConfig.getTtl()));
+        entry.setLastAccess(accessSequence.incrementAndGet());
+        entries.put(user.getEmail(), entry);
+        if (entries.size() > principalCacheConfig.getMaxEntries()) {
+            prune();
+        }
+    }
+
+    private void prune() {
+        if (!pruneLock.tryLock()) {
+            return;
+        }
+        try {
+            var maxEntries = principalCacheConfig.getMaxEntries();
+            var excess = entries.size() - (maxEntries - maxEntries / 10);
+            if (excess <= 0) {
+                return;
+            }
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().getLastAccess()))
+                    .limit(excess)
+                    .toList()
+                    .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the user's entry now and, inside a transaction, again after commit, so a request that
+     * reloads the row before the write commits cannot keep the old state cached.
+     */
+    public void invalidate(String email) {
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    private void evict(String email) {
+        entries.remove(email);
+        log.debug("Evicted cached principal for {}", email);
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .streakShields(user.getStreakShields())
+                .profilePictureUrl(user.getProfilePictureUrl())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .createdBy(user.getCreatedBy())
+                .updatedBy(user.getUpdatedBy())
+                .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final User user;
+        private final Instant expiresAt;
+        @Setter
+        private volatile long lastAccess;
+    }
+}
@@ -7,6 +7,8 @@ import static com.relyon.metasmart.constant.AppConstants.STREAK_SHIELD_AWARD_MIL
 import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.progress.Milestone;
 import com.relyon.metasmart.entity.progress.ProgressEntry;
 import com.relyon.metasmart.entity.progress.dto.*;
@@ -18,16 +20,18 @@ import com.relyon.metasmart.mapper.ProgressEntryMapper;
 import com.relyon.metasmart.repository.GoalRepository;
 import com.relyon.metasmart.repository.MilestoneRepository;
 import com.relyon.metasmart.repository.ProgressEntryRepository;
+import com.relyon.metasmart.service.event.MilestonesAchievedEvent;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -45,6 +49,10 @@ public class ProgressService {
     private final MilestoneMapper milestoneMapper;
     private final UserProfileService userProfileService;
     private final UserStreakService userStreakService;
+    private final GoalStreakService goalStreakService;
+    private final ActivityCalendarService activityCalendarService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProgressEntryResponse addProgress(Long goalId, ProgressEntryRequest request, User user) {
@@ -57,8 +65,12 @@ public class ProgressService {
         var savedEntry = progressEntryRepository.save(entry);
         log.info("Progress entry created with ID: {} for goal ID: {}", savedEntry.getId(), goalId);
 
-        updateGoalProgress(goal);
-        checkAndUpdateMilestones(goal, user);
+        var updatedGoal = applyProgressDelta(goal, savedEntry.getProgressValue());
+        goalStreakService.onProgressRecorded(updatedGoal, LocalDate.now());
+        activityCalendarService.onProgressRecorded(updatedGoal, LocalDate.now());
+        dashboardSnapshotService.markStale(user);
+        saveGoal(updatedGoal);
+        checkAndUpdateMilestones(updatedGoal, user);
         userStreakService.onActivityRecorded(user);
 
         return progressEntryMapper.toResponse(savedEntry);
@@ -69,23 +81,30 @@ public class ProgressService {
         log.debug("Adding {} bulk progress entries for goal ID: {}", request.getEntries().size(), goalId);
 
         var goal = findGoalByIdAndOwner(goalId, user);
-        var responses = new ArrayList<ProgressEntryResponse>();
-
-        for (var item : request.getEntries()) {
-            var entry = ProgressEntry.builder()
-                    .goal(goal)
-                    .progressValue(item.getProgressValue())
-                    .note(item.getNote())
-                    .build();
+        var entries = request.getEntries().stream()
+                .map(item -> ProgressEntry.builder()
+                        .goal(goal)
+                        .progressValue(item.getProgressValue())
+                        .note(item.getNote())
+                        .build())
+                .toList();
 
-            var savedEntry = progressEntryRepository.save(entry);
-            responses.add(progressEntryMapper.toResponse(savedEntry));
-        }
+        var savedEntries = progressEntryRepository.saveAll(entries);
+        var responses = savedEntries.stream()
+                .map(progressEntryMapper::toResponse)
+                .toList();
 
         log.info("{} progress entries created for goal ID: {}", responses.size(), goalId);
 
-        updateGoalProgress(goal);
-        checkAndUpdateMilestones(goal, user);
+        var delta = savedEntries.stream()
+                .map(ProgressEntry::getProgressValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        var updatedGoal = applyProgressDelta(goal, delta);
+        goalStreakService.onProgressRecorded(updatedGoal, LocalDate.now());
+        activityCalendarService.onProgressRecorded(updatedGoal, LocalDate.now(), savedEntries.size());
+        dashboardSnapshotService.markStale(user);
+        saveGoal(updatedGoal);
+        checkAndUpdateMilestones(updatedGoal, user);
         userStreakService.onActivityRecorded(user);
 
         return responses;
@@ -100,6 +119,19 @@ public class ProgressService {
                 .map(progressEntryMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ProgressEntryResponse> getProgressFeed(Long goalId, User user, String cursor, Integer size) {
+        log.debug("Fetching progress feed for goal ID: {}", goalId);
+
+        var goal = findGoalByIdAndOwner(goalId, user);
+        var position = HistoryCursor.decode(cursor);
+        var pageSize = CursorPage.resolveSize(size);
+        var rows = progressEntryRepository.findHistoryFeed(
+                goal, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, entry -> new HistoryCursor(entry.getCreatedAt(), entry.getId()),
+                progressEntryMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     public Page<ProgressEntryResponse> getProgressHistoryByDateRange(
             Long goalId, User user, LocalDate startDate, LocalDate endDate, Pageable pageable) {
@@ -125,14 +157,16 @@ public class ProgressService {
                     return new ResourceNotFoundException(ErrorMessages.PROGRESS_ENTRY_NOT_FOUND);
                 });
 
+        var previousValue = entry.getProgressValue();
         Optional.ofNullable(request.getProgressValue()).ifPresent(entry::setProgressValue);
         Optional.ofNullable(request.getNote()).ifPresent(entry::setNote);
 
         var savedEntry = progressEntryRepository.save(entry);
         log.info("Progress entry updated with ID: {} for goal ID: {}", savedEntry.getId(), goalId);
 
-        updateGoalProgress(goal);
-        recheckMilestones(goal);
+        var updatedGoal = applyProgressDelta(goal, savedEntry.getProgressValue().subtract(previousValue));
+        saveGoal(updatedGoal);
+        recheckMilestones(updatedGoal);
 
         return progressEntryMapper.toResponse(savedEntry);
     }
@@ -149,8 +183,13 @@ public class ProgressService {
         progressEntryRepository.delete(entry);
         log.info("Progress entry ID: {} deleted from goal ID: {}", entryId, goalId);
 
-        updateGoalProgress(goal);
-        recheckMilestones(goal);
+        var updatedGoal = applyProgressDelta(goal, entry.getProgressValue().negate());
+        var entryDate = entry.getCreatedAt().toLocalDate();
+        goalStreakService.onProgressRemoved(updatedGoal, entryDate);
+        activityCalendarService.onProgressRemoved(updatedGoal, entryDate);
+        dashboardSnapshotService.markStale(user);
+        saveGoal(updatedGoal);
+        recheckMilestones(updatedGoal);
     }
 
     @Transactional
@@ -226,52 +265,68 @@ public class ProgressService {
                 });
     }
 
-    private void updateGoalProgress(Goal goal) {
-        var totalProgress = progressEntryRepository.sumValueByGoal(goal);
-        goal.setCurrentProgress(totalProgress);
-        goalRepository.save(goal);
-        log.debug("Goal ID: {} progress updated to: {}", goal.getId(), totalProgress);
+    /**
+     * Adds {@code delta} to the stored progress with a single UPDATE, so concurrent writers cannot lose
+     * each other's progress, then reloads the goal to pick up the new total and version. Must run
+     * before the goal is modified in memory: the update clears the persistence context.
+     */
+    private Goal applyProgressDelta(Goal goal, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return goal;
+        }
 
-        if (goal.getTargetValue() != null && totalProgress.compareTo(goal.getTargetValue()) >= 0 && goal.getGoalStatus() == GoalStatus.ACTIVE) {
+        goalRepository.addToCurrentProgress(goal.getId(), delta);
+        var updatedGoal = goalRepository.findById(goal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.GOAL_NOT_FOUND));
+        log.debug("Goal ID: {} progress moved by {} to: {}", goal.getId(), delta, updatedGoal.getCurrentProgress());
+        return updatedGoal;
+    }
+
+    private void saveGoal(Goal goal) {
+        if (goal.getTargetValue() != null && goal.getCurrentProgress().compareTo(goal.getTargetValue()) >= 0
+                && goal.getGoalStatus() == GoalStatus.ACTIVE) {
             goal.setGoalStatus(GoalStatus.COMPLETED);
-            goalRepository.save(goal);
             log.info("Goal ID: {} marked as COMPLETED", goal.getId());
+            dashboardSnapshotService.markStale(goal.getOwner());
         }
+        goalRepository.save(goal);
     }
 
+    /**
+     * Marks every newly reached milestone under a row lock. Shields for the 50% and 100% milestones are
+     * awarded and the milestone email is queued in the same transaction.
+     */
     private void checkAndUpdateMilestones(Goal goal, User user) {
-        var currentPercentage = calculateProgressPercentage(goal);
-        var unachievedMilestones = milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal);
-
-        for (var milestone : unachievedMilestones) {
-            if (currentPercentage.compareTo(BigDecimal.valueOf(milestone.getPercentage())) >= 0) {
-                milestone.setAchieved(true);
-                milestone.setAchievedAt(LocalDateTime.now());
-                milestoneRepository.save(milestone);
-                log.info("Milestone {}% achieved for goal ID: {}", milestone.getPercentage(), goal.getId());
-
-                // Award streak shield for major milestones (50% and 100%)
-                if (milestone.getPercentage() == STREAK_SHIELD_AWARD_MILESTONE_HALF
-                        || milestone.getPercentage() == STREAK_SHIELD_AWARD_MILESTONE_COMPLETE) {
-                    userProfileService.addStreakShield(user, 1);
-                    log.info("Streak shield awarded to user {} for reaching {}% milestone", user.getEmail(), milestone.getPercentage());
-                }
-            }
+        var reached = milestoneRepository.findReachedForUpdate(goal.getId(), calculateProgressPercentage(goal));
+        if (reached.isEmpty()) {
+            return;
+        }
+        var now = LocalDateTime.now();
+        reached.forEach(milestone -> {
+            milestone.setAchieved(true);
+            milestone.setAchievedAt(now);
+        });
+        milestoneRepository.saveAll(reached);
+        var achievedPercentages = reached.stream().map(Milestone::getPercentage).toList();
+        log.info("Milestones {} achieved for goal ID: {}", achievedPercentages, goal.getId());
+
+        var shieldsEarned = (int) achievedPercentages.stream()
+                .filter(percentage -> percentage == STREAK_SHIELD_AWARD_MILESTONE_HALF
+                        || percentage == STREAK_SHIELD_AWARD_MILESTONE_COMPLETE)
+                .count();
+        if (shieldsEarned > 0) {
+            userProfileService.addStreakShield(user, shieldsEarned);
+            log.info("{} streak shield(s) awarded to user {} for milestones of goal ID: {}", shieldsEarned, user.getEmail(), goal.getId());
         }
+
+        eventPublisher.publishEvent(new MilestonesAchievedEvent(
+                user.getId(), user.getEmail(), user.getName(), goal.getId(), goal.getTitle(), achievedPercentages));
     }
 
     private void recheckMilestones(Goal goal) {
-        var currentPercentage = calculateProgressPercentage(goal);
-        var milestones = milestoneRepository.findByGoalOrderByPercentageAsc(goal);
-
-        for (var milestone : milestones) {
-            var shouldBeAchieved = currentPercentage.compareTo(BigDecimal.valueOf(milestone.getPercentage())) >= 0;
-            if (Boolean.TRUE.equals(milestone.getAchieved()) && !shouldBeAchieved) {
-                milestone.setAchieved(false);
-                milestone.setAchievedAt(null);
-                milestoneRepository.save(milestone);
-                log.info("Milestone {}% reverted for goal ID: {}", milestone.getPercentage(), goal.getId());
-            }
+        var reverted = milestoneRepository.revertAbove(goal.getId(), calculateProgressPercentage(goal), LocalDateTime.now());
+        if (reverted > 0) {
+            log.info("{} milestone(s) reverted for goal ID: {}", reverted, goal.getId());
         }
     }
 
@@ -3,6 +3,8 @@ package com.relyon.metasmart.service;
 import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.reflection.GoalReflection;
 import com.relyon.metasmart.entity.reflection.ReflectionFrequency;
 import com.relyon.metasmart.entity.reflection.dto.PendingReflectionResponse;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +35,7 @@ public class ReflectionService {
 
     private final GoalReflectionRepository reflectionRepository;
     private final GoalRepository goalRepository;
+    private final DashboardSnapshotService dashboardSnapshotService;
 
     public ReflectionStatusResponse getReflectionStatus(Long goalId, User user) {
         log.debug("Getting reflection status for goal ID: {} and user ID: {}", goalId, user.getId());
@@ -132,6 +136,7 @@ public class ReflectionService {
 
         reflection = reflectionRepository.save(reflection);
         log.info("Created reflection ID: {} for goal ID: {}", reflection.getId(), goalId);
+        dashboardSnapshotService.markStale(user);
 
         return toResponse(reflection);
     }
@@ -146,6 +151,20 @@ public class ReflectionService {
                 .map(this::toResponse);
     }
 
+    public CursorPage<ReflectionResponse> getReflectionFeed(Long goalId, User user, String cursor, Integer size) {
+        log.debug("Getting reflection feed for goal ID: {} and user ID: {}", goalId, user.getId());
+
+        var goal = goalRepository.findByIdAndOwner(goalId, user)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.GOAL_NOT_FOUND));
+
+        var position = HistoryCursor.decode(cursor);
+        var pageSize = CursorPage.resolveSize(size);
+        var rows = reflectionRepository.findHistoryFeed(
+                goal, user, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, reflection -> new HistoryCursor(reflection.getCreatedAt(), reflection.getId()),
+                this::toResponse);
+    }
+
     public ReflectionResponse getReflection(Long goalId, Long reflectionId, User user) {
         log.debug("Getting reflection ID: {} for goal ID: {}", reflectionId, goalId);
 
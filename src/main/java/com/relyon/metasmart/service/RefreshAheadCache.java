@@ -0,0 +1,134 @@
+package com.relyon.metasmart.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory cache for expensive aggregate reads. An entry past {@code refreshAfter} is still served
+ * while one background reload replaces it; only a missing entry, or one past {@code expireAfter},
+ * makes the caller wait. Loads are single-flight per key: concurrent callers share the load in
+ * progress instead of each running the query.
+ */
+@Slf4j
+public class RefreshAheadCache<K, V> {
+
+    static final String GETS_METRIC = "metasmart.cache.gets";
+    static final String LOAD_METRIC = "metasmart.cache.load";
+    static final String LOAD_FAILURES_METRIC = "metasmart.cache.load_failures";
+
+    private final String name;
+    private final Duration refreshAfter;
+    private final Duration expireAfter;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loadFailures;
+    private final Timer loadTimer;
+
+    public RefreshAheadCache(String name, Duration refreshAfter, Duration expireAfter,
+                             Executor refreshExecutor, MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.refreshAfter = refreshAfter;
+        this.expireAfter = expireAfter;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter(GETS_METRIC, "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter(GETS_METRIC, "cache", name, "result", "miss");
+        this.loadFailures = meterRegistry.counter(LOAD_FAILURES_METRIC, "cache", name);
+        this.loadTimer = meterRegistry.timer(LOAD_METRIC, "cache", name);
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        var entry = entries.get(key);
+        var now = clock.instant();
+
+        if (entry != null && now.isBefore(entry.getLoadedAt().plus(expireAfter))) {
+            hits.increment();
+            if (!now.isBefore(entry.getLoadedAt().plus(refreshAfter))) {
+                refreshInBackground(key, loader);
+            }
+            return entry.getValue();
+        }
+
+        misses.increment();
+        try {
+            return load(key, loader, Runnable::run).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader) {
+        try {
+            load(key, loader, refreshExecutor).exceptionally(e -> {
+                log.warn("Background refresh of cache {} failed for key {}, serving previous value: {}",
+                        name, key, e.getMessage());
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Background refresh of cache {} rejected for key {}", name, key);
+        }
+    }
+
+    /**
+     * Joins the load already running for {@code key}, or starts one on {@code executor}.
+     */
+    private CompletableFuture<V> load(K key, Supplier<V> loader, Executor executor) {
+        var started = new CompletableFuture<V>();
+        var inFlight = loads.putIfAbsent(key, started);
+        if (inFlight != null) {
+            return inFlight;
+        }
+
+        try {
+            executor.execute(() -> {
+                var sample = Timer.start(meterRegistry);
+                try {
+                    var value = loader.get();
+                    entries.put(key, new Entry<>(value, clock.instant()));
+                    started.complete(value);
+                } catch (RuntimeException e) {
+                    loadFailures.increment();
+                    started.completeExceptionally(e);
+                } finally {
+                    sample.stop(loadTimer);
+                    loads.remove(key, started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loads.remove(key, started);
+            throw e;
+        }
+        return started;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Entry<V> {
+        private final V value;
+        private final Instant loadedAt;
+    }
+}
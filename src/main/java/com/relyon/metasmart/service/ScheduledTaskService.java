@@ -17,11 +17,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -71,20 +73,33 @@ public class ScheduledTaskService {
         var actionItem = actionItemRepository.findByIdAndGoal(actionItemId, goal)
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.ACTION_ITEM_NOT_FOUND));
 
-        var results = new ArrayList<ScheduledTaskDto>();
+        var requestedDates = new TreeSet<>(dates);
+        if (requestedDates.isEmpty()) {
+            return List.of();
+        }
 
-        for (var date : dates) {
-            if (scheduledTaskRepository.findByActionItemAndScheduledDate(actionItem, date).isEmpty()) {
-                var scheduledTask = ScheduledTask.builder()
+        var existingDates = scheduledTaskRepository.findScheduledDatesBetween(
+                actionItem, requestedDates.first(), requestedDates.last());
+        List<ScheduledTask> scheduledTasks = requestedDates.stream()
+                .filter(date -> !existingDates.contains(date))
+                .<ScheduledTask>map(date -> ScheduledTask.builder()
                         .actionItem(actionItem)
                         .scheduledDate(date)
                         .completed(false)
-                        .build();
+                        .build())
+                .toList();
 
-                var saved = scheduledTaskRepository.save(scheduledTask);
-                results.add(scheduledTaskMapper.toDto(saved));
-            }
+        // Flushed here so an overlapping concurrent request hitting the unique key surfaces as a 409, not a 500 at commit
+        List<ScheduledTask> saved;
+        try {
+            saved = scheduledTaskRepository.saveAllAndFlush(scheduledTasks);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Concurrent schedule change for action item {}, rejecting bulk request", actionItemId);
+            throw new DuplicateResourceException(ErrorMessages.SCHEDULED_TASKS_CONFLICT);
         }
+        var results = saved.stream()
+                .map(scheduledTaskMapper::toDto)
+                .toList();
 
         log.info("Created {} scheduled tasks for action item {}", results.size(), actionItemId);
         return results;
@@ -0,0 +1,74 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.config.SocialProofCacheConfig;
+import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.social.dto.CategoryStatsResponse;
+import com.relyon.metasmart.entity.social.dto.GlobalStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Refresh-ahead caches for the platform-wide aggregates behind the social proof endpoints. These
+ * scan the goals and progress tables, and minute-level freshness is enough for them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SocialProofCache {
+
+    private static final String GLOBAL_KEY = "global";
+
+    private final SocialProofCacheConfig socialProofCacheConfig;
+    private final MeterRegistry meterRegistry;
+
+    private ExecutorService refreshExecutor;
+    private RefreshAheadCache<String, GlobalStatsResponse> globalStats;
+    private RefreshAheadCache<GoalCategory, CategoryStatsResponse> categoryStats;
+    private RefreshAheadCache<GoalCategory, Long> similarGoalUsers;
+
+    @PostConstruct
+    void init() {
+        refreshExecutor = Executors.newFixedThreadPool(socialProofCacheConfig.getRefreshThreads(), runnable -> {
+            var thread = new Thread(runnable, "social-proof-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        var clock = Clock.systemUTC();
+        var globalTtl = socialProofCacheConfig.getGlobalStats();
+        var categoryTtl = socialProofCacheConfig.getCategoryStats();
+        globalStats = new RefreshAheadCache<>("social_proof.global_stats",
+                globalTtl.getRefreshAfter(), globalTtl.getExpireAfter(), refreshExecutor, meterRegistry, clock);
+        categoryStats = new RefreshAheadCache<>("social_proof.category_stats",
+                categoryTtl.getRefreshAfter(), categoryTtl.getExpireAfter(), refreshExecutor, meterRegistry, clock);
+        similarGoalUsers = new RefreshAheadCache<>("social_proof.similar_goal_users",
+                categoryTtl.getRefreshAfter(), categoryTtl.getExpireAfter(), refreshExecutor, meterRegistry, clock);
+        log.info("Social proof cache ready - global refresh after {}, category refresh after {}",
+                globalTtl.getRefreshAfter(), categoryTtl.getRefreshAfter());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    public GlobalStatsResponse getGlobalStats(Supplier<GlobalStatsResponse> loader) {
+        return globalStats.get(GLOBAL_KEY, loader);
+    }
+
+    public CategoryStatsResponse getCategoryStats(GoalCategory category, Supplier<CategoryStatsResponse> loader) {
+        return categoryStats.get(category, loader);
+    }
+
+    public long getUsersWithSimilarGoals(GoalCategory category, Supplier<Long> loader) {
+        return similarGoalUsers.get(category, loader);
+    }
+}
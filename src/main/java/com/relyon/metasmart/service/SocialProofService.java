@@ -3,6 +3,8 @@ package com.relyon.metasmart.service;
 import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalCountMatrix;
 import com.relyon.metasmart.entity.social.dto.CategoryStatsResponse;
 import com.relyon.metasmart.entity.social.dto.GlobalStatsResponse;
 import com.relyon.metasmart.entity.social.dto.GoalInsightsResponse;
@@ -19,10 +21,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,16 +34,23 @@ public class SocialProofService {
     private final ProgressEntryRepository progressEntryRepository;
     private final StrugglingRequestRepository strugglingRequestRepository;
 
-    @Setter(onMethod_ = {@Autowired, @Lazy})
-    private SocialProofService self;
+    private final SocialProofCache socialProofCache;
 
-    @Transactional(readOnly = true)
     public GlobalStatsResponse getGlobalStats() {
-        log.debug("Fetching global social proof stats");
+        return socialProofCache.getGlobalStats(this::loadGlobalStats);
+    }
+
+    public CategoryStatsResponse getCategoryStats(GoalCategory category) {
+        return socialProofCache.getCategoryStats(category, () -> loadCategoryStats(category));
+    }
+
+    private GlobalStatsResponse loadGlobalStats() {
+        log.debug("Loading global social proof stats");
 
         var totalUsers = goalRepository.countDistinctUsers();
-        var totalGoals = goalRepository.count();
-        var completedGoals = goalRepository.countCompletedGoals();
+        var counts = GoalCountMatrix.of(goalRepository.countAllGroupedByStatusAndCategory());
+        var totalGoals = counts.total();
+        var completedGoals = counts.count(GoalStatus.COMPLETED);
         var totalProgress = progressEntryRepository.countAllProgressEntries();
         // Streaks are calculated dynamically per goal, not stored
         var averageStreak = 0;
@@ -61,8 +67,8 @@ public class SocialProofService {
         Map<String, Double> completionByCategory = new LinkedHashMap<>();
 
         for (GoalCategory category : GoalCategory.values()) {
-            var categoryCount = goalRepository.countByCategory(category);
-            var categoryCompleted = goalRepository.countCompletedByCategory(category);
+            var categoryCount = counts.count(category);
+            var categoryCompleted = counts.count(GoalStatus.COMPLETED, category);
 
             goalsByCategory.put(category.name(), categoryCount);
 
@@ -88,14 +94,14 @@ public class SocialProofService {
                 .build();
     }
 
-    @Transactional(readOnly = true)
-    public CategoryStatsResponse getCategoryStats(GoalCategory category) {
-        log.debug("Fetching social proof stats for category: {}", category);
+    private CategoryStatsResponse loadCategoryStats(GoalCategory category) {
+        log.debug("Loading social proof stats for category: {}", category);
 
         var totalUsers = goalRepository.countDistinctUsersByCategory(category);
-        var activeGoals = goalRepository.countActiveByCatgory(category);
-        var completedGoals = goalRepository.countCompletedByCategory(category);
-        var totalGoals = goalRepository.countByCategory(category);
+        var counts = GoalCountMatrix.of(goalRepository.countByCategoryGroupedByStatus(category));
+        var activeGoals = counts.count(GoalStatus.ACTIVE, category);
+        var completedGoals = counts.count(GoalStatus.COMPLETED, category);
+        var totalGoals = counts.count(category);
 
         var completionRate = totalGoals > 0
                 ? BigDecimal.valueOf(completedGoals)
@@ -133,10 +139,8 @@ public class SocialProofService {
                 .orElseThrow(() -> new ResourceNotFoundException(ErrorMessages.GOAL_NOT_FOUND));
 
         var category = goal.getGoalCategory();
-        var similarUsers = goalRepository.countUsersWithSimilarGoals(category);
-        var categoryStats = self.getCategoryStats(category);
-        var commonObstacles = getCommonObstaclesByCategory(category);
-        var strategies = getStrategiesForCategory(category);
+        var similarUsers = countUsersWithSimilarGoals(category);
+        var categoryStats = getCategoryStats(category);
 
         var encouragement = generateEncouragementMessage(goal, categoryStats);
 
@@ -146,8 +150,8 @@ public class SocialProofService {
                 .usersWithSimilarGoals(similarUsers)
                 .similarGoalsCompletionRate(categoryStats.getAverageCompletionRate())
                 .averageDaysToComplete(estimateAverageDays(category))
-                .commonObstacles(commonObstacles)
-                .suggestedStrategies(strategies)
+                .commonObstacles(categoryStats.getCommonObstacles())
+                .suggestedStrategies(categoryStats.getTopStrategies())
                 .encouragementMessage(encouragement)
                 .build();
     }
@@ -163,7 +167,7 @@ public class SocialProofService {
         var currentMilestone = getMilestoneForPercentage(progressPercentage);
         var category = goal.getGoalCategory();
 
-        var similarUsers = goalRepository.countUsersWithSimilarGoals(category);
+        var similarUsers = countUsersWithSimilarGoals(category);
         var estimatedAtMilestone = estimateUsersAtMilestone(similarUsers, currentMilestone);
         var percentageAtPoint = similarUsers > 0
                 ? BigDecimal.valueOf(estimatedAtMilestone)
@@ -184,6 +188,11 @@ public class SocialProofService {
                 .build();
     }
 
+    private long countUsersWithSimilarGoals(GoalCategory category) {
+        return socialProofCache.getUsersWithSimilarGoals(category,
+                () -> goalRepository.countUsersWithSimilarGoals(category));
+    }
+
     private List<StrugglingType> getCommonObstaclesByCategory(GoalCategory category) {
         var results = strugglingRequestRepository.findTopStrugglingTypesByCategory(category);
         return results.stream()
@@ -49,6 +49,7 @@ public class StripeService {
     private final UserSubscriptionRepository subscriptionRepository;
     private final UserPurchaseRepository purchaseRepository;
     private final GoalLockService goalLockService;
+    private final EntitlementsCache entitlementsCache;
 
     @Value("${metasmart.mail.frontend-url}")
     private String frontendUrl;
@@ -169,6 +170,7 @@ public class StripeService {
                 .build();
 
         purchaseRepository.save(purchase);
+        entitlementsCache.invalidate(userId);
         log.info("Purchase created for user ID: {}, type: {}, quantity: {}", userId, purchaseType, quantity);
     }
 
@@ -204,6 +206,7 @@ public class StripeService {
                     userSubscription.setStatus(SubscriptionStatus.CANCELLED);
                     userSubscription.setCancelledAt(LocalDateTime.now());
                     subscriptionRepository.save(userSubscription);
+                    entitlementsCache.invalidate(userSubscription.getUser().getId());
                     log.info("Subscription cancelled: {}", subscription.getId());
 
                     // Recalculate goal locks after subscription cancellation (downgrade)
@@ -225,6 +228,7 @@ public class StripeService {
                     if (userSubscription.getStatus() == SubscriptionStatus.PAST_DUE) {
                         userSubscription.setStatus(SubscriptionStatus.ACTIVE);
                         subscriptionRepository.save(userSubscription);
+                        entitlementsCache.invalidate(userSubscription.getUser().getId());
                         log.info("Subscription reactivated after successful payment: {}", invoice.getSubscription());
                     }
                 });
@@ -243,6 +247,7 @@ public class StripeService {
                 .ifPresent(userSubscription -> {
                     userSubscription.setStatus(SubscriptionStatus.PAST_DUE);
                     subscriptionRepository.save(userSubscription);
+                    entitlementsCache.invalidate(userSubscription.getUser().getId());
                     log.warn("Subscription marked as past due: {}", invoice.getSubscription());
                 });
     }
@@ -281,6 +286,7 @@ public class StripeService {
         }
 
         subscriptionRepository.save(userSubscription);
+        entitlementsCache.invalidate(userId);
         log.info("Subscription saved for user ID: {}, status: {}", userId, userSubscription.getStatus());
 
         // Recalculate goal locks after subscription change (may unlock goals if upgrading)
@@ -3,6 +3,8 @@ package com.relyon.metasmart.service;
 import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.guardian.*;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.struggling.StrugglingRequest;
 import com.relyon.metasmart.entity.struggling.StrugglingType;
 import com.relyon.metasmart.entity.struggling.dto.StrugglingHelpRequest;
@@ -21,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -109,6 +112,17 @@ public class StrugglingService {
                 .map(this::toResponse);
     }
 
+    public CursorPage<StrugglingHelpResponse> getHistoryFeed(User user, String cursor, Integer size) {
+        log.debug("Getting struggling history feed for user ID: {}", user.getId());
+
+        var position = HistoryCursor.decode(cursor);
+        var pageSize = CursorPage.resolveSize(size);
+        var rows = strugglingRequestRepository.findHistoryFeed(
+                user, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, request -> new HistoryCursor(request.getCreatedAt(), request.getId()),
+                this::toResponse);
+    }
+
     @Transactional
     public void markHelpful(Long requestId, Boolean wasHelpful, User user) {
         log.debug("Marking struggling request {} as helpful: {}", requestId, wasHelpful);
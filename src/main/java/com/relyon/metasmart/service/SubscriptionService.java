@@ -10,6 +10,8 @@ import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.repository.UserPurchaseRepository;
 import com.relyon.metasmart.repository.UserSubscriptionRepository;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +32,7 @@ public class SubscriptionService {
 
     private final UserSubscriptionRepository subscriptionRepository;
     private final UserPurchaseRepository purchaseRepository;
+    private final EntitlementsCache entitlementsCache;
 
     public SubscriptionResponse getCurrentSubscription(User user) {
         log.debug("Getting current subscription for user ID: {}", user.getId());
@@ -40,14 +43,28 @@ public class SubscriptionService {
     }
 
     public UserEntitlementsResponse getEntitlements(User user) {
-        log.debug("Getting entitlements for user ID: {}", user.getId());
+        return entitlementsCache.get(user.getId())
+                .orElseGet(() -> loadEntitlements(user));
+    }
+
+    private UserEntitlementsResponse loadEntitlements(User user) {
+        log.debug("Loading entitlements for user ID: {}", user.getId());
 
         var subscription = subscriptionRepository.findActiveSubscription(user).orElse(null);
         var isPremium = subscription != null && subscription.isPremium();
         var tier = isPremium ? SubscriptionTier.PREMIUM : SubscriptionTier.FREE;
-        var now = LocalDateTime.now();
 
-        return UserEntitlementsResponse.builder()
+        var available = new EnumMap<PurchaseType, Integer>(PurchaseType.class);
+        LocalDateTime earliestExpiry = null;
+        for (var row : purchaseRepository.countAvailableByType(user, LocalDateTime.now())) {
+            available.put((PurchaseType) row[0], ((Number) row[1]).intValue());
+            var expiresAt = (LocalDateTime) row[2];
+            if (expiresAt != null && (earliestExpiry == null || expiresAt.isBefore(earliestExpiry))) {
+                earliestExpiry = expiresAt;
+            }
+        }
+
+        var entitlements = UserEntitlementsResponse.builder()
                 .tier(tier)
                 .isPremium(isPremium)
                 .maxActiveGoals(isPremium ? PREMIUM_MAX_GOALS : FREE_MAX_GOALS)
@@ -55,12 +72,16 @@ public class SubscriptionService {
                 .progressHistoryDays(isPremium ? PREMIUM_PROGRESS_HISTORY_DAYS : FREE_PROGRESS_HISTORY_DAYS)
                 .streakShieldsPerMonth(isPremium ? PREMIUM_STREAK_SHIELDS : FREE_STREAK_SHIELDS_PER_MONTH)
                 .strugglingRequestsPerMonth(isPremium ? PREMIUM_STRUGGLING_REQUESTS : FREE_STRUGGLING_REQUESTS_PER_MONTH)
-                .streakShieldsAvailable(purchaseRepository.countAvailable(user, PurchaseType.STREAK_SHIELD, now))
-                .strugglingAssistsAvailable(purchaseRepository.countAvailable(user, PurchaseType.STRUGGLING_ASSIST, now))
-                .goalBoostsAvailable(purchaseRepository.countAvailable(user, PurchaseType.GOAL_BOOST, now))
-                .guardianSlotsAvailable(purchaseRepository.countAvailable(user, PurchaseType.GUARDIAN_SLOT, now))
+                .streakShieldsAvailable(available.getOrDefault(PurchaseType.STREAK_SHIELD, 0))
+                .strugglingAssistsAvailable(available.getOrDefault(PurchaseType.STRUGGLING_ASSIST, 0))
+                .goalBoostsAvailable(available.getOrDefault(PurchaseType.GOAL_BOOST, 0))
+                .guardianSlotsAvailable(available.getOrDefault(PurchaseType.GUARDIAN_SLOT, 0))
                 .features(buildFeatureMap(isPremium))
                 .build();
+
+        var validUntil = earliestExpiry != null ? earliestExpiry.atZone(ZoneId.systemDefault()).toInstant() : null;
+        entitlementsCache.put(user.getId(), entitlements, validUntil);
+        return entitlements;
     }
 
     public List<PurchaseResponse> getPurchases(User user) {
@@ -72,13 +93,17 @@ public class SubscriptionService {
     }
 
     public boolean isPremium(User user) {
-        return subscriptionRepository.findActiveSubscription(user)
-                .map(UserSubscription::isPremium)
-                .orElse(false);
+        return Boolean.TRUE.equals(getEntitlements(user).getIsPremium());
     }
 
     public int getAvailablePurchaseCount(User user, PurchaseType type) {
-        return purchaseRepository.countAvailable(user, type, LocalDateTime.now());
+        var entitlements = getEntitlements(user);
+        return switch (type) {
+            case STREAK_SHIELD -> entitlements.getStreakShieldsAvailable();
+            case STRUGGLING_ASSIST -> entitlements.getStrugglingAssistsAvailable();
+            case GOAL_BOOST -> entitlements.getGoalBoostsAvailable();
+            case GUARDIAN_SLOT -> entitlements.getGuardianSlotsAvailable();
+        };
     }
 
     @Transactional
@@ -93,6 +118,7 @@ public class SubscriptionService {
         var purchase = purchases.getFirst();
         purchase.useOne();
         purchaseRepository.save(purchase);
+        entitlementsCache.invalidate(user.getId());
 
         log.info("Consumed one {} for user ID: {}. Remaining: {}", type, user.getId(), purchase.getQuantityRemaining());
         return true;
@@ -5,6 +5,8 @@ import com.relyon.metasmart.entity.actionplan.ActionItem;
 import com.relyon.metasmart.entity.actionplan.CompletionStatus;
 import com.relyon.metasmart.entity.actionplan.TaskCompletion;
 import com.relyon.metasmart.entity.actionplan.dto.TaskCompletionDto;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.exception.ResourceNotFoundException;
 import com.relyon.metasmart.mapper.TaskCompletionMapper;
@@ -18,6 +20,7 @@ import java.util.List;
 import java.util.Locale;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,6 +37,7 @@ public class TaskCompletionService {
     private final TaskCompletionMapper taskCompletionMapper;
     private final StreakService streakService;
     private final UserStreakService userStreakService;
+    private final ActivityCalendarService activityCalendarService;
 
     @Transactional
     public TaskCompletionDto recordCompletion(Long goalId, Long actionItemId, String note, User user) {
@@ -54,6 +58,7 @@ public class TaskCompletionService {
         var saved = taskCompletionRepository.save(completion);
         log.info("Recorded completion {} for action item {}", saved.getId(), actionItemId);
 
+        activityCalendarService.onTaskCompleted(user, today);
         streakService.updateStreakOnCompletion(user, actionItem, CompletionStatus.COMPLETED);
         userStreakService.onActivityRecorded(user);
 
@@ -89,6 +94,8 @@ public class TaskCompletionService {
             throw e;
         }
 
+        activityCalendarService.onTaskCompleted(user, date);
+
         try {
             streakService.updateStreakOnCompletion(user, actionItem, CompletionStatus.COMPLETED);
         } catch (Exception e) {
@@ -127,6 +134,19 @@ public class TaskCompletionService {
                 .map(taskCompletionMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<TaskCompletionDto> getCompletionFeed(Long goalId, Long actionItemId, User user, String cursor, Integer size) {
+        log.debug("Getting completion feed for action item {}", actionItemId);
+
+        var actionItem = findActionItemByGoalAndUser(goalId, actionItemId, user);
+        var position = HistoryCursor.decode(cursor);
+        var pageSize = CursorPage.resolveSize(size);
+        var rows = taskCompletionRepository.findHistoryFeed(
+                actionItem, position.getCreatedAt(), position.getId(), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, completion -> new HistoryCursor(completion.getCreatedAt(), completion.getId()),
+                taskCompletionMapper::toDto);
+    }
+
     @Transactional(readOnly = true)
     public List<TaskCompletionDto> getCompletionsByDateRange(Long goalId, Long actionItemId, LocalDate startDate, LocalDate endDate, User user) {
         log.debug("Getting completions for action item {} between {} and {}", actionItemId, startDate, endDate);
@@ -161,6 +181,11 @@ public class TaskCompletionService {
 
         taskCompletionRepository.delete(completion);
         log.info("Deleted completion {}", completionId);
+
+        // Only completed and partial tasks were counted in the rollup
+        if (ActivityCalendarService.REAL_ACTIVITY_STATUSES.contains(completion.getStatus())) {
+            activityCalendarService.onTaskCompletionRemoved(user, completion.getScheduledDate());
+        }
     }
 
     private ActionItem findActionItemByGoalAndUser(Long goalId, Long actionItemId, User user) {
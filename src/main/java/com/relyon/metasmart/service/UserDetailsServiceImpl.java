@@ -15,13 +15,18 @@ import org.springframework.stereotype.Service;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> {
-                    log.warn("User not found with email: {}", email);
-                    return new UsernameNotFoundException(ErrorMessages.USER_NOT_FOUND);
-                });
+        return principalCache.get(email).orElseGet(() -> {
+            var user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> {
+                        log.warn("User not found with email: {}", email);
+                        return new UsernameNotFoundException(ErrorMessages.USER_NOT_FOUND);
+                    });
+            principalCache.put(user);
+            return user;
+        });
     }
 }
@@ -1,6 +1,7 @@
 package com.relyon.metasmart.service;
 
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalCountMatrix;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.entity.user.dto.UpdateProfileRequest;
 import com.relyon.metasmart.entity.user.dto.UserProfileResponse;
@@ -24,6 +25,7 @@ public class UserProfileService {
     private final UserRepository userRepository;
     private final GoalRepository goalRepository;
     private final CloudinaryService cloudinaryService;
+    private final PrincipalCache principalCache;
 
     @Setter(onMethod_ = {@Autowired, @Lazy})
     private UserProfileService self;
@@ -32,8 +34,7 @@ public class UserProfileService {
     public UserProfileResponse getProfile(User user) {
         log.debug("Getting profile for user: {}", user.getEmail());
 
-        var totalGoals = goalRepository.countByOwnerAndArchivedAtIsNull(user);
-        var completedGoals = goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED);
+        var counts = GoalCountMatrix.of(goalRepository.countByOwnerGroupedByStatusAndCategory(user));
 
         return UserProfileResponse.builder()
                 .id(user.getId())
@@ -41,8 +42,8 @@ public class UserProfileService {
                 .email(user.getEmail())
                 .profilePictureUrl(user.getProfilePictureUrl())
                 .joinedAt(user.getCreatedAt())
-                .totalGoals(totalGoals)
-                .completedGoals(completedGoals)
+                .totalGoals(counts.total())
+                .completedGoals(counts.count(GoalStatus.COMPLETED))
                 .streakShields(user.getStreakShields())
                 .build();
     }
@@ -51,19 +52,22 @@ public class UserProfileService {
     public UserProfileResponse updateProfile(User user, UpdateProfileRequest request) {
         log.debug("Updating profile for user: {}", user.getEmail());
 
-        Optional.ofNullable(request.getName()).ifPresent(user::setName);
+        Optional.ofNullable(request.getName()).ifPresent(name -> {
+            userRepository.updateName(user.getId(), name);
+            user.setName(name);
+            principalCache.invalidate(user.getEmail());
+        });
+        log.info("Profile updated for user: {}", user.getEmail());
 
-        var savedUser = userRepository.save(user);
-        log.info("Profile updated for user: {}", savedUser.getEmail());
-
-        return self.getProfile(savedUser);
+        return self.getProfile(user);
     }
 
     @Transactional
     public void addStreakShield(User user, int count) {
         log.debug("Adding {} streak shields to user: {}", count, user.getEmail());
+        userRepository.addStreakShields(user.getId(), count);
         user.setStreakShields(user.getStreakShields() + count);
-        userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
         log.info("Added {} streak shields to user: {}. Total: {}", count, user.getEmail(), user.getStreakShields());
     }
 
@@ -76,14 +80,14 @@ public class UserProfileService {
     public boolean useStreakShield(User user, int count) {
         log.debug("Attempting to use {} streak shield(s) for user: {}", count, user.getEmail());
 
-        if (user.getStreakShields() < count) {
+        if (userRepository.consumeStreakShields(user.getId(), count) == 0) {
             log.warn("User {} has insufficient streak shields (has: {}, needs: {})",
                     user.getEmail(), user.getStreakShields(), count);
             return false;
         }
 
-        user.setStreakShields(user.getStreakShields() - count);
-        userRepository.save(user);
+        user.setStreakShields(Math.max(0, user.getStreakShields() - count));
+        principalCache.invalidate(user.getEmail());
         log.info("Streak shield(s) used by user: {}. Remaining: {}", user.getEmail(), user.getStreakShields());
         return true;
     }
@@ -93,8 +97,9 @@ public class UserProfileService {
         log.debug("Uploading profile picture for user: {}", user.getEmail());
 
         var imageUrl = cloudinaryService.uploadProfilePicture(file, user.getId());
+        userRepository.updateProfilePictureUrl(user.getId(), imageUrl);
         user.setProfilePictureUrl(imageUrl);
-        userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         log.info("Profile picture uploaded for user: {}", user.getEmail());
         return self.getProfile(user);
@@ -105,8 +110,9 @@ public class UserProfileService {
         log.debug("Deleting profile picture for user: {}", user.getEmail());
 
         cloudinaryService.deleteProfilePicture(user.getId());
+        userRepository.updateProfilePictureUrl(user.getId(), null);
         user.setProfilePictureUrl(null);
-        userRepository.save(user);
+        principalCache.invalidate(user.getEmail());
 
         log.info("Profile picture deleted for user: {}", user.getEmail());
         return self.getProfile(user);
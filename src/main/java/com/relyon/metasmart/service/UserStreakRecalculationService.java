@@ -0,0 +1,206 @@
+package com.relyon.metasmart.service;
+
+import static com.relyon.metasmart.constant.AppConstants.STREAK_RECALCULATION_WINDOW_DAYS;
+
+import com.relyon.metasmart.config.StreakJobConfig;
+import com.relyon.metasmart.entity.activity.ActivityBitmap;
+import com.relyon.metasmart.entity.activity.dto.UserActivityDate;
+import com.relyon.metasmart.entity.streak.StreakInfo;
+import com.relyon.metasmart.entity.streak.dto.StreakRecalculationResponse;
+import com.relyon.metasmart.repository.DailyJournalRepository;
+import com.relyon.metasmart.repository.ProgressEntryRepository;
+import com.relyon.metasmart.repository.StreakInfoRepository;
+import com.relyon.metasmart.repository.TaskCompletionRepository;
+import com.relyon.metasmart.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recalculates every user's maintained streak from the source tables. Users are taken in id-ordered
+ * chunks, and each chunk runs on a bounded worker pool in its own transaction. A chunk reads the
+ * progress, task and journal days of all its users within a fixed window using three range queries,
+ * then works out each streak in memory. Only a user whose run fills the whole window falls back to
+ * the full activity calendar.
+ * <p>
+ * The admin endpoint starts a run in the background. A run already going on this instance refuses a
+ * second start, and the job lock keeps other instances from running it at the same time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStreakRecalculationService {
+
+    static final String RECALCULATION_LOCK = "user-streak-recalculation";
+
+    private final UserRepository userRepository;
+    private final StreakInfoRepository streakInfoRepository;
+    private final ProgressEntryRepository progressEntryRepository;
+    private final TaskCompletionRepository taskCompletionRepository;
+    private final DailyJournalRepository dailyJournalRepository;
+    private final UserStreakService userStreakService;
+    private final TransactionTemplate transactionTemplate;
+    private final StreakJobConfig streakJobConfig;
+    private final JobLockService jobLockService;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private UserStreakRecalculationService self;
+
+    /**
+     * @return false if a recalculation is already running on this instance
+     */
+    public boolean startRecalculation() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            self.recalculateAllUsersInBackground();
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    @Async
+    public void recalculateAllUsersInBackground() {
+        try {
+            if (!jobLockService.runExclusively(RECALCULATION_LOCK,
+                    streakJobConfig.getRecalculation().getLockAtMostFor(), this::recalculateAllUsers)) {
+                log.info("User streak recalculation is running on another instance, skipping");
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public StreakRecalculationResponse recalculateAllUsers() {
+        var startedAt = System.currentTimeMillis();
+        var today = LocalDate.now();
+        var chunkSize = streakJobConfig.getRecalculation().getChunkSize();
+        var parallelism = streakJobConfig.getRecalculation().getParallelism();
+        log.info("Starting user streak recalculation - chunk size: {}, parallelism: {}", chunkSize, parallelism);
+
+        var usersProcessed = new AtomicLong();
+        var streaksUpdated = new AtomicLong();
+        var failedChunks = new AtomicInteger();
+        var chunks = new ArrayList<CompletableFuture<Void>>();
+
+        try (var executor = Executors.newFixedThreadPool(parallelism)) {
+            var afterId = 0L;
+            while (true) {
+                var userIds = userRepository.findIdsAfter(afterId, PageRequest.ofSize(chunkSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        var updated = transactionTemplate.execute(status -> recalculateChunk(userIds, today));
+                        usersProcessed.addAndGet(userIds.size());
+                        streaksUpdated.addAndGet(updated == null ? 0 : updated);
+                    } catch (RuntimeException e) {
+                        failedChunks.incrementAndGet();
+                        log.error("Streak recalculation failed for users {}..{}: {}",
+                                userIds.getFirst(), userIds.getLast(), e.getMessage(), e);
+                    }
+                }, executor));
+
+                if (userIds.size() < chunkSize) {
+                    break;
+                }
+                afterId = userIds.getLast();
+            }
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        var response = StreakRecalculationResponse.builder()
+                .usersProcessed(usersProcessed.get())
+                .streaksUpdated(streaksUpdated.get())
+                .chunks(chunks.size())
+                .failedChunks(failedChunks.get())
+                .durationMs(System.currentTimeMillis() - startedAt)
+                .build();
+        log.info("User streak recalculation finished - users: {}, updated: {}, chunks: {}, failed: {}, took {} ms",
+                response.getUsersProcessed(), response.getStreaksUpdated(), response.getChunks(),
+                response.getFailedChunks(), response.getDurationMs());
+        return response;
+    }
+
+    /**
+     * @return number of streak rows written
+     */
+    private int recalculateChunk(List<Long> userIds, LocalDate today) {
+        var coveredDaysByUser = loadCoveredDays(userIds, today);
+        var streaksByUser = streakInfoRepository.findUserStreaksByUserIds(userIds).stream()
+                .collect(Collectors.toMap(streakInfo -> streakInfo.getUser().getId(), Function.identity()));
+
+        var changed = new ArrayList<StreakInfo>();
+        for (var userId : userIds) {
+            var coveredDays = coveredDaysByUser.getOrDefault(userId, ActivityBitmap.empty());
+            // A run ending yesterday is still alive until the end of today
+            var runEnd = coveredDays.contains(today) ? today : today.minusDays(1);
+            var streak = coveredDays.runEndingAt(runEnd);
+            if (streak > STREAK_RECALCULATION_WINDOW_DAYS) {
+                streak = userStreakService.calculateCurrentStreak(userRepository.getReferenceById(userId), runEnd);
+            }
+
+            var streakInfo = streaksByUser.get(userId);
+            if (streakInfo == null) {
+                if (streak == 0) {
+                    continue;
+                }
+                streakInfo = StreakInfo.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .build();
+            }
+            if (streakInfo.applyMaintainedStreak(streak)) {
+                // Stamped with the run's last day so today's first activity still extends it
+                streakInfo.setLastUpdatedAt(runEnd.equals(today) ? LocalDateTime.now() : LocalDateTime.now().minusDays(1));
+                changed.add(streakInfo);
+            }
+        }
+
+        streakInfoRepository.saveAll(changed);
+        log.debug("Recalculated streaks for users {}..{} - updated: {}", userIds.getFirst(), userIds.getLast(), changed.size());
+        return changed.size();
+    }
+
+    /**
+     * Days within the window kept by progress, a completed task or a shield, plus today when journaled.
+     */
+    private Map<Long, ActivityBitmap> loadCoveredDays(List<Long> userIds, LocalDate today) {
+        var since = today.minusDays(STREAK_RECALCULATION_WINDOW_DAYS);
+        var coveredDaysByUser = new HashMap<Long, ActivityBitmap>();
+
+        var dates = new ArrayList<UserActivityDate>();
+        dates.addAll(progressEntryRepository.findActiveDatesByUserIds(userIds, since));
+        dates.addAll(taskCompletionRepository.findActiveDatesByUserIds(
+                userIds, ActivityCalendarService.REAL_ACTIVITY_STATUSES, since));
+        dates.addAll(dailyJournalRepository.findStreakCoveringDatesByUserIds(userIds, since, today));
+        dates.forEach(date -> coveredDaysByUser
+                .computeIfAbsent(date.getUserId(), userId -> ActivityBitmap.empty())
+                .set(date.getActivityDate()));
+        return coveredDaysByUser;
+    }
+}
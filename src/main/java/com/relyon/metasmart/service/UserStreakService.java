@@ -4,20 +4,18 @@ import static com.relyon.metasmart.constant.AppConstants.CONSECUTIVE_JOURNAL_DAY
 import static com.relyon.metasmart.constant.AppConstants.MAX_STREAK_SHIELDS;
 import static com.relyon.metasmart.constant.AppConstants.SHIELDS_PER_WEEK;
 
-import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import com.relyon.metasmart.entity.activity.ActivityCalendarType;
 import com.relyon.metasmart.entity.streak.StreakInfo;
 import com.relyon.metasmart.entity.streak.dto.UserStreakResponse;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.repository.DailyJournalRepository;
-import com.relyon.metasmart.repository.ProgressEntryRepository;
 import com.relyon.metasmart.repository.StreakInfoRepository;
-import com.relyon.metasmart.repository.TaskCompletionRepository;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,9 +27,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserStreakService {
 
     private final StreakInfoRepository streakInfoRepository;
-    private final TaskCompletionRepository taskCompletionRepository;
-    private final ProgressEntryRepository progressEntryRepository;
     private final DailyJournalRepository dailyJournalRepository;
+    private final ActivityCalendarService activityCalendarService;
     private final UserProfileService userProfileService;
 
     @Transactional(readOnly = true)
@@ -69,16 +66,41 @@ public class UserStreakService {
 
     @Transactional
     public void processEndOfDay(User user, LocalDate date) {
-        log.debug("Processing end of day streak for user: {} on date: {}", user.getEmail(), date);
+        processEndOfDay(user, date, ZoneId.systemDefault());
+    }
 
-        var hasRealActivity = hasRealActivityOnDate(user, date);
-        var hasJournal = dailyJournalRepository.existsByUserAndJournalDate(user, date);
+    /**
+     * Settles {@code date}, a local day in {@code zone}. Journals carry the user's own date, while
+     * progress and task activity are stored by server date, so real activity is looked up over the
+     * server dates that overlap the local day.
+     */
+    @Transactional
+    public void processEndOfDay(User user, LocalDate date, ZoneId zone) {
+        log.debug("Processing end of day streak for user: {} on date: {}", user.getEmail(), date);
 
         var streakInfo = streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user)
                 .orElseGet(() -> createAndSaveDefaultStreakInfo(user));
+        // A later day may already be settled when an earlier checkpoint is resumed; never settle backwards
+        if (streakInfo.getLastEndOfDayDate() != null && !date.isAfter(streakInfo.getLastEndOfDayDate())) {
+            log.debug("End of day already processed for user: {} on date: {}", user.getEmail(), date);
+            return;
+        }
+
+        var firstServerDate = LocalDate.ofInstant(date.atStartOfDay(zone).toInstant(), ZoneId.systemDefault());
+        var lastServerDate = LocalDate.ofInstant(date.plusDays(1).atStartOfDay(zone).toInstant().minusNanos(1), ZoneId.systemDefault());
+        var hasRealActivity = firstServerDate.equals(lastServerDate)
+                ? activityCalendarService.hasRealActivityOnDate(user, firstServerDate)
+                : activityCalendarService.hasRealActivityBetween(user, firstServerDate, lastServerDate);
+        var hasJournal = activityCalendarService.hasJournalOnDate(user, date);
 
         if (hasRealActivity) {
-            streakInfo.incrementMaintainedStreak();
+            // Taken from the calendar rather than incremented, as onActivityRecorded may have counted the day already
+            var currentStreak = calculateCurrentStreak(user, lastServerDate);
+            if (currentStreak == 0 && !firstServerDate.equals(lastServerDate)) {
+                currentStreak = calculateCurrentStreak(user, firstServerDate);
+            }
+            streakInfo.applyMaintainedStreak(currentStreak);
+            streakInfo.setLastUpdatedAt(LocalDateTime.now());
             log.info("Streak incremented for user: {} - now at {}", user.getEmail(), streakInfo.getCurrentMaintainedStreak());
         } else if (hasJournal && canUseShield(user, date)) {
             useShield(user, date, streakInfo);
@@ -90,6 +112,7 @@ public class UserStreakService {
             }
         }
 
+        streakInfo.setLastEndOfDayDate(date);
         streakInfoRepository.save(streakInfo);
     }
 
@@ -101,35 +124,9 @@ public class UserStreakService {
         var streakInfo = streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user)
                 .orElseGet(() -> createAndSaveDefaultStreakInfo(user));
 
-        var currentStreak = 0;
-        var date = today;
-
-        while (true) {
-            var hasActivity = hasRealActivityOnDate(user, date);
-            var hasJournal = dailyJournalRepository.existsByUserAndJournalDate(user, date);
-            var shieldWasUsed = dailyJournalRepository.findByUserAndJournalDate(user, date)
-                    .map(j -> Boolean.TRUE.equals(j.getShieldUsed()))
-                    .orElse(false);
-
-            if (hasActivity || shieldWasUsed) {
-                currentStreak++;
-                date = date.minusDays(1);
-            } else if (hasJournal && date.equals(today)) {
-                currentStreak++;
-                date = date.minusDays(1);
-            } else {
-                break;
-            }
+        var currentStreak = calculateCurrentStreak(user, today);
 
-            if (date.isBefore(today.minusYears(1))) {
-                break;
-            }
-        }
-
-        streakInfo.setCurrentMaintainedStreak(currentStreak);
-        if (currentStreak > streakInfo.getBestMaintainedStreak()) {
-            streakInfo.setBestMaintainedStreak(currentStreak);
-        }
+        streakInfo.applyMaintainedStreak(currentStreak);
         streakInfo.setLastUpdatedAt(LocalDateTime.now());
 
         streakInfoRepository.save(streakInfo);
@@ -137,6 +134,19 @@ public class UserStreakService {
                 user.getEmail(), currentStreak, streakInfo.getBestMaintainedStreak());
     }
 
+    /**
+     * Run of days ending today kept by real activity or a shield, read from the user's activity
+     * calendars. Today also counts if it only has a journal so far.
+     */
+    public int calculateCurrentStreak(User user, LocalDate today) {
+        var coveredDays = activityCalendarService.getUserCalendar(user, ActivityCalendarType.ACTIVITY)
+                .or(activityCalendarService.getUserCalendar(user, ActivityCalendarType.SHIELD));
+        if (!coveredDays.contains(today) && activityCalendarService.hasJournalOnDate(user, today)) {
+            coveredDays.set(today);
+        }
+        return coveredDays.runEndingAt(today);
+    }
+
     @Transactional
     public void onActivityRecorded(User user) {
         log.debug("Activity recorded for user: {}, updating streak", user.getEmail());
@@ -191,19 +201,6 @@ public class UserStreakService {
         return true;
     }
 
-    private boolean hasRealActivityOnDate(User user, LocalDate date) {
-        var hasTaskCompletion = taskCompletionRepository.hasCompletedTaskOnDate(
-                user,
-                List.of(CompletionStatus.COMPLETED, CompletionStatus.PARTIAL),
-                date);
-
-        if (hasTaskCompletion) {
-            return true;
-        }
-
-        return progressEntryRepository.hasProgressOnDate(user, date);
-    }
-
     private boolean canUseShield(User user, LocalDate date) {
         if (user.getStreakShields() <= 0) {
             return false;
@@ -225,6 +222,7 @@ public class UserStreakService {
                     journal.setShieldUsed(true);
                     dailyJournalRepository.save(journal);
                 });
+        activityCalendarService.onShieldUsed(user, date);
 
         streakInfo.setLastUpdatedAt(LocalDateTime.now());
     }
@@ -0,0 +1,232 @@
+package com.relyon.metasmart.service;
+
+import com.relyon.metasmart.config.WebhookInboxConfig;
+import com.relyon.metasmart.entity.subscription.WebhookEvent;
+import com.relyon.metasmart.entity.subscription.WebhookEventStatus;
+import com.relyon.metasmart.repository.WebhookEventRepository;
+import com.stripe.model.Event;
+import com.stripe.model.Invoice;
+import com.stripe.model.StripeObject;
+import com.stripe.model.Subscription;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persisted inbox for Stripe webhooks. The webhook request only records the event, keyed by its
+ * Stripe id so redeliveries are dropped, and returns. A scheduled worker then processes due events
+ * on one long-lived bounded pool, one transaction per event together with its {@code PROCESSED} mark.
+ * <p>
+ * Events of one Stripe customer run strictly one after another: only the customer's unfinished event
+ * that Stripe created first is ever due. Failures are retried with exponential backoff and end up {@code DEAD}
+ * after the configured attempts, which also unblocks the customer's later events.
+ * <p>
+ * Outcome marks only apply to the attempt that claimed the event. When a slow handler outlives its
+ * lease and another worker reclaims the event, the stale attempt's work is rolled back. Finished
+ * events are pruned daily once past their retention.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookInboxService {
+
+    static final String EVENTS_METRIC = "metasmart.stripe.webhooks";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final StripeService stripeService;
+    private final TransactionTemplate transactionTemplate;
+    private final WebhookInboxConfig webhookInboxConfig;
+    private final MeterRegistry meterRegistry;
+
+    private ExecutorService processingExecutor;
+
+    @PostConstruct
+    void init() {
+        processingExecutor = Executors.newFixedThreadPool(webhookInboxConfig.getParallelism(), runnable -> {
+            var thread = new Thread(runnable, "stripe-webhook-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        processingExecutor.shutdown();
+    }
+
+    public void record(Event event, String payload) {
+        if (webhookEventRepository.existsByEventId(event.getId())) {
+            log.debug("Ignoring redelivered Stripe event: {}", event.getId());
+            return;
+        }
+
+        var webhookEvent = WebhookEvent.builder()
+                .eventId(event.getId())
+                .eventType(event.getType())
+                .customerKey(customerKeyOf(event))
+                .stripeCreatedAt(stripeCreatedAtOf(event))
+                .payload(payload)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        try {
+            webhookEventRepository.save(webhookEvent);
+            meterRegistry.counter(EVENTS_METRIC, "result", "received").increment();
+            log.debug("Recorded Stripe event {} of type {}", event.getId(), event.getType());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Ignoring concurrently redelivered Stripe event: {}", event.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${metasmart.webhooks.poll-delay-ms:5000}")
+    public void processDueEvents() {
+        var now = LocalDateTime.now();
+        var ids = webhookEventRepository.findDueIds(now, Limit.of(webhookInboxConfig.getBatchSize()));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        var tasks = ids.stream()
+                .map(id -> CompletableFuture.runAsync(() -> processEvent(id, now), processingExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).join();
+        log.debug("Processed {} due Stripe events", ids.size());
+    }
+
+    void processEvent(Long id, LocalDateTime now) {
+        var claimed = transactionTemplate.execute(status ->
+                webhookEventRepository.claim(id, now, now.plus(webhookInboxConfig.getLease())));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        var webhookEvent = webhookEventRepository.findById(id).orElseThrow();
+        var attempt = webhookEvent.getAttempts();
+        try {
+            var event = StripeObject.deserializeStripeObject(webhookEvent.getPayload(), Event.class,
+                    ApiResource.getGlobalResponseGetter());
+            transactionTemplate.executeWithoutResult(status -> {
+                stripeService.handleWebhookEvent(event);
+                if (webhookEventRepository.markProcessed(id, attempt, LocalDateTime.now()) == 0) {
+                    throw new LeaseLostException();
+                }
+            });
+            meterRegistry.counter(EVENTS_METRIC, "result", "processed").increment();
+        } catch (LeaseLostException e) {
+            meterRegistry.counter(EVENTS_METRIC, "result", "lease_lost").increment();
+            log.warn("Stripe event {} was reclaimed during attempt {}, rolled back its handling", webhookEvent.getEventId(), attempt);
+        } catch (RuntimeException e) {
+            handleFailure(webhookEvent, e);
+        }
+    }
+
+    /**
+     * Deletes processed and dead events, payloads included, once past their retention.
+     */
+    @Scheduled(cron = "${metasmart.webhooks.prune-cron:0 15 4 * * *}")
+    public void pruneFinishedEvents() {
+        var now = LocalDateTime.now();
+        var processed = prune(WebhookEventStatus.PROCESSED, now.minus(webhookInboxConfig.getProcessedRetention()));
+        var dead = prune(WebhookEventStatus.DEAD, now.minus(webhookInboxConfig.getDeadRetention()));
+        if (processed + dead > 0) {
+            log.info("Pruned Stripe events - processed: {}, dead: {}", processed, dead);
+        }
+    }
+
+    private int prune(WebhookEventStatus status, LocalDateTime cutoff) {
+        var batchSize = webhookInboxConfig.getPruneBatchSize();
+        var total = 0;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(tx ->
+                    webhookEventRepository.deleteFinishedBefore(status.name(), cutoff, batchSize));
+            total += deleted == null ? 0 : deleted;
+        } while (deleted != null && deleted == batchSize);
+        return total;
+    }
+
+    private void handleFailure(WebhookEvent webhookEvent, RuntimeException e) {
+        var error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        var attempts = webhookEvent.getAttempts();
+
+        if (attempts >= webhookInboxConfig.getMaxAttempts()) {
+            transactionTemplate.executeWithoutResult(status -> webhookEventRepository.markDead(webhookEvent.getId(), attempts, error));
+            meterRegistry.counter(EVENTS_METRIC, "result", "dead").increment();
+            log.error("Stripe event {} dead-lettered after {} attempts: {}", webhookEvent.getEventId(), attempts, error, e);
+            return;
+        }
+
+        var nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+        transactionTemplate.executeWithoutResult(status ->
+                webhookEventRepository.scheduleRetry(webhookEvent.getId(), attempts, nextAttemptAt, error));
+        meterRegistry.counter(EVENTS_METRIC, "result", "retried").increment();
+        log.warn("Stripe event {} failed on attempt {}, retrying at {}: {}", webhookEvent.getEventId(), attempts, nextAttemptAt, error);
+    }
+
+    /**
+     * {@code initialBackoff * 2^(attempts - 1)}, capped at {@code maxBackoff}.
+     */
+    Duration backoff(int attempts) {
+        var doublings = Math.clamp(attempts - 1, 0, 20);
+        var delay = webhookInboxConfig.getInitialBackoff().multipliedBy(1L << doublings);
+        return delay.compareTo(webhookInboxConfig.getMaxBackoff()) > 0 ? webhookInboxConfig.getMaxBackoff() : delay;
+    }
+
+    /**
+     * When Stripe created the event, in the same local time as the audit columns; receipt time if absent.
+     */
+    private static LocalDateTime stripeCreatedAtOf(Event event) {
+        return event.getCreated() == null
+                ? LocalDateTime.now()
+                : LocalDateTime.ofInstant(Instant.ofEpochSecond(event.getCreated()), ZoneId.systemDefault());
+    }
+
+    /**
+     * The Stripe customer the event belongs to, or the event id itself when it has none, so such
+     * events are not ordered against anything.
+     */
+    private static String customerKeyOf(Event event) {
+        return event.getDataObjectDeserializer().getObject()
+                .map(WebhookInboxService::customerOf)
+                .orElse(event.getId());
+    }
+
+    private static String customerOf(StripeObject object) {
+        return switch (object) {
+            case Session session -> session.getCustomer();
+            case Subscription subscription -> subscription.getCustomer();
+            case Invoice invoice -> invoice.getCustomer();
+            default -> null;
+        };
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /**
+     * Rolls back a handler transaction whose attempt no longer owns the event.
+     */
+    private static final class LeaseLostException extends RuntimeException {
+
+        private LeaseLostException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.relyon.metasmart.service;
+
+import static com.relyon.metasmart.constant.AppConstants.DEFAULT_TIMEZONE;
+
+import com.relyon.metasmart.config.WeeklyDigestConfig;
+import com.relyon.metasmart.entity.notification.WeeklyDigestRange;
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
+import com.relyon.metasmart.repository.DailyActivityRollupRepository;
+import com.relyon.metasmart.repository.GoalRepository;
+import com.relyon.metasmart.repository.GuardianNudgeRepository;
+import com.relyon.metasmart.repository.MilestoneRepository;
+import com.relyon.metasmart.repository.StreakInfoRepository;
+import com.relyon.metasmart.repository.UserRepository;
+import com.relyon.metasmart.repository.WeeklyDigestRangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Queues the weekly digest of every opted-in user for the last full week (Monday to Sunday, UTC).
+ * <p>
+ * Users are split into fixed id ranges. For each range a handful of grouped queries load the
+ * week's activity rollup, milestones, nudges, active goals and streaks of all its users at once,
+ * and the rendered digests go to the email outbox in the same transaction that records the range
+ * as done. Ranges run on a bounded worker pool and commit independently, so the dispatcher starts
+ * sending while later ranges are still being built. A failed range is retried by the next run of
+ * the week; ranges already recorded are skipped, and the unique key on the range stops two
+ * instances from queueing the same one. Changing {@code rangeSize} mid-week can queue a second
+ * digest for users in partially overlapping ranges.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeeklyDigestService {
+
+    static final String DIGESTS_QUEUED_METRIC = "metasmart.digest.weekly.queued";
+    static final String FAILED_RANGES_METRIC = "metasmart.digest.weekly.failed_ranges";
+    static final String RANGE_DURATION_METRIC = "metasmart.digest.weekly.range";
+    static final String RUN_DURATION_METRIC = "metasmart.digest.weekly.run";
+
+    private static final ZoneId DIGEST_ZONE = ZoneId.of(DEFAULT_TIMEZONE);
+
+    private final UserRepository userRepository;
+    private final GoalRepository goalRepository;
+    private final DailyActivityRollupRepository dailyActivityRollupRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final GuardianNudgeRepository guardianNudgeRepository;
+    private final StreakInfoRepository streakInfoRepository;
+    private final WeeklyDigestRangeRepository weeklyDigestRangeRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final WeeklyDigestConfig weeklyDigestConfig;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(cron = "${metasmart.digest.cron:0 0 * * * MON}", zone = DEFAULT_TIMEZONE)
+    public void sendWeeklyDigests() {
+        if (!weeklyDigestConfig.isEnabled()) {
+            return;
+        }
+        sendWeeklyDigests(Instant.now());
+    }
+
+    void sendWeeklyDigests(Instant now) {
+        var weekStart = LocalDate.ofInstant(now, DIGEST_ZONE)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .minusWeeks(1);
+        var pending = pendingRangeStarts(weekStart);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        log.info("Queueing weekly digests for week of {} - ranges: {}", weekStart, pending.size());
+        var sample = Timer.start(meterRegistry);
+        var rangeSize = weeklyDigestConfig.getRangeSize();
+        long queued;
+        try (var executor = Executors.newFixedThreadPool(weeklyDigestConfig.getParallelism())) {
+            var ranges = pending.stream()
+                    .map(fromId -> CompletableFuture.supplyAsync(() -> processRange(weekStart, fromId, fromId + rangeSize), executor))
+                    .toList();
+            CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new)).join();
+            queued = ranges.stream().mapToLong(CompletableFuture::join).sum();
+        }
+        sample.stop(meterRegistry.timer(RUN_DURATION_METRIC));
+        log.info("Weekly digests queued for week of {} - digests: {}", weekStart, queued);
+    }
+
+    /**
+     * Starts of the id ranges, aligned to multiples of {@code rangeSize}, not yet recorded for the week.
+     */
+    private List<Long> pendingRangeStarts(LocalDate weekStart) {
+        var maxUserId = userRepository.findMaxId();
+        if (maxUserId == null) {
+            return List.of();
+        }
+
+        var rangeSize = weeklyDigestConfig.getRangeSize();
+        var done = new HashSet<>(weeklyDigestRangeRepository.findRangeStartsByWeekStart(weekStart));
+        var pending = new ArrayList<Long>();
+        for (long fromId = 0; fromId <= maxUserId; fromId += rangeSize) {
+            if (!done.contains(fromId)) {
+                pending.add(fromId);
+            }
+        }
+        return pending;
+    }
+
+    private int processRange(LocalDate weekStart, long fromId, long toId) {
+        var sample = Timer.start(meterRegistry);
+        try {
+            Integer queued = transactionTemplate.execute(status -> queueRange(weekStart, fromId, toId));
+            meterRegistry.counter(DIGESTS_QUEUED_METRIC).increment(queued);
+            return queued;
+        } catch (RuntimeException e) {
+            meterRegistry.counter(FAILED_RANGES_METRIC).increment();
+            log.error("Weekly digests failed for users {}..{}, retrying on next run", fromId, toId - 1, e);
+            return 0;
+        } finally {
+            sample.stop(meterRegistry.timer(RANGE_DURATION_METRIC));
+        }
+    }
+
+    private int queueRange(LocalDate weekStart, long fromId, long toId) {
+        var weekEnd = weekStart.plusWeeks(1);
+        var recipients = userRepository.findWeeklyDigestRecipients(fromId, toId, weekEnd.atStartOfDay());
+
+        if (!recipients.isEmpty()) {
+            var digests = new HashMap<Long, WeeklyDigest>();
+            recipients.forEach(row -> digests.put((Long) row[0], WeeklyDigest.builder().weekStart(weekStart).build()));
+
+            apply(digests, goalRepository.countActiveByOwnerRange(fromId, toId),
+                    (digest, row) -> digest.setActiveGoals(toInt(row[1])));
+            apply(digests, dailyActivityRollupRepository.summarizeWeek(fromId, toId, weekStart.minusWeeks(1), weekStart, weekEnd),
+                    (digest, row) -> {
+                        digest.setProgressEntries(toInt(row[1]));
+                        digest.setTaskCompletions(toInt(row[2]));
+                        digest.setActiveDays(toInt(row[3]));
+                        digest.setPreviousActiveDays(toInt(row[4]));
+                    });
+            apply(digests, milestoneRepository.countAchievedByOwnerRange(fromId, toId, weekStart.atStartOfDay(), weekEnd.atStartOfDay()),
+                    (digest, row) -> digest.setMilestonesAchieved(toInt(row[1])));
+            apply(digests, guardianNudgeRepository.countReceivedByOwnerRange(fromId, toId, weekStart.atStartOfDay(), weekEnd.atStartOfDay()),
+                    (digest, row) -> digest.setNudgesReceived(toInt(row[1])));
+            apply(digests, streakInfoRepository.findUserStreaksInRange(fromId, toId),
+                    (digest, row) -> {
+                        digest.setCurrentStreak(toInt(row[1]));
+                        digest.setBestStreak(toInt(row[2]));
+                    });
+
+            recipients.forEach(row -> emailService.sendWeeklyDigestEmail((String) row[2], (String) row[1], digests.get((Long) row[0])));
+        }
+
+        weeklyDigestRangeRepository.save(WeeklyDigestRange.builder()
+                .weekStart(weekStart)
+                .rangeStart(fromId)
+                .rangeEnd(toId)
+                .digestsQueued(recipients.size())
+                .build());
+        return recipients.size();
+    }
+
+    /**
+     * Applies rows keyed by user id in their first column; users that opted out are not in {@code digests}.
+     */
+    private void apply(Map<Long, WeeklyDigest> digests, List<Object[]> rows, BiConsumer<WeeklyDigest, Object[]> setter) {
+        for (var row : rows) {
+            var digest = digests.get((Long) row[0]);
+            if (digest != null) {
+                setter.accept(digest, row);
+            }
+        }
+    }
+
+    private int toInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
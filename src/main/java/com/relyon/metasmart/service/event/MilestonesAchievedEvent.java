@@ -0,0 +1,21 @@
+package com.relyon.metasmart.service.event;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a progress write reaches one or more milestones of a goal. Carries plain values so
+ * listeners running after commit never touch detached entities.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MilestonesAchievedEvent {
+
+    private final Long userId;
+    private final String userEmail;
+    private final String userName;
+    private final Long goalId;
+    private final String goalTitle;
+    private final List<Integer> percentages;
+}
@@ -1,5 +1,6 @@
 package com.relyon.metasmart.service.impl;
 
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
 import com.relyon.metasmart.service.EmailService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -71,15 +72,28 @@ public class LoggingEmailService implements EmailService {
     }
 
     @Override
-    public void sendWeeklyDigestEmail(String to, String userName, int goalsCount, int completedMilestones) {
+    public void sendWeeklyDigestEmail(String to, String userName, WeeklyDigest digest) {
         log.info(EMAIL_BANNER +
                         "║  Type: WEEKLY DIGEST                                         ║\n" +
                         "║  To: {}\n" +
                         "║  User: {}\n" +
+                        "║  Week Of: {}\n" +
                         "║  Active Goals: {}\n" +
+                        "║  Progress Entries: {}, Tasks Completed: {}\n" +
+                        "║  Active Days: {} ({} vs last week)\n" +
+                        "║  Current Streak: {} (best {})\n" +
                         "║  Milestones Completed This Week: {}\n" +
+                        "║  Guardian Nudges: {}\n" +
                         "║  Message: Here's your weekly progress summary!              ║\n" +
                         EMAIL_FOOTER,
-                to, userName, goalsCount, completedMilestones);
+                to, userName, digest.getWeekStart(), digest.getActiveGoals(),
+                digest.getProgressEntries(), digest.getTaskCompletions(),
+                digest.getActiveDays(), formatChange(digest.getActiveDaysChange()),
+                digest.getCurrentStreak(), digest.getBestStreak(),
+                digest.getMilestonesAchieved(), digest.getNudgesReceived());
+    }
+
+    private String formatChange(int change) {
+        return change > 0 ? "+" + change : String.valueOf(change);
     }
 }
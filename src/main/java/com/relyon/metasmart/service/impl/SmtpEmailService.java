@@ -1,109 +1,82 @@
 package com.relyon.metasmart.service.impl;
 
-import com.relyon.metasmart.exception.EmailSendingException;
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
+import com.relyon.metasmart.service.EmailOutboxService;
 import com.relyon.metasmart.service.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+/**
+ * Renders each email and queues it in the outbox within the caller's transaction;
+ * {@link com.relyon.metasmart.service.EmailOutboxDispatcher} delivers it over SMTP.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @ConditionalOnProperty(name = "metasmart.mail.enabled", havingValue = "true")
 public class SmtpEmailService implements EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${metasmart.mail.from}")
-    private String fromEmail;
+    private final EmailOutboxService emailOutboxService;
 
     @Value("${metasmart.mail.frontend-url}")
     private String frontendUrl;
 
     @Override
-    @Async
     public void sendPasswordResetEmail(String to, String resetToken, String userName) {
-        log.debug("Sending password reset email to: {}", to);
+        log.debug("Queueing password reset email to: {}", to);
 
         var resetLink = frontendUrl + "/reset-password?token=" + resetToken;
         var subject = "Reset Your Metasmart Password";
         var content = buildPasswordResetHtml(userName, resetLink);
 
-        sendHtmlEmail(to, subject, content);
-        log.info("Password reset email sent to: {}", to);
+        emailOutboxService.enqueue(to, subject, content);
+        log.info("Password reset email queued for: {}", to);
     }
 
     @Override
-    @Async
     public void sendWelcomeEmail(String to, String userName) {
-        log.debug("Sending welcome email to: {}", to);
+        log.debug("Queueing welcome email to: {}", to);
 
         var subject = "Welcome to Metasmart!";
         var content = buildWelcomeHtml(userName);
 
-        sendHtmlEmail(to, subject, content);
-        log.info("Welcome email sent to: {}", to);
+        emailOutboxService.enqueue(to, subject, content);
+        log.info("Welcome email queued for: {}", to);
     }
 
     @Override
-    @Async
     public void sendStreakAtRiskEmail(String to, String userName, String goalTitle, int currentStreak) {
-        log.debug("Sending streak at risk email to: {}", to);
+        log.debug("Queueing streak at risk email to: {}", to);
 
         var subject = "Your " + currentStreak + "-Day Streak is at Risk!";
         var content = buildStreakAtRiskHtml(userName, goalTitle, currentStreak);
 
-        sendHtmlEmail(to, subject, content);
-        log.info("Streak at risk email sent to: {}", to);
+        emailOutboxService.enqueue(to, subject, content);
+        log.info("Streak at risk email queued for: {}", to);
     }
 
     @Override
-    @Async
     public void sendMilestoneEmail(String to, String userName, String goalTitle, int percentage) {
-        log.debug("Sending milestone email to: {}", to);
+        log.debug("Queueing milestone email to: {}", to);
 
         var subject = "Congratulations! You've Reached " + percentage + "% on Your Goal!";
         var content = buildMilestoneHtml(userName, goalTitle, percentage);
 
-        sendHtmlEmail(to, subject, content);
-        log.info("Milestone email sent to: {}", to);
+        emailOutboxService.enqueue(to, subject, content);
+        log.info("Milestone email queued for: {}", to);
     }
 
     @Override
-    @Async
-    public void sendWeeklyDigestEmail(String to, String userName, int goalsCount, int completedMilestones) {
-        log.debug("Sending weekly digest email to: {}", to);
-
+    public void sendWeeklyDigestEmail(String to, String userName, WeeklyDigest digest) {
         var subject = "Your Weekly Metasmart Summary";
-        var content = buildWeeklyDigestHtml(userName, goalsCount, completedMilestones);
-
-        sendHtmlEmail(to, subject, content);
-        log.info("Weekly digest email sent to: {}", to);
-    }
-
-    private void sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
+        var content = buildWeeklyDigestHtml(userName, digest);
 
-            mailSender.send(message);
-        } catch (MessagingException | MailException e) {
-            log.error("Failed to send email to: {}", to, e);
-            throw new EmailSendingException("Failed to send email", e);
-        }
+        // Sent to every opted-in user at once, so queueing is only logged at debug level
+        emailOutboxService.enqueue(to, subject, content);
+        log.debug("Weekly digest email queued for: {}", to);
     }
 
     private String buildPasswordResetHtml(String userName, String resetLink) {
@@ -257,7 +230,7 @@ public class SmtpEmailService implements EmailService {
                 """.formatted(userName, percentage, percentage, goalTitle);
     }
 
-    private String buildWeeklyDigestHtml(String userName, int goalsCount, int completedMilestones) {
+    private String buildWeeklyDigestHtml(String userName, WeeklyDigest digest) {
         return """
                 <!DOCTYPE html>
                 <html>
@@ -268,9 +241,6 @@ public class SmtpEmailService implements EmailService {
                         .container { max-width: 600px; margin: 0 auto; padding: 20px; }
                         .header { background: #4F46E5; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }
                         .content { background: #f9fafb; padding: 30px; border-radius: 0 0 8px 8px; }
-                        .stats { display: flex; justify-content: space-around; margin: 20px 0; }
-                        .stat { text-align: center; }
-                        .stat-number { font-size: 36px; color: #4F46E5; font-weight: bold; }
                         .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
                     </style>
                 </head>
@@ -281,19 +251,38 @@ public class SmtpEmailService implements EmailService {
                         </div>
                         <div class="content">
                             <p>Hi %s,</p>
-                            <p>Here's your progress this week:</p>
+                            <p>Here's your progress for the week of %s:</p>
                             <table style="width: 100%%; margin: 20px 0;">
                                 <tr>
                                     <td style="text-align: center; padding: 20px;">
                                         <div style="font-size: 36px; color: #4F46E5; font-weight: bold;">%d</div>
                                         <div>Active Goals</div>
                                     </td>
+                                    <td style="text-align: center; padding: 20px;">
+                                        <div style="font-size: 36px; color: #4F46E5; font-weight: bold;">%d</div>
+                                        <div>Progress Updates</div>
+                                    </td>
+                                    <td style="text-align: center; padding: 20px;">
+                                        <div style="font-size: 36px; color: #4F46E5; font-weight: bold;">%d</div>
+                                        <div>Tasks Completed</div>
+                                    </td>
+                                </tr>
+                                <tr>
                                     <td style="text-align: center; padding: 20px;">
                                         <div style="font-size: 36px; color: #10B981; font-weight: bold;">%d</div>
                                         <div>Milestones Hit</div>
                                     </td>
+                                    <td style="text-align: center; padding: 20px;">
+                                        <div style="font-size: 36px; color: #F59E0B; font-weight: bold;">%d</div>
+                                        <div>Day Streak (best %d)</div>
+                                    </td>
+                                    <td style="text-align: center; padding: 20px;">
+                                        <div style="font-size: 36px; color: #10B981; font-weight: bold;">%d</div>
+                                        <div>Guardian Nudges</div>
+                                    </td>
                                 </tr>
                             </table>
+                            <p>You were active on <strong>%d of 7 days</strong> (%s vs. last week).</p>
                             <p>Keep pushing forward!</p>
                         </div>
                         <div class="footer">
@@ -302,6 +291,13 @@ public class SmtpEmailService implements EmailService {
                     </div>
                 </body>
                 </html>
-                """.formatted(userName, goalsCount, completedMilestones);
+                """.formatted(userName, digest.getWeekStart(), digest.getActiveGoals(), digest.getProgressEntries(),
+                digest.getTaskCompletions(), digest.getMilestonesAchieved(), digest.getCurrentStreak(),
+                digest.getBestStreak(), digest.getNudgesReceived(), digest.getActiveDays(),
+                formatChange(digest.getActiveDaysChange()));
+    }
+
+    private String formatChange(int change) {
+        return change > 0 ? "+" + change : String.valueOf(change);
     }
 }
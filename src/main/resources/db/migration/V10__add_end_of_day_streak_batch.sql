@@ -0,0 +1,21 @@
+-- Day last settled by the end-of-day batch, so a resumed run does not count a day twice
+ALTER TABLE streak_info
+    ADD COLUMN IF NOT EXISTS last_end_of_day_date DATE;
+
+-- Progress of the end-of-day batch per timezone and local day; a crashed run resumes after last_user_id
+CREATE TABLE IF NOT EXISTS streak_batch_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    timezone VARCHAR(64) NOT NULL,
+    target_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    users_processed BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT uk_streak_batch_checkpoints UNIQUE (timezone, target_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_preferences_timezone ON user_preferences(timezone);
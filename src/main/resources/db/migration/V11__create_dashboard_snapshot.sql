@@ -0,0 +1,16 @@
+-- Precomputed dashboard per user; writers flag it stale and GET /dashboard rebuilds it when needed
+CREATE TABLE IF NOT EXISTS dashboard_snapshot (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    active_goals_count BIGINT NOT NULL DEFAULT 0,
+    completed_goals_count BIGINT NOT NULL DEFAULT 0,
+    pending_reflections_count BIGINT NOT NULL DEFAULT 0,
+    unread_nudges_count BIGINT NOT NULL DEFAULT 0,
+    streaks_at_risk JSONB,
+    snapshot_date DATE NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL,
+    stale BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255)
+);
@@ -0,0 +1,31 @@
+-- Hibernate reserves ID_ALLOCATION_SIZE ids per nextval (pooled optimizer), so each id sequence
+-- must step by the same amount. Serial and identity columns keep their defaults for plain SQL inserts.
+DO $$
+DECLARE
+    tbl TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY[
+        'users', 'user_preferences', 'notification_preferences', 'feature_preferences',
+        'password_reset_tokens', 'goals', 'goal_notes', 'progress_entries', 'milestones',
+        'obstacle_entries', 'goal_templates', 'goal_guardians', 'guardian_nudges',
+        'goal_reflections', 'struggling_requests', 'action_items', 'scheduled_tasks',
+        'task_completions', 'task_schedule_slots', 'user_subscriptions', 'user_purchases',
+        'streak_info', 'daily_journals', 'activity_calendars', 'streak_batch_checkpoints'
+    ] LOOP
+        IF to_regclass(tbl) IS NULL THEN
+            CONTINUE;
+        END IF;
+
+        seq := pg_get_serial_sequence(tbl, 'id');
+        IF seq IS NULL THEN
+            EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', tbl || '_id_seq');
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', tbl || '_id_seq', tbl);
+        ELSIF EXISTS (SELECT 1 FROM pg_attribute
+                      WHERE attrelid = tbl::regclass AND attname = 'id' AND attidentity <> '') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', tbl);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,16 @@
+-- Keep one scheduled task per action item and day, preferring a completed one
+DELETE FROM scheduled_tasks st
+USING (
+    SELECT id, ROW_NUMBER() OVER (
+        PARTITION BY action_item_id, scheduled_date
+        ORDER BY completed DESC, id
+    ) AS rn
+    FROM scheduled_tasks
+) ranked
+WHERE st.id = ranked.id AND ranked.rn > 1;
+
+ALTER TABLE scheduled_tasks
+    ADD CONSTRAINT uk_scheduled_tasks_action_item_date UNIQUE (action_item_id, scheduled_date);
+
+-- Covered by the leading column of the unique index
+DROP INDEX IF EXISTS idx_scheduled_tasks_action_item;
@@ -0,0 +1,3 @@
+-- Optimistic lock for goals; atomic progress updates bump it too
+ALTER TABLE goals
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
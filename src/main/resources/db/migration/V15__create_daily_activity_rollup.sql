@@ -0,0 +1,44 @@
+-- Per-user, per-day activity counts maintained by upserts from the progress, task and journal writes
+CREATE TABLE IF NOT EXISTS daily_activity_rollup (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    activity_date DATE NOT NULL,
+    task_completions INTEGER NOT NULL DEFAULT 0,
+    progress_entries INTEGER NOT NULL DEFAULT 0,
+    journal BOOLEAN NOT NULL DEFAULT false,
+    shield_used BOOLEAN NOT NULL DEFAULT false,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    PRIMARY KEY (user_id, activity_date)
+);
+
+-- Backfill from existing rows
+INSERT INTO daily_activity_rollup (user_id, activity_date, task_completions, progress_entries)
+SELECT user_id, activity_date, SUM(task_completions), SUM(progress_entries)
+FROM (
+    SELECT g.user_id, tc.scheduled_date AS activity_date, COUNT(*) AS task_completions, 0 AS progress_entries
+    FROM task_completions tc
+    JOIN action_items ai ON ai.id = tc.action_item_id
+    JOIN goals g ON g.id = ai.goal_id
+    WHERE tc.status IN ('COMPLETED', 'PARTIAL')
+    GROUP BY g.user_id, tc.scheduled_date
+    UNION ALL
+    SELECT g.user_id, CAST(p.created_at AS DATE), 0, COUNT(*)
+    FROM progress_entries p
+    JOIN goals g ON g.id = p.goal_id
+    GROUP BY g.user_id, CAST(p.created_at AS DATE)
+) activity
+GROUP BY user_id, activity_date
+ON CONFLICT (user_id, activity_date) DO NOTHING;
+
+DO $$
+BEGIN
+    IF to_regclass('daily_journals') IS NOT NULL THEN
+        INSERT INTO daily_activity_rollup (user_id, activity_date, journal, shield_used)
+        SELECT user_id, journal_date, true, COALESCE(shield_used, false)
+        FROM daily_journals
+        ON CONFLICT (user_id, activity_date) DO UPDATE
+            SET journal = true, shield_used = EXCLUDED.shield_used;
+    END IF;
+END $$;
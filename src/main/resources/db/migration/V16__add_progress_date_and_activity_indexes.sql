@@ -0,0 +1,13 @@
+-- Stored calendar day of each progress entry, so per-day filters and DISTINCT dates can use an index
+-- instead of casting created_at on every row
+ALTER TABLE progress_entries ADD COLUMN IF NOT EXISTS progress_date DATE;
+UPDATE progress_entries SET progress_date = CAST(created_at AS DATE) WHERE progress_date IS NULL;
+ALTER TABLE progress_entries ALTER COLUMN progress_date SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_progress_entries_goal_date ON progress_entries(goal_id, progress_date);
+CREATE INDEX IF NOT EXISTS idx_progress_entries_goal_created ON progress_entries(goal_id, created_at DESC);
+-- Covered by the composite indexes above
+DROP INDEX IF EXISTS idx_progress_entries_goal;
+
+CREATE INDEX IF NOT EXISTS idx_task_completions_item_date_status ON task_completions(action_item_id, scheduled_date, status);
+DROP INDEX IF EXISTS idx_task_completions_action_item;
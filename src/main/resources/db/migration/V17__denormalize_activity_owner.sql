@@ -0,0 +1,30 @@
+-- Owner copied onto the high-volume activity tables, so user-scoped history, calendar and streak
+-- queries can filter by user and date without joining through action_items and goals
+ALTER TABLE progress_entries ADD COLUMN IF NOT EXISTS user_id BIGINT;
+UPDATE progress_entries p SET user_id = g.user_id
+FROM goals g
+WHERE g.id = p.goal_id AND p.user_id IS NULL;
+ALTER TABLE progress_entries ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE progress_entries ADD CONSTRAINT fk_progress_entries_user
+    FOREIGN KEY (user_id) REFERENCES users(id);
+CREATE INDEX IF NOT EXISTS idx_progress_entries_user_date ON progress_entries(user_id, progress_date);
+
+ALTER TABLE task_completions ADD COLUMN IF NOT EXISTS user_id BIGINT;
+UPDATE task_completions tc SET user_id = g.user_id
+FROM action_items ai
+JOIN goals g ON g.id = ai.goal_id
+WHERE ai.id = tc.action_item_id AND tc.user_id IS NULL;
+ALTER TABLE task_completions ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE task_completions ADD CONSTRAINT fk_task_completions_user
+    FOREIGN KEY (user_id) REFERENCES users(id);
+CREATE INDEX IF NOT EXISTS idx_task_completions_user_date ON task_completions(user_id, scheduled_date);
+
+ALTER TABLE scheduled_tasks ADD COLUMN IF NOT EXISTS user_id BIGINT;
+UPDATE scheduled_tasks st SET user_id = g.user_id
+FROM action_items ai
+JOIN goals g ON g.id = ai.goal_id
+WHERE ai.id = st.action_item_id AND st.user_id IS NULL;
+ALTER TABLE scheduled_tasks ALTER COLUMN user_id SET NOT NULL;
+ALTER TABLE scheduled_tasks ADD CONSTRAINT fk_scheduled_tasks_user
+    FOREIGN KEY (user_id) REFERENCES users(id);
+CREATE INDEX IF NOT EXISTS idx_scheduled_tasks_user_date ON scheduled_tasks(user_id, scheduled_date);
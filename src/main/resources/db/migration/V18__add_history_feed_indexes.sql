@@ -0,0 +1,17 @@
+-- Keyset history feeds seek on (created_at, id) within one parent; each composite index serves the
+-- seek predicate and the ORDER BY together, so no page sorts or skips rows
+DROP INDEX IF EXISTS idx_progress_entries_goal_created;
+CREATE INDEX IF NOT EXISTS idx_progress_entries_goal_created_id ON progress_entries(goal_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_task_completions_item_created_id ON task_completions(action_item_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_guardian_nudges_guardian_created_id ON guardian_nudges(goal_guardian_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_guardian_nudges_guardian;
+
+CREATE INDEX IF NOT EXISTS idx_daily_journals_user_created_id ON daily_journals(user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_struggling_requests_user_created_id ON struggling_requests(user_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_struggling_requests_user;
+
+CREATE INDEX IF NOT EXISTS idx_goal_reflections_goal_user_created_id ON goal_reflections(goal_id, user_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_goal_reflections_goal;
@@ -0,0 +1,5 @@
+-- Shared bucket4j state used when metasmart.rate-limit.store=postgres
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    id VARCHAR(255) PRIMARY KEY,
+    state BYTEA
+);
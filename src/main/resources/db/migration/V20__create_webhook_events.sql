@@ -0,0 +1,26 @@
+-- Stripe webhook inbox: events are recorded once per Stripe event id and processed asynchronously
+CREATE SEQUENCE IF NOT EXISTS webhook_events_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS webhook_events (
+    id BIGINT PRIMARY KEY DEFAULT nextval('webhook_events_id_seq'),
+    event_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    customer_key VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error VARCHAR(1000),
+    processed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT uk_webhook_events_event_id UNIQUE (event_id)
+);
+
+ALTER SEQUENCE webhook_events_id_seq OWNED BY webhook_events.id;
+
+-- Worker poll: due events by status and time; per-customer ordering probes earlier unfinished events
+CREATE INDEX IF NOT EXISTS idx_webhook_events_status_next_attempt ON webhook_events(status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_webhook_events_customer_id ON webhook_events(customer_key, id);
@@ -0,0 +1,25 @@
+-- Transactional email outbox: rows are written with the business change and sent by the dispatcher
+CREATE SEQUENCE IF NOT EXISTS email_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT PRIMARY KEY DEFAULT nextval('email_outbox_id_seq'),
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claim_token VARCHAR(36),
+    last_error VARCHAR(1000),
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255)
+);
+
+ALTER SEQUENCE email_outbox_id_seq OWNED BY email_outbox.id;
+
+-- Dispatcher poll reads due rows in id order; the claim token lookup loads the rows a run leased
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox(status, next_attempt_at, id);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_claim_token ON email_outbox(claim_token);
@@ -0,0 +1,21 @@
+-- User id ranges whose weekly digests were queued; written with the outbox rows so a range is queued once
+CREATE SEQUENCE IF NOT EXISTS weekly_digest_ranges_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS weekly_digest_ranges (
+    id BIGINT PRIMARY KEY DEFAULT nextval('weekly_digest_ranges_id_seq'),
+    week_start DATE NOT NULL,
+    range_start BIGINT NOT NULL,
+    range_end BIGINT NOT NULL,
+    digests_queued INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT uk_weekly_digest_ranges UNIQUE (week_start, range_start)
+);
+
+ALTER SEQUENCE weekly_digest_ranges_id_seq OWNED BY weekly_digest_ranges.id;
+
+-- Digest aggregates read milestones and nudges per owner and time window
+CREATE INDEX IF NOT EXISTS idx_milestones_achieved_at ON milestones(achieved_at);
+CREATE INDEX IF NOT EXISTS idx_guardian_nudges_created_at ON guardian_nudges(created_at);
@@ -0,0 +1,4 @@
+-- Replica holding an end-of-day checkpoint and until when; other replicas skip the timezone meanwhile
+ALTER TABLE streak_batch_checkpoints
+    ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(36),
+    ADD COLUMN IF NOT EXISTS lease_until TIMESTAMP;
@@ -0,0 +1,2 @@
+-- Pruning of processed and dead webhook events by age
+CREATE INDEX IF NOT EXISTS idx_webhook_events_status_created ON webhook_events(status, created_at);
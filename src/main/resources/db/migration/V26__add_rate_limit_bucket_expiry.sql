@@ -0,0 +1,17 @@
+-- Last write time of each shared bucket, stamped by trigger since bucket4j writes the rows itself
+ALTER TABLE rate_limit_buckets ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE OR REPLACE FUNCTION touch_rate_limit_bucket() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_rate_limit_buckets_touch ON rate_limit_buckets;
+CREATE TRIGGER trg_rate_limit_buckets_touch
+    BEFORE UPDATE ON rate_limit_buckets
+    FOR EACH ROW EXECUTE FUNCTION touch_rate_limit_bucket();
+
+-- Idle bucket pruning
+CREATE INDEX IF NOT EXISTS idx_rate_limit_buckets_updated_at ON rate_limit_buckets(updated_at);
@@ -0,0 +1,10 @@
+-- Goal copied onto guardian_nudges, so the per-goal nudge feed seeks one (goal_id, created_at, id) range
+-- instead of merging one range per guardian of the goal
+ALTER TABLE guardian_nudges ADD COLUMN IF NOT EXISTS goal_id BIGINT;
+UPDATE guardian_nudges gn SET goal_id = gg.goal_id
+FROM goal_guardians gg
+WHERE gg.id = gn.goal_guardian_id AND gn.goal_id IS NULL;
+ALTER TABLE guardian_nudges ALTER COLUMN goal_id SET NOT NULL;
+ALTER TABLE guardian_nudges ADD CONSTRAINT fk_guardian_nudges_goal
+    FOREIGN KEY (goal_id) REFERENCES goals(id);
+CREATE INDEX IF NOT EXISTS idx_guardian_nudges_goal_created_id ON guardian_nudges(goal_id, created_at DESC, id DESC);
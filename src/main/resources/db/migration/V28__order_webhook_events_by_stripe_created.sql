@@ -0,0 +1,8 @@
+-- Per-customer webhook ordering follows the Stripe event's own creation time; pooled ids do not follow
+-- arrival order across application instances. Existing rows fall back to their receipt time.
+ALTER TABLE webhook_events ADD COLUMN IF NOT EXISTS stripe_created_at TIMESTAMP;
+UPDATE webhook_events SET stripe_created_at = created_at WHERE stripe_created_at IS NULL;
+ALTER TABLE webhook_events ALTER COLUMN stripe_created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_webhook_events_customer_created_id ON webhook_events(customer_key, stripe_created_at, id);
+DROP INDEX IF EXISTS idx_webhook_events_customer_id;
@@ -0,0 +1,8 @@
+-- Digest aggregates walk one owner range at a time: owners' goals and guardianships come from
+-- idx_goals_user and idx_goal_guardians_owner, so the activity tables are indexed per parent and
+-- window rather than by time alone, which made every range scan the whole week platform-wide
+DROP INDEX IF EXISTS idx_milestones_achieved_at;
+CREATE INDEX IF NOT EXISTS idx_milestones_goal_achieved_at ON milestones(goal_id, achieved_at);
+
+-- Nudges per guardianship and window are served by idx_guardian_nudges_guardian_created_id (V18)
+DROP INDEX IF EXISTS idx_guardian_nudges_created_at;
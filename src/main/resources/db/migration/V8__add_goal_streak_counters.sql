@@ -0,0 +1,54 @@
+-- Per-goal streak counters maintained on progress writes, backfilled here from progress history
+UPDATE goals SET streak = 0 WHERE streak IS NULL;
+
+ALTER TABLE goals
+    ALTER COLUMN streak SET DEFAULT 0;
+
+ALTER TABLE goals
+    ADD COLUMN IF NOT EXISTS longest_streak INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE goals
+    ADD COLUMN IF NOT EXISTS last_progress_date DATE;
+
+UPDATE goals g
+SET last_progress_date = (SELECT MAX(CAST(p.created_at AS DATE)) FROM progress_entries p WHERE p.goal_id = g.id)
+WHERE last_progress_date IS NULL;
+
+-- Same rule as GoalStreakService: a run continues on the next day, or over one missed day covered
+-- by the goal's shield. streak is the run ending at last_progress_date, longest_streak the best run.
+WITH progress_days AS (
+    SELECT DISTINCT p.goal_id, CAST(p.created_at AS DATE) AS day
+    FROM progress_entries p
+),
+run_starts AS (
+    SELECT d.goal_id, d.day,
+           CASE
+               WHEN LAG(d.day) OVER w = d.day - 1 THEN 0
+               WHEN LAG(d.day) OVER w = d.day - 2 AND g.last_streak_shield_used_at = d.day - 1 THEN 0
+               ELSE 1
+           END AS starts_run
+    FROM progress_days d
+    JOIN goals g ON g.id = d.goal_id
+    WINDOW w AS (PARTITION BY d.goal_id ORDER BY d.day)
+),
+runs AS (
+    SELECT goal_id, day, SUM(starts_run) OVER (PARTITION BY goal_id ORDER BY day) AS run_number
+    FROM run_starts
+),
+run_lengths AS (
+    SELECT goal_id, run_number, COUNT(*) AS run_length
+    FROM runs
+    GROUP BY goal_id, run_number
+),
+counters AS (
+    SELECT goal_id,
+           MAX(run_length) AS longest_streak,
+           (ARRAY_AGG(run_length ORDER BY run_number DESC))[1] AS streak
+    FROM run_lengths
+    GROUP BY goal_id
+)
+UPDATE goals g
+SET streak = c.streak,
+    longest_streak = c.longest_streak
+FROM counters c
+WHERE c.goal_id = g.id;
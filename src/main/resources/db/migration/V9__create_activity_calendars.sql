@@ -0,0 +1,16 @@
+-- Bitset of active days over epoch days: per user (activity, journal, shield) and per goal (progress)
+CREATE TABLE IF NOT EXISTS activity_calendars (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    goal_id BIGINT REFERENCES goals(id) ON DELETE CASCADE,
+    calendar_type VARCHAR(20) NOT NULL,
+    origin_epoch_day BIGINT NOT NULL DEFAULT 0,
+    day_bits BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_activity_calendars_user ON activity_calendars(user_id, calendar_type) WHERE goal_id IS NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_activity_calendars_goal ON activity_calendars(goal_id, calendar_type) WHERE goal_id IS NOT NULL;
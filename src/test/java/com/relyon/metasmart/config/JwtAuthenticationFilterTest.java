@@ -7,6 +7,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.relyon.metasmart.entity.user.User;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -67,7 +68,7 @@ class JwtAuthenticationFilterTest {
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
             verify(filterChain).doFilter(request, response);
-            verify(jwtService, never()).extractEmail(anyString());
+            verify(jwtService, never()).parseToken(anyString());
             assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         }
 
@@ -79,7 +80,7 @@ class JwtAuthenticationFilterTest {
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
             verify(filterChain).doFilter(request, response);
-            verify(jwtService, never()).extractEmail(anyString());
+            verify(jwtService, never()).parseToken(anyString());
             assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         }
 
@@ -88,9 +89,10 @@ class JwtAuthenticationFilterTest {
         void shouldAuthenticateUserWithValidToken() throws Exception {
             String token = "valid-jwt-token";
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractEmail(token)).thenReturn("john@example.com");
+            var claims = Jwts.claims().subject("john@example.com").build();
+            when(jwtService.parseToken(token)).thenReturn(claims);
             when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(user);
-            when(jwtService.isTokenValid(token, user)).thenReturn(true);
+            when(jwtService.isTokenValid(claims, user)).thenReturn(true);
 
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -104,9 +106,10 @@ class JwtAuthenticationFilterTest {
         void shouldNotAuthenticateWhenTokenInvalid() throws Exception {
             String token = "invalid-jwt-token";
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractEmail(token)).thenReturn("john@example.com");
+            var claims = Jwts.claims().subject("john@example.com").build();
+            when(jwtService.parseToken(token)).thenReturn(claims);
             when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(user);
-            when(jwtService.isTokenValid(token, user)).thenReturn(false);
+            when(jwtService.isTokenValid(claims, user)).thenReturn(false);
 
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -119,7 +122,7 @@ class JwtAuthenticationFilterTest {
         void shouldNotAuthenticateWhenEmailNull() throws Exception {
             String token = "jwt-token";
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractEmail(token)).thenReturn(null);
+            when(jwtService.parseToken(token)).thenReturn(Jwts.claims().build());
 
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -133,7 +136,7 @@ class JwtAuthenticationFilterTest {
         void shouldHandleExceptionDuringValidation() throws Exception {
             String token = "jwt-token";
             when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-            when(jwtService.extractEmail(token)).thenThrow(new RuntimeException("JWT parsing error"));
+            when(jwtService.parseToken(token)).thenThrow(new RuntimeException("JWT parsing error"));
 
             jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -4,8 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.relyon.metasmart.entity.user.User;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import java.lang.reflect.Field;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -112,6 +115,29 @@ class JwtServiceTest {
             assertThat(isValid).isFalse();
         }
 
+        @Test
+        @DisplayName("Should validate parsed claims against the user without parsing again")
+        void shouldValidateParsedClaims() {
+            String token = jwtService.generateToken(userDetails);
+
+            Claims claims = jwtService.parseToken(token);
+
+            assertThat(claims.getSubject()).isEqualTo("john@example.com");
+            assertThat(jwtService.isTokenValid(claims, userDetails)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject a token signed with another key")
+        void shouldRejectTokenSignedWithAnotherKey() {
+            String token = Jwts.builder()
+                    .subject("john@example.com")
+                    .signWith(Jwts.SIG.HS256.key().build())
+                    .compact();
+
+            assertThatThrownBy(() -> jwtService.parseToken(token))
+                    .isInstanceOf(SignatureException.class);
+        }
+
         @Test
         @DisplayName("Should return false for expired token")
         void shouldReturnFalseForExpiredToken() throws Exception {
@@ -0,0 +1,48 @@
+package com.relyon.metasmart.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bucket4j.BucketConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LocalRateLimitBucketStoreTest {
+
+    private LocalRateLimitBucketStore store;
+    private BucketConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalRateLimitBucketStore(2);
+        var authConfig = new RateLimitConfig.AuthRateLimit();
+        authConfig.setCapacity(1);
+        authConfig.setRefillTokens(1);
+        configuration = authConfig.toBucketConfiguration();
+    }
+
+    @Test
+    @DisplayName("Should return the same bucket for the same key")
+    void shouldReturnSameBucketForSameKey() {
+        var first = store.resolve("auth:1.1.1.1", () -> configuration);
+        assertThat(first.tryConsume(1)).isTrue();
+
+        var second = store.resolve("auth:1.1.1.1", () -> configuration);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.tryConsume(1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used bucket when the bound is reached")
+    void shouldEvictLeastRecentlyUsedBucket() {
+        var first = store.resolve("auth:1.1.1.1", () -> configuration);
+        store.resolve("auth:2.2.2.2", () -> configuration);
+        store.resolve("auth:1.1.1.1", () -> configuration);
+        store.resolve("auth:3.3.3.3", () -> configuration);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.resolve("auth:1.1.1.1", () -> configuration)).isSameAs(first);
+        assertThat(store.size()).isEqualTo(2);
+    }
+}
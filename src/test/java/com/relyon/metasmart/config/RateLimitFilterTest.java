@@ -0,0 +1,53 @@
+package com.relyon.metasmart.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var config = new RateLimitConfig();
+        config.getAuth().setCapacity(1);
+        config.getAuth().setRefillTokens(1);
+        filter = new RateLimitFilter(config, new LocalRateLimitBucketStore(10));
+    }
+
+    @Test
+    @DisplayName("Should limit by remote address regardless of a spoofed X-Forwarded-For")
+    void shouldIgnoreSpoofedForwardedFor() throws Exception {
+        assertThat(login("1.1.1.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(login("2.2.2.2").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    @DisplayName("Should keep a separate limit per remote address")
+    void shouldKeepSeparateLimitPerRemoteAddress() throws Exception {
+        login("1.1.1.1");
+
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr("10.0.0.2");
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private MockHttpServletResponse login(String forwardedFor) throws Exception {
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
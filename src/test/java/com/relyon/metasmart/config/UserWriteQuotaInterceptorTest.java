@@ -0,0 +1,80 @@
+package com.relyon.metasmart.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.RateLimitExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class UserWriteQuotaInterceptorTest {
+
+    private UserWriteQuotaInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        var config = new RateLimitConfig();
+        config.getUserWrites().setCapacity(1);
+        config.getUserWrites().setRefillTokens(1);
+        interceptor = new UserWriteQuotaInterceptor(config, new LocalRateLimitBucketStore(10));
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should reject writes once the user's quota is spent")
+    void shouldRejectWritesOnceQuotaIsSpent() {
+        authenticate(1L);
+
+        assertThat(interceptor.preHandle(post(), response, new Object())).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(post(), response, new Object()))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessage(ErrorMessages.TOO_MANY_WRITE_REQUESTS)
+                .satisfies(ex -> assertThat(((RateLimitExceededException) ex).getRetryAfterSeconds()).isPositive());
+    }
+
+    @Test
+    @DisplayName("Should keep a separate quota per user")
+    void shouldKeepSeparateQuotaPerUser() {
+        authenticate(1L);
+        interceptor.preHandle(post(), response, new Object());
+
+        authenticate(2L);
+
+        assertThat(interceptor.preHandle(post(), response, new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not charge read requests")
+    void shouldNotChargeReadRequests() {
+        authenticate(1L);
+        var get = new MockHttpServletRequest("GET", "/api/v1/users/profile/picture");
+
+        assertThat(interceptor.preHandle(get, response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(get, response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(post(), response, new Object())).isTrue();
+    }
+
+    private MockHttpServletRequest post() {
+        return new MockHttpServletRequest("POST", "/api/v1/goals/1/progress/bulk");
+    }
+
+    private void authenticate(Long userId) {
+        var user = User.builder().id(userId).email("user" + userId + "@test.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -1,9 +1,13 @@
 package com.relyon.metasmart.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -14,10 +18,12 @@ import com.relyon.metasmart.config.CorsConfig;
 import com.relyon.metasmart.config.JwtService;
 import com.relyon.metasmart.config.RateLimitConfig;
 import com.relyon.metasmart.config.SecurityConfig;
+import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.actionplan.CompletionStatus;
 import com.relyon.metasmart.entity.history.dto.*;
 import com.relyon.metasmart.entity.journal.Mood;
 import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.BadRequestException;
 import com.relyon.metasmart.exception.GlobalExceptionHandler;
 import com.relyon.metasmart.service.ActivityHistoryService;
 import java.math.BigDecimal;
@@ -25,6 +31,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -32,6 +39,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -170,6 +178,83 @@ class ActivityHistoryControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Export activity history tests")
+    class ExportActivityHistoryTests {
+
+        @Test
+        @DisplayName("Should stream one JSON line per day")
+        void shouldStreamOneLinePerDay() throws Exception {
+            var startDate = LocalDate.now().minusDays(7);
+            var endDate = LocalDate.now();
+
+            doAnswer(invocation -> {
+                Consumer<DailyActivityResponse> consumer = invocation.getArgument(3);
+                consumer.accept(dailyActivityResponse);
+                consumer.accept(dailyActivityResponse);
+                return null;
+            }).when(activityHistoryService).streamActivityHistory(any(User.class), eq(startDate), eq(endDate), any());
+
+            var result = mockMvc.perform(get("/api/v1/history/export")
+                            .with(user(user))
+                            .param("startDate", startDate.toString())
+                            .param("endDate", endDate.toString()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            var body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            var lines = body.strip().split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("hasActivity").asBoolean()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject an inverted range before streaming")
+        void shouldRejectInvertedRange() throws Exception {
+            var today = LocalDate.now();
+            doThrow(new BadRequestException(ErrorMessages.INVALID_HISTORY_RANGE))
+                    .when(activityHistoryService).validateHistoryRange(today, today.minusDays(1));
+
+            mockMvc.perform(get("/api/v1/history/export")
+                            .with(user(user))
+                            .param("startDate", today.toString())
+                            .param("endDate", today.minusDays(1).toString()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get year heatmap tests")
+    class GetYearHeatmapTests {
+
+        @Test
+        @DisplayName("Should get heatmap for requested year")
+        void shouldGetHeatmapForYear() throws Exception {
+            var heatmap = ActivityHeatmapResponse.builder()
+                    .year(2025)
+                    .activeDays(1)
+                    .realActiveDays(1)
+                    .days(List.of(ActivityHeatmapResponse.HeatmapDay.builder()
+                            .date(LocalDate.of(2025, 3, 9))
+                            .taskCompletions(2)
+                            .build()))
+                    .build();
+            when(activityHistoryService.getYearHeatmap(any(User.class), eq(2025))).thenReturn(heatmap);
+
+            mockMvc.perform(get("/api/v1/history/heatmap")
+                            .with(user(user))
+                            .param("year", "2025"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.year").value(2025))
+                    .andExpect(jsonPath("$.days[0].date").value("2025-03-09"))
+                    .andExpect(jsonPath("$.days[0].taskCompletions").value(2));
+        }
+    }
+
     @Nested
     @DisplayName("Get daily activity tests")
     class GetDailyActivityTests {
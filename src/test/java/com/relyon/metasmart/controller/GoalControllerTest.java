@@ -1,6 +1,7 @@
 package com.relyon.metasmart.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
@@ -22,7 +23,9 @@ import com.relyon.metasmart.config.RateLimitConfig;
 import com.relyon.metasmart.config.SecurityConfig;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalFieldSelection;
 import com.relyon.metasmart.entity.goal.dto.GoalRequest;
+import com.relyon.metasmart.entity.goal.dto.GoalResponseSection;
 import com.relyon.metasmart.entity.goal.dto.GoalResponse;
 import com.relyon.metasmart.entity.goal.dto.UpdateGoalRequest;
 import com.relyon.metasmart.entity.user.User;
@@ -31,6 +34,7 @@ import com.relyon.metasmart.exception.ResourceNotFoundException;
 import com.relyon.metasmart.service.GoalService;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -139,7 +143,7 @@ class GoalControllerTest {
         @Test
         @DisplayName("Should get goal by id")
         void shouldGetGoalById() throws Exception {
-            when(goalService.findById(eq(1L), any(User.class))).thenReturn(goalResponse);
+            when(goalService.findById(eq(1L), any(User.class), any(GoalFieldSelection.class))).thenReturn(goalResponse);
 
             mockMvc.perform(get("/api/v1/goals/1")
                             .with(user(user)))
@@ -151,7 +155,7 @@ class GoalControllerTest {
         @Test
         @DisplayName("Should return 404 when goal not found")
         void shouldReturn404WhenGoalNotFound() throws Exception {
-            when(goalService.findById(eq(1L), any(User.class)))
+            when(goalService.findById(eq(1L), any(User.class), any(GoalFieldSelection.class)))
                     .thenThrow(new ResourceNotFoundException("Goal not found"));
 
             mockMvc.perform(get("/api/v1/goals/1")
@@ -163,7 +167,7 @@ class GoalControllerTest {
         @DisplayName("Should get all goals")
         void shouldGetAllGoals() throws Exception {
             var page = new PageImpl<>(List.of(goalResponse));
-            when(goalService.findAll(any(User.class), any(Pageable.class))).thenReturn(page);
+            when(goalService.findAll(any(User.class), any(Pageable.class), any(GoalFieldSelection.class))).thenReturn(page);
 
             mockMvc.perform(get("/api/v1/goals")
                             .with(user(user)))
@@ -175,7 +179,7 @@ class GoalControllerTest {
         @DisplayName("Should get goals by status")
         void shouldGetGoalsByStatus() throws Exception {
             var page = new PageImpl<>(List.of(goalResponse));
-            when(goalService.findByStatus(any(User.class), eq(GoalStatus.ACTIVE), any(Pageable.class)))
+            when(goalService.findByStatus(any(User.class), eq(GoalStatus.ACTIVE), any(Pageable.class), any(GoalFieldSelection.class)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/api/v1/goals/status/ACTIVE")
@@ -188,7 +192,7 @@ class GoalControllerTest {
         @DisplayName("Should get goals by category")
         void shouldGetGoalsByCategory() throws Exception {
             var page = new PageImpl<>(List.of(goalResponse));
-            when(goalService.findByCategory(any(User.class), eq(GoalCategory.HEALTH), any(Pageable.class)))
+            when(goalService.findByCategory(any(User.class), eq(GoalCategory.HEALTH), any(Pageable.class), any(GoalFieldSelection.class)))
                     .thenReturn(page);
 
             mockMvc.perform(get("/api/v1/goals/category/HEALTH")
@@ -196,6 +200,32 @@ class GoalControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.content[0].goalCategory").value("HEALTH"));
         }
+
+        @Test
+        @DisplayName("Should pass sparse field selection to service")
+        void shouldPassSparseFieldSelectionToService() throws Exception {
+            var page = new PageImpl<>(List.of(goalResponse));
+            when(goalService.findAll(any(User.class), any(Pageable.class), argThat(selection -> selection.isSummary()
+                    && selection.getSections().equals(EnumSet.of(GoalResponseSection.MILESTONES)))))
+                    .thenReturn(page);
+
+            mockMvc.perform(get("/api/v1/goals")
+                            .param("fields", "summary")
+                            .param("include", "milestones")
+                            .with(user(user)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.content[0].pillars").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for unknown include section")
+        void shouldReturn400ForUnknownIncludeSection() throws Exception {
+            mockMvc.perform(get("/api/v1/goals/1")
+                            .param("include", "everything")
+                            .with(user(user)))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     @Nested
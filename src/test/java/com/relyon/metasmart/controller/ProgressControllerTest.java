@@ -19,6 +19,7 @@ import com.relyon.metasmart.config.CorsConfig;
 import com.relyon.metasmart.config.JwtService;
 import com.relyon.metasmart.config.RateLimitConfig;
 import com.relyon.metasmart.config.SecurityConfig;
+import com.relyon.metasmart.entity.history.dto.CursorPage;
 import com.relyon.metasmart.entity.progress.dto.*;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.exception.GlobalExceptionHandler;
@@ -123,6 +124,28 @@ class ProgressControllerTest {
                     .andExpect(jsonPath("$.content[0].id").value(1L));
         }
 
+        @Test
+        @DisplayName("Should get progress feed page with continuation cursor")
+        void shouldGetProgressFeed() throws Exception {
+            var page = CursorPage.<ProgressEntryResponse>builder()
+                    .content(List.of(progressResponse))
+                    .size(1)
+                    .hasNext(true)
+                    .nextCursor("next-token")
+                    .build();
+            when(progressService.getProgressFeed(eq(1L), any(User.class), eq("token"), eq(1)))
+                    .thenReturn(page);
+
+            mockMvc.perform(get("/api/v1/goals/1/progress/feed")
+                            .param("cursor", "token")
+                            .param("size", "1")
+                            .with(user(user)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].id").value(1L))
+                    .andExpect(jsonPath("$.hasNext").value(true))
+                    .andExpect(jsonPath("$.nextCursor").value("next-token"));
+        }
+
         @Test
         @DisplayName("Should update progress entry")
         void shouldUpdateProgressEntry() throws Exception {
@@ -3,6 +3,7 @@ package com.relyon.metasmart.controller;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -22,6 +23,7 @@ import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.exception.BadRequestException;
 import com.relyon.metasmart.exception.GlobalExceptionHandler;
 import com.relyon.metasmart.service.StripeService;
+import com.relyon.metasmart.service.WebhookInboxService;
 import com.stripe.model.Event;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -46,6 +48,9 @@ class StripeControllerTest {
     @MockitoBean
     private StripeService stripeService;
 
+    @MockitoBean
+    private WebhookInboxService webhookInboxService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -179,14 +184,14 @@ class StripeControllerTest {
     class WebhookTests {
 
         @Test
-        @DisplayName("Should handle valid webhook event")
-        void shouldHandleValidWebhookEvent() throws Exception {
+        @DisplayName("Should record valid webhook event in the inbox")
+        void shouldRecordValidWebhookEvent() throws Exception {
             var payload = "{\"type\":\"checkout.session.completed\"}";
             var sigHeader = "t=123,v1=abc";
 
             var event = mock(Event.class);
             when(stripeService.constructEvent(payload, sigHeader)).thenReturn(event);
-            doNothing().when(stripeService).handleWebhookEvent(event);
+            doNothing().when(webhookInboxService).record(event, payload);
 
             mockMvc.perform(post("/api/v1/payments/webhook")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -196,7 +201,8 @@ class StripeControllerTest {
                     .andExpect(content().string("Received"));
 
             verify(stripeService).constructEvent(payload, sigHeader);
-            verify(stripeService).handleWebhookEvent(event);
+            verify(webhookInboxService).record(event, payload);
+            verify(stripeService, never()).handleWebhookEvent(any());
         }
 
         @Test
@@ -0,0 +1,103 @@
+package com.relyon.metasmart.entity.activity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ActivityBitmapTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @DisplayName("Should add and remove days")
+    void shouldAddAndRemoveDays() {
+        var bitmap = ActivityBitmap.empty();
+
+        assertThat(bitmap.set(DAY)).isTrue();
+        assertThat(bitmap.set(DAY)).isFalse();
+        assertThat(bitmap.contains(DAY)).isTrue();
+        assertThat(bitmap.contains(DAY.plusDays(1))).isFalse();
+
+        assertThat(bitmap.clear(DAY)).isTrue();
+        assertThat(bitmap.clear(DAY)).isFalse();
+        assertThat(bitmap.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow backwards and forwards across words")
+    void shouldGrowAcrossWords() {
+        var bitmap = ActivityBitmap.of(List.of(DAY));
+        bitmap.set(DAY.minusDays(400));
+        bitmap.set(DAY.plusDays(300));
+
+        assertThat(bitmap.getOriginEpochDay() % 64).isZero();
+        assertThat(bitmap.contains(DAY)).isTrue();
+        assertThat(bitmap.contains(DAY.minusDays(400))).isTrue();
+        assertThat(bitmap.contains(DAY.plusDays(300))).isTrue();
+        assertThat(bitmap.lastDay()).contains(DAY.plusDays(300));
+    }
+
+    @Test
+    @DisplayName("Should round trip through bytes")
+    void shouldRoundTripThroughBytes() {
+        var bitmap = ActivityBitmap.of(List.of(DAY, DAY.minusDays(70), DAY.plusDays(5)));
+
+        var restored = ActivityBitmap.of(bitmap.getOriginEpochDay(), bitmap.toBytes());
+
+        assertThat(restored.contains(DAY)).isTrue();
+        assertThat(restored.contains(DAY.minusDays(70))).isTrue();
+        assertThat(restored.contains(DAY.plusDays(5))).isTrue();
+        assertThat(restored.countInRange(DAY.minusDays(100), DAY.plusDays(100))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count days in an inclusive range")
+    void shouldCountDaysInRange() {
+        var bitmap = ActivityBitmap.of(List.of(DAY.minusDays(1), DAY, DAY.plusDays(1), DAY.plusDays(90)));
+
+        assertThat(bitmap.countInRange(DAY, DAY.plusDays(1))).isEqualTo(2);
+        assertThat(bitmap.countInRange(DAY.minusDays(365), DAY.plusDays(365))).isEqualTo(4);
+        assertThat(bitmap.countInRange(DAY.plusDays(2), DAY.plusDays(89))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should measure runs spanning word boundaries")
+    void shouldMeasureRuns() {
+        var bitmap = ActivityBitmap.empty();
+        for (var offset = 0; offset < 100; offset++) {
+            bitmap.set(DAY.minusDays(offset));
+        }
+        bitmap.set(DAY.minusDays(150));
+
+        assertThat(bitmap.runEndingAt(DAY)).isEqualTo(100);
+        assertThat(bitmap.runEndingAt(DAY.minusDays(10))).isEqualTo(90);
+        assertThat(bitmap.runEndingAt(DAY.plusDays(1))).isZero();
+        assertThat(bitmap.longestRun()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should find the latest day on or before a date")
+    void shouldFindLastDayOnOrBefore() {
+        var bitmap = ActivityBitmap.of(List.of(DAY.minusDays(200), DAY));
+
+        assertThat(bitmap.lastDayOnOrBefore(DAY.minusDays(1))).contains(DAY.minusDays(200));
+        assertThat(bitmap.lastDayOnOrBefore(DAY.plusDays(500))).contains(DAY);
+        assertThat(bitmap.lastDayOnOrBefore(DAY.minusDays(201))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should union bitmaps with different origins")
+    void shouldUnionBitmaps() {
+        var activity = ActivityBitmap.of(List.of(DAY, DAY.minusDays(2)));
+        var shields = ActivityBitmap.of(List.of(DAY.minusDays(1), DAY.minusDays(300)));
+
+        var union = activity.or(shields);
+
+        assertThat(union.runEndingAt(DAY)).isEqualTo(3);
+        assertThat(union.contains(DAY.minusDays(300))).isTrue();
+        assertThat(activity.contains(DAY.minusDays(1))).isFalse();
+    }
+}
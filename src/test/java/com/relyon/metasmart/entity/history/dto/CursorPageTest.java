@@ -0,0 +1,74 @@
+package com.relyon.metasmart.entity.history.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.exception.BadRequestException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CursorPageTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 9, 14, 30, 15, 123_456_000);
+
+    @Test
+    @DisplayName("Should round trip a cursor through its opaque token")
+    void shouldRoundTripCursor() {
+        var cursor = new HistoryCursor(CREATED_AT, 42L);
+
+        var token = cursor.encode();
+
+        assertThat(token).doesNotContain("2025").doesNotContain("|");
+        assertThat(HistoryCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should start from the newest row when no token is sent")
+    void shouldStartWithoutToken() {
+        assertThat(HistoryCursor.decode(null)).isEqualTo(HistoryCursor.START);
+        assertThat(HistoryCursor.decode(" ")).isEqualTo(HistoryCursor.START);
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token")
+    void shouldRejectTamperedToken() {
+        assertThatThrownBy(() -> HistoryCursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(ErrorMessages.INVALID_HISTORY_CURSOR);
+    }
+
+    @Test
+    @DisplayName("Should drop the look-ahead row and point the next cursor at the last row returned")
+    void shouldBuildPageWithNextCursor() {
+        var rows = List.of(3L, 2L, 1L);
+
+        var page = CursorPage.of(rows, 2, id -> new HistoryCursor(CREATED_AT, id), Function.identity());
+
+        assertThat(page.getContent()).containsExactly(3L, 2L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(HistoryCursor.decode(page.getNextCursor())).isEqualTo(new HistoryCursor(CREATED_AT, 2L));
+    }
+
+    @Test
+    @DisplayName("Should end the feed when no look-ahead row came back")
+    void shouldBuildLastPage() {
+        var page = CursorPage.of(List.of(1L), 2, id -> new HistoryCursor(CREATED_AT, id), Function.identity());
+
+        assertThat(page.getContent()).containsExactly(1L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should default and bound the requested page size")
+    void shouldResolveSize() {
+        assertThat(CursorPage.resolveSize(null)).isEqualTo(20);
+        assertThat(CursorPage.resolveSize(0)).isEqualTo(1);
+        assertThat(CursorPage.resolveSize(500)).isEqualTo(100);
+        assertThat(CursorPage.resolveSize(30)).isEqualTo(30);
+    }
+}
@@ -0,0 +1,251 @@
+package com.relyon.metasmart.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.relyon.metasmart.entity.actionplan.ActionItem;
+import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import com.relyon.metasmart.entity.actionplan.TaskCompletion;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
+import com.relyon.metasmart.entity.progress.ProgressEntry;
+import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import lombok.Value;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Guards the per-day activity lookups against the production schema: the SQL Hibernate generates for
+ * each repository call must filter on the leading columns of a composite index that the Flyway
+ * migrations leave in place, so Postgres can answer it from that index rather than a scan of all of a
+ * goal's, action item's or user's rows. The test database is built from the entities, so its own
+ * indexes and plans say nothing about the migrated schema.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.relyon.metasmart.repository.ActivityQueryIndexTest$RecordingStatementInspector")
+@ActiveProfiles("test")
+@Transactional
+class ActivityQueryIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 9);
+    private static final Pattern INDEX_DDL = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?(?<created>\\w+)\\s+ON\\s+(?<table>\\w+)\\s*\\((?<columns>[^)]*)\\)"
+                    + "|DROP\\s+INDEX\\s+(?:IF\\s+EXISTS\\s+)?(?<dropped>\\w+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Map<String, MigratedIndex> MIGRATED_INDEXES = readMigratedIndexes();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private ActionItemRepository actionItemRepository;
+
+    @Autowired
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Autowired
+    private TaskCompletionRepository taskCompletionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private Goal goal;
+    private ActionItem actionItem;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .name("Plan User")
+                .email("query-plan@test.com")
+                .password("encoded")
+                .build());
+        goal = goalRepository.save(Goal.builder()
+                .title("Read 50 books")
+                .goalCategory(GoalCategory.EDUCATION)
+                .targetValue(BigDecimal.valueOf(50))
+                .unit("books")
+                .startDate(DAY.minusYears(1))
+                .targetDate(DAY.plusYears(1))
+                .owner(owner)
+                .build());
+        actionItem = actionItemRepository.save(ActionItem.builder()
+                .goal(goal)
+                .title("Read 20 pages")
+                .build());
+
+        progressEntryRepository.saveAll(IntStream.range(0, 200)
+                .mapToObj(offset -> ProgressEntry.builder()
+                        .goal(goal)
+                        .progressValue(BigDecimal.ONE)
+                        .progressDate(DAY.minusDays(offset))
+                        .build())
+                .toList());
+        taskCompletionRepository.saveAll(IntStream.range(0, 200)
+                .mapToObj(offset -> TaskCompletion.builder()
+                        .actionItem(actionItem)
+                        .scheduledDate(DAY.minusDays(offset))
+                        .periodStart(DAY.minusDays(offset))
+                        .status(CompletionStatus.COMPLETED)
+                        .build())
+                .toList());
+        entityManager.flush();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("Should look up a goal's progress day through the goal and date index")
+    void shouldUseGoalDateIndexForProgressDay() {
+        assertThat(progressEntryRepository.hasGoalProgressOnDate(goal, DAY)).isTrue();
+
+        assertLastQueryUsesIndex("idx_progress_entries_goal_date", "progress_entries", "goal_id", "progress_date");
+    }
+
+    @Test
+    @DisplayName("Should read a goal's distinct progress days from the goal and date index")
+    void shouldUseGoalDateIndexForDistinctDays() {
+        assertThat(progressEntryRepository.findDistinctProgressDates(goal)).hasSize(200).startsWith(DAY);
+
+        assertLastQueryUsesIndex("idx_progress_entries_goal_date", "progress_entries", "goal_id");
+    }
+
+    @Test
+    @DisplayName("Should count an action item's completions in a range through the item, date and status index")
+    void shouldUseItemDateStatusIndexForCompletions() {
+        assertThat(taskCompletionRepository.countByActionItemAndScheduledDateBetween(actionItem, DAY.minusDays(6), DAY))
+                .isEqualTo(7);
+
+        assertLastQueryUsesIndex("idx_task_completions_item_date_status", "task_completions",
+                "action_item_id", "scheduled_date");
+    }
+
+    @Test
+    @DisplayName("Should read a user's progress days through the owner and date index")
+    void shouldUseOwnerDateIndexForUserProgressDays() {
+        assertThat(progressEntryRepository.findActiveDatesForUser(owner, DAY.minusDays(29), DAY)).hasSize(30);
+
+        assertLastQueryUsesIndex("idx_progress_entries_user_date", "progress_entries", "user_id", "progress_date");
+    }
+
+    @Test
+    @DisplayName("Should read a user's completion days through the owner and date index")
+    void shouldUseOwnerDateIndexForUserCompletionDays() {
+        assertThat(taskCompletionRepository.findActiveDatesForUser(
+                owner, List.of(CompletionStatus.COMPLETED), DAY.minusDays(29), DAY)).hasSize(30);
+
+        assertLastQueryUsesIndex("idx_task_completions_user_date", "task_completions", "user_id", "scheduled_date");
+    }
+
+    @Test
+    @DisplayName("Should walk a goal's progress feed by cursor without gaps or repeats")
+    void shouldSeekThroughProgressFeed() {
+        var first = progressEntryRepository.findHistoryFeed(
+                goal, HistoryCursor.START.getCreatedAt(), HistoryCursor.START.getId(), Limit.of(120));
+        var last = first.getLast();
+        var second = progressEntryRepository.findHistoryFeed(goal, last.getCreatedAt(), last.getId(), Limit.of(120));
+
+        assertThat(first).hasSize(120);
+        assertThat(second).hasSize(80);
+        assertThat(second).extracting(ProgressEntry::getId)
+                .doesNotContainAnyElementsOf(first.stream().map(ProgressEntry::getId).toList());
+    }
+
+    /**
+     * Asserts that the migrations leave {@code indexName} on {@code table} leading with {@code columns},
+     * and that the last statement Hibernate generated filters on each of them.
+     */
+    private static void assertLastQueryUsesIndex(String indexName, String table, String... columns) {
+        var index = MIGRATED_INDEXES.get(indexName);
+        assertThat(index).as("index %s after all migrations", indexName).isNotNull();
+        assertThat(index.getTable()).isEqualTo(table);
+        assertThat(index.getColumns()).startsWith(columns);
+
+        var sql = RecordingStatementInspector.STATEMENTS.getLast().toLowerCase(Locale.ROOT);
+        var where = sql.substring(sql.indexOf(" where "));
+        for (var column : columns) {
+            assertThat(where).as("filter of: %s", sql).containsPattern("\\." + column + "\\s*(=|<|>|between|in\\b)");
+        }
+    }
+
+    /**
+     * Indexes the Flyway migrations leave in place, replaying their CREATE and DROP INDEX statements in
+     * version order.
+     */
+    private static Map<String, MigratedIndex> readMigratedIndexes() {
+        try {
+            var migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+            Arrays.sort(migrations, Comparator.comparingInt(ActivityQueryIndexTest::versionOf));
+            var indexes = new HashMap<String, MigratedIndex>();
+            for (var migration : migrations) {
+                var matcher = INDEX_DDL.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    if (matcher.group("dropped") != null) {
+                        indexes.remove(matcher.group("dropped").toLowerCase(Locale.ROOT));
+                        continue;
+                    }
+                    var columns = Arrays.stream(matcher.group("columns").split(","))
+                            .map(column -> column.trim().split("\\s+")[0].toLowerCase(Locale.ROOT))
+                            .toList();
+                    indexes.put(matcher.group("created").toLowerCase(Locale.ROOT),
+                            new MigratedIndex(matcher.group("table").toLowerCase(Locale.ROOT), columns));
+                }
+            }
+            return indexes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int versionOf(Resource migration) {
+        var filename = Objects.requireNonNull(migration.getFilename());
+        return Integer.parseInt(filename.substring(1, filename.indexOf("__")));
+    }
+
+    @Value
+    private static class MigratedIndex {
+        String table;
+        List<String> columns;
+    }
+
+    /**
+     * Records the SQL Hibernate sends, so plans are taken of the queries the repositories really run.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
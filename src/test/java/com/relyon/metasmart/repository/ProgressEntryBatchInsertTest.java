@@ -0,0 +1,81 @@
+package com.relyon.metasmart.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.progress.ProgressEntry;
+import com.relyon.metasmart.entity.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ProgressEntryBatchInsertTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should insert a thousand progress entries in batched statements")
+    void shouldBatchProgressEntryInserts() {
+        var owner = userRepository.save(User.builder()
+                .name("Batch User")
+                .email("batch-insert@test.com")
+                .password("encoded")
+                .build());
+        var goal = goalRepository.save(Goal.builder()
+                .title("Run 1000 km")
+                .goalCategory(GoalCategory.HEALTH)
+                .targetValue(BigDecimal.valueOf(1000))
+                .unit("km")
+                .startDate(LocalDate.now())
+                .targetDate(LocalDate.now().plusMonths(6))
+                .owner(owner)
+                .build());
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var entries = IntStream.range(0, ENTRY_COUNT)
+                    .mapToObj(index -> ProgressEntry.builder()
+                            .goal(goal)
+                            .progressValue(BigDecimal.ONE)
+                            .build())
+                    .toList();
+            progressEntryRepository.saveAll(entries);
+            entityManager.flush();
+        });
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ENTRY_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ENTRY_COUNT / 10);
+    }
+}
@@ -0,0 +1,233 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.entity.activity.ActivityBitmap;
+import com.relyon.metasmart.entity.activity.ActivityCalendar;
+import com.relyon.metasmart.entity.activity.ActivityCalendarType;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.ActivityCalendarRepository;
+import com.relyon.metasmart.repository.DailyActivityRollupRepository;
+import com.relyon.metasmart.repository.DailyJournalRepository;
+import com.relyon.metasmart.repository.ProgressEntryRepository;
+import com.relyon.metasmart.repository.TaskCompletionRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityCalendarServiceTest {
+
+    @Mock
+    private ActivityCalendarRepository activityCalendarRepository;
+
+    @Mock
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Mock
+    private TaskCompletionRepository taskCompletionRepository;
+
+    @Mock
+    private DailyJournalRepository dailyJournalRepository;
+
+    @Mock
+    private DailyActivityRollupRepository dailyActivityRollupRepository;
+
+    @InjectMocks
+    private ActivityCalendarService activityCalendarService;
+
+    private LocalDate today;
+    private User user;
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        user = User.builder().id(1L).email("john@test.com").build();
+        goal = Goal.builder().id(1L).title("Run 5km").owner(user).build();
+    }
+
+    private ActivityCalendar storedCalendar(ActivityCalendarType calendarType, List<LocalDate> days) {
+        var calendar = ActivityCalendar.builder()
+                .id(1L)
+                .user(user)
+                .calendarType(calendarType)
+                .build();
+        calendar.setBitmap(ActivityBitmap.of(days));
+        return calendar;
+    }
+
+    @Nested
+    @DisplayName("Read tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should answer day checks from rollup")
+        void shouldAnswerDayChecksFromRollup() {
+            when(dailyActivityRollupRepository.hasRealActivity(1L, today)).thenReturn(true);
+            when(dailyActivityRollupRepository.hasRealActivity(1L, today.minusDays(1))).thenReturn(false);
+
+            assertThat(activityCalendarService.hasRealActivityOnDate(user, today)).isTrue();
+            assertThat(activityCalendarService.hasRealActivityOnDate(user, today.minusDays(1))).isFalse();
+            verifyNoInteractions(activityCalendarRepository, progressEntryRepository, taskCompletionRepository);
+        }
+
+        @Test
+        @DisplayName("Should build missing calendar from source without saving")
+        void shouldBuildMissingCalendarFromSource() {
+            when(activityCalendarRepository.findByUserAndGoalIsNullAndCalendarType(user, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.empty());
+            when(progressEntryRepository.findAllActiveDatesForUser(user)).thenReturn(List.of(today));
+            when(taskCompletionRepository.findAllActiveDatesForUser(user, ActivityCalendarService.REAL_ACTIVITY_STATUSES))
+                    .thenReturn(List.of(today.minusDays(1)));
+
+            var bitmap = activityCalendarService.getUserCalendar(user, ActivityCalendarType.ACTIVITY);
+
+            assertThat(bitmap.runEndingAt(today)).isEqualTo(2);
+            verify(activityCalendarRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should answer journal days from rollup")
+        void shouldAnswerJournalDays() {
+            when(dailyActivityRollupRepository.hasJournal(1L, today)).thenReturn(true);
+
+            assertThat(activityCalendarService.hasJournalOnDate(user, today)).isTrue();
+            verifyNoInteractions(dailyJournalRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Write tests")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Should mark goal and user calendars on progress")
+        void shouldMarkCalendarsOnProgress() {
+            var goalCalendar = storedCalendar(ActivityCalendarType.ACTIVITY, List.of());
+            var userCalendar = storedCalendar(ActivityCalendarType.ACTIVITY, List.of());
+            when(activityCalendarRepository.findGoalCalendarForUpdate(goal, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.of(goalCalendar));
+            when(activityCalendarRepository.findUserCalendarForUpdate(user, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.of(userCalendar));
+
+            activityCalendarService.onProgressRecorded(goal, today, 3);
+
+            verify(dailyActivityRollupRepository).addCounts(eq(1L), eq(today), eq(0), eq(3), any(LocalDateTime.class));
+            assertThat(goalCalendar.toBitmap().contains(today)).isTrue();
+            assertThat(userCalendar.toBitmap().contains(today)).isTrue();
+            verify(activityCalendarRepository).save(goalCalendar);
+            verify(activityCalendarRepository).save(userCalendar);
+        }
+
+        @Test
+        @DisplayName("Should not save when day already marked")
+        void shouldNotSaveWhenDayAlreadyMarked() {
+            when(activityCalendarRepository.findUserCalendarForUpdate(user, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.of(storedCalendar(ActivityCalendarType.ACTIVITY, List.of(today))));
+
+            activityCalendarService.onTaskCompleted(user, today);
+
+            verify(dailyActivityRollupRepository).addCounts(eq(1L), eq(today), eq(1), eq(0), any(LocalDateTime.class));
+            verify(activityCalendarRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should insert newly built calendar on first write and mark the locked row")
+        void shouldStoreNewCalendarOnFirstWrite() {
+            var stored = storedCalendar(ActivityCalendarType.SHIELD, List.of(today.minusDays(3)));
+            when(activityCalendarRepository.findUserCalendarForUpdate(user, ActivityCalendarType.SHIELD))
+                    .thenReturn(Optional.empty(), Optional.of(stored));
+            when(dailyJournalRepository.findShieldDatesByUser(user)).thenReturn(List.of(today.minusDays(3)));
+            when(activityCalendarRepository.insertUserCalendarIfMissing(eq(1L), eq("SHIELD"), anyLong(), any(byte[].class),
+                    any(LocalDateTime.class))).thenReturn(1);
+
+            activityCalendarService.onShieldUsed(user, today);
+
+            verify(dailyActivityRollupRepository).markShieldUsed(eq(1L), eq(today), any(LocalDateTime.class));
+            verify(dailyActivityRollupRepository, never()).setJournal(anyLong(), any(), anyBoolean(), anyBoolean(), any());
+
+            var bitsCaptor = ArgumentCaptor.forClass(byte[].class);
+            var originCaptor = ArgumentCaptor.forClass(Long.class);
+            verify(activityCalendarRepository).insertUserCalendarIfMissing(eq(1L), eq("SHIELD"), originCaptor.capture(),
+                    bitsCaptor.capture(), any(LocalDateTime.class));
+            assertThat(ActivityBitmap.of(originCaptor.getValue(), bitsCaptor.getValue()).contains(today.minusDays(3))).isTrue();
+
+            verify(activityCalendarRepository).save(stored);
+            assertThat(stored.toBitmap().contains(today)).isTrue();
+            assertThat(stored.toBitmap().contains(today.minusDays(3))).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should mark the calendar a concurrent first write inserted")
+        void shouldMarkConcurrentlyInsertedCalendar() {
+            var goalCalendar = storedCalendar(ActivityCalendarType.ACTIVITY, List.of(today.minusDays(1)));
+            when(activityCalendarRepository.findGoalCalendarForUpdate(goal, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.empty(), Optional.of(goalCalendar));
+            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(List.of());
+            when(activityCalendarRepository.insertGoalCalendarIfMissing(eq(1L), eq(goal.getId()), eq("ACTIVITY"), anyLong(),
+                    any(byte[].class), any(LocalDateTime.class))).thenReturn(0);
+            when(activityCalendarRepository.findUserCalendarForUpdate(user, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.of(storedCalendar(ActivityCalendarType.ACTIVITY, List.of(today))));
+
+            activityCalendarService.onProgressRecorded(goal, today);
+
+            assertThat(goalCalendar.toBitmap().contains(today)).isTrue();
+            assertThat(goalCalendar.toBitmap().contains(today.minusDays(1))).isTrue();
+            verify(activityCalendarRepository).save(goalCalendar);
+        }
+
+        @Test
+        @DisplayName("Should keep day marked when other activity remains")
+        void shouldKeepDayWhenOtherActivityRemains() {
+            when(dailyActivityRollupRepository.addCounts(eq(1L), eq(today), eq(-1), eq(0), any(LocalDateTime.class)))
+                    .thenReturn(2);
+
+            activityCalendarService.onTaskCompletionRemoved(user, today);
+
+            verify(activityCalendarRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should clear day when last activity removed")
+        void shouldClearDayWhenLastActivityRemoved() {
+            var userCalendar = storedCalendar(ActivityCalendarType.ACTIVITY, List.of(today));
+            when(dailyActivityRollupRepository.addCounts(eq(1L), eq(today), eq(-1), eq(0), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            when(activityCalendarRepository.findUserCalendarForUpdate(user, ActivityCalendarType.ACTIVITY))
+                    .thenReturn(Optional.of(userCalendar));
+
+            activityCalendarService.onTaskCompletionRemoved(user, today);
+
+            assertThat(userCalendar.toBitmap().contains(today)).isFalse();
+            verify(activityCalendarRepository).save(userCalendar);
+        }
+
+        @Test
+        @DisplayName("Should drop activity calendars and recount rollup on goal deletion")
+        void shouldDropCalendarsOnGoalDeletion() {
+            activityCalendarService.onGoalDeleted(goal);
+
+            verify(activityCalendarRepository).deleteByGoal(goal);
+            verify(activityCalendarRepository).deleteByUserAndGoalIsNullAndCalendarType(user, ActivityCalendarType.ACTIVITY);
+            verify(dailyActivityRollupRepository).resetCounts(1L);
+            verify(dailyActivityRollupRepository).recountActivity(eq(1L), any(LocalDateTime.class));
+        }
+    }
+}
@@ -1,28 +1,40 @@
 package com.relyon.metasmart.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.relyon.metasmart.entity.actionplan.ActionItem;
+import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.actionplan.CompletionStatus;
 import com.relyon.metasmart.entity.actionplan.TaskCompletion;
+import com.relyon.metasmart.entity.activity.DailyActivityRollup;
 import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.history.dto.DailyActivityResponse;
+import com.relyon.metasmart.entity.history.dto.JournalHistoryRow;
+import com.relyon.metasmart.entity.history.dto.ProgressEntryHistoryRow;
+import com.relyon.metasmart.entity.history.dto.TaskCompletionHistoryRow;
 import com.relyon.metasmart.entity.journal.DailyJournal;
 import com.relyon.metasmart.entity.journal.Mood;
 import com.relyon.metasmart.entity.progress.ProgressEntry;
 import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.BadRequestException;
 import com.relyon.metasmart.repository.DailyJournalRepository;
 import com.relyon.metasmart.repository.ProgressEntryRepository;
 import com.relyon.metasmart.repository.TaskCompletionRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -44,6 +56,9 @@ class ActivityHistoryServiceTest {
     @Mock
     private DailyJournalRepository dailyJournalRepository;
 
+    @Mock
+    private ActivityCalendarService activityCalendarService;
+
     @InjectMocks
     private ActivityHistoryService activityHistoryService;
 
@@ -117,7 +132,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, startDate, endDate))
                     .thenReturn(List.of(taskCompletion));
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(List.of(progressEntry));
             when(dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(user, startDate, endDate))
                     .thenReturn(List.of(journal));
@@ -140,7 +155,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, today, today))
                     .thenReturn(List.of(taskCompletion));
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(user, today, today))
                     .thenReturn(Collections.emptyList());
@@ -160,7 +175,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, today, today))
                     .thenReturn(Collections.emptyList());
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(user, today, today))
                     .thenReturn(List.of(journal));
@@ -181,7 +196,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, today, today))
                     .thenReturn(Collections.emptyList());
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(user, today, today))
                     .thenReturn(List.of(journal));
@@ -199,7 +214,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, today, today))
                     .thenReturn(Collections.emptyList());
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(user, today, today))
                     .thenReturn(Collections.emptyList());
@@ -222,7 +237,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, startDate, endDate))
                     .thenReturn(List.of(taskCompletion));
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDateBetweenOrderByJournalDateDesc(user, startDate, endDate))
                     .thenReturn(List.of(journal));
@@ -234,6 +249,90 @@ class ActivityHistoryServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Stream activity history tests")
+    class StreamActivityHistoryTests {
+
+        @Test
+        @DisplayName("Should merge cursors into active days newest first")
+        void shouldMergeCursorsIntoActiveDays() {
+            var today = LocalDate.now();
+            var startDate = today.minusDays(10);
+
+            when(taskCompletionRepository.streamHistoryRows(user, startDate, today)).thenReturn(Stream.of(
+                    new TaskCompletionHistoryRow(today, 1L, 2L, "Study", 3L, "Learn", CompletionStatus.COMPLETED, null, today.atTime(9, 0)),
+                    new TaskCompletionHistoryRow(today.minusDays(5), 4L, 2L, "Study", 3L, "Learn", CompletionStatus.COMPLETED, null, null)));
+            when(progressEntryRepository.streamHistoryRows(eq(user), any(LocalDate.class), any(LocalDate.class)))
+                    .thenReturn(Stream.of(new ProgressEntryHistoryRow(
+                            5L, 3L, "Learn", BigDecimal.valueOf(5), "hours", BigDecimal.valueOf(20), null, today.atTime(10, 0))));
+            when(dailyJournalRepository.streamHistoryRows(user, startDate, today)).thenReturn(Stream.of(
+                    new JournalHistoryRow(today.minusDays(2), 6L, "Rest day", Mood.OKAY, true, today.minusDays(2).atTime(20, 0))));
+
+            var days = new ArrayList<DailyActivityResponse>();
+            activityHistoryService.streamActivityHistory(user, startDate, today, days::add);
+
+            assertThat(days).extracting(DailyActivityResponse::getDate)
+                    .containsExactly(today, today.minusDays(2), today.minusDays(5));
+            assertThat(days.get(0).getTaskCompletions()).hasSize(1);
+            assertThat(days.get(0).getProgressEntries().getFirst().getPercentageOfGoal()).isEqualByComparingTo("25");
+            assertThat(days.get(1).isHasRealActivity()).isFalse();
+            assertThat(days.get(1).isProtectedByShield()).isTrue();
+            assertThat(days.get(2).getTaskCompletions().getFirst().getId()).isEqualTo(4L);
+        }
+
+        @Test
+        @DisplayName("Should reject a range that ends before it starts")
+        void shouldRejectInvertedRange() {
+            var today = LocalDate.now();
+
+            assertThatThrownBy(() -> activityHistoryService.streamActivityHistory(user, today, today.minusDays(1), day -> { }))
+                    .isInstanceOf(BadRequestException.class);
+            verify(taskCompletionRepository, never()).streamHistoryRows(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Year heatmap tests")
+    class YearHeatmapTests {
+
+        @Test
+        @DisplayName("Should build heatmap from rollup rows of the year")
+        void shouldBuildHeatmapFromRollup() {
+            var journalOnly = DailyActivityRollup.builder()
+                    .userId(1L)
+                    .activityDate(LocalDate.of(2025, 1, 5))
+                    .journal(true)
+                    .shieldUsed(true)
+                    .build();
+            var active = DailyActivityRollup.builder()
+                    .userId(1L)
+                    .activityDate(LocalDate.of(2025, 3, 9))
+                    .taskCompletions(2)
+                    .progressEntries(1)
+                    .build();
+            when(activityCalendarService.getActiveDays(user, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)))
+                    .thenReturn(List.of(journalOnly, active));
+
+            var response = activityHistoryService.getYearHeatmap(user, 2025);
+
+            assertThat(response.getYear()).isEqualTo(2025);
+            assertThat(response.getActiveDays()).isEqualTo(2);
+            assertThat(response.getRealActiveDays()).isEqualTo(1);
+            assertThat(response.getDays().get(0).isShieldUsed()).isTrue();
+            assertThat(response.getDays().get(1).getTaskCompletions()).isEqualTo(2);
+            verifyNoInteractions(taskCompletionRepository, progressEntryRepository, dailyJournalRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a year outside the supported range")
+        void shouldRejectYearOutOfRange() {
+            assertThatThrownBy(() -> activityHistoryService.getYearHeatmap(user, 1_000_000_000))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage(ErrorMessages.INVALID_HEATMAP_YEAR);
+            verifyNoInteractions(activityCalendarService);
+        }
+    }
+
     @Nested
     @DisplayName("Get daily activity tests")
     class GetDailyActivityTests {
@@ -245,7 +344,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, date, date))
                     .thenReturn(List.of(taskCompletion));
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(List.of(progressEntry));
             when(dailyJournalRepository.findByUserAndJournalDate(user, date))
                     .thenReturn(Optional.of(journal));
@@ -267,7 +366,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, date, date))
                     .thenReturn(List.of(taskCompletion));
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDate(user, date))
                     .thenReturn(Optional.empty());
@@ -290,7 +389,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, date, date))
                     .thenReturn(Collections.emptyList());
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(List.of(progressEntry));
             when(dailyJournalRepository.findByUserAndJournalDate(user, date))
                     .thenReturn(Optional.empty());
@@ -312,7 +411,7 @@ class ActivityHistoryServiceTest {
 
             when(taskCompletionRepository.findByUserAndDateRange(user, date, date))
                     .thenReturn(Collections.emptyList());
-            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDateTime.class), any(LocalDateTime.class)))
+            when(progressEntryRepository.findByUserAndDateRange(eq(user), any(LocalDate.class), any(LocalDate.class)))
                     .thenReturn(Collections.emptyList());
             when(dailyJournalRepository.findByUserAndJournalDate(user, date))
                     .thenReturn(Optional.of(journal));
@@ -332,22 +431,10 @@ class ActivityHistoryServiceTest {
     class HasRealActivityOnDateTests {
 
         @Test
-        @DisplayName("Should return true when task completion exists")
-        void shouldReturnTrueWhenTaskCompletionExists() {
-            var date = LocalDate.now();
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(date))).thenReturn(true);
-
-            var hasActivity = activityHistoryService.hasRealActivityOnDate(user, date);
-
-            assertThat(hasActivity).isTrue();
-        }
-
-        @Test
-        @DisplayName("Should return true when progress entry exists")
-        void shouldReturnTrueWhenProgressEntryExists() {
+        @DisplayName("Should return true when activity calendar has the day")
+        void shouldReturnTrueWhenCalendarHasDay() {
             var date = LocalDate.now();
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(date))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, date)).thenReturn(true);
+            when(activityCalendarService.hasRealActivityOnDate(user, date)).thenReturn(true);
 
             var hasActivity = activityHistoryService.hasRealActivityOnDate(user, date);
 
@@ -358,12 +445,12 @@ class ActivityHistoryServiceTest {
         @DisplayName("Should return false when no real activity exists")
         void shouldReturnFalseWhenNoRealActivityExists() {
             var date = LocalDate.now();
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(date))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, date)).thenReturn(false);
+            when(activityCalendarService.hasRealActivityOnDate(user, date)).thenReturn(false);
 
             var hasActivity = activityHistoryService.hasRealActivityOnDate(user, date);
 
             assertThat(hasActivity).isFalse();
+            verifyNoInteractions(taskCompletionRepository, progressEntryRepository);
         }
     }
 
@@ -375,7 +462,7 @@ class ActivityHistoryServiceTest {
         @DisplayName("Should return true when journal exists")
         void shouldReturnTrueWhenJournalExists() {
             var date = LocalDate.now();
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, date)).thenReturn(true);
+            when(activityCalendarService.hasJournalOnDate(user, date)).thenReturn(true);
 
             var hasJournal = activityHistoryService.hasJournalOnDate(user, date);
 
@@ -386,7 +473,7 @@ class ActivityHistoryServiceTest {
         @DisplayName("Should return false when journal does not exist")
         void shouldReturnFalseWhenJournalDoesNotExist() {
             var date = LocalDate.now();
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, date)).thenReturn(false);
+            when(activityCalendarService.hasJournalOnDate(user, date)).thenReturn(false);
 
             var hasJournal = activityHistoryService.hasJournalOnDate(user, date);
 
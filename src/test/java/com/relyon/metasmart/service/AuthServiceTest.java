@@ -58,6 +58,9 @@ class AuthServiceTest {
     @Mock
     private SubscriptionService subscriptionService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private AuthService authService;
 
@@ -244,6 +247,7 @@ class AuthServiceTest {
             authService.resetPassword(request);
 
             verify(userRepository).save(user);
+            verify(principalCache).invalidate(user.getEmail());
             verify(passwordResetTokenRepository).save(resetToken);
             assertThat(resetToken.getUsed()).isTrue();
         }
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.entity.history.dto.HistoryCursor;
 import com.relyon.metasmart.entity.journal.DailyJournal;
 import com.relyon.metasmart.entity.journal.Mood;
 import com.relyon.metasmart.entity.journal.dto.DailyJournalRequest;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -44,6 +46,9 @@ class DailyJournalServiceTest {
     @Mock
     private UserStreakService userStreakService;
 
+    @Mock
+    private ActivityCalendarService activityCalendarService;
+
     @InjectMocks
     private DailyJournalService dailyJournalService;
 
@@ -105,6 +110,7 @@ class DailyJournalServiceTest {
             assertThat(response.getContent()).isEqualTo("Today was productive");
             assertThat(response.getMood()).isEqualTo(Mood.GOOD);
             verify(userStreakService).checkAndAwardJournalShield(user, journalRequest.getJournalDate());
+            verify(activityCalendarService).onJournalWritten(user, journal.getJournalDate());
         }
 
         @Test
@@ -221,6 +227,38 @@ class DailyJournalServiceTest {
             assertThat(response).hasSize(1);
             assertThat(response.get(0).getId()).isEqualTo(1L);
         }
+
+        @Test
+        @DisplayName("Should read the first feed page from the newest entry")
+        void shouldGetFirstJournalFeedPage() {
+            journal.setCreatedAt(LocalDateTime.of(2025, 3, 9, 21, 0));
+            when(dailyJournalRepository.findHistoryFeed(user, HistoryCursor.START.getCreatedAt(),
+                    HistoryCursor.START.getId(), Limit.of(3)))
+                    .thenReturn(List.of(journal, journal, journal));
+            when(dailyJournalMapper.toResponse(journal)).thenReturn(journalResponse);
+
+            var response = dailyJournalService.getJournalFeed(user, null, 2);
+
+            assertThat(response.getContent()).hasSize(2);
+            assertThat(response.isHasNext()).isTrue();
+            assertThat(HistoryCursor.decode(response.getNextCursor()))
+                    .isEqualTo(new HistoryCursor(journal.getCreatedAt(), journal.getId()));
+        }
+
+        @Test
+        @DisplayName("Should seek past the cursor for later feed pages")
+        void shouldSeekPastCursor() {
+            var cursor = new HistoryCursor(LocalDateTime.of(2025, 3, 9, 21, 0), 7L);
+            when(dailyJournalRepository.findHistoryFeed(user, cursor.getCreatedAt(), cursor.getId(), Limit.of(21)))
+                    .thenReturn(List.of(journal));
+            when(dailyJournalMapper.toResponse(journal)).thenReturn(journalResponse);
+
+            var response = dailyJournalService.getJournalFeed(user, cursor.encode(), null);
+
+            assertThat(response.getContent()).hasSize(1);
+            assertThat(response.isHasNext()).isFalse();
+            assertThat(response.getNextCursor()).isNull();
+        }
     }
 
     @Nested
@@ -287,6 +325,7 @@ class DailyJournalServiceTest {
             dailyJournalService.deleteJournalEntry(1L, user);
 
             verify(dailyJournalRepository).delete(journal);
+            verify(activityCalendarService).onJournalRemoved(user, journal.getJournalDate());
         }
 
         @Test
@@ -336,6 +375,7 @@ class DailyJournalServiceTest {
             dailyJournalService.markShieldUsed(user, date);
 
             verify(dailyJournalRepository).save(argThat(j -> Boolean.TRUE.equals(j.getShieldUsed())));
+            verify(activityCalendarService).onShieldUsed(user, date);
         }
 
         @Test
@@ -3,19 +3,25 @@ package com.relyon.metasmart.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
+import com.relyon.metasmart.entity.dashboard.DashboardSnapshot;
+import com.relyon.metasmart.entity.dashboard.dto.StreakAtRiskDto;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalStatusCategoryCount;
+import com.relyon.metasmart.entity.goal.dto.GoalStreakStats;
 import com.relyon.metasmart.entity.reflection.dto.PendingReflectionResponse;
 import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.DashboardSnapshotRepository;
 import com.relyon.metasmart.repository.GoalRepository;
-import com.relyon.metasmart.repository.ProgressEntryRepository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,8 +30,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardServiceTest {
@@ -34,7 +38,7 @@ class DashboardServiceTest {
     private GoalRepository goalRepository;
 
     @Mock
-    private ProgressEntryRepository progressEntryRepository;
+    private GoalStreakService goalStreakService;
 
     @Mock
     private ReflectionService reflectionService;
@@ -42,6 +46,9 @@ class DashboardServiceTest {
     @Mock
     private GuardianNudgeService guardianNudgeService;
 
+    @Mock
+    private DashboardSnapshotRepository dashboardSnapshotRepository;
+
     @InjectMocks
     private DashboardService dashboardService;
 
@@ -68,15 +75,76 @@ class DashboardServiceTest {
                 .build();
     }
 
+    private GoalStatusCategoryCount countRow(GoalStatus status, GoalCategory category, long count) {
+        return new GoalStatusCategoryCount(status, category, count);
+    }
+
+    private List<GoalStatusCategoryCount> statusCounts(long active, long completed) {
+        return List.of(
+                countRow(GoalStatus.ACTIVE, GoalCategory.HEALTH, active),
+                countRow(GoalStatus.COMPLETED, GoalCategory.HEALTH, completed));
+    }
+
+    private DashboardSnapshot stalePlaceholder() {
+        return DashboardSnapshot.builder()
+                .userId(1L)
+                .snapshotDate(LocalDate.now())
+                .refreshedAt(LocalDateTime.now())
+                .stale(true)
+                .build();
+    }
+
     @Nested
     @DisplayName("Get dashboard tests")
     class GetDashboardTests {
 
+        @BeforeEach
+        void setUp() {
+            // No row on the first read; the second read returns the stale placeholder the upsert created
+            lenient().when(dashboardSnapshotRepository.findById(1L))
+                    .thenReturn(Optional.empty(), Optional.of(stalePlaceholder()));
+        }
+
+        @Test
+        @DisplayName("Should create the snapshot row with an upsert on first read")
+        void shouldUpsertSnapshotOnFirstRead() {
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(1L, 0L));
+            when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
+            when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
+            when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
+                    .thenReturn(Collections.emptyList());
+
+            var result = dashboardService.getDashboard(user);
+
+            assertThat(result.getActiveGoalsCount()).isEqualTo(1);
+            verify(dashboardSnapshotRepository).insertStaleIfMissing(eq(1L), eq(LocalDate.now()), any(LocalDateTime.class));
+            verify(dashboardSnapshotRepository).save(any(DashboardSnapshot.class));
+        }
+
+        @Test
+        @DisplayName("Should reuse the row a concurrent first read inserted")
+        void shouldReuseConcurrentlyInsertedSnapshot() {
+            var inserted = DashboardSnapshot.builder()
+                    .userId(1L)
+                    .activeGoalsCount(2L)
+                    .snapshotDate(LocalDate.now())
+                    .refreshedAt(LocalDateTime.now())
+                    .build();
+            when(dashboardSnapshotRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(inserted));
+            when(dashboardSnapshotRepository.insertStaleIfMissing(eq(1L), eq(LocalDate.now()), any(LocalDateTime.class)))
+                    .thenReturn(0);
+
+            var result = dashboardService.getDashboard(user);
+
+            assertThat(result.getActiveGoalsCount()).isEqualTo(2);
+            verifyNoInteractions(goalRepository, reflectionService, guardianNudgeService);
+            verify(dashboardSnapshotRepository, never()).save(any());
+        }
+
         @Test
         @DisplayName("Should get dashboard with all counts")
         void shouldGetDashboardWithAllCounts() {
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(3L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(2L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(3L, 2L));
             when(reflectionService.getPendingReflections(user)).thenReturn(List.of(
                     PendingReflectionResponse.builder().goalId(1L).build()
             ));
@@ -96,8 +164,7 @@ class DashboardServiceTest {
         @Test
         @DisplayName("Should get dashboard with zero counts")
         void shouldGetDashboardWithZeroCounts() {
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(0L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(0L, 0L));
             when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
             when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
             when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
@@ -118,21 +185,92 @@ class DashboardServiceTest {
                     .id(1L)
                     .title("Daily Run")
                     .goalStatus(GoalStatus.ACTIVE)
+                    .streak(2)
+                    .lastProgressDate(LocalDate.now().minusDays(1))
                     .build();
 
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(1L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(0L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(1L, 0L));
             when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
             when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
             when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
                     .thenReturn(List.of(goalWithStreak));
-            when(progressEntryRepository.findDistinctProgressDates(goalWithStreak))
-                    .thenReturn(List.of(LocalDate.now().minusDays(1), LocalDate.now().minusDays(2)));
+            when(goalStreakService.getCurrentStreak(eq(goalWithStreak), any(LocalDate.class))).thenReturn(2);
 
             var result = dashboardService.getDashboard(user);
 
             assertThat(result.getStreaksAtRisk()).hasSize(1);
             assertThat(result.getStreaksAtRisk().get(0).getGoalTitle()).isEqualTo("Daily Run");
+            assertThat(result.getStreaksAtRisk().get(0).getCurrentStreak()).isEqualTo(2);
+            assertThat(result.getStreaksAtRisk().get(0).getDaysWithoutProgress()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should serve fresh snapshot without counting")
+        void shouldServeFreshSnapshot() {
+            var snapshot = DashboardSnapshot.builder()
+                    .userId(1L)
+                    .activeGoalsCount(4L)
+                    .completedGoalsCount(1L)
+                    .unreadNudgesCount(2L)
+                    .streaksAtRisk(List.of(StreakAtRiskDto.builder().goalId(1L).goalTitle("Run 5K").build()))
+                    .snapshotDate(LocalDate.now())
+                    .refreshedAt(LocalDateTime.now())
+                    .build();
+            when(dashboardSnapshotRepository.findById(1L)).thenReturn(Optional.of(snapshot));
+
+            var result = dashboardService.getDashboard(user);
+
+            assertThat(result.getActiveGoalsCount()).isEqualTo(4);
+            assertThat(result.getUnreadNudgesCount()).isEqualTo(2);
+            assertThat(result.getStreaksAtRisk()).hasSize(1);
+            assertThat(result.getStreakShieldsAvailable()).isEqualTo(2);
+            verifyNoInteractions(goalRepository, reflectionService, guardianNudgeService);
+            verify(dashboardSnapshotRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should rebuild stale snapshot")
+        void shouldRebuildStaleSnapshot() {
+            var snapshot = DashboardSnapshot.builder()
+                    .userId(1L)
+                    .activeGoalsCount(4L)
+                    .snapshotDate(LocalDate.now())
+                    .refreshedAt(LocalDateTime.now())
+                    .stale(true)
+                    .build();
+            when(dashboardSnapshotRepository.findById(1L)).thenReturn(Optional.of(snapshot));
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(3L, 0L));
+            when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
+            when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
+            when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
+                    .thenReturn(Collections.emptyList());
+
+            var result = dashboardService.getDashboard(user);
+
+            assertThat(result.getActiveGoalsCount()).isEqualTo(3);
+            assertThat(snapshot.getStale()).isFalse();
+            verify(dashboardSnapshotRepository).save(snapshot);
+        }
+
+        @Test
+        @DisplayName("Should rebuild snapshot from a previous day")
+        void shouldRebuildSnapshotFromPreviousDay() {
+            var snapshot = DashboardSnapshot.builder()
+                    .userId(1L)
+                    .snapshotDate(LocalDate.now().minusDays(1))
+                    .refreshedAt(LocalDateTime.now())
+                    .build();
+            when(dashboardSnapshotRepository.findById(1L)).thenReturn(Optional.of(snapshot));
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of());
+            when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
+            when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
+            when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
+                    .thenReturn(Collections.emptyList());
+
+            dashboardService.getDashboard(user);
+
+            assertThat(snapshot.getSnapshotDate()).isEqualTo(LocalDate.now());
+            verify(dashboardSnapshotRepository).save(snapshot);
         }
     }
 
@@ -140,17 +278,21 @@ class DashboardServiceTest {
     @DisplayName("Get goal stats tests")
     class GetGoalStatsTests {
 
+        private void stubNoStreaks() {
+            when(goalStreakService.getStreakStats(eq(user), any(LocalDate.class)))
+                    .thenReturn(new GoalStreakStats(0, 0));
+        }
+
         @Test
         @DisplayName("Should get goal stats with completion rate")
         void shouldGetGoalStatsWithCompletionRate() {
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(user)).thenReturn(10L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(5L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(3L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.PAUSED)).thenReturn(1L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ABANDONED)).thenReturn(1L);
-            when(goalRepository.findByOwnerAndArchivedAtIsNull(eq(user), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(List.of(activeGoal)));
-            when(progressEntryRepository.findDistinctProgressDates(any())).thenReturn(Collections.emptyList());
+            stubNoStreaks();
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of(
+                    countRow(GoalStatus.ACTIVE, GoalCategory.HEALTH, 3L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.FINANCE, 2L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.HEALTH, 3L),
+                    countRow(GoalStatus.PAUSED, GoalCategory.CAREER, 1L),
+                    countRow(GoalStatus.ABANDONED, GoalCategory.OTHER, 1L)));
 
             var result = dashboardService.getGoalStats(user);
 
@@ -160,18 +302,14 @@ class DashboardServiceTest {
             assertThat(result.getPausedGoals()).isEqualTo(1);
             assertThat(result.getAbandonedGoals()).isEqualTo(1);
             assertThat(result.getCompletionRate()).isEqualByComparingTo(BigDecimal.valueOf(30.00));
+            verify(goalRepository, never()).findByOwnerAndArchivedAtIsNull(any(), any());
         }
 
         @Test
         @DisplayName("Should handle zero total goals")
         void shouldHandleZeroTotalGoals() {
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(user)).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.PAUSED)).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ABANDONED)).thenReturn(0L);
-            when(goalRepository.findByOwnerAndArchivedAtIsNull(eq(user), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(Collections.emptyList()));
+            stubNoStreaks();
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of());
 
             var result = dashboardService.getGoalStats(user);
 
@@ -183,45 +321,31 @@ class DashboardServiceTest {
         @Test
         @DisplayName("Should calculate goals by category")
         void shouldCalculateGoalsByCategory() {
-            var healthGoal = Goal.builder().id(1L).goalCategory(GoalCategory.HEALTH).goalStatus(GoalStatus.ACTIVE).build();
-            var financeGoal = Goal.builder().id(2L).goalCategory(GoalCategory.FINANCE).goalStatus(GoalStatus.ACTIVE).build();
-
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(user)).thenReturn(2L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(any(), any())).thenReturn(0L);
-            when(goalRepository.findByOwnerAndArchivedAtIsNull(eq(user), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(List.of(healthGoal, financeGoal)));
-            when(progressEntryRepository.findDistinctProgressDates(any())).thenReturn(Collections.emptyList());
+            stubNoStreaks();
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of(
+                    countRow(GoalStatus.ACTIVE, GoalCategory.HEALTH, 1L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.HEALTH, 2L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.FINANCE, 1L)));
 
             var result = dashboardService.getGoalStats(user);
 
-            assertThat(result.getGoalsByCategory()).containsEntry("HEALTH", 1L);
-            assertThat(result.getGoalsByCategory()).containsEntry("FINANCE", 1L);
+            assertThat(result.getGoalsByCategory())
+                    .containsEntry("HEALTH", 3L)
+                    .containsEntry("FINANCE", 1L)
+                    .doesNotContainKey("CAREER");
         }
 
         @Test
         @DisplayName("Should calculate best streaks")
         void shouldCalculateBestStreaks() {
-            var goalWithStreak = Goal.builder()
-                    .id(1L)
-                    .goalCategory(GoalCategory.HEALTH)
-                    .goalStatus(GoalStatus.ACTIVE)
-                    .build();
-
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(user)).thenReturn(1L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(any(), any())).thenReturn(0L);
-            when(goalRepository.findByOwnerAndArchivedAtIsNull(eq(user), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(List.of(goalWithStreak)));
-            when(progressEntryRepository.findDistinctProgressDates(goalWithStreak))
-                    .thenReturn(List.of(
-                            LocalDate.now(),
-                            LocalDate.now().minusDays(1),
-                            LocalDate.now().minusDays(2)
-                    ));
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of());
+            when(goalStreakService.getStreakStats(eq(user), any(LocalDate.class)))
+                    .thenReturn(new GoalStreakStats(5, 3));
 
             var result = dashboardService.getGoalStats(user);
 
-            assertThat(result.getCurrentBestStreak()).isGreaterThanOrEqualTo(0);
-            assertThat(result.getBestStreak()).isGreaterThanOrEqualTo(0);
+            assertThat(result.getCurrentBestStreak()).isEqualTo(3);
+            assertThat(result.getBestStreak()).isEqualTo(5);
         }
     }
 
@@ -237,20 +361,22 @@ class DashboardServiceTest {
                     .title("Daily Run")
                     .goalStatus(GoalStatus.ACTIVE)
                     .lastStreakShieldUsedAt(LocalDate.now().minusDays(1))
+                    .streak(4)
+                    .lastProgressDate(LocalDate.now().minusDays(2))
                     .build();
 
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(1L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(0L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(1L, 0L));
             when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
             when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
             when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
                     .thenReturn(List.of(goalWithShield));
-            when(progressEntryRepository.findDistinctProgressDates(goalWithShield))
-                    .thenReturn(List.of(LocalDate.now().minusDays(2)));
+            when(goalStreakService.getCurrentStreak(eq(goalWithShield), any(LocalDate.class))).thenReturn(4);
+            when(dashboardSnapshotRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(stalePlaceholder()));
 
             var result = dashboardService.getDashboard(user);
 
-            assertThat(result).isNotNull();
+            assertThat(result.getStreaksAtRisk()).hasSize(1);
+            assertThat(result.getStreaksAtRisk().get(0).getDaysWithoutProgress()).isEqualTo(1);
         }
 
         @Test
@@ -262,14 +388,12 @@ class DashboardServiceTest {
                     .goalStatus(GoalStatus.ACTIVE)
                     .build();
 
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE)).thenReturn(1L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED)).thenReturn(0L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(statusCounts(1L, 0L));
             when(reflectionService.getPendingReflections(user)).thenReturn(Collections.emptyList());
             when(guardianNudgeService.countUnreadNudges(user)).thenReturn(0L);
             when(goalRepository.findByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.ACTIVE))
                     .thenReturn(List.of(goalNoProgress));
-            when(progressEntryRepository.findDistinctProgressDates(goalNoProgress))
-                    .thenReturn(Collections.emptyList());
+            when(dashboardSnapshotRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(stalePlaceholder()));
 
             var result = dashboardService.getDashboard(user);
 
@@ -0,0 +1,198 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.relyon.metasmart.config.EmailOutboxConfig;
+import com.relyon.metasmart.entity.notification.EmailOutbox;
+import com.relyon.metasmart.entity.notification.EmailOutboxStatus;
+import com.relyon.metasmart.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final String FROM_EMAIL = "noreply@metasmart.app";
+    private static final String CLAIM_TOKEN = "claim-1";
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private EmailOutboxConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        config = new EmailOutboxConfig();
+        config.setBatchSize(2);
+        config.setParallelism(2);
+        config.setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSender mailSender) {
+        return new EmailOutboxDispatcher(emailOutboxRepository, mailSender, transactionTemplate, config, meterRegistry, FROM_EMAIL);
+    }
+
+    private static JavaMailSender greenMailSender() {
+        var mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return mailSender;
+    }
+
+    private static EmailOutbox email(long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient("user" + id + "@test.com")
+                .subject("Subject " + id)
+                .body("<p>Body " + id + "</p>")
+                .status(EmailOutboxStatus.SENDING)
+                .attempts(attempts)
+                .claimToken(CLAIM_TOKEN)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void givenClaimed(List<EmailOutbox> emails) {
+        var ids = emails.stream().map(EmailOutbox::getId).toList();
+        when(emailOutboxRepository.findDueIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(ids);
+        when(emailOutboxRepository.findByClaimTokenOrderById(anyString())).thenReturn(emails);
+    }
+
+    @Test
+    @DisplayName("Should send claimed emails in batches over SMTP and mark them sent")
+    void shouldSendClaimedEmailsInBatches() throws Exception {
+        var emails = LongStream.rangeClosed(1, 3).mapToObj(id -> email(id, 1)).toList();
+        givenClaimed(emails);
+        when(emailOutboxRepository.countQueued()).thenReturn(0L);
+
+        dispatcher(greenMailSender()).dispatch();
+
+        var received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Subject 1", "Subject 2", "Subject 3");
+        assertThat(received[0].getFrom()[0].toString()).isEqualTo(FROM_EMAIL);
+
+        verify(emailOutboxRepository).claim(eq(List.of(1L, 2L, 3L)), anyString(), any(), any());
+        verify(emailOutboxRepository).markSent(eq(List.of(1L, 2L)), eq(CLAIM_TOKEN), any());
+        verify(emailOutboxRepository).markSent(eq(List.of(3L)), eq(CLAIM_TOKEN), any());
+        assertThat(meterRegistry.get(EmailOutboxDispatcher.MESSAGES_METRIC).tag("result", "sent").counter().count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should retry only the messages the server rejected")
+    void shouldRetryOnlyRejectedMessages() {
+        var mailSender = mock(JavaMailSender.class);
+        var session = Session.getInstance(new Properties());
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(session));
+        doAnswer(invocation -> {
+            var rejected = (MimeMessage) invocation.getArgument(1);
+            throw new MailSendException(Map.<Object, Exception>of(rejected, new IllegalStateException("mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+        givenClaimed(List.of(email(1L, 1), email(2L, 1)));
+
+        dispatcher(mailSender).dispatch();
+
+        verify(emailOutboxRepository).markSent(eq(List.of(1L)), eq(CLAIM_TOKEN), any());
+        var nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).scheduleRetry(eq(2L), eq(CLAIM_TOKEN), nextAttempt.capture(), eq("IllegalStateException: mailbox unavailable"));
+        assertThat(nextAttempt.getValue()).isAfter(LocalDateTime.now().plusSeconds(50));
+    }
+
+    @Test
+    @DisplayName("Should mark an email failed after the last attempt")
+    void shouldMarkFailedAfterLastAttempt() {
+        var mailSender = mock(JavaMailSender.class);
+        var session = Session.getInstance(new Properties());
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(session));
+        doThrow(new MailSendException("connection refused")).when(mailSender).send(any(MimeMessage[].class));
+        givenClaimed(List.of(email(1L, 3)));
+
+        dispatcher(mailSender).dispatch();
+
+        verify(emailOutboxRepository).markFailed(1L, CLAIM_TOKEN, "MailSendException: connection refused");
+        verify(emailOutboxRepository, never()).markSent(any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should claim no more rows than the rate limit lets it send")
+    void shouldClaimOnlyWhatRateLimitAllows() {
+        config.setMaxPerMinute(3);
+        givenClaimed(List.of(email(1L, 1), email(2L, 1), email(3L, 1)));
+        var dispatcher = dispatcher(greenMailSender());
+
+        dispatcher.dispatch();
+
+        var limit = ArgumentCaptor.forClass(Limit.class);
+        verify(emailOutboxRepository).findDueIds(any(LocalDateTime.class), limit.capture());
+        assertThat(limit.getValue().max()).isEqualTo(3);
+
+        clearInvocations(emailOutboxRepository);
+        dispatcher.dispatch();
+
+        verify(emailOutboxRepository, never()).findDueIds(any(LocalDateTime.class), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should publish the queue depth after each run")
+    void shouldPublishQueueDepth() {
+        when(emailOutboxRepository.findDueIds(any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of());
+        when(emailOutboxRepository.countQueued()).thenReturn(42L);
+
+        dispatcher(greenMailSender()).dispatch();
+
+        assertThat(meterRegistry.get(EmailOutboxDispatcher.QUEUE_DEPTH_METRIC).gauge().value()).isEqualTo(42.0);
+        verify(emailOutboxRepository, never()).claim(any(), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the maximum")
+    void shouldDoubleBackoffUpToMaximum() {
+        var dispatcher = dispatcher(greenMailSender());
+
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(dispatcher.backoff(10)).isEqualTo(Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,311 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.config.StreakJobConfig;
+import com.relyon.metasmart.entity.streak.StreakBatchCheckpoint;
+import com.relyon.metasmart.entity.streak.StreakBatchStatus;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.StreakBatchCheckpointRepository;
+import com.relyon.metasmart.repository.UserPreferencesRepository;
+import com.relyon.metasmart.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EndOfDayStreakServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-10T00:20:00Z");
+    private static final LocalDate UTC_YESTERDAY = LocalDate.of(2025, 3, 9);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserPreferencesRepository userPreferencesRepository;
+
+    @Mock
+    private StreakBatchCheckpointRepository streakBatchCheckpointRepository;
+
+    @Mock
+    private UserStreakService userStreakService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private StreakJobConfig streakJobConfig = new StreakJobConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private EndOfDayStreakService endOfDayStreakService;
+
+    private User user1;
+    private User user2;
+    private User user3;
+
+    @BeforeEach
+    void setUp() {
+        streakJobConfig.getEndOfDay().setChunkSize(2);
+        streakJobConfig.getEndOfDay().setParallelism(2);
+        user1 = User.builder().id(1L).email("one@test.com").build();
+        user2 = User.builder().id(2L).email("two@test.com").build();
+        user3 = User.builder().id(3L).email("three@test.com").build();
+        when(userPreferencesRepository.findDistinctTimezones()).thenReturn(List.of("UTC", "Not/AZone"));
+    }
+
+    private void runTransactionCallbacks() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void stubNewCheckpoint() {
+        when(streakBatchCheckpointRepository.findForClaim("UTC", UTC_YESTERDAY)).thenReturn(Optional.empty());
+        when(streakBatchCheckpointRepository.existsByTimezoneAndTargetDate("UTC", UTC_YESTERDAY)).thenReturn(false);
+        when(streakBatchCheckpointRepository.saveAndFlush(any(StreakBatchCheckpoint.class))).thenAnswer(invocation -> {
+            StreakBatchCheckpoint checkpoint = invocation.getArgument(0);
+            checkpoint.setId(1L);
+            return checkpoint;
+        });
+    }
+
+    @Test
+    @DisplayName("Should settle yesterday for every user of a timezone and complete the checkpoint")
+    void shouldSettleTimezoneAndCompleteCheckpoint() {
+        runTransactionCallbacks();
+        stubNewCheckpoint();
+        when(streakBatchCheckpointRepository.advance(eq(1L), anyString(), eq(3L), eq(3L), any())).thenReturn(1);
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(user1, user2));
+        when(userRepository.findAllById(List.of(3L))).thenReturn(List.of(user3));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(userStreakService).processEndOfDay(user1, UTC_YESTERDAY, ZoneId.of("UTC"));
+        verify(userStreakService).processEndOfDay(user2, UTC_YESTERDAY, ZoneId.of("UTC"));
+        verify(userStreakService).processEndOfDay(user3, UTC_YESTERDAY, ZoneId.of("UTC"));
+
+        var captor = ArgumentCaptor.forClass(StreakBatchCheckpoint.class);
+        verify(streakBatchCheckpointRepository).saveAndFlush(captor.capture());
+        var leaseOwner = captor.getValue().getLeaseOwner();
+        assertThat(leaseOwner).isNotNull();
+        assertThat(captor.getValue().getLeaseUntil()).isNotNull();
+        verify(streakBatchCheckpointRepository).complete(eq(1L), eq(leaseOwner), any());
+        assertThat(meterRegistry.get(EndOfDayStreakService.USERS_PROCESSED_METRIC).counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get(EndOfDayStreakService.LAG_METRIC).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip a timezone whose day is already settled")
+    void shouldSkipCompletedTimezone() {
+        runTransactionCallbacks();
+        var completed = StreakBatchCheckpoint.builder()
+                .id(1L)
+                .timezone("UTC")
+                .targetDate(UTC_YESTERDAY)
+                .status(StreakBatchStatus.COMPLETED)
+                .build();
+        when(streakBatchCheckpointRepository.findForClaim("UTC", UTC_YESTERDAY)).thenReturn(Optional.of(completed));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verifyNoInteractions(userRepository, userStreakService);
+        verify(streakBatchCheckpointRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should skip a timezone another replica holds the lease for")
+    void shouldSkipLeasedCheckpoint() {
+        runTransactionCallbacks();
+        var leased = StreakBatchCheckpoint.builder()
+                .id(1L)
+                .timezone("UTC")
+                .targetDate(UTC_YESTERDAY)
+                .leaseOwner("other-replica")
+                .leaseUntil(LocalDateTime.now().plusMinutes(5))
+                .build();
+        when(streakBatchCheckpointRepository.findForClaim("UTC", UTC_YESTERDAY)).thenReturn(Optional.of(leased));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verifyNoInteractions(userRepository, userStreakService);
+        verify(streakBatchCheckpointRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should skip a timezone whose checkpoint row is locked by another replica")
+    void shouldSkipLockedCheckpoint() {
+        runTransactionCallbacks();
+        when(streakBatchCheckpointRepository.findForClaim("UTC", UTC_YESTERDAY)).thenReturn(Optional.empty());
+        when(streakBatchCheckpointRepository.existsByTimezoneAndTargetDate("UTC", UTC_YESTERDAY)).thenReturn(true);
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verifyNoInteractions(userRepository, userStreakService);
+        verify(streakBatchCheckpointRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpointed user once its lease expired")
+    void shouldResumeAfterCheckpoint() {
+        runTransactionCallbacks();
+        var running = StreakBatchCheckpoint.builder()
+                .id(1L)
+                .timezone("UTC")
+                .targetDate(UTC_YESTERDAY)
+                .lastUserId(2L)
+                .usersProcessed(2L)
+                .leaseOwner("crashed-replica")
+                .leaseUntil(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(streakBatchCheckpointRepository.findForClaim("UTC", UTC_YESTERDAY)).thenReturn(Optional.of(running));
+        when(streakBatchCheckpointRepository.saveAndFlush(running)).thenReturn(running);
+        when(streakBatchCheckpointRepository.advance(eq(1L), anyString(), eq(3L), eq(3L), any())).thenReturn(1);
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(userRepository.findAllById(List.of(3L))).thenReturn(List.of(user3));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(userStreakService).processEndOfDay(user3, UTC_YESTERDAY, ZoneId.of("UTC"));
+        verify(userStreakService, never()).processEndOfDay(eq(user1), any(), any());
+        assertThat(running.getLeaseOwner()).isNotEqualTo("crashed-replica");
+        verify(streakBatchCheckpointRepository).complete(eq(1L), eq(running.getLeaseOwner()), any());
+    }
+
+    @Test
+    @DisplayName("Should stop without completing when the lease was lost")
+    void shouldStopWhenLeaseLost() {
+        runTransactionCallbacks();
+        stubNewCheckpoint();
+        when(streakBatchCheckpointRepository.advance(eq(1L), anyString(), eq(1L), eq(1L), any())).thenReturn(0);
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(userRepository.findAllById(List.of(1L))).thenReturn(List.of(user1));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(streakBatchCheckpointRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep checkpoint in place when the database is unavailable")
+    void shouldKeepCheckpointWhenDatabaseUnavailable() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        stubNewCheckpoint();
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(transactionTemplate).executeWithoutResult(any());
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(streakBatchCheckpointRepository, never()).advance(any(), any(), any(), any(), any());
+        verify(streakBatchCheckpointRepository, never()).complete(any(), any(), any());
+        assertThat(meterRegistry.get(EndOfDayStreakService.FAILED_CHUNKS_METRIC).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should skip a failing user and still complete the day")
+    void shouldSkipFailingUserAndComplete() {
+        runTransactionCallbacks();
+        stubNewCheckpoint();
+        when(streakBatchCheckpointRepository.advance(eq(1L), anyString(), eq(2L), eq(2L), any())).thenReturn(1);
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(2L), any(Pageable.class))).thenReturn(List.of());
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(user1, user2));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        doThrow(new IllegalStateException("corrupt streak row"))
+                .when(userStreakService).processEndOfDay(user1, UTC_YESTERDAY, ZoneId.of("UTC"));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(userStreakService).processEndOfDay(user2, UTC_YESTERDAY, ZoneId.of("UTC"));
+        verify(streakBatchCheckpointRepository).complete(eq(1L), anyString(), any());
+        assertThat(meterRegistry.get(EndOfDayStreakService.FAILED_USERS_METRIC).counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(EndOfDayStreakService.USERS_PROCESSED_METRIC).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should finish an earlier incomplete day before the day that just ended")
+    void shouldFinishEarlierIncompleteDayFirst() {
+        runTransactionCallbacks();
+        var earlierDate = UTC_YESTERDAY.minusDays(1);
+        var earlier = StreakBatchCheckpoint.builder()
+                .id(2L)
+                .timezone("UTC")
+                .targetDate(earlierDate)
+                .lastUserId(2L)
+                .usersProcessed(2L)
+                .leaseOwner("crashed-replica")
+                .leaseUntil(LocalDateTime.now().minusMinutes(1))
+                .build();
+        when(streakBatchCheckpointRepository.findIncompleteTargetDates("UTC", UTC_YESTERDAY)).thenReturn(List.of(earlierDate));
+        when(streakBatchCheckpointRepository.findForClaim("UTC", earlierDate)).thenReturn(Optional.of(earlier));
+        when(streakBatchCheckpointRepository.saveAndFlush(earlier)).thenReturn(earlier);
+        when(streakBatchCheckpointRepository.advance(eq(2L), anyString(), eq(3L), eq(3L), any())).thenReturn(1);
+        var completed = StreakBatchCheckpoint.builder()
+                .id(1L)
+                .timezone("UTC")
+                .targetDate(UTC_YESTERDAY)
+                .status(StreakBatchStatus.COMPLETED)
+                .build();
+        when(streakBatchCheckpointRepository.findForClaim("UTC", UTC_YESTERDAY)).thenReturn(Optional.of(completed));
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(userRepository.findIdsInTimezoneAfter(eq("UTC"), eq("UTC"), eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(userRepository.findAllById(List.of(3L))).thenReturn(List.of(user3));
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(userStreakService).processEndOfDay(user3, earlierDate, ZoneId.of("UTC"));
+        verify(streakBatchCheckpointRepository).complete(eq(2L), eq(earlier.getLeaseOwner()), any());
+        verify(streakBatchCheckpointRepository).findForClaim("UTC", UTC_YESTERDAY);
+    }
+
+    @Test
+    @DisplayName("Should hold back the day that just ended while an earlier day is held elsewhere")
+    void shouldHoldBackWhileEarlierDayIsHeld() {
+        runTransactionCallbacks();
+        var earlierDate = UTC_YESTERDAY.minusDays(1);
+        when(streakBatchCheckpointRepository.findIncompleteTargetDates("UTC", UTC_YESTERDAY)).thenReturn(List.of(earlierDate));
+        when(streakBatchCheckpointRepository.findForClaim("UTC", earlierDate)).thenReturn(Optional.empty());
+        when(streakBatchCheckpointRepository.existsByTimezoneAndTargetDate("UTC", earlierDate)).thenReturn(true);
+
+        endOfDayStreakService.processEndedDays(NOW);
+
+        verify(streakBatchCheckpointRepository, never()).findForClaim("UTC", UTC_YESTERDAY);
+        verifyNoInteractions(userRepository, userStreakService);
+    }
+}
@@ -0,0 +1,150 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.relyon.metasmart.config.EntitlementsCacheConfig;
+import com.relyon.metasmart.entity.subscription.SubscriptionTier;
+import com.relyon.metasmart.entity.subscription.dto.UserEntitlementsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class EntitlementsCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-10T12:00:00Z");
+
+    private MutableClock clock;
+    private EntitlementsCacheConfig config;
+    private EntitlementsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        config = new EntitlementsCacheConfig();
+        config.setMaxEntries(2);
+        config.setTtl(Duration.ofMinutes(5));
+        cache = new EntitlementsCache(config, new SimpleMeterRegistry(), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static UserEntitlementsResponse entitlements(int goalBoosts) {
+        return UserEntitlementsResponse.builder()
+                .tier(SubscriptionTier.FREE)
+                .isPremium(false)
+                .goalBoostsAvailable(goalBoosts)
+                .features(new HashMap<>(Map.of("unlimitedGoals", false)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should serve a copy so caller mutations never reach the cache")
+    void shouldServeIsolatedCopies() {
+        cache.put(1L, entitlements(2), null);
+
+        var first = cache.get(1L).orElseThrow();
+        first.setGoalBoostsAvailable(0);
+        first.getFeatures().put("unlimitedGoals", true);
+        var second = cache.get(1L).orElseThrow();
+
+        assertThat(second.getGoalBoostsAvailable()).isEqualTo(2);
+        assertThat(second.getFeatures().get("unlimitedGoals")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should expire at the earlier of ttl and purchase expiry")
+    void shouldExpireAtEarliestPurchaseExpiry() {
+        cache.put(1L, entitlements(1), NOW.plus(Duration.ofMinutes(1)));
+        cache.put(2L, entitlements(1), NOW.plus(Duration.ofHours(1)));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isPresent();
+
+        clock.advance(Duration.ofMinutes(4));
+        assertThat(cache.get(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry beyond the bound")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.put(1L, entitlements(0), null);
+        cache.put(2L, entitlements(0), null);
+        cache.get(1L);
+
+        cache.put(3L, entitlements(0), null);
+
+        assertThat(cache.get(1L)).isPresent();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should invalidate again after the surrounding transaction completes")
+    void shouldInvalidateAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(1L, entitlements(1), null);
+
+        cache.invalidate(1L);
+        assertThat(cache.get(1L)).isEmpty();
+        cache.put(1L, entitlements(0), null);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassWhenDisabled() {
+        config.setEnabled(false);
+
+        cache.put(1L, entitlements(1), null);
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
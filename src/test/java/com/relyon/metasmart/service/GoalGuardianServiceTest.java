@@ -23,7 +23,6 @@ import com.relyon.metasmart.repository.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -66,6 +65,9 @@ class GoalGuardianServiceTest {
     @Mock
     private UsageLimitService usageLimitService;
 
+    @Mock
+    private GoalStreakService goalStreakService;
+
     @InjectMocks
     private GoalGuardianService goalGuardianService;
 
@@ -400,7 +402,6 @@ class GoalGuardianServiceTest {
             when(goalGuardianRepository.findActiveGuardianship(1L, guardian, GuardianStatus.ACTIVE))
                     .thenReturn(Optional.of(goalGuardian));
             when(progressEntryRepository.findTopByGoalOrderByCreatedAtDesc(goal)).thenReturn(Optional.empty());
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var result = goalGuardianService.getGuardedGoalDetails(1L, guardian);
 
@@ -441,7 +442,8 @@ class GoalGuardianServiceTest {
             when(goalGuardianRepository.findActiveGuardianship(1L, guardian, GuardianStatus.ACTIVE))
                     .thenReturn(Optional.of(goalGuardian));
             when(progressEntryRepository.findTopByGoalOrderByCreatedAtDesc(goal)).thenReturn(Optional.of(progressEntry));
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(List.of(LocalDate.now()));
+            when(goalStreakService.getCurrentStreak(eq(goal), any(LocalDate.class))).thenReturn(1);
+            when(goalStreakService.getLongestStreak(goal)).thenReturn(1);
             when(actionItemRepository.countByGoal(goal)).thenReturn(10L);
             when(actionItemRepository.countByGoalAndCompletedTrue(goal)).thenReturn(5L);
             when(obstacleEntryRepository.countByGoalAndResolvedFalse(goal)).thenReturn(2L);
@@ -489,16 +491,16 @@ class GoalGuardianServiceTest {
         }
 
         @Test
-        @DisplayName("Should calculate streak with consecutive dates")
-        void shouldCalculateStreakWithConsecutiveDates() {
+        @DisplayName("Should read stored streak counters")
+        void shouldReadStoredStreakCounters() {
             var today = LocalDate.now();
             goalGuardian.setStatus(GuardianStatus.ACTIVE);
             goalGuardian.setPermissions(Set.of(GuardianPermission.VIEW_STREAK));
 
             when(goalGuardianRepository.findActiveGuardianship(1L, guardian, GuardianStatus.ACTIVE))
                     .thenReturn(Optional.of(goalGuardian));
-            when(progressEntryRepository.findDistinctProgressDates(goal))
-                    .thenReturn(List.of(today, today.minusDays(1), today.minusDays(2)));
+            when(goalStreakService.getCurrentStreak(goal, today)).thenReturn(3);
+            when(goalStreakService.getLongestStreak(goal)).thenReturn(3);
 
             var result = goalGuardianService.getGuardedGoalDetails(1L, guardian);
 
@@ -507,20 +509,20 @@ class GoalGuardianServiceTest {
         }
 
         @Test
-        @DisplayName("Should calculate streak with non-consecutive dates")
-        void shouldCalculateStreakWithNonConsecutiveDates() {
+        @DisplayName("Should report longest streak when current streak has lapsed")
+        void shouldReportLongestStreakWhenCurrentLapsed() {
             var today = LocalDate.now();
             goalGuardian.setStatus(GuardianStatus.ACTIVE);
             goalGuardian.setPermissions(Set.of(GuardianPermission.VIEW_STREAK));
 
             when(goalGuardianRepository.findActiveGuardianship(1L, guardian, GuardianStatus.ACTIVE))
                     .thenReturn(Optional.of(goalGuardian));
-            when(progressEntryRepository.findDistinctProgressDates(goal))
-                    .thenReturn(List.of(today.minusDays(10), today.minusDays(11), today.minusDays(12)));
+            when(goalStreakService.getCurrentStreak(goal, today)).thenReturn(0);
+            when(goalStreakService.getLongestStreak(goal)).thenReturn(3);
 
             var result = goalGuardianService.getGuardedGoalDetails(1L, guardian);
 
-            // Longest streak should be 3 (the consecutive old dates)
+            assertThat(result.getCurrentStreak()).isZero();
             assertThat(result.getLongestStreak()).isEqualTo(3);
         }
     }
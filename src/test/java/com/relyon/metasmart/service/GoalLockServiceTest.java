@@ -0,0 +1,86 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.GoalRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GoalLockServiceTest {
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private SubscriptionService subscriptionService;
+
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @InjectMocks
+    private GoalLockService goalLockService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("john@test.com").build();
+    }
+
+    @Nested
+    @DisplayName("Balance goal locks tests")
+    class BalanceGoalLocksTests {
+
+        @Test
+        @DisplayName("Should lock excess premium goals and mark the dashboard stale")
+        void shouldLockExcessGoals() {
+            var premiumGoal = Goal.builder().id(2L).owner(user).goalStatus(GoalStatus.ACTIVE).build();
+            when(goalRepository.countActiveGoalsByOwner(user)).thenReturn(3L);
+            when(goalRepository.findLockedGoalsOrderByCreatedAtAsc(user)).thenReturn(List.of());
+            when(goalRepository.findPremiumGoalsForLocking(user)).thenReturn(List.of(premiumGoal));
+
+            goalLockService.balanceGoalLocks(user, 2);
+
+            assertThat(premiumGoal.getGoalStatus()).isEqualTo(GoalStatus.LOCKED);
+            assertThat(premiumGoal.getPreviousStatus()).isEqualTo(GoalStatus.ACTIVE);
+            verify(goalRepository).saveAll(List.of(premiumGoal));
+            verify(dashboardSnapshotService).markStale(user);
+        }
+
+        @Test
+        @DisplayName("Should unlock goals into free slots and mark the dashboard stale")
+        void shouldUnlockIntoFreeSlots() {
+            var lockedGoal = Goal.builder().id(3L).owner(user).goalStatus(GoalStatus.LOCKED).previousStatus(GoalStatus.PAUSED).build();
+            when(goalRepository.countActiveGoalsByOwner(user)).thenReturn(1L);
+            when(goalRepository.findLockedGoalsOrderByCreatedAtAsc(user)).thenReturn(List.of(lockedGoal));
+
+            goalLockService.balanceGoalLocks(user, 2);
+
+            assertThat(lockedGoal.getGoalStatus()).isEqualTo(GoalStatus.PAUSED);
+            verify(dashboardSnapshotService).markStale(user);
+        }
+
+        @Test
+        @DisplayName("Should leave the dashboard alone when nothing changes")
+        void shouldNotMarkStaleWhenBalanced() {
+            when(goalRepository.countActiveGoalsByOwner(user)).thenReturn(2L);
+            when(goalRepository.findLockedGoalsOrderByCreatedAtAsc(user)).thenReturn(List.of());
+
+            goalLockService.balanceGoalLocks(user, 2);
+
+            verifyNoInteractions(dashboardSnapshotService);
+        }
+    }
+}
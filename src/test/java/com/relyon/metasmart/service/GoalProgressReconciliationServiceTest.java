@@ -0,0 +1,69 @@
+package com.relyon.metasmart.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.entity.goal.dto.GoalProgressDrift;
+import com.relyon.metasmart.repository.GoalRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class GoalProgressReconciliationServiceTest {
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private GoalProgressReconciliationService goalProgressReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should overwrite drifted totals only where the stored value is unchanged")
+    void shouldCorrectDriftedGoals() {
+        when(goalRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L, 3L));
+        when(goalRepository.findIdsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of());
+        when(goalRepository.findProgressDrift(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new GoalProgressDrift(1L, BigDecimal.valueOf(4), BigDecimal.valueOf(5)),
+                new GoalProgressDrift(3L, BigDecimal.valueOf(2), BigDecimal.ONE)));
+        when(goalRepository.reconcileCurrentProgress(1L, BigDecimal.valueOf(4), BigDecimal.valueOf(5))).thenReturn(1);
+        when(goalRepository.reconcileCurrentProgress(3L, BigDecimal.valueOf(2), BigDecimal.ONE)).thenReturn(0);
+
+        goalProgressReconciliationService.reconcileAllGoals();
+
+        verify(goalRepository).reconcileCurrentProgress(1L, BigDecimal.valueOf(4), BigDecimal.valueOf(5));
+        verify(goalRepository).reconcileCurrentProgress(3L, BigDecimal.valueOf(2), BigDecimal.ONE);
+        verify(goalRepository, never()).reconcileCurrentProgress(eq(2L), any(), any());
+        verify(transactionTemplate).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when there are no goals")
+    void shouldDoNothingWithoutGoals() {
+        when(goalRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        goalProgressReconciliationService.reconcileAllGoals();
+
+        verify(goalRepository, never()).findProgressDrift(any());
+        verifyNoInteractions(transactionTemplate);
+    }
+}
@@ -1,21 +1,40 @@
 package com.relyon.metasmart.service;
 
+import static com.relyon.metasmart.constant.AppConstants.GOAL_UPDATE_MAX_ATTEMPTS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.relyon.metasmart.constant.ErrorMessages;
+import com.relyon.metasmart.entity.actionplan.ActionItem;
+import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import com.relyon.metasmart.entity.actionplan.TaskCompletion;
+import com.relyon.metasmart.entity.actionplan.dto.ActionItemResponse;
+import com.relyon.metasmart.entity.actionplan.dto.TaskCompletionDto;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.CheckinDto;
+import com.relyon.metasmart.entity.goal.dto.GoalFieldSelection;
 import com.relyon.metasmart.entity.goal.dto.GoalRequest;
 import com.relyon.metasmart.entity.goal.dto.GoalResponse;
+import com.relyon.metasmart.entity.goal.dto.GoalSummary;
+import com.relyon.metasmart.entity.goal.dto.MilestoneDto;
+import com.relyon.metasmart.entity.goal.dto.SupportSystemDto;
 import com.relyon.metasmart.entity.goal.dto.UpdateGoalRequest;
+import com.relyon.metasmart.entity.guardian.GoalGuardian;
+import com.relyon.metasmart.entity.guardian.GuardianStatus;
+import com.relyon.metasmart.entity.progress.Milestone;
+import com.relyon.metasmart.entity.progress.ProgressEntry;
 import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.exception.BadRequestException;
 import com.relyon.metasmart.exception.ResourceNotFoundException;
 import com.relyon.metasmart.mapper.ActionItemMapper;
 import com.relyon.metasmart.mapper.GoalMapper;
@@ -31,11 +50,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 @ExtendWith(MockitoExtension.class)
 class GoalServiceTest {
@@ -85,6 +107,15 @@ class GoalServiceTest {
     @Mock
     private GoalLockService goalLockService;
 
+    @Mock
+    private GoalStreakService goalStreakService;
+
+    @Mock
+    private ActivityCalendarService activityCalendarService;
+
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
     @InjectMocks
     private GoalService goalService;
 
@@ -95,6 +126,7 @@ class GoalServiceTest {
 
     @BeforeEach
     void setUp() {
+        goalService.setSelf(goalService);
         user = User.builder()
                 .id(1L)
                 .name("John Doe")
@@ -141,17 +173,30 @@ class GoalServiceTest {
                 .goalStatus(GoalStatus.ACTIVE)
                 .build();
 
-        // Default stubs for enrichGoalResponse dependencies
-        lenient().when(progressEntryRepository.findByGoalOrderByCreatedAtDesc(any(Goal.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(Collections.emptyList()));
-        lenient().when(actionItemRepository.findByGoalOrderByOrderIndexAscCreatedAtAsc(any(Goal.class)))
+        // Default stubs for enrichGoalResponses dependencies
+        lenient().when(progressEntryRepository.findLatestByGoalIds(any(), anyInt()))
                 .thenReturn(Collections.emptyList());
-        lenient().when(scheduledTaskRepository.findByGoalOrderByScheduledDateAsc(any(Goal.class)))
+        lenient().when(actionItemRepository.findByGoalIdInOrderByOrderIndexAscCreatedAtAsc(any()))
                 .thenReturn(Collections.emptyList());
-        lenient().when(milestoneRepository.findByGoalOrderByPercentageAsc(any(Goal.class)))
+        lenient().when(scheduledTaskRepository.findByGoalIdsOrderByScheduledDateAsc(any()))
                 .thenReturn(Collections.emptyList());
-        lenient().when(goalGuardianRepository.findByGoalAndStatus(any(Goal.class), any()))
+        lenient().when(milestoneRepository.findByGoalIdInOrderByPercentageAsc(any()))
                 .thenReturn(Collections.emptyList());
+        lenient().when(goalGuardianRepository.findByGoalIdsAndStatusWithGuardian(any(), any()))
+                .thenReturn(Collections.emptyList());
+    }
+
+    private void stubStreak(int currentStreak, int longestStreak) {
+        when(goalStreakService.getCurrentStreak(eq(goal), any(LocalDate.class))).thenReturn(currentStreak);
+        when(goalStreakService.getLongestStreak(goal)).thenReturn(longestStreak);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyDefaultMilestonesSaved() {
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(milestoneRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(4);
+        verify(milestoneRepository, never()).save(any());
     }
 
     @Nested
@@ -164,14 +209,13 @@ class GoalServiceTest {
             when(goalMapper.toEntity(goalRequest)).thenReturn(goal);
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.create(goalRequest, user);
 
             assertThat(response).isNotNull();
             assertThat(response.getTitle()).isEqualTo(goal.getTitle());
             verify(goalRepository).save(any(Goal.class));
-            verify(milestoneRepository, times(4)).save(any());
+            verifyDefaultMilestonesSaved();
         }
     }
 
@@ -184,9 +228,8 @@ class GoalServiceTest {
         void shouldFindGoalById() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getId()).isEqualTo(1L);
@@ -198,7 +241,7 @@ class GoalServiceTest {
         void shouldThrowExceptionWhenGoalNotFound() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> goalService.findById(1L, user))
+            assertThatThrownBy(() -> goalService.findById(1L, user, GoalFieldSelection.full()))
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessage(ErrorMessages.GOAL_NOT_FOUND);
         }
@@ -210,9 +253,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.findByOwner(user, pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findAll(user, pageable);
+            var response = goalService.findAll(user, pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
@@ -225,9 +267,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.findByOwnerAndGoalStatus(user, GoalStatus.ACTIVE, pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findByStatus(user, GoalStatus.ACTIVE, pageable);
+            var response = goalService.findByStatus(user, GoalStatus.ACTIVE, pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
@@ -240,9 +281,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.findByOwnerAndGoalCategory(user, GoalCategory.HEALTH, pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findByCategory(user, GoalCategory.HEALTH, pageable);
+            var response = goalService.findByCategory(user, GoalCategory.HEALTH, pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
@@ -263,7 +303,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.update(1L, updateRequest, user);
 
@@ -281,6 +320,35 @@ class GoalServiceTest {
                     .isInstanceOf(ResourceNotFoundException.class)
                     .hasMessage(ErrorMessages.GOAL_NOT_FOUND);
         }
+
+        @Test
+        @DisplayName("Should replay the update when a progress write changed the goal meanwhile")
+        void shouldRetryUpdateOnOptimisticLockFailure() {
+            var updateRequest = UpdateGoalRequest.builder().title("Updated title").build();
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(goalRepository.save(any(Goal.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Goal.class, 1L))
+                    .thenReturn(goal);
+            when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
+
+            var response = goalService.update(1L, updateRequest, user);
+
+            assertThat(response).isNotNull();
+            verify(goalRepository, times(2)).findByIdAndOwner(1L, user);
+            verify(goalRepository, times(2)).save(any(Goal.class));
+        }
+
+        @Test
+        @DisplayName("Should give up after the maximum number of update attempts")
+        void shouldGiveUpAfterMaxUpdateAttempts() {
+            var updateRequest = UpdateGoalRequest.builder().title("Updated title").build();
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(goalRepository.save(any(Goal.class))).thenThrow(new ObjectOptimisticLockingFailureException(Goal.class, 1L));
+
+            assertThatThrownBy(() -> goalService.update(1L, updateRequest, user))
+                    .isInstanceOf(OptimisticLockingFailureException.class);
+            verify(goalRepository, times(GOAL_UPDATE_MAX_ATTEMPTS)).save(any(Goal.class));
+        }
     }
 
     @Nested
@@ -322,9 +390,8 @@ class GoalServiceTest {
         void shouldCalculateSmartPillarsWhenAllFieldsSet() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getSmartPillars()).isNotNull();
             assertThat(response.getSmartPillars().getCompletionPercentage()).isEqualTo(100);
@@ -336,9 +403,8 @@ class GoalServiceTest {
             goal.setTargetValue(null);
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getProgressPercentage()).isEqualTo(BigDecimal.ZERO);
         }
@@ -349,56 +415,50 @@ class GoalServiceTest {
             goal.setTargetValue(BigDecimal.ZERO);
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getProgressPercentage()).isEqualTo(BigDecimal.ZERO);
         }
 
         @Test
-        @DisplayName("Should calculate streak correctly with consecutive dates")
-        void shouldCalculateStreakWithConsecutiveDates() {
-            var today = LocalDate.now();
-            var dates = List.of(today, today.minusDays(1), today.minusDays(2));
+        @DisplayName("Should expose stored streak counters")
+        void shouldExposeStoredStreakCounters() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(dates);
+            stubStreak(3, 3);
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getCurrentStreak()).isEqualTo(3);
             assertThat(response.getLongestStreak()).isEqualTo(3);
         }
 
         @Test
-        @DisplayName("Should calculate streak correctly with yesterday start")
-        void shouldCalculateStreakWithYesterdayStart() {
-            var yesterday = LocalDate.now().minusDays(1);
-            var dates = List.of(yesterday, yesterday.minusDays(1));
+        @DisplayName("Should expose current streak below longest streak")
+        void shouldExposeCurrentStreakBelowLongest() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(dates);
+            stubStreak(2, 5);
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getCurrentStreak()).isEqualTo(2);
         }
 
         @Test
-        @DisplayName("Should calculate streak correctly with non-consecutive dates")
-        void shouldCalculateStreakWithNonConsecutiveDates() {
-            var today = LocalDate.now();
-            // Create a gap between today and the older streak
-            var dates = List.of(today, today.minusDays(10), today.minusDays(11), today.minusDays(12));
+        @DisplayName("Should not walk progress history for streaks")
+        void shouldNotWalkProgressHistoryForStreaks() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(dates);
+            stubStreak(1, 3);
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
-            // Current streak is 1 (just today), longest streak is 3 (the older consecutive days)
-            assertThat(response.getLongestStreak()).isGreaterThanOrEqualTo(1);
+            assertThat(response.getCurrentStreak()).isEqualTo(1);
+            assertThat(response.getLongestStreak()).isEqualTo(3);
+            verify(progressEntryRepository, never()).findDistinctProgressDates(any());
+            verify(progressEntryRepository, never()).findDistinctProgressDatesByGoalIds(any());
         }
 
         @Test
@@ -408,9 +468,8 @@ class GoalServiceTest {
             goal.setDescription(null);
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getSmartPillars()).isNotNull();
         }
@@ -429,7 +488,6 @@ class GoalServiceTest {
                     .goalCategory(GoalCategory.FINANCE)
                     .targetValue(new BigDecimal("10"))
                     .unit("miles")
-                    .currentProgress(BigDecimal.valueOf(5))
                     .motivation("New motivation")
                     .startDate(LocalDate.now())
                     .targetDate(LocalDate.now().plusMonths(6))
@@ -439,7 +497,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.update(1L, updateRequest, user);
 
@@ -466,9 +523,8 @@ class GoalServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getSetupCompletionPercentage()).isEqualTo(0);
         }
@@ -491,41 +547,36 @@ class GoalServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getSmartPillars()).isNotNull();
             // specific false (desc blank), measurable false (unit null), timeBound false (targetDate null)
         }
 
         @Test
-        @DisplayName("Should handle single date in streak calculation")
-        void shouldHandleSingleDateInStreak() {
-            var today = LocalDate.now();
-            var dates = List.of(today);
+        @DisplayName("Should handle single day streak")
+        void shouldHandleSingleDayStreak() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(dates);
+            stubStreak(1, 1);
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getCurrentStreak()).isEqualTo(1);
             assertThat(response.getLongestStreak()).isEqualTo(1);
         }
 
         @Test
-        @DisplayName("Should handle old dates not starting from today or yesterday")
-        void shouldHandleOldDatesForStreak() {
-            var oldDate = LocalDate.now().minusDays(10);
-            var dates = List.of(oldDate, oldDate.minusDays(1));
+        @DisplayName("Should handle lapsed streak")
+        void shouldHandleLapsedStreak() {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(dates);
+            stubStreak(0, 2);
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
-            // Longest streak should be 2 (the consecutive old dates)
+            assertThat(response.getCurrentStreak()).isZero();
             assertThat(response.getLongestStreak()).isEqualTo(2);
         }
 
@@ -537,9 +588,8 @@ class GoalServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findById(1L, user);
+            var response = goalService.findById(1L, user, GoalFieldSelection.full());
 
             assertThat(response.getProgressPercentage()).isEqualTo(BigDecimal.valueOf(50.00).setScale(2));
         }
@@ -555,7 +605,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.archive(1L, user);
 
@@ -580,7 +629,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.archive(1L, user);
 
@@ -599,7 +647,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwnerAndArchivedAtIsNotNull(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.unarchive(1L, user);
 
@@ -625,7 +672,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwnerAndArchivedAtIsNotNull(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.unarchive(1L, user);
 
@@ -645,9 +691,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.findByOwnerAndArchivedAtIsNotNull(user, pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.findArchived(user, pageable);
+            var response = goalService.findArchived(user, pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
@@ -661,7 +706,7 @@ class GoalServiceTest {
             var emptyPage = new PageImpl<Goal>(Collections.emptyList());
             when(goalRepository.findByOwnerAndArchivedAtIsNotNull(user, pageable)).thenReturn(emptyPage);
 
-            var response = goalService.findArchived(user, pageable);
+            var response = goalService.findArchived(user, pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).isEmpty();
@@ -684,9 +729,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal, goal2));
             when(goalRepository.findByOwnerAndArchivedAtIsNotNull(user, pageable)).thenReturn(goals);
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
-            var response = goalService.findArchived(user, pageable);
+            var response = goalService.findArchived(user, pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).hasSize(2);
         }
@@ -703,9 +747,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.searchByOwner(user, "5km", pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.search(user, "5km", pageable);
+            var response = goalService.search(user, "5km", pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
@@ -719,7 +762,7 @@ class GoalServiceTest {
             var emptyPage = new PageImpl<Goal>(Collections.emptyList());
             when(goalRepository.searchByOwner(user, "nonexistent", pageable)).thenReturn(emptyPage);
 
-            var response = goalService.search(user, "nonexistent", pageable);
+            var response = goalService.search(user, "nonexistent", pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).isEmpty();
@@ -732,9 +775,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.searchByOwner(user, "Run", pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.search(user, "Run", pageable);
+            var response = goalService.search(user, "Run", pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).hasSize(1);
         }
@@ -746,9 +788,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.searchByOwner(user, "run", pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.search(user, "run", pageable);
+            var response = goalService.search(user, "run", pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).hasSize(1);
         }
@@ -766,9 +807,8 @@ class GoalServiceTest {
             when(goalRepository.findByOwnerWithFilters(user, GoalStatus.ACTIVE, GoalCategory.HEALTH, pageable))
                     .thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.filter(user, GoalStatus.ACTIVE, GoalCategory.HEALTH, pageable);
+            var response = goalService.filter(user, GoalStatus.ACTIVE, GoalCategory.HEALTH, pageable, GoalFieldSelection.full());
 
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
@@ -783,9 +823,8 @@ class GoalServiceTest {
             when(goalRepository.findByOwnerWithFilters(user, GoalStatus.ACTIVE, null, pageable))
                     .thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.filter(user, GoalStatus.ACTIVE, null, pageable);
+            var response = goalService.filter(user, GoalStatus.ACTIVE, null, pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).hasSize(1);
         }
@@ -798,9 +837,8 @@ class GoalServiceTest {
             when(goalRepository.findByOwnerWithFilters(user, null, GoalCategory.HEALTH, pageable))
                     .thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.filter(user, null, GoalCategory.HEALTH, pageable);
+            var response = goalService.filter(user, null, GoalCategory.HEALTH, pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).hasSize(1);
         }
@@ -813,7 +851,7 @@ class GoalServiceTest {
             when(goalRepository.findByOwnerWithFilters(user, GoalStatus.COMPLETED, GoalCategory.FINANCE, pageable))
                     .thenReturn(emptyPage);
 
-            var response = goalService.filter(user, GoalStatus.COMPLETED, GoalCategory.FINANCE, pageable);
+            var response = goalService.filter(user, GoalStatus.COMPLETED, GoalCategory.FINANCE, pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).isEmpty();
         }
@@ -825,9 +863,8 @@ class GoalServiceTest {
             var goals = new PageImpl<>(List.of(goal));
             when(goalRepository.findByOwnerWithFilters(user, null, null, pageable)).thenReturn(goals);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
-            var response = goalService.filter(user, null, null, pageable);
+            var response = goalService.filter(user, null, null, pageable, GoalFieldSelection.full());
 
             assertThat(response.getContent()).hasSize(1);
         }
@@ -844,7 +881,6 @@ class GoalServiceTest {
             var dueDate = LocalDate.now().plusDays(7);
             when(goalRepository.findGoalsDueSoon(user, dueDate)).thenReturn(List.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.findDueSoon(user, 7);
 
@@ -871,7 +907,6 @@ class GoalServiceTest {
             var dueDate = LocalDate.now();
             when(goalRepository.findGoalsDueSoon(user, dueDate)).thenReturn(List.of(goal));
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.findDueSoon(user, 0);
 
@@ -894,7 +929,6 @@ class GoalServiceTest {
             var dueDate = LocalDate.now().plusDays(7);
             when(goalRepository.findGoalsDueSoon(user, dueDate)).thenReturn(List.of(goal, goal2));
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             var response = goalService.findDueSoon(user, 7);
 
@@ -944,7 +978,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(duplicatedGoal);
             when(goalMapper.toResponse(duplicatedGoal)).thenReturn(duplicatedResponse);
-            when(progressEntryRepository.findDistinctProgressDates(duplicatedGoal)).thenReturn(Collections.emptyList());
 
             var response = goalService.duplicate(1L, user);
 
@@ -952,7 +985,7 @@ class GoalServiceTest {
             assertThat(response.getId()).isEqualTo(2L);
             assertThat(response.getTitle()).isEqualTo("Run 5km (Copy)");
             verify(goalRepository).save(any(Goal.class));
-            verify(milestoneRepository, times(4)).save(any());
+            verifyDefaultMilestonesSaved();
         }
 
         @Test
@@ -984,7 +1017,6 @@ class GoalServiceTest {
                 return savedGoal;
             });
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.duplicate(1L, user);
 
@@ -1014,7 +1046,6 @@ class GoalServiceTest {
                 return savedGoal;
             });
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.duplicate(1L, user);
 
@@ -1043,7 +1074,6 @@ class GoalServiceTest {
                 return savedGoal;
             });
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.duplicate(1L, user);
 
@@ -1056,7 +1086,6 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.duplicate(1L, user);
 
@@ -1077,11 +1106,10 @@ class GoalServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.save(any(Goal.class))).thenReturn(savedGoal);
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.duplicate(1L, user);
 
-            verify(milestoneRepository, times(4)).save(any());
+            verifyDefaultMilestonesSaved();
         }
     }
 
@@ -1096,7 +1124,6 @@ class GoalServiceTest {
             when(userProfileService.useStreakShield(user)).thenReturn(true);
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.useStreakShield(1L, user);
 
@@ -1146,7 +1173,6 @@ class GoalServiceTest {
             when(userProfileService.useStreakShield(user)).thenReturn(true);
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.useStreakShield(1L, user);
 
@@ -1162,7 +1188,6 @@ class GoalServiceTest {
             when(userProfileService.useStreakShield(user)).thenReturn(true);
             when(goalRepository.save(any(Goal.class))).thenReturn(goal);
             when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(Collections.emptyList());
 
             var response = goalService.useStreakShield(1L, user);
 
@@ -1177,7 +1202,6 @@ class GoalServiceTest {
             when(userProfileService.useStreakShield(user)).thenReturn(true);
             when(goalRepository.save(any(Goal.class))).thenAnswer(invocation -> invocation.getArgument(0));
             when(goalMapper.toResponse(any(Goal.class))).thenReturn(goalResponse);
-            when(progressEntryRepository.findDistinctProgressDates(any(Goal.class))).thenReturn(Collections.emptyList());
 
             goalService.useStreakShield(1L, user);
 
@@ -1194,4 +1218,186 @@ class GoalServiceTest {
                     .hasMessage(ErrorMessages.GOAL_NOT_FOUND);
         }
     }
+
+    @Nested
+    @DisplayName("Batched enrichment tests")
+    class BatchedEnrichmentTests {
+
+        @Test
+        @DisplayName("Should load child collections for a whole page with one query each")
+        void shouldLoadChildCollectionsForWholePage() {
+            var goal2 = Goal.builder()
+                    .id(2L)
+                    .title("Read 12 books")
+                    .goalCategory(GoalCategory.EDUCATION)
+                    .targetValue(new BigDecimal("12"))
+                    .unit("books")
+                    .currentProgress(BigDecimal.ZERO)
+                    .owner(user)
+                    .build();
+            var goal2Response = GoalResponse.builder().id(2L).title("Read 12 books").build();
+
+            var actionItem1 = ActionItem.builder().id(10L).goal(goal).title("Warm up").build();
+            var actionItem2 = ActionItem.builder().id(20L).goal(goal2).title("Pick a book").build();
+            var completion = TaskCompletion.builder()
+                    .id(100L)
+                    .actionItem(actionItem2)
+                    .scheduledDate(LocalDate.now())
+                    .periodStart(LocalDate.now())
+                    .status(CompletionStatus.COMPLETED)
+                    .build();
+            var checkin = ProgressEntry.builder()
+                    .id(200L)
+                    .goal(goal)
+                    .progressValue(BigDecimal.ONE)
+                    .build();
+            var milestone = Milestone.builder()
+                    .id(300L)
+                    .goal(goal2)
+                    .percentage(25)
+                    .description("25% completed")
+                    .achieved(false)
+                    .build();
+            var guardian = GoalGuardian.builder()
+                    .id(400L)
+                    .goal(goal)
+                    .guardian(User.builder().id(2L).name("Jane").email("jane@example.com").build())
+                    .owner(user)
+                    .status(GuardianStatus.ACTIVE)
+                    .build();
+
+            var pageable = Pageable.unpaged();
+            when(goalRepository.findByOwner(user, pageable)).thenReturn(new PageImpl<>(List.of(goal, goal2)));
+            when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
+            when(goalMapper.toResponse(goal2)).thenReturn(goal2Response);
+            when(actionItemMapper.toResponse(any(ActionItem.class))).thenAnswer(invocation ->
+                    ActionItemResponse.builder().id(invocation.<ActionItem>getArgument(0).getId()).build());
+            when(progressEntryRepository.findLatestByGoalIds(List.of(1L, 2L), 50)).thenReturn(List.of(checkin));
+            when(actionItemRepository.findByGoalIdInOrderByOrderIndexAscCreatedAtAsc(List.of(1L, 2L)))
+                    .thenReturn(List.of(actionItem1, actionItem2));
+            when(taskCompletionRepository.findByActionItemIdInOrderByCompletedAtDesc(List.of(10L, 20L)))
+                    .thenReturn(List.of(completion));
+            when(milestoneRepository.findByGoalIdInOrderByPercentageAsc(List.of(1L, 2L))).thenReturn(List.of(milestone));
+            when(goalGuardianRepository.findByGoalIdsAndStatusWithGuardian(List.of(1L, 2L), GuardianStatus.ACTIVE))
+                    .thenReturn(List.of(guardian));
+
+            var response = goalService.findAll(user, pageable, GoalFieldSelection.full()).getContent();
+
+            assertThat(response).hasSize(2);
+            var first = response.get(0);
+            var second = response.get(1);
+            assertThat(first.getCheckins()).extracting(CheckinDto::getId).containsExactly(200L);
+            assertThat(second.getCheckins()).isEmpty();
+            assertThat(first.getActionPlan().getTasks()).extracting(ActionItemResponse::getId).containsExactly(10L);
+            assertThat(first.getActionPlan().getTasks().getFirst().getCompletionHistory()).isEmpty();
+            assertThat(second.getActionPlan().getTasks().getFirst().getCompletionHistory())
+                    .extracting(TaskCompletionDto::getId).containsExactly(100L);
+            assertThat(first.getMilestones()).isEmpty();
+            assertThat(second.getMilestones()).extracting(MilestoneDto::getLabel).containsExactly("25% completed");
+            assertThat(first.getSupportSystem().getAccountabilityPartners())
+                    .extracting(SupportSystemDto.AccountabilityPartnerDto::getName).containsExactly("Jane");
+            assertThat(second.getSupportSystem().getAccountabilityPartners()).isEmpty();
+
+            verify(taskCompletionRepository, never()).findByActionItemOrderByCompletedAtDesc(any(ActionItem.class));
+            verify(actionItemRepository, never()).findByGoalOrderByOrderIndexAscCreatedAtAsc(any());
+        }
+
+        @Test
+        @DisplayName("Should skip completion query when page has no action items")
+        void shouldSkipCompletionQueryWhenNoActionItems() {
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
+
+            goalService.findById(1L, user, GoalFieldSelection.full());
+
+            verify(taskCompletionRepository, never()).findByActionItemIdInOrderByCompletedAtDesc(any());
+        }
+
+        @Test
+        @DisplayName("Should not query child collections for an empty page")
+        void shouldNotQueryChildCollectionsForEmptyPage() {
+            var pageable = Pageable.unpaged();
+            when(goalRepository.findByOwner(user, pageable)).thenReturn(new PageImpl<>(Collections.emptyList()));
+
+            var response = goalService.findAll(user, pageable, GoalFieldSelection.full());
+
+            assertThat(response.getContent()).isEmpty();
+            verify(progressEntryRepository, never()).findLatestByGoalIds(any(), anyInt());
+            verify(actionItemRepository, never()).findByGoalIdInOrderByOrderIndexAscCreatedAtAsc(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sparse field selection tests")
+    class SparseFieldSelectionTests {
+
+        @Test
+        @DisplayName("Should load summary projection and skip unrequested sections")
+        void shouldLoadSummaryProjectionAndSkipSections() {
+            var summary = GoalSummary.builder()
+                    .id(1L)
+                    .title("Run 5km")
+                    .goalCategory(GoalCategory.HEALTH)
+                    .targetValue(new BigDecimal("5"))
+                    .unit("km")
+                    .currentProgress(new BigDecimal("2"))
+                    .goalStatus(GoalStatus.ACTIVE)
+                    .build();
+            var pageable = Pageable.unpaged();
+            when(goalRepository.findSummariesByOwnerWithFilters(user, null, null, pageable))
+                    .thenReturn(new PageImpl<>(List.of(summary)));
+            when(goalMapper.toSummaryResponse(summary)).thenReturn(goalResponse);
+
+            var response = goalService.findAll(user, pageable, GoalFieldSelection.of("summary", null));
+
+            assertThat(response.getContent()).hasSize(1);
+            var first = response.getContent().getFirst();
+            assertThat(first.getProgressPercentage()).isEqualByComparingTo("40");
+            assertThat(first.getCurrentStreak()).isZero();
+            assertThat(first.getCheckins()).isNull();
+            assertThat(first.getActionPlan()).isNull();
+            assertThat(first.getMilestones()).isNull();
+            assertThat(first.getSupportSystem()).isNull();
+            verify(goalRepository, never()).findByOwner(any(), any());
+            verify(progressEntryRepository, never()).findLatestByGoalIds(any(), anyInt());
+            verify(actionItemRepository, never()).findByGoalIdInOrderByOrderIndexAscCreatedAtAsc(any());
+            verify(milestoneRepository, never()).findByGoalIdInOrderByPercentageAsc(any());
+            verify(goalGuardianRepository, never()).findByGoalIdsAndStatusWithGuardian(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should build only included sections for full goal")
+        void shouldBuildOnlyIncludedSections() {
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(goalMapper.toResponse(goal)).thenReturn(goalResponse);
+
+            var response = goalService.findById(1L, user, GoalFieldSelection.of(null, "milestones"));
+
+            assertThat(response.getMilestones()).isEmpty();
+            assertThat(response.getCheckins()).isNull();
+            assertThat(response.getActionPlan()).isNull();
+            assertThat(response.getSupportSystem()).isNull();
+            verify(milestoneRepository).findByGoalIdInOrderByPercentageAsc(List.of(1L));
+            verify(scheduledTaskRepository, never()).findByGoalIdsOrderByScheduledDateAsc(any());
+        }
+
+        @Test
+        @DisplayName("Should throw not found when summary goal does not exist")
+        void shouldThrowNotFoundWhenSummaryMissing() {
+            when(goalRepository.findSummaryByIdAndOwner(1L, user)).thenReturn(Optional.empty());
+            var selection = GoalFieldSelection.of("summary", "all");
+
+            assertThatThrownBy(() -> goalService.findById(1L, user, selection))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessage(ErrorMessages.GOAL_NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("Should reject unknown field profile")
+        void shouldRejectUnknownFieldProfile() {
+            assertThatThrownBy(() -> GoalFieldSelection.of("everything", null))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage(ErrorMessages.INVALID_GOAL_FIELDS);
+        }
+    }
 }
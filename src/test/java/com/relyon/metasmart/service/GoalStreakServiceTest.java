@@ -0,0 +1,279 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.config.StreakJobConfig;
+import com.relyon.metasmart.entity.goal.Goal;
+import com.relyon.metasmart.entity.goal.dto.GoalStreakStats;
+import com.relyon.metasmart.entity.progress.dto.GoalProgressDate;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.GoalRepository;
+import com.relyon.metasmart.repository.ProgressEntryRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class GoalStreakServiceTest {
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private StreakJobConfig streakJobConfig = new StreakJobConfig();
+
+    @InjectMocks
+    private GoalStreakService goalStreakService;
+
+    private LocalDate today;
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        goal = Goal.builder()
+                .id(1L)
+                .title("Run 5km")
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Progress recorded tests")
+    class ProgressRecordedTests {
+
+        @Test
+        @DisplayName("Should start streak on first progress")
+        void shouldStartStreakOnFirstProgress() {
+            goalStreakService.onProgressRecorded(goal, today);
+
+            assertThat(goal.getStreak()).isEqualTo(1);
+            assertThat(goal.getLongestStreak()).isEqualTo(1);
+            assertThat(goal.getLastProgressDate()).isEqualTo(today);
+        }
+
+        @Test
+        @DisplayName("Should extend streak on consecutive day")
+        void shouldExtendStreakOnConsecutiveDay() {
+            goal.setStreak(3);
+            goal.setLongestStreak(3);
+            goal.setLastProgressDate(today.minusDays(1));
+
+            goalStreakService.onProgressRecorded(goal, today);
+
+            assertThat(goal.getStreak()).isEqualTo(4);
+            assertThat(goal.getLongestStreak()).isEqualTo(4);
+            assertThat(goal.getLastProgressDate()).isEqualTo(today);
+        }
+
+        @Test
+        @DisplayName("Should not change counters for second entry on same day")
+        void shouldNotChangeCountersForSameDay() {
+            goal.setStreak(2);
+            goal.setLongestStreak(5);
+            goal.setLastProgressDate(today);
+
+            goalStreakService.onProgressRecorded(goal, today);
+
+            assertThat(goal.getStreak()).isEqualTo(2);
+            assertThat(goal.getLongestStreak()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should restart streak after a gap and keep longest")
+        void shouldRestartStreakAfterGap() {
+            goal.setStreak(4);
+            goal.setLongestStreak(6);
+            goal.setLastProgressDate(today.minusDays(3));
+
+            goalStreakService.onProgressRecorded(goal, today);
+
+            assertThat(goal.getStreak()).isEqualTo(1);
+            assertThat(goal.getLongestStreak()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Should bridge missed day covered by shield")
+        void shouldBridgeMissedDayCoveredByShield() {
+            goal.setStreak(4);
+            goal.setLongestStreak(4);
+            goal.setLastProgressDate(today.minusDays(2));
+            goal.setLastStreakShieldUsedAt(today.minusDays(1));
+
+            goalStreakService.onProgressRecorded(goal, today);
+
+            assertThat(goal.getStreak()).isEqualTo(5);
+            assertThat(goal.getLongestStreak()).isEqualTo(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Progress removed tests")
+    class ProgressRemovedTests {
+
+        @Test
+        @DisplayName("Should keep counters when other progress exists on the day")
+        void shouldKeepCountersWhenDayStillHasProgress() {
+            goal.setStreak(3);
+            goal.setLastProgressDate(today);
+            when(progressEntryRepository.hasGoalProgressOnDate(goal, today)).thenReturn(true);
+
+            goalStreakService.onProgressRemoved(goal, today);
+
+            assertThat(goal.getStreak()).isEqualTo(3);
+            verify(progressEntryRepository, never()).findDistinctProgressDates(any());
+        }
+
+        @Test
+        @DisplayName("Should rebuild counters when the day is emptied")
+        void shouldRebuildCountersWhenDayEmptied() {
+            goal.setStreak(3);
+            goal.setLongestStreak(3);
+            goal.setLastProgressDate(today);
+            when(progressEntryRepository.hasGoalProgressOnDate(goal, today.minusDays(1))).thenReturn(false);
+            when(progressEntryRepository.findDistinctProgressDates(goal))
+                    .thenReturn(List.of(today, today.minusDays(2)));
+
+            goalStreakService.onProgressRemoved(goal, today.minusDays(1));
+
+            assertThat(goal.getStreak()).isEqualTo(1);
+            assertThat(goal.getLongestStreak()).isEqualTo(1);
+            assertThat(goal.getLastProgressDate()).isEqualTo(today);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read tests")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should return stored streak while alive")
+        void shouldReturnStoredStreakWhileAlive() {
+            goal.setStreak(3);
+            goal.setLastProgressDate(today.minusDays(1));
+
+            assertThat(goalStreakService.getCurrentStreak(goal, today)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should return zero when streak lapsed")
+        void shouldReturnZeroWhenLapsed() {
+            goal.setStreak(3);
+            goal.setLongestStreak(7);
+            goal.setLastProgressDate(today.minusDays(2));
+
+            assertThat(goalStreakService.getCurrentStreak(goal, today)).isZero();
+            assertThat(goalStreakService.getLongestStreak(goal)).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("Should keep streak alive when yesterday was shielded")
+        void shouldKeepStreakAliveWhenYesterdayShielded() {
+            goal.setStreak(3);
+            goal.setLastProgressDate(today.minusDays(2));
+            goal.setLastStreakShieldUsedAt(today.minusDays(1));
+
+            assertThat(goalStreakService.getCurrentStreak(goal, today)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should return zero without progress")
+        void shouldReturnZeroWithoutProgress() {
+            assertThat(goalStreakService.getCurrentStreak(goal, today)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should aggregate owner streaks with liveness window")
+        void shouldAggregateOwnerStreaks() {
+            var owner = User.builder().id(1L).build();
+            var stats = new GoalStreakStats(9, 4);
+            when(goalRepository.findStreakStatsByOwner(owner, today.minusDays(1), today.minusDays(2))).thenReturn(stats);
+
+            assertThat(goalStreakService.getStreakStats(owner, today)).isSameAs(stats);
+        }
+    }
+
+    @Nested
+    @DisplayName("Repair tests")
+    class RepairTests {
+
+        @Test
+        @DisplayName("Should recalculate counters from history")
+        void shouldRecalculateFromHistory() {
+            when(progressEntryRepository.findDistinctProgressDates(goal)).thenReturn(List.of(
+                    today, today.minusDays(1),
+                    today.minusDays(5), today.minusDays(6), today.minusDays(7)));
+
+            goalStreakService.recalculate(goal);
+
+            assertThat(goal.getStreak()).isEqualTo(2);
+            assertThat(goal.getLongestStreak()).isEqualTo(3);
+            assertThat(goal.getLastProgressDate()).isEqualTo(today);
+        }
+
+        @Test
+        @DisplayName("Should save only drifted goals in batch repair")
+        void shouldSaveOnlyDriftedGoals() {
+            runExclusively(true);
+            when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                    invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+            var accurate = Goal.builder().id(1L).streak(1).longestStreak(1).lastProgressDate(today).build();
+            var drifted = Goal.builder().id(2L).streak(0).longestStreak(0).build();
+            when(goalRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+            when(goalRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+            when(goalRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(accurate, drifted));
+            when(progressEntryRepository.findDistinctProgressDatesByGoalIds(List.of(1L, 2L))).thenReturn(List.of(
+                    new GoalProgressDate(1L, today),
+                    new GoalProgressDate(2L, today.minusDays(1)),
+                    new GoalProgressDate(2L, today.minusDays(2))));
+
+            goalStreakService.repairAllGoalStreaks();
+
+            verify(goalRepository).saveAll(List.of(drifted));
+            assertThat(drifted.getStreak()).isEqualTo(2);
+            assertThat(drifted.getLongestStreak()).isEqualTo(2);
+            assertThat(drifted.getLastProgressDate()).isEqualTo(today.minusDays(1));
+        }
+
+        @Test
+        @DisplayName("Should skip repair while another instance holds the lock")
+        void shouldSkipRepairWhenLocked() {
+            runExclusively(false);
+
+            goalStreakService.repairAllGoalStreaks();
+
+            verifyNoInteractions(goalRepository, progressEntryRepository, transactionTemplate);
+        }
+
+        private void runExclusively(boolean acquired) {
+            when(jobLockService.runExclusively(eq(GoalStreakService.REPAIR_LOCK), any(), any())).thenAnswer(invocation -> {
+                if (acquired) {
+                    invocation.<Runnable>getArgument(2).run();
+                }
+                return acquired;
+            });
+        }
+    }
+}
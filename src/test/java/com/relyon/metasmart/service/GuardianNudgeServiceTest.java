@@ -57,6 +57,9 @@ class GuardianNudgeServiceTest {
     @Mock
     private GuardianNudgeMapper guardianNudgeMapper;
 
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
     @InjectMocks
     private GuardianNudgeService guardianNudgeService;
 
@@ -0,0 +1,86 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.repository.JobLockRepository;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class JobLockServiceTest {
+
+    private static final String LOCK = "test-job";
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private JobLockService jobLockService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should run the task and release the lock")
+    void shouldRunAndRelease() {
+        when(jobLockRepository.tryAcquire(eq(LOCK), anyString(), any(), any())).thenReturn(1);
+        var ran = new AtomicBoolean();
+
+        var result = jobLockService.runExclusively(LOCK, Duration.ofMinutes(5), () -> ran.set(true));
+
+        assertThat(result).isTrue();
+        assertThat(ran).isTrue();
+        verify(jobLockRepository).release(eq(LOCK), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip the task while another instance holds the lock")
+    void shouldSkipWhenHeld() {
+        when(jobLockRepository.tryAcquire(eq(LOCK), anyString(), any(), any())).thenReturn(0);
+        var ran = new AtomicBoolean();
+
+        var result = jobLockService.runExclusively(LOCK, Duration.ofMinutes(5), () -> ran.set(true));
+
+        assertThat(result).isFalse();
+        assertThat(ran).isFalse();
+        verify(jobLockRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should release the lock when the task fails")
+    void shouldReleaseWhenTaskFails() {
+        when(jobLockRepository.tryAcquire(eq(LOCK), anyString(), any(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> jobLockService.runExclusively(LOCK, Duration.ofMinutes(5), () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(jobLockRepository).release(eq(LOCK), anyString(), any());
+    }
+}
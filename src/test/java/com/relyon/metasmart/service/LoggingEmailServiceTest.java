@@ -2,7 +2,9 @@ package com.relyon.metasmart.service;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
 import com.relyon.metasmart.service.impl.LoggingEmailService;
+import java.time.LocalDate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -165,7 +167,7 @@ class LoggingEmailServiceTest {
         @DisplayName("should log weekly digest email without throwing exception")
         void shouldLogWeeklyDigestEmail() {
             assertThatCode(() -> loggingEmailService.sendWeeklyDigestEmail(
-                    TEST_EMAIL, TEST_USER_NAME, 5, 3
+                    TEST_EMAIL, TEST_USER_NAME, digest(5, 3, 4, 2)
             )).doesNotThrowAnyException();
         }
 
@@ -173,7 +175,7 @@ class LoggingEmailServiceTest {
         @DisplayName("should handle zero goals count")
         void shouldHandleZeroGoalsCount() {
             assertThatCode(() -> loggingEmailService.sendWeeklyDigestEmail(
-                    TEST_EMAIL, TEST_USER_NAME, 0, 0
+                    TEST_EMAIL, TEST_USER_NAME, digest(0, 0, 0, 0)
             )).doesNotThrowAnyException();
         }
 
@@ -181,7 +183,7 @@ class LoggingEmailServiceTest {
         @DisplayName("should handle large goals count")
         void shouldHandleLargeGoalsCount() {
             assertThatCode(() -> loggingEmailService.sendWeeklyDigestEmail(
-                    TEST_EMAIL, TEST_USER_NAME, 100, 50
+                    TEST_EMAIL, TEST_USER_NAME, digest(100, 50, 7, 0)
             )).doesNotThrowAnyException();
         }
 
@@ -189,8 +191,18 @@ class LoggingEmailServiceTest {
         @DisplayName("should handle more milestones than goals")
         void shouldHandleMoreMilestonesThanGoals() {
             assertThatCode(() -> loggingEmailService.sendWeeklyDigestEmail(
-                    TEST_EMAIL, TEST_USER_NAME, 3, 10
+                    TEST_EMAIL, TEST_USER_NAME, digest(3, 10, 1, 6)
             )).doesNotThrowAnyException();
         }
     }
+
+    private static WeeklyDigest digest(int activeGoals, int milestones, int activeDays, int previousActiveDays) {
+        return WeeklyDigest.builder()
+                .weekStart(LocalDate.of(2025, 3, 3))
+                .activeGoals(activeGoals)
+                .milestonesAchieved(milestones)
+                .activeDays(activeDays)
+                .previousActiveDays(previousActiveDays)
+                .build();
+    }
 }
@@ -0,0 +1,69 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.relyon.metasmart.entity.notification.NotificationPreferences;
+import com.relyon.metasmart.repository.NotificationPreferencesRepository;
+import com.relyon.metasmart.service.event.MilestonesAchievedEvent;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MilestoneNotificationServiceTest {
+
+    @Mock
+    private NotificationPreferencesRepository notificationPreferencesRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private MilestoneNotificationService milestoneNotificationService;
+
+    private final MilestonesAchievedEvent event =
+            new MilestonesAchievedEvent(1L, "john@test.com", "John", 10L, "Run 5km", List.of(25, 50));
+
+    @Test
+    @DisplayName("Should email the highest milestone reached when user has no preferences")
+    void shouldEmailHighestMilestone() {
+        when(notificationPreferencesRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        milestoneNotificationService.onMilestonesAchieved(event);
+
+        verify(emailService).sendMilestoneEmail("john@test.com", "John", "Run 5km", 50);
+    }
+
+    @Test
+    @DisplayName("Should not email when milestone emails are turned off")
+    void shouldRespectMilestoneEmailPreference() {
+        var preferences = NotificationPreferences.builder().emailEnabled(true).emailMilestones(false).build();
+        when(notificationPreferencesRepository.findByUserId(1L)).thenReturn(Optional.of(preferences));
+
+        milestoneNotificationService.onMilestonesAchieved(event);
+
+        verify(emailService, never()).sendMilestoneEmail(anyString(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should propagate a failure to queue the email so the progress write rolls back")
+    void shouldPropagateEmailFailure() {
+        when(notificationPreferencesRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("template missing"))
+                .when(emailService).sendMilestoneEmail("john@test.com", "John", "Run 5km", 50);
+
+        assertThatThrownBy(() -> milestoneNotificationService.onMilestonesAchieved(event))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,165 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.relyon.metasmart.config.PrincipalCacheConfig;
+import com.relyon.metasmart.entity.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class PrincipalCacheTest {
+
+    private MutableClock clock;
+    private PrincipalCacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+        config = new PrincipalCacheConfig();
+        config.setMaxEntries(2);
+        config.setTtl(Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PrincipalCache(config, meterRegistry, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .id(1L)
+                .name("John")
+                .email(email)
+                .password("encoded")
+                .streakShields(3)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should serve a copy so request-side mutations never reach the cache")
+    void shouldServeIsolatedCopies() {
+        var original = user("john@test.com");
+        cache.put(original);
+        original.setStreakShields(0);
+
+        var first = cache.get("john@test.com").orElseThrow();
+        first.setName("Changed");
+        var second = cache.get("john@test.com").orElseThrow();
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(second.getName()).isEqualTo("John");
+        assertThat(second.getStreakShields()).isEqualTo(3);
+        assertThat(meterRegistry.get(RefreshAheadCache.GETS_METRIC).tag("result", "hit").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the ttl")
+    void shouldExpireAfterTtl() {
+        cache.put(user("john@test.com"));
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertThat(cache.get("john@test.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry beyond the bound")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.put(user("a@test.com"));
+        cache.put(user("b@test.com"));
+        cache.get("a@test.com");
+
+        cache.put(user("c@test.com"));
+
+        assertThat(cache.get("a@test.com")).isPresent();
+        assertThat(cache.get("b@test.com")).isEmpty();
+        assertThat(cache.get("c@test.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should prune the least recently used tenth once past the bound")
+    void shouldPruneLeastRecentlyUsedTenth() {
+        config.setMaxEntries(10);
+        for (var i = 0; i < 10; i++) {
+            cache.put(user(i + "@test.com"));
+        }
+        cache.get("0@test.com");
+
+        cache.put(user("10@test.com"));
+
+        assertThat(cache.get("0@test.com")).isPresent();
+        assertThat(cache.get("1@test.com")).isEmpty();
+        assertThat(cache.get("2@test.com")).isEmpty();
+        assertThat(cache.get("3@test.com")).isPresent();
+        assertThat(cache.get("10@test.com")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should invalidate again after the surrounding transaction completes")
+    void shouldInvalidateAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.put(user("john@test.com"));
+
+        cache.invalidate("john@test.com");
+        cache.put(user("john@test.com"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.get("john@test.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassWhenDisabled() {
+        config.setEnabled(false);
+
+        cache.put(user("john@test.com"));
+
+        assertThat(cache.get("john@test.com")).isEmpty();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
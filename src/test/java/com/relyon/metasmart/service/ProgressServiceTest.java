@@ -3,6 +3,7 @@ package com.relyon.metasmart.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 import com.relyon.metasmart.constant.ErrorMessages;
@@ -19,6 +20,7 @@ import com.relyon.metasmart.mapper.ProgressEntryMapper;
 import com.relyon.metasmart.repository.GoalRepository;
 import com.relyon.metasmart.repository.MilestoneRepository;
 import com.relyon.metasmart.repository.ProgressEntryRepository;
+import com.relyon.metasmart.service.event.MilestonesAchievedEvent;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,9 +32,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
@@ -60,6 +64,18 @@ class ProgressServiceTest {
     @Mock
     private UserStreakService userStreakService;
 
+    @Mock
+    private GoalStreakService goalStreakService;
+
+    @Mock
+    private ActivityCalendarService activityCalendarService;
+
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProgressService progressService;
 
@@ -88,6 +104,7 @@ class ProgressServiceTest {
                 .goal(goal)
                 .progressValue(BigDecimal.ONE)
                 .note("Good run")
+                .createdAt(LocalDateTime.now())
                 .build();
 
         progressRequest = ProgressEntryRequest.builder()
@@ -102,6 +119,22 @@ class ProgressServiceTest {
                 .build();
     }
 
+    private void stubAtomicProgressUpdate() {
+        when(goalRepository.addToCurrentProgress(eq(1L), any(BigDecimal.class))).thenAnswer(invocation -> {
+            goal.setCurrentProgress(goal.getCurrentProgress().add(invocation.getArgument(1)));
+            return 1;
+        });
+        when(goalRepository.findById(1L)).thenReturn(Optional.of(goal));
+    }
+
+    private Milestone unachievedMilestone(int percentage) {
+        return Milestone.builder()
+                .goal(goal)
+                .percentage(percentage)
+                .achieved(false)
+                .build();
+    }
+
     @Nested
     @DisplayName("Add progress tests")
     class AddProgressTests {
@@ -113,15 +146,19 @@ class ProgressServiceTest {
             when(progressEntryMapper.toEntity(progressRequest)).thenReturn(progressEntry);
             when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(progressEntry);
             when(progressEntryMapper.toResponse(progressEntry)).thenReturn(progressResponse);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.ONE);
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
+            stubAtomicProgressUpdate();
 
             var response = progressService.addProgress(1L, progressRequest, user);
 
             assertThat(response).isNotNull();
             assertThat(response.getProgressValue()).isEqualTo(BigDecimal.ONE);
             verify(progressEntryRepository).save(any(ProgressEntry.class));
+            verify(goalRepository).addToCurrentProgress(1L, BigDecimal.ONE);
             verify(goalRepository).save(any(Goal.class));
+            verify(progressEntryRepository, never()).sumValueByGoal(any());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+            verify(goalStreakService).onProgressRecorded(eq(goal), any(LocalDate.class));
+            verify(activityCalendarService).onProgressRecorded(eq(goal), any(LocalDate.class));
         }
 
         @Test
@@ -185,21 +222,22 @@ class ProgressServiceTest {
                     .build();
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
-            when(progressEntryRepository.save(any(ProgressEntry.class)))
-                    .thenReturn(savedEntry1)
-                    .thenReturn(savedEntry2);
+            when(progressEntryRepository.saveAll(anyList())).thenReturn(List.of(savedEntry1, savedEntry2));
             when(progressEntryMapper.toResponse(savedEntry1)).thenReturn(response1);
             when(progressEntryMapper.toResponse(savedEntry2)).thenReturn(response2);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.valueOf(3));
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
+            stubAtomicProgressUpdate();
 
             var responses = progressService.addBulkProgress(1L, bulkRequest, user);
 
             assertThat(responses).hasSize(2);
             assertThat(responses.get(0).getProgressValue()).isEqualTo(BigDecimal.ONE);
             assertThat(responses.get(1).getProgressValue()).isEqualTo(BigDecimal.valueOf(2));
-            verify(progressEntryRepository, times(2)).save(any(ProgressEntry.class));
+            verify(progressEntryRepository).saveAll(anyList());
+            verify(progressEntryRepository, never()).save(any(ProgressEntry.class));
+            verify(goalRepository).addToCurrentProgress(1L, BigDecimal.valueOf(3));
             verify(goalRepository).save(any(Goal.class));
+            verify(goalStreakService).onProgressRecorded(eq(goal), any(LocalDate.class));
+            verify(activityCalendarService).onProgressRecorded(eq(goal), any(LocalDate.class), eq(2));
         }
 
         @Test
@@ -246,14 +284,14 @@ class ProgressServiceTest {
                     .build();
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
-            when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(savedEntry);
+            when(progressEntryRepository.saveAll(anyList())).thenReturn(List.of(savedEntry));
             when(progressEntryMapper.toResponse(savedEntry)).thenReturn(response);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.valueOf(5));
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
+            stubAtomicProgressUpdate();
 
             progressService.addBulkProgress(1L, bulkRequest, user);
 
-            verify(goalRepository, times(2)).save(argThat(g ->
+            verify(goalRepository).addToCurrentProgress(1L, BigDecimal.valueOf(5));
+            verify(goalRepository).save(argThat(g ->
                     g.getGoalStatus() == GoalStatus.COMPLETED
             ));
         }
@@ -270,13 +308,6 @@ class ProgressServiceTest {
                     .entries(List.of(item))
                     .build();
 
-            var milestone = Milestone.builder()
-                    .id(1L)
-                    .goal(goal)
-                    .percentage(50)
-                    .achieved(false)
-                    .build();
-
             var savedEntry = ProgressEntry.builder()
                     .id(1L)
                     .goal(goal)
@@ -288,17 +319,27 @@ class ProgressServiceTest {
                     .progressValue(BigDecimal.valueOf(3))
                     .build();
 
-            goal.setCurrentProgress(BigDecimal.valueOf(3));
-
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
-            when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(savedEntry);
+            when(progressEntryRepository.saveAll(anyList())).thenReturn(List.of(savedEntry));
             when(progressEntryMapper.toResponse(savedEntry)).thenReturn(response);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.valueOf(3));
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(List.of(milestone));
+            stubAtomicProgressUpdate();
+            var quarter = unachievedMilestone(25);
+            var half = unachievedMilestone(50);
+            when(milestoneRepository.findReachedForUpdate(eq(1L),
+                    argThat(percentage -> percentage.compareTo(BigDecimal.valueOf(60)) == 0)))
+                    .thenReturn(List.of(quarter, half));
 
             progressService.addBulkProgress(1L, bulkRequest, user);
 
-            verify(milestoneRepository).save(argThat(m -> m.getAchieved() && m.getAchievedAt() != null));
+            assertThat(quarter.getAchieved()).isTrue();
+            assertThat(half.getAchieved()).isTrue();
+            assertThat(half.getAchievedAt()).isNotNull();
+            verify(milestoneRepository).saveAll(List.of(quarter, half));
+            verify(userProfileService).addStreakShield(user, 1);
+            var captor = ArgumentCaptor.forClass(MilestonesAchievedEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertThat(captor.getValue().getPercentages()).containsExactly(25, 50);
+            assertThat(captor.getValue().getGoalTitle()).isEqualTo("Run 5km");
         }
 
         @Test
@@ -309,13 +350,12 @@ class ProgressServiceTest {
                     .build();
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.ZERO);
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
 
             var responses = progressService.addBulkProgress(1L, bulkRequest, user);
 
             assertThat(responses).isEmpty();
             verify(progressEntryRepository, never()).save(any(ProgressEntry.class));
+            verify(goalRepository, never()).addToCurrentProgress(any(), any());
         }
     }
 
@@ -375,13 +415,14 @@ class ProgressServiceTest {
             when(progressEntryRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(progressEntry));
             when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(progressEntry);
             when(progressEntryMapper.toResponse(progressEntry)).thenReturn(progressResponse);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.valueOf(2));
-            when(milestoneRepository.findByGoalOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
+            stubAtomicProgressUpdate();
 
             var response = progressService.updateProgressEntry(1L, 1L, updateRequest, user);
 
             assertThat(response).isNotNull();
             verify(progressEntryRepository).save(any(ProgressEntry.class));
+            verify(goalRepository).addToCurrentProgress(1L, BigDecimal.ONE);
+            assertThat(goal.getCurrentProgress()).isEqualByComparingTo("1");
         }
 
         @Test
@@ -404,14 +445,18 @@ class ProgressServiceTest {
         @Test
         @DisplayName("Should delete progress entry")
         void shouldDeleteProgressEntry() {
+            goal.setCurrentProgress(BigDecimal.valueOf(3));
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(progressEntryRepository.findById(1L)).thenReturn(Optional.of(progressEntry));
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.ZERO);
-            when(milestoneRepository.findByGoalOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
+            stubAtomicProgressUpdate();
 
             progressService.deleteProgressEntry(1L, 1L, user);
 
             verify(progressEntryRepository).delete(progressEntry);
+            verify(goalRepository).addToCurrentProgress(1L, BigDecimal.ONE.negate());
+            assertThat(goal.getCurrentProgress()).isEqualByComparingTo("2");
+            verify(goalStreakService).onProgressRemoved(goal, progressEntry.getCreatedAt().toLocalDate());
+            verify(activityCalendarService).onProgressRemoved(goal, progressEntry.getCreatedAt().toLocalDate());
         }
     }
 
@@ -570,16 +615,16 @@ class ProgressServiceTest {
         @Test
         @DisplayName("Should mark goal as completed when target is reached")
         void shouldMarkGoalAsCompleted() {
+            goal.setCurrentProgress(BigDecimal.valueOf(4));
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(progressEntryMapper.toEntity(progressRequest)).thenReturn(progressEntry);
             when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(progressEntry);
             when(progressEntryMapper.toResponse(progressEntry)).thenReturn(progressResponse);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.valueOf(5));
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(Collections.emptyList());
+            stubAtomicProgressUpdate();
 
             progressService.addProgress(1L, progressRequest, user);
 
-            verify(goalRepository, times(2)).save(argThat(g ->
+            verify(goalRepository).save(argThat(g ->
                     g.getGoalStatus() == GoalStatus.COMPLETED
             ));
         }
@@ -587,46 +632,37 @@ class ProgressServiceTest {
         @Test
         @DisplayName("Should achieve milestones when progress is added")
         void shouldAchieveMilestones() {
-            var milestone = Milestone.builder()
-                    .id(1L)
-                    .goal(goal)
-                    .percentage(25)
-                    .achieved(false)
-                    .build();
-
             goal.setCurrentProgress(BigDecimal.valueOf(2));
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(progressEntryMapper.toEntity(progressRequest)).thenReturn(progressEntry);
             when(progressEntryRepository.save(any(ProgressEntry.class))).thenReturn(progressEntry);
             when(progressEntryMapper.toResponse(progressEntry)).thenReturn(progressResponse);
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.valueOf(2));
-            when(milestoneRepository.findByGoalAndAchievedFalseOrderByPercentageAsc(goal)).thenReturn(List.of(milestone));
+            stubAtomicProgressUpdate();
+            when(milestoneRepository.findReachedForUpdate(eq(1L), any(BigDecimal.class)))
+                    .thenReturn(List.of(unachievedMilestone(25)));
 
             progressService.addProgress(1L, progressRequest, user);
 
-            verify(milestoneRepository).save(argThat(m -> m.getAchieved() && m.getAchievedAt() != null));
+            verify(userProfileService, never()).addStreakShield(any(), anyInt());
+            verify(eventPublisher).publishEvent(any(MilestonesAchievedEvent.class));
         }
 
         @Test
         @DisplayName("Should revert milestones when progress is deleted")
         void shouldRevertMilestones() {
-            var milestone = Milestone.builder()
-                    .id(1L)
-                    .goal(goal)
-                    .percentage(50)
-                    .achieved(true)
-                    .achievedAt(LocalDateTime.now())
-                    .build();
+            goal.setCurrentProgress(BigDecimal.valueOf(3));
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(progressEntryRepository.findById(1L)).thenReturn(Optional.of(progressEntry));
-            when(progressEntryRepository.sumValueByGoal(goal)).thenReturn(BigDecimal.ZERO);
-            when(milestoneRepository.findByGoalOrderByPercentageAsc(goal)).thenReturn(List.of(milestone));
+            stubAtomicProgressUpdate();
+            when(milestoneRepository.revertAbove(eq(1L), any(BigDecimal.class), any(LocalDateTime.class))).thenReturn(1);
 
             progressService.deleteProgressEntry(1L, 1L, user);
 
-            verify(milestoneRepository).save(argThat(m -> !m.getAchieved() && m.getAchievedAt() == null));
+            verify(milestoneRepository).revertAbove(eq(1L), argThat(percentage -> percentage.compareTo(BigDecimal.valueOf(40)) == 0),
+                    any(LocalDateTime.class));
+            verify(milestoneRepository, never()).save(any(Milestone.class));
         }
     }
 
@@ -44,6 +44,9 @@ class ReflectionServiceTest {
     @Mock
     private GoalRepository goalRepository;
 
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
     @InjectMocks
     private ReflectionService reflectionService;
 
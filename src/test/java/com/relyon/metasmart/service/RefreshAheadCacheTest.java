@@ -0,0 +1,175 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RefreshAheadCacheTest {
+
+    private MutableClock clock;
+    private List<Runnable> pendingRefreshes;
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshAheadCache<String, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-10T12:00:00Z"));
+        pendingRefreshes = new ArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RefreshAheadCache<>("test", Duration.ofMinutes(1), Duration.ofMinutes(10),
+                pendingRefreshes::add, meterRegistry, clock);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get(RefreshAheadCache.GETS_METRIC).tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should load on miss and serve hits from memory")
+    void shouldLoadOnMissAndServeHits() {
+        var loads = new AtomicInteger();
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(1);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1.0);
+        assertThat(gets("hit")).isEqualTo(1.0);
+        assertThat(meterRegistry.get(RefreshAheadCache.LOAD_METRIC).timer().count()).isEqualTo(1);
+        assertThat(pendingRefreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve previous value while refreshing ahead")
+    void shouldServePreviousValueWhileRefreshing() {
+        var loads = new AtomicInteger();
+        cache.get("key", loads::incrementAndGet);
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(pendingRefreshes).hasSize(1);
+
+        pendingRefreshes.getFirst().run();
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload expired entry before serving")
+    void shouldReloadExpiredEntry() {
+        var loads = new AtomicInteger();
+        cache.get("key", loads::incrementAndGet);
+        clock.advance(Duration.ofMinutes(11));
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(pendingRefreshes).isEmpty();
+        assertThat(gets("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep previous value when background refresh fails")
+    void shouldKeepPreviousValueWhenRefreshFails() {
+        cache.get("key", () -> 1);
+        clock.advance(Duration.ofMinutes(2));
+
+        cache.get("key", () -> {
+            throw new IllegalStateException("connection lost");
+        });
+        pendingRefreshes.getFirst().run();
+
+        assertThat(cache.get("key", () -> 3)).isEqualTo(1);
+        assertThat(meterRegistry.get(RefreshAheadCache.LOAD_FAILURES_METRIC).counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should rethrow failure of a blocking load")
+    void shouldRethrowFailureOfBlockingLoad() {
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("connection lost");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("connection lost");
+
+        assertThat(cache.get("key", () -> 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent misses")
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        var loads = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var callers = 8;
+
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            var results = new ArrayList<Future<Integer>>();
+            results.add(executor.submit(() -> cache.get("key", () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            })));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (var i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("key", loads::incrementAndGet)));
+            }
+            release.countDown();
+
+            for (var result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
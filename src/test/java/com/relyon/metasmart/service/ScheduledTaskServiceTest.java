@@ -3,6 +3,7 @@ package com.relyon.metasmart.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
@@ -23,14 +24,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 @ExtendWith(MockitoExtension.class)
 class ScheduledTaskServiceTest {
@@ -161,14 +165,15 @@ class ScheduledTaskServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
-            when(scheduledTaskRepository.findByActionItemAndScheduledDate(any(), any())).thenReturn(Optional.empty());
-            when(scheduledTaskRepository.save(any())).thenReturn(scheduledTask);
+            when(scheduledTaskRepository.findScheduledDatesBetween(any(), any(), any())).thenReturn(Set.of());
+            when(scheduledTaskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
             when(scheduledTaskMapper.toDto(any())).thenReturn(scheduledTaskDto);
 
             var result = scheduledTaskService.createBulkScheduledTasks(1L, 1L, dates, user);
 
             assertThat(result).hasSize(3);
-            verify(scheduledTaskRepository, times(3)).save(any());
+            verify(scheduledTaskRepository).saveAllAndFlush(anyList());
+            verify(scheduledTaskRepository, never()).save(any());
         }
 
         @Test
@@ -178,17 +183,66 @@ class ScheduledTaskServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
-            when(scheduledTaskRepository.findByActionItemAndScheduledDate(actionItem, LocalDate.now()))
-                    .thenReturn(Optional.of(scheduledTask));
-            when(scheduledTaskRepository.findByActionItemAndScheduledDate(actionItem, LocalDate.now().plusDays(1)))
-                    .thenReturn(Optional.empty());
-            when(scheduledTaskRepository.save(any())).thenReturn(scheduledTask);
+            when(scheduledTaskRepository.findScheduledDatesBetween(actionItem, LocalDate.now(), LocalDate.now().plusDays(1)))
+                    .thenReturn(Set.of(LocalDate.now()));
+            when(scheduledTaskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
             when(scheduledTaskMapper.toDto(any())).thenReturn(scheduledTaskDto);
 
             var result = scheduledTaskService.createBulkScheduledTasks(1L, 1L, dates, user);
 
             assertThat(result).hasSize(1);
-            verify(scheduledTaskRepository, times(1)).save(any());
+            verify(scheduledTaskRepository).saveAllAndFlush(anyList());
+            verify(scheduledTaskRepository, never()).findByActionItemAndScheduledDate(any(), any());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should look up existing dates once and insert each requested date once")
+        void shouldQueryRangeOnceAndCollapseDuplicateDates() {
+            var start = LocalDate.now();
+            var dates = List.of(start.plusDays(2), start, start.plusDays(2), start.plusDays(1));
+
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
+            when(scheduledTaskRepository.findScheduledDatesBetween(actionItem, start, start.plusDays(2))).thenReturn(Set.of());
+            when(scheduledTaskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(scheduledTaskMapper.toDto(any())).thenReturn(scheduledTaskDto);
+
+            var result = scheduledTaskService.createBulkScheduledTasks(1L, 1L, dates, user);
+
+            assertThat(result).hasSize(3);
+            var captor = ArgumentCaptor.forClass(List.class);
+            verify(scheduledTaskRepository).saveAllAndFlush(captor.capture());
+            assertThat(((List<ScheduledTask>) captor.getValue()).stream().map(ScheduledTask::getScheduledDate))
+                    .containsExactly(start, start.plusDays(1), start.plusDays(2));
+            verify(scheduledTaskRepository).findScheduledDatesBetween(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject with a conflict when a concurrent request inserted an overlapping date")
+        void shouldRejectConcurrentOverlap() {
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
+            when(scheduledTaskRepository.findScheduledDatesBetween(any(), any(), any())).thenReturn(Set.of());
+            when(scheduledTaskRepository.saveAllAndFlush(anyList()))
+                    .thenThrow(new DataIntegrityViolationException("uk_scheduled_tasks_action_item_date"));
+
+            assertThatThrownBy(() -> scheduledTaskService.createBulkScheduledTasks(1L, 1L, List.of(LocalDate.now()), user))
+                    .isInstanceOf(DuplicateResourceException.class)
+                    .hasMessage(ErrorMessages.SCHEDULED_TASKS_CONFLICT);
+        }
+
+        @Test
+        @DisplayName("Should not query when no dates are requested")
+        void shouldReturnEmptyForNoDates() {
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
+
+            var result = scheduledTaskService.createBulkScheduledTasks(1L, 1L, List.of(), user);
+
+            assertThat(result).isEmpty();
+            verify(scheduledTaskRepository, never()).findScheduledDatesBetween(any(), any(), any());
+            verify(scheduledTaskRepository, never()).saveAllAndFlush(anyList());
         }
     }
 
@@ -208,8 +262,8 @@ class ScheduledTaskServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
-            when(scheduledTaskRepository.findByActionItemAndScheduledDate(any(), any())).thenReturn(Optional.empty());
-            when(scheduledTaskRepository.save(any())).thenReturn(scheduledTask);
+            when(scheduledTaskRepository.findScheduledDatesBetween(any(), any(), any())).thenReturn(Set.of());
+            when(scheduledTaskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
             when(scheduledTaskMapper.toDto(any())).thenReturn(scheduledTaskDto);
 
             var result = scheduledTaskService.generateScheduleForFrequencyTask(
@@ -229,8 +283,8 @@ class ScheduledTaskServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
-            when(scheduledTaskRepository.findByActionItemAndScheduledDate(any(), any())).thenReturn(Optional.empty());
-            when(scheduledTaskRepository.save(any())).thenReturn(scheduledTask);
+            when(scheduledTaskRepository.findScheduledDatesBetween(any(), any(), any())).thenReturn(Set.of());
+            when(scheduledTaskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
             when(scheduledTaskMapper.toDto(any())).thenReturn(scheduledTaskDto);
 
             var result = scheduledTaskService.generateScheduleForFrequencyTask(
@@ -265,8 +319,8 @@ class ScheduledTaskServiceTest {
 
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
-            when(scheduledTaskRepository.findByActionItemAndScheduledDate(any(), any())).thenReturn(Optional.empty());
-            when(scheduledTaskRepository.save(any())).thenReturn(scheduledTask);
+            when(scheduledTaskRepository.findScheduledDatesBetween(any(), any(), any())).thenReturn(Set.of());
+            when(scheduledTaskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
             when(scheduledTaskMapper.toDto(any())).thenReturn(scheduledTaskDto);
 
             var result = scheduledTaskService.generateScheduleForFrequencyTask(
@@ -1,16 +1,15 @@
 package com.relyon.metasmart.service;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
-import com.relyon.metasmart.exception.EmailSendingException;
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
 import com.relyon.metasmart.service.impl.SmtpEmailService;
-import jakarta.mail.internet.MimeMessage;
 import java.lang.reflect.Field;
+import java.time.LocalDate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,17 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSender;
 
 @ExtendWith(MockitoExtension.class)
 class SmtpEmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
-
-    @Mock
-    private MimeMessage mimeMessage;
+    private EmailOutboxService emailOutboxService;
 
     private SmtpEmailService smtpEmailService;
 
@@ -36,13 +30,11 @@ class SmtpEmailServiceTest {
     private static final String TEST_USER_NAME = "Test User";
     private static final String TEST_RESET_TOKEN = "reset-token-123";
     private static final String TEST_GOAL_TITLE = "Learn Java";
-    private static final String FROM_EMAIL = "noreply@metasmart.com";
     private static final String FRONTEND_URL = "http://localhost:3000";
 
     @BeforeEach
     void setUp() throws Exception {
-        smtpEmailService = new SmtpEmailService(mailSender);
-        setField(smtpEmailService, "fromEmail", FROM_EMAIL);
+        smtpEmailService = new SmtpEmailService(emailOutboxService);
         setField(smtpEmailService, "frontendUrl", FRONTEND_URL);
     }
 
@@ -57,38 +49,20 @@ class SmtpEmailServiceTest {
     class SendPasswordResetEmail {
 
         @Test
-        @DisplayName("should send password reset email successfully")
-        void shouldSendPasswordResetEmailSuccessfully() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+        @DisplayName("should queue password reset email with the reset link")
+        void shouldQueuePasswordResetEmailWithResetLink() {
             smtpEmailService.sendPasswordResetEmail(TEST_EMAIL, TEST_RESET_TOKEN, TEST_USER_NAME);
 
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), eq("Reset Your Metasmart Password"),
+                    contains(FRONTEND_URL + "/reset-password?token=" + TEST_RESET_TOKEN));
         }
 
         @Test
-        @DisplayName("should throw EmailSendingException when MailException occurs")
-        void shouldThrowEmailSendingExceptionOnMailException() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            doThrow(new MailSendException("Failed to send email")).when(mailSender).send(any(MimeMessage.class));
-
-            assertThatThrownBy(() -> smtpEmailService.sendPasswordResetEmail(
-                    TEST_EMAIL, TEST_RESET_TOKEN, TEST_USER_NAME
-            ))
-                    .isInstanceOf(EmailSendingException.class)
-                    .hasMessage("Failed to send email")
-                    .hasCauseInstanceOf(MailSendException.class);
-        }
-
-        @Test
-        @DisplayName("should include reset token in email")
-        void shouldIncludeResetTokenInEmail() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+        @DisplayName("should greet the user by name")
+        void shouldGreetUserByName() {
             smtpEmailService.sendPasswordResetEmail(TEST_EMAIL, TEST_RESET_TOKEN, TEST_USER_NAME);
 
-            verify(mailSender).send(any(MimeMessage.class));
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), anyString(), contains("Hi " + TEST_USER_NAME));
         }
     }
 
@@ -97,25 +71,11 @@ class SmtpEmailServiceTest {
     class SendWelcomeEmail {
 
         @Test
-        @DisplayName("should send welcome email successfully")
-        void shouldSendWelcomeEmailSuccessfully() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+        @DisplayName("should queue welcome email")
+        void shouldQueueWelcomeEmail() {
             smtpEmailService.sendWelcomeEmail(TEST_EMAIL, TEST_USER_NAME);
 
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(any(MimeMessage.class));
-        }
-
-        @Test
-        @DisplayName("should throw EmailSendingException when sending fails")
-        void shouldThrowEmailSendingExceptionOnSendFailure() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            doThrow(new MailSendException("Failed to send email")).when(mailSender).send(any(MimeMessage.class));
-
-            assertThatThrownBy(() -> smtpEmailService.sendWelcomeEmail(TEST_EMAIL, TEST_USER_NAME))
-                    .isInstanceOf(EmailSendingException.class)
-                    .hasMessage("Failed to send email");
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), eq("Welcome to Metasmart!"), contains("Hi " + TEST_USER_NAME));
         }
     }
 
@@ -124,37 +84,21 @@ class SmtpEmailServiceTest {
     class SendStreakAtRiskEmail {
 
         @Test
-        @DisplayName("should send streak at risk email successfully")
-        void shouldSendStreakAtRiskEmailSuccessfully() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+        @DisplayName("should queue streak at risk email with the streak and goal")
+        void shouldQueueStreakAtRiskEmail() {
             smtpEmailService.sendStreakAtRiskEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 30);
 
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(any(MimeMessage.class));
-        }
-
-        @Test
-        @DisplayName("should throw EmailSendingException when sending fails")
-        void shouldThrowEmailSendingExceptionOnSendFailure() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            doThrow(new MailSendException("Failed to send email")).when(mailSender).send(any(MimeMessage.class));
-
-            assertThatThrownBy(() -> smtpEmailService.sendStreakAtRiskEmail(
-                    TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 30
-            )).isInstanceOf(EmailSendingException.class);
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), eq("Your 30-Day Streak is at Risk!"), contains(TEST_GOAL_TITLE));
         }
 
         @Test
-        @DisplayName("should send email with different streak counts")
-        void shouldSendEmailWithDifferentStreakCounts() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+        @DisplayName("should queue one email per call")
+        void shouldQueueOneEmailPerCall() {
             smtpEmailService.sendStreakAtRiskEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 1);
             smtpEmailService.sendStreakAtRiskEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 100);
             smtpEmailService.sendStreakAtRiskEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 365);
 
-            verify(mailSender, times(3)).send(any(MimeMessage.class));
+            verify(emailOutboxService, times(3)).enqueue(eq(TEST_EMAIL), anyString(), anyString());
         }
     }
 
@@ -163,38 +107,12 @@ class SmtpEmailServiceTest {
     class SendMilestoneEmail {
 
         @Test
-        @DisplayName("should send milestone email successfully")
-        void shouldSendMilestoneEmailSuccessfully() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendMilestoneEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 50);
-
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(any(MimeMessage.class));
-        }
-
-        @Test
-        @DisplayName("should throw EmailSendingException when sending fails")
-        void shouldThrowEmailSendingExceptionOnSendFailure() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            doThrow(new MailSendException("Failed to send email")).when(mailSender).send(any(MimeMessage.class));
-
-            assertThatThrownBy(() -> smtpEmailService.sendMilestoneEmail(
-                    TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 50
-            )).isInstanceOf(EmailSendingException.class);
-        }
-
-        @Test
-        @DisplayName("should send emails for different milestone percentages")
-        void shouldSendEmailsForDifferentMilestonePercentages() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendMilestoneEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 25);
+        @DisplayName("should queue milestone email with the percentage")
+        void shouldQueueMilestoneEmail() {
             smtpEmailService.sendMilestoneEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 50);
-            smtpEmailService.sendMilestoneEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 75);
-            smtpEmailService.sendMilestoneEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 100);
 
-            verify(mailSender, times(4)).send(any(MimeMessage.class));
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), eq("Congratulations! You've Reached 50% on Your Goal!"),
+                    contains("<strong>50%</strong>"));
         }
     }
 
@@ -203,105 +121,28 @@ class SmtpEmailServiceTest {
     class SendWeeklyDigestEmail {
 
         @Test
-        @DisplayName("should send weekly digest email successfully")
-        void shouldSendWeeklyDigestEmailSuccessfully() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendWeeklyDigestEmail(TEST_EMAIL, TEST_USER_NAME, 5, 3);
-
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(any(MimeMessage.class));
-        }
-
-        @Test
-        @DisplayName("should throw EmailSendingException when sending fails")
-        void shouldThrowEmailSendingExceptionOnSendFailure() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-            doThrow(new MailSendException("Failed to send email")).when(mailSender).send(any(MimeMessage.class));
-
-            assertThatThrownBy(() -> smtpEmailService.sendWeeklyDigestEmail(
-                    TEST_EMAIL, TEST_USER_NAME, 5, 3
-            )).isInstanceOf(EmailSendingException.class);
-        }
-
-        @Test
-        @DisplayName("should send email with zero counts")
-        void shouldSendEmailWithZeroCounts() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendWeeklyDigestEmail(TEST_EMAIL, TEST_USER_NAME, 0, 0);
-
-            verify(mailSender).send(any(MimeMessage.class));
-        }
-
-        @Test
-        @DisplayName("should send email with large counts")
-        void shouldSendEmailWithLargeCounts() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendWeeklyDigestEmail(TEST_EMAIL, TEST_USER_NAME, 100, 50);
-
-            verify(mailSender).send(any(MimeMessage.class));
-        }
-    }
-
-    @Nested
-    @DisplayName("HTML Content Generation")
-    class HtmlContentGeneration {
-
-        @Test
-        @DisplayName("should create valid MimeMessage for password reset")
-        void shouldCreateValidMimeMessageForPasswordReset() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendPasswordResetEmail(TEST_EMAIL, TEST_RESET_TOKEN, TEST_USER_NAME);
-
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(mimeMessage);
-        }
-
-        @Test
-        @DisplayName("should create valid MimeMessage for welcome email")
-        void shouldCreateValidMimeMessageForWelcomeEmail() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendWelcomeEmail(TEST_EMAIL, TEST_USER_NAME);
-
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(mimeMessage);
-        }
-
-        @Test
-        @DisplayName("should create valid MimeMessage for streak at risk")
-        void shouldCreateValidMimeMessageForStreakAtRisk() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        @DisplayName("should queue weekly digest email")
+        void shouldQueueWeeklyDigestEmail() {
+            var digest = WeeklyDigest.builder()
+                    .weekStart(LocalDate.of(2025, 3, 3))
+                    .activeGoals(5)
+                    .milestonesAchieved(3)
+                    .activeDays(4)
+                    .previousActiveDays(2)
+                    .build();
 
-            smtpEmailService.sendStreakAtRiskEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 30);
+            smtpEmailService.sendWeeklyDigestEmail(TEST_EMAIL, TEST_USER_NAME, digest);
 
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(mimeMessage);
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), eq("Your Weekly Metasmart Summary"), contains("Active Goals"));
+            verify(emailOutboxService).enqueue(anyString(), anyString(), contains("<strong>4 of 7 days</strong> (+2 vs. last week)"));
         }
 
         @Test
-        @DisplayName("should create valid MimeMessage for milestone")
-        void shouldCreateValidMimeMessageForMilestone() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendMilestoneEmail(TEST_EMAIL, TEST_USER_NAME, TEST_GOAL_TITLE, 50);
-
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(mimeMessage);
-        }
-
-        @Test
-        @DisplayName("should create valid MimeMessage for weekly digest")
-        void shouldCreateValidMimeMessageForWeeklyDigest() {
-            when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
-            smtpEmailService.sendWeeklyDigestEmail(TEST_EMAIL, TEST_USER_NAME, 5, 3);
+        @DisplayName("should queue email with zero counts")
+        void shouldQueueEmailWithZeroCounts() {
+            smtpEmailService.sendWeeklyDigestEmail(TEST_EMAIL, TEST_USER_NAME, WeeklyDigest.builder().build());
 
-            verify(mailSender).createMimeMessage();
-            verify(mailSender).send(mimeMessage);
+            verify(emailOutboxService).enqueue(eq(TEST_EMAIL), anyString(), anyString());
         }
     }
 }
@@ -2,11 +2,17 @@ package com.relyon.metasmart.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.relyon.metasmart.constant.ErrorMessages;
 import com.relyon.metasmart.entity.goal.Goal;
 import com.relyon.metasmart.entity.goal.GoalCategory;
+import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalStatusCategoryCount;
 import com.relyon.metasmart.entity.struggling.StrugglingType;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.exception.ResourceNotFoundException;
@@ -17,6 +23,7 @@ import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -38,6 +45,9 @@ class SocialProofServiceTest {
     @Mock
     private StrugglingRequestRepository strugglingRequestRepository;
 
+    @Mock
+    private SocialProofCache socialProofCache;
+
     @InjectMocks
     private SocialProofService socialProofService;
 
@@ -46,7 +56,12 @@ class SocialProofServiceTest {
 
     @BeforeEach
     void setUp() {
-        socialProofService.setSelf(socialProofService);
+        lenient().when(socialProofCache.getGlobalStats(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().when(socialProofCache.getCategoryStats(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        lenient().when(socialProofCache.getUsersWithSimilarGoals(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
 
         user = User.builder().id(1L).name("John").email("john@test.com").build();
         goal = Goal.builder()
@@ -59,6 +74,16 @@ class SocialProofServiceTest {
                 .build();
     }
 
+    private GoalStatusCategoryCount countRow(GoalStatus status, GoalCategory category, long count) {
+        return new GoalStatusCategoryCount(status, category, count);
+    }
+
+    private List<GoalStatusCategoryCount> healthCounts() {
+        return List.of(
+                countRow(GoalStatus.ACTIVE, GoalCategory.HEALTH, 30L),
+                countRow(GoalStatus.COMPLETED, GoalCategory.HEALTH, 20L));
+    }
+
     @Nested
     @DisplayName("Get global stats tests")
     class GetGlobalStatsTests {
@@ -67,25 +92,24 @@ class SocialProofServiceTest {
         @DisplayName("Should get global stats with data")
         void shouldGetGlobalStatsWithData() {
             when(goalRepository.countDistinctUsers()).thenReturn(100L);
-            when(goalRepository.count()).thenReturn(500L);
-            when(goalRepository.countCompletedGoals()).thenReturn(200L);
             when(progressEntryRepository.countAllProgressEntries()).thenReturn(10000L);
-            when(goalRepository.countByCategory(GoalCategory.HEALTH)).thenReturn(100L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.HEALTH)).thenReturn(40L);
-            when(goalRepository.countByCategory(GoalCategory.FINANCE)).thenReturn(80L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.FINANCE)).thenReturn(30L);
-            when(goalRepository.countByCategory(GoalCategory.EDUCATION)).thenReturn(60L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.EDUCATION)).thenReturn(25L);
-            when(goalRepository.countByCategory(GoalCategory.CAREER)).thenReturn(50L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.CAREER)).thenReturn(20L);
-            when(goalRepository.countByCategory(GoalCategory.RELATIONSHIPS)).thenReturn(40L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.RELATIONSHIPS)).thenReturn(15L);
-            when(goalRepository.countByCategory(GoalCategory.PERSONAL_DEVELOPMENT)).thenReturn(70L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.PERSONAL_DEVELOPMENT)).thenReturn(28L);
-            when(goalRepository.countByCategory(GoalCategory.HOBBIES)).thenReturn(50L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.HOBBIES)).thenReturn(22L);
-            when(goalRepository.countByCategory(GoalCategory.OTHER)).thenReturn(50L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.OTHER)).thenReturn(20L);
+            when(goalRepository.countAllGroupedByStatusAndCategory()).thenReturn(List.of(
+                    countRow(GoalStatus.ACTIVE, GoalCategory.HEALTH, 60L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.HEALTH, 40L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.FINANCE, 50L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.FINANCE, 30L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.EDUCATION, 35L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.EDUCATION, 25L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.CAREER, 30L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.CAREER, 20L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.RELATIONSHIPS, 25L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.RELATIONSHIPS, 15L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.PERSONAL_DEVELOPMENT, 42L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.PERSONAL_DEVELOPMENT, 28L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.HOBBIES, 28L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.HOBBIES, 22L),
+                    countRow(GoalStatus.ACTIVE, GoalCategory.OTHER, 30L),
+                    countRow(GoalStatus.COMPLETED, GoalCategory.OTHER, 20L)));
 
             var result = socialProofService.getGlobalStats();
 
@@ -95,23 +119,20 @@ class SocialProofServiceTest {
             assertThat(result.getOverallCompletionRate()).isEqualTo(40.0);
             assertThat(result.getTotalProgressEntries()).isEqualTo(10000);
             assertThat(result.getGoalsByCategory()).containsEntry("HEALTH", 100L);
+            assertThat(result.getCompletionRateByCategory()).containsEntry("HEALTH", 40.0);
         }
 
         @Test
         @DisplayName("Should handle zero total goals")
         void shouldHandleZeroTotalGoals() {
             when(goalRepository.countDistinctUsers()).thenReturn(0L);
-            when(goalRepository.count()).thenReturn(0L);
-            when(goalRepository.countCompletedGoals()).thenReturn(0L);
             when(progressEntryRepository.countAllProgressEntries()).thenReturn(0L);
-            for (GoalCategory category : GoalCategory.values()) {
-                when(goalRepository.countByCategory(category)).thenReturn(0L);
-                when(goalRepository.countCompletedByCategory(category)).thenReturn(0L);
-            }
+            when(goalRepository.countAllGroupedByStatusAndCategory()).thenReturn(List.of());
 
             var result = socialProofService.getGlobalStats();
 
             assertThat(result.getOverallCompletionRate()).isZero();
+            assertThat(result.getGoalsByCategory()).hasSize(GoalCategory.values().length).containsEntry("HEALTH", 0L);
         }
     }
 
@@ -123,9 +144,7 @@ class SocialProofServiceTest {
         @DisplayName("Should get category stats for health")
         void shouldGetCategoryStatsForHealth() {
             when(goalRepository.countDistinctUsersByCategory(GoalCategory.HEALTH)).thenReturn(50L);
-            when(goalRepository.countActiveByCatgory(GoalCategory.HEALTH)).thenReturn(30L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.HEALTH)).thenReturn(20L);
-            when(goalRepository.countByCategory(GoalCategory.HEALTH)).thenReturn(50L);
+            when(goalRepository.countByCategoryGroupedByStatus(GoalCategory.HEALTH)).thenReturn(healthCounts());
             when(strugglingRequestRepository.findTopStrugglingTypesByCategory(GoalCategory.HEALTH))
                     .thenReturn(Collections.singletonList(new Object[]{StrugglingType.LACK_OF_TIME}));
 
@@ -137,22 +156,26 @@ class SocialProofServiceTest {
             assertThat(result.getCompletedGoals()).isEqualTo(20);
             assertThat(result.getAverageCompletionRate()).isEqualTo(40.0);
             assertThat(result.getTopStrategies()).isNotEmpty();
+            verify(goalRepository, never()).countAllGroupedByStatusAndCategory();
         }
 
         @Test
         @DisplayName("Should get category stats for all categories")
         void shouldGetCategoryStatsForAllCategories() {
             for (GoalCategory category : GoalCategory.values()) {
+                when(goalRepository.countByCategoryGroupedByStatus(category)).thenReturn(List.of(
+                        countRow(GoalStatus.ACTIVE, category, 5L),
+                        countRow(GoalStatus.COMPLETED, category, 3L),
+                        countRow(GoalStatus.PAUSED, category, 2L)));
                 when(goalRepository.countDistinctUsersByCategory(category)).thenReturn(10L);
-                when(goalRepository.countActiveByCatgory(category)).thenReturn(5L);
-                when(goalRepository.countCompletedByCategory(category)).thenReturn(3L);
-                when(goalRepository.countByCategory(category)).thenReturn(10L);
                 when(strugglingRequestRepository.findTopStrugglingTypesByCategory(category))
                         .thenReturn(List.of());
 
                 var result = socialProofService.getCategoryStats(category);
 
                 assertThat(result.getCategory()).isEqualTo(category);
+                assertThat(result.getActiveGoals()).isEqualTo(5);
+                assertThat(result.getAverageCompletionRate()).isEqualTo(30.0);
                 assertThat(result.getTopStrategies()).isNotEmpty();
             }
         }
@@ -168,9 +191,7 @@ class SocialProofServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.countUsersWithSimilarGoals(GoalCategory.HEALTH)).thenReturn(100L);
             when(goalRepository.countDistinctUsersByCategory(GoalCategory.HEALTH)).thenReturn(50L);
-            when(goalRepository.countActiveByCatgory(GoalCategory.HEALTH)).thenReturn(30L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.HEALTH)).thenReturn(20L);
-            when(goalRepository.countByCategory(GoalCategory.HEALTH)).thenReturn(50L);
+            when(goalRepository.countByCategoryGroupedByStatus(GoalCategory.HEALTH)).thenReturn(healthCounts());
             when(strugglingRequestRepository.findTopStrugglingTypesByCategory(GoalCategory.HEALTH))
                     .thenReturn(List.of());
 
@@ -202,9 +223,7 @@ class SocialProofServiceTest {
             when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
             when(goalRepository.countUsersWithSimilarGoals(GoalCategory.HEALTH)).thenReturn(100L);
             when(goalRepository.countDistinctUsersByCategory(GoalCategory.HEALTH)).thenReturn(50L);
-            when(goalRepository.countActiveByCatgory(GoalCategory.HEALTH)).thenReturn(30L);
-            when(goalRepository.countCompletedByCategory(GoalCategory.HEALTH)).thenReturn(20L);
-            when(goalRepository.countByCategory(GoalCategory.HEALTH)).thenReturn(50L);
+            when(goalRepository.countByCategoryGroupedByStatus(GoalCategory.HEALTH)).thenReturn(healthCounts());
             when(strugglingRequestRepository.findTopStrugglingTypesByCategory(GoalCategory.HEALTH))
                     .thenReturn(List.of());
 
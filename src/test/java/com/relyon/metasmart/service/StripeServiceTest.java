@@ -52,6 +52,9 @@ class StripeServiceTest {
     @Mock
     private GoalLockService goalLockService;
 
+    @Mock
+    private EntitlementsCache entitlementsCache;
+
     @InjectMocks
     private StripeService stripeService;
 
@@ -373,6 +376,7 @@ class StripeServiceTest {
             assertThat(savedPurchase.getQuantityRemaining()).isEqualTo(2);
             assertThat(savedPurchase.getPriceAmount()).isEqualTo(BigDecimal.valueOf(9.99));
             assertThat(savedPurchase.getPriceCurrency()).isEqualTo("usd");
+            verify(entitlementsCache).invalidate(1L);
         }
 
         @Test
@@ -564,6 +568,10 @@ class StripeServiceTest {
             verify(subscriptionRepository).save(captor.capture());
             assertThat(captor.getValue().getExternalSubscriptionId()).isEqualTo("sub_test_123");
             assertThat(captor.getValue().getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
+
+            var inOrder = inOrder(entitlementsCache, goalLockService);
+            inOrder.verify(entitlementsCache).invalidate(1L);
+            inOrder.verify(goalLockService).recalculateLocksForUser(any(User.class));
         }
 
         @Test
@@ -624,6 +632,7 @@ class StripeServiceTest {
             var captor = ArgumentCaptor.forClass(UserSubscription.class);
             verify(subscriptionRepository).save(captor.capture());
             assertThat(captor.getValue().getStatus()).isEqualTo(SubscriptionStatus.PAST_DUE);
+            verify(entitlementsCache).invalidate(1L);
         }
 
         @Test
@@ -708,6 +717,7 @@ class StripeServiceTest {
             var deserializer = mock(EventDataObjectDeserializer.class);
             var existingSubscription = UserSubscription.builder()
                     .id(1L)
+                    .user(user)
                     .externalSubscriptionId("sub_test_del")
                     .status(SubscriptionStatus.ACTIVE)
                     .build();
@@ -726,6 +736,7 @@ class StripeServiceTest {
             verify(subscriptionRepository).save(captor.capture());
             assertThat(captor.getValue().getStatus()).isEqualTo(SubscriptionStatus.CANCELLED);
             assertThat(captor.getValue().getCancelledAt()).isNotNull();
+            verify(entitlementsCache).invalidate(1L);
         }
 
         @Test
@@ -756,6 +767,7 @@ class StripeServiceTest {
             var deserializer = mock(EventDataObjectDeserializer.class);
             var existingSubscription = UserSubscription.builder()
                     .id(1L)
+                    .user(user)
                     .externalSubscriptionId("sub_test_invoice")
                     .status(SubscriptionStatus.PAST_DUE)
                     .build();
@@ -773,6 +785,7 @@ class StripeServiceTest {
             var captor = ArgumentCaptor.forClass(UserSubscription.class);
             verify(subscriptionRepository).save(captor.capture());
             assertThat(captor.getValue().getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
+            verify(entitlementsCache).invalidate(1L);
         }
 
         @Test
@@ -825,6 +838,7 @@ class StripeServiceTest {
             var deserializer = mock(EventDataObjectDeserializer.class);
             var existingSubscription = UserSubscription.builder()
                     .id(1L)
+                    .user(user)
                     .externalSubscriptionId("sub_test_failed")
                     .status(SubscriptionStatus.ACTIVE)
                     .build();
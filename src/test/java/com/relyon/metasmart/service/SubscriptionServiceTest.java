@@ -5,14 +5,17 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.relyon.metasmart.entity.subscription.*;
+import com.relyon.metasmart.entity.subscription.dto.UserEntitlementsResponse;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.repository.UserPurchaseRepository;
 import com.relyon.metasmart.repository.UserSubscriptionRepository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +36,9 @@ class SubscriptionServiceTest {
     @Mock
     private UserPurchaseRepository purchaseRepository;
 
+    @Mock
+    private EntitlementsCache entitlementsCache;
+
     @InjectMocks
     private SubscriptionService subscriptionService;
 
@@ -102,7 +108,6 @@ class SubscriptionServiceTest {
         @DisplayName("Should return premium entitlements")
         void shouldReturnPremiumEntitlements() {
             when(subscriptionRepository.findActiveSubscription(user)).thenReturn(Optional.of(premiumSubscription));
-            when(purchaseRepository.countAvailable(eq(user), any(), any())).thenReturn(0);
 
             var result = subscriptionService.getEntitlements(user);
 
@@ -120,7 +125,6 @@ class SubscriptionServiceTest {
         @DisplayName("Should return free entitlements")
         void shouldReturnFreeEntitlements() {
             when(subscriptionRepository.findActiveSubscription(user)).thenReturn(Optional.empty());
-            when(purchaseRepository.countAvailable(eq(user), any(), any())).thenReturn(0);
 
             var result = subscriptionService.getEntitlements(user);
 
@@ -139,18 +143,44 @@ class SubscriptionServiceTest {
         @DisplayName("Should include purchased items in entitlements")
         void shouldIncludePurchasedItemsInEntitlements() {
             when(subscriptionRepository.findActiveSubscription(user)).thenReturn(Optional.empty());
-            when(purchaseRepository.countAvailable(eq(user), eq(PurchaseType.STREAK_SHIELD), any(LocalDateTime.class))).thenReturn(5);
-            when(purchaseRepository.countAvailable(eq(user), eq(PurchaseType.STRUGGLING_ASSIST), any(LocalDateTime.class))).thenReturn(2);
-            when(purchaseRepository.countAvailable(eq(user), eq(PurchaseType.GOAL_BOOST), any(LocalDateTime.class))).thenReturn(1);
-            when(purchaseRepository.countAvailable(eq(user), eq(PurchaseType.GUARDIAN_SLOT), any(LocalDateTime.class))).thenReturn(3);
+            when(purchaseRepository.countAvailableByType(eq(user), any(LocalDateTime.class))).thenReturn(List.of(
+                    new Object[]{PurchaseType.STREAK_SHIELD, 5L, null},
+                    new Object[]{PurchaseType.STRUGGLING_ASSIST, 2L, null},
+                    new Object[]{PurchaseType.GUARDIAN_SLOT, 3L, null}));
 
             var result = subscriptionService.getEntitlements(user);
 
             assertThat(result.getStreakShieldsAvailable()).isEqualTo(5);
             assertThat(result.getStrugglingAssistsAvailable()).isEqualTo(2);
-            assertThat(result.getGoalBoostsAvailable()).isEqualTo(1);
+            assertThat(result.getGoalBoostsAvailable()).isZero();
             assertThat(result.getGuardianSlotsAvailable()).isEqualTo(3);
         }
+
+        @Test
+        @DisplayName("Should return cached entitlements without querying")
+        void shouldReturnCachedEntitlementsWithoutQuerying() {
+            var cached = UserEntitlementsResponse.builder().isPremium(true).build();
+            when(entitlementsCache.get(1L)).thenReturn(Optional.of(cached));
+
+            var result = subscriptionService.getEntitlements(user);
+
+            assertThat(result).isSameAs(cached);
+            verifyNoInteractions(subscriptionRepository, purchaseRepository);
+        }
+
+        @Test
+        @DisplayName("Should cache loaded entitlements until the earliest purchase expiry")
+        void shouldCacheLoadedEntitlementsUntilEarliestPurchaseExpiry() {
+            var earliestExpiry = LocalDateTime.now().plusDays(2);
+            when(subscriptionRepository.findActiveSubscription(user)).thenReturn(Optional.empty());
+            when(purchaseRepository.countAvailableByType(eq(user), any(LocalDateTime.class))).thenReturn(List.of(
+                    new Object[]{PurchaseType.STREAK_SHIELD, 1L, earliestExpiry.plusDays(5)},
+                    new Object[]{PurchaseType.GOAL_BOOST, 1L, earliestExpiry}));
+
+            var result = subscriptionService.getEntitlements(user);
+
+            verify(entitlementsCache).put(1L, result, earliestExpiry.atZone(ZoneId.systemDefault()).toInstant());
+        }
     }
 
     @Nested
@@ -228,8 +258,8 @@ class SubscriptionServiceTest {
         @Test
         @DisplayName("Should return available purchase count")
         void shouldReturnAvailablePurchaseCount() {
-            when(purchaseRepository.countAvailable(eq(user), eq(PurchaseType.STREAK_SHIELD), any()))
-                    .thenReturn(5);
+            when(purchaseRepository.countAvailableByType(eq(user), any(LocalDateTime.class)))
+                    .thenReturn(List.<Object[]>of(new Object[]{PurchaseType.STREAK_SHIELD, 5L, null}));
 
             var result = subscriptionService.getAvailablePurchaseCount(user, PurchaseType.STREAK_SHIELD);
 
@@ -251,6 +281,7 @@ class SubscriptionServiceTest {
 
             assertThat(result).isTrue();
             verify(purchaseRepository).save(purchase);
+            verify(entitlementsCache).invalidate(1L);
             assertThat(purchase.getQuantityRemaining()).isEqualTo(1);
         }
 
@@ -3,7 +3,9 @@ package com.relyon.metasmart.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -55,6 +57,9 @@ class TaskCompletionServiceTest {
     @Mock
     private UserStreakService userStreakService;
 
+    @Mock
+    private ActivityCalendarService activityCalendarService;
+
     @InjectMocks
     private TaskCompletionService taskCompletionService;
 
@@ -104,6 +109,7 @@ class TaskCompletionServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.getNote()).isEqualTo("Great workout!");
             verify(taskCompletionRepository).save(any());
+            verify(activityCalendarService).onTaskCompleted(eq(user), any(LocalDate.class));
         }
 
         @Test
@@ -244,6 +250,21 @@ class TaskCompletionServiceTest {
             taskCompletionService.deleteCompletion(1L, 1L, 1L, user);
 
             verify(taskCompletionRepository).delete(taskCompletion);
+            verify(activityCalendarService).onTaskCompletionRemoved(user, taskCompletion.getScheduledDate());
+        }
+
+        @Test
+        @DisplayName("Should leave the activity rollup alone when deleting a missed completion")
+        void shouldNotDecrementRollupForMissedCompletion() {
+            taskCompletion.setStatus(CompletionStatus.MISSED);
+            when(goalRepository.findByIdAndOwner(1L, user)).thenReturn(Optional.of(goal));
+            when(actionItemRepository.findByIdAndGoal(1L, goal)).thenReturn(Optional.of(actionItem));
+            when(taskCompletionRepository.findById(1L)).thenReturn(Optional.of(taskCompletion));
+
+            taskCompletionService.deleteCompletion(1L, 1L, 1L, user);
+
+            verify(taskCompletionRepository).delete(taskCompletion);
+            verify(activityCalendarService, never()).onTaskCompletionRemoved(any(), any());
         }
 
         @Test
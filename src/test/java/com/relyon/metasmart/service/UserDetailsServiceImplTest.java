@@ -2,7 +2,10 @@ package com.relyon.metasmart.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.relyon.metasmart.constant.ErrorMessages;
@@ -25,6 +28,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -43,6 +49,7 @@ class UserDetailsServiceImplTest {
     @Test
     @DisplayName("Should load user by username successfully")
     void shouldLoadUserByUsernameSuccessfully() {
+        when(principalCache.get("john@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user));
 
         UserDetails result = userDetailsService.loadUserByUsername("john@example.com");
@@ -50,11 +57,24 @@ class UserDetailsServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo("john@example.com");
         verify(userRepository).findByEmail("john@example.com");
+        verify(principalCache).put(user);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached user without reading the users table")
+    void shouldServeCachedUser() {
+        when(principalCache.get("john@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails result = userDetailsService.loadUserByUsername("john@example.com");
+
+        assertThat(result.getUsername()).isEqualTo("john@example.com");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("Should throw UsernameNotFoundException when user not found")
     void shouldThrowExceptionWhenUserNotFound() {
+        when(principalCache.get("unknown@example.com")).thenReturn(Optional.empty());
         when(userRepository.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> userDetailsService.loadUserByUsername("unknown@example.com"))
@@ -62,5 +82,6 @@ class UserDetailsServiceImplTest {
                 .hasMessage(ErrorMessages.USER_NOT_FOUND);
 
         verify(userRepository).findByEmail("unknown@example.com");
+        verify(principalCache, never()).put(any());
     }
 }
@@ -2,17 +2,19 @@ package com.relyon.metasmart.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.relyon.metasmart.entity.goal.GoalCategory;
 import com.relyon.metasmart.entity.goal.GoalStatus;
+import com.relyon.metasmart.entity.goal.dto.GoalStatusCategoryCount;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.entity.user.dto.UpdateProfileRequest;
 import com.relyon.metasmart.repository.GoalRepository;
 import com.relyon.metasmart.repository.UserRepository;
 import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -31,6 +33,9 @@ class UserProfileServiceTest {
     @Mock
     private GoalRepository goalRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserProfileService userProfileService;
 
@@ -56,9 +61,11 @@ class UserProfileServiceTest {
         @Test
         @DisplayName("Should get profile with goal counts")
         void shouldGetProfileWithGoalCounts() {
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(user)).thenReturn(10L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED))
-                    .thenReturn(5L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of(
+                    new GoalStatusCategoryCount(GoalStatus.ACTIVE, GoalCategory.HEALTH, 4L),
+                    new GoalStatusCategoryCount(GoalStatus.PAUSED, GoalCategory.FINANCE, 1L),
+                    new GoalStatusCategoryCount(GoalStatus.COMPLETED, GoalCategory.HEALTH, 3L),
+                    new GoalStatusCategoryCount(GoalStatus.COMPLETED, GoalCategory.CAREER, 2L)));
 
             var result = userProfileService.getProfile(user);
 
@@ -73,9 +80,7 @@ class UserProfileServiceTest {
         @Test
         @DisplayName("Should get profile with zero goals")
         void shouldGetProfileWithZeroGoals() {
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(user)).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(user, GoalStatus.COMPLETED))
-                    .thenReturn(0L);
+            when(goalRepository.countByOwnerGroupedByStatusAndCategory(user)).thenReturn(List.of());
 
             var result = userProfileService.getProfile(user);
 
@@ -95,14 +100,12 @@ class UserProfileServiceTest {
                     .name("John Smith")
                     .build();
 
-            when(userRepository.save(any(User.class))).thenReturn(user);
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(any())).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(any(), any())).thenReturn(0L);
-
             var result = userProfileService.updateProfile(user, request);
 
-            assertThat(result).isNotNull();
-            verify(userRepository).save(user);
+            assertThat(result.getName()).isEqualTo("John Smith");
+            verify(userRepository).updateName(1L, "John Smith");
+            verify(userRepository, never()).save(any(User.class));
+            verify(principalCache).invalidate("john@test.com");
         }
 
         @Test
@@ -110,13 +113,11 @@ class UserProfileServiceTest {
         void shouldNotUpdateWhenNameIsNull() {
             var request = UpdateProfileRequest.builder().build();
 
-            when(userRepository.save(any(User.class))).thenReturn(user);
-            when(goalRepository.countByOwnerAndArchivedAtIsNull(any())).thenReturn(0L);
-            when(goalRepository.countByOwnerAndGoalStatusAndArchivedAtIsNull(any(), any())).thenReturn(0L);
-
             var result = userProfileService.updateProfile(user, request);
 
             assertThat(result.getName()).isEqualTo("John Doe");
+            verify(userRepository, never()).updateName(any(), any());
+            verify(principalCache, never()).invalidate(any());
         }
     }
 
@@ -127,45 +128,49 @@ class UserProfileServiceTest {
         @Test
         @DisplayName("Should add streak shields")
         void shouldAddStreakShields() {
-            when(userRepository.save(any(User.class))).thenReturn(user);
-
             userProfileService.addStreakShield(user, 2);
 
-            verify(userRepository).save(argThat(u -> u.getStreakShields() == 5));
+            verify(userRepository).addStreakShields(1L, 2);
+            verify(userRepository, never()).save(any(User.class));
+            verify(principalCache).invalidate("john@test.com");
+            assertThat(user.getStreakShields()).isEqualTo(5);
         }
 
         @Test
         @DisplayName("Should use streak shield successfully")
         void shouldUseStreakShieldSuccessfully() {
-            when(userRepository.save(any(User.class))).thenReturn(user);
+            when(userRepository.consumeStreakShields(1L, 1)).thenReturn(1);
 
             var result = userProfileService.useStreakShield(user);
 
             assertThat(result).isTrue();
-            verify(userRepository).save(argThat(u -> u.getStreakShields() == 2));
+            assertThat(user.getStreakShields()).isEqualTo(2);
+            verify(userRepository, never()).save(any(User.class));
+            verify(principalCache).invalidate("john@test.com");
         }
 
         @Test
         @DisplayName("Should return false when no shields available")
         void shouldReturnFalseWhenNoShieldsAvailable() {
             user.setStreakShields(0);
+            when(userRepository.consumeStreakShields(1L, 1)).thenReturn(0);
 
             var result = userProfileService.useStreakShield(user);
 
             assertThat(result).isFalse();
-            verify(userRepository, never()).save(any());
+            verify(principalCache, never()).invalidate(any());
         }
 
         @Test
         @DisplayName("Should handle exactly one shield")
         void shouldHandleExactlyOneShield() {
             user.setStreakShields(1);
-            when(userRepository.save(any(User.class))).thenReturn(user);
+            when(userRepository.consumeStreakShields(1L, 1)).thenReturn(1);
 
             var result = userProfileService.useStreakShield(user);
 
             assertThat(result).isTrue();
-            verify(userRepository).save(argThat(u -> u.getStreakShields() == 0));
+            assertThat(user.getStreakShields()).isZero();
         }
     }
 }
@@ -0,0 +1,221 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.config.StreakJobConfig;
+import com.relyon.metasmart.entity.activity.dto.UserActivityDate;
+import com.relyon.metasmart.entity.streak.StreakInfo;
+import com.relyon.metasmart.entity.user.User;
+import com.relyon.metasmart.repository.DailyJournalRepository;
+import com.relyon.metasmart.repository.ProgressEntryRepository;
+import com.relyon.metasmart.repository.StreakInfoRepository;
+import com.relyon.metasmart.repository.TaskCompletionRepository;
+import com.relyon.metasmart.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class UserStreakRecalculationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StreakInfoRepository streakInfoRepository;
+
+    @Mock
+    private ProgressEntryRepository progressEntryRepository;
+
+    @Mock
+    private TaskCompletionRepository taskCompletionRepository;
+
+    @Mock
+    private DailyJournalRepository dailyJournalRepository;
+
+    @Mock
+    private UserStreakService userStreakService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Spy
+    private StreakJobConfig streakJobConfig = new StreakJobConfig();
+
+    @InjectMocks
+    private UserStreakRecalculationService userStreakRecalculationService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        streakJobConfig.getRecalculation().setChunkSize(2);
+        streakJobConfig.getRecalculation().setParallelism(2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        userStreakRecalculationService.setSelf(userStreakRecalculationService);
+    }
+
+    @Test
+    @DisplayName("Should run a started recalculation under the job lock")
+    void shouldRunStartedRecalculationUnderJobLock() {
+        var concurrentStart = new AtomicBoolean(true);
+        when(jobLockService.runExclusively(eq(UserStreakRecalculationService.RECALCULATION_LOCK), any(), any()))
+                .thenAnswer(invocation -> {
+                    concurrentStart.set(userStreakRecalculationService.startRecalculation());
+                    invocation.<Runnable>getArgument(2).run();
+                    return true;
+                });
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(userStreakRecalculationService.startRecalculation()).isTrue();
+
+        assertThat(concurrentStart).isFalse();
+        verify(userRepository).findIdsAfter(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the recalculation when another instance holds the job lock")
+    void shouldSkipWhenJobLockIsHeld() {
+        when(jobLockService.runExclusively(eq(UserStreakRecalculationService.RECALCULATION_LOCK), any(), any()))
+                .thenReturn(false);
+
+        assertThat(userStreakRecalculationService.startRecalculation()).isTrue();
+        assertThat(userStreakRecalculationService.startRecalculation()).isTrue();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should recalculate users chunk by chunk from range queries")
+    void shouldRecalculateUsersInChunks() {
+        var user1 = User.builder().id(1L).build();
+        var user2 = User.builder().id(2L).build();
+        var stale = StreakInfo.builder().id(10L).user(user1).currentMaintainedStreak(5).bestMaintainedStreak(5).build();
+        var accurate = StreakInfo.builder().id(11L).user(user2).currentMaintainedStreak(1).bestMaintainedStreak(4).build();
+
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(userRepository.getReferenceById(3L)).thenReturn(User.builder().id(3L).build());
+        when(streakInfoRepository.findUserStreaksByUserIds(List.of(1L, 2L))).thenReturn(List.of(stale, accurate));
+        when(streakInfoRepository.findUserStreaksByUserIds(List.of(3L))).thenReturn(List.of());
+
+        when(progressEntryRepository.findActiveDatesByUserIds(eq(List.of(1L, 2L)), any())).thenReturn(List.of(
+                new UserActivityDate(1L, today.minusDays(1)),
+                new UserActivityDate(2L, today)));
+        when(taskCompletionRepository.findActiveDatesByUserIds(eq(List.of(1L, 2L)), anyList(), any()))
+                .thenReturn(List.of(new UserActivityDate(1L, today.minusDays(3))));
+        when(dailyJournalRepository.findStreakCoveringDatesByUserIds(eq(List.of(1L, 2L)), any(), eq(today)))
+                .thenReturn(List.of(new UserActivityDate(1L, today), new UserActivityDate(1L, today.minusDays(2))));
+
+        when(progressEntryRepository.findActiveDatesByUserIds(eq(List.of(3L)), any()))
+                .thenReturn(List.of(new UserActivityDate(3L, today)));
+        when(taskCompletionRepository.findActiveDatesByUserIds(eq(List.of(3L)), anyList(), any())).thenReturn(List.of());
+        when(dailyJournalRepository.findStreakCoveringDatesByUserIds(eq(List.of(3L)), any(), eq(today))).thenReturn(List.of());
+
+        var saved = new ArrayList<StreakInfo>();
+        when(streakInfoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<StreakInfo> streakInfos = invocation.getArgument(0);
+            synchronized (saved) {
+                saved.addAll(streakInfos);
+            }
+            return streakInfos;
+        });
+
+        var response = userStreakRecalculationService.recalculateAllUsers();
+
+        assertThat(response.getUsersProcessed()).isEqualTo(3);
+        assertThat(response.getStreaksUpdated()).isEqualTo(2);
+        assertThat(response.getChunks()).isEqualTo(2);
+        assertThat(response.getFailedChunks()).isZero();
+        assertThat(stale.getCurrentMaintainedStreak()).isEqualTo(4);
+        assertThat(accurate.getLastUpdatedAt()).isNull();
+        assertThat(saved).contains(stale).doesNotContain(accurate);
+        assertThat(saved).anyMatch(streakInfo -> streakInfo.getId() == null && streakInfo.getCurrentMaintainedStreak() == 1);
+        verifyNoInteractions(userStreakService);
+    }
+
+    @Test
+    @DisplayName("Should keep a run ending yesterday alive and leave today's first activity to extend it")
+    void shouldKeepRunEndingYesterday() {
+        var user = User.builder().id(1L).build();
+        var streakInfo = StreakInfo.builder().id(10L).user(user).currentMaintainedStreak(0).bestMaintainedStreak(0).build();
+
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(streakInfoRepository.findUserStreaksByUserIds(List.of(1L))).thenReturn(List.of(streakInfo));
+        when(progressEntryRepository.findActiveDatesByUserIds(eq(List.of(1L)), any())).thenReturn(List.of(
+                new UserActivityDate(1L, today.minusDays(1)),
+                new UserActivityDate(1L, today.minusDays(2)),
+                new UserActivityDate(1L, today.minusDays(3))));
+        when(taskCompletionRepository.findActiveDatesByUserIds(eq(List.of(1L)), anyList(), any())).thenReturn(List.of());
+        when(dailyJournalRepository.findStreakCoveringDatesByUserIds(eq(List.of(1L)), any(), eq(today))).thenReturn(List.of());
+
+        userStreakRecalculationService.recalculateAllUsers();
+
+        assertThat(streakInfo.getCurrentMaintainedStreak()).isEqualTo(3);
+        assertThat(streakInfo.getLastUpdatedAt().toLocalDate()).isBefore(today);
+        verify(streakInfoRepository).saveAll(List.of(streakInfo));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the full calendar when run fills the window")
+    void shouldFallBackToCalendarWhenRunFillsWindow() {
+        var user = User.builder().id(1L).build();
+        var streakInfo = StreakInfo.builder().id(10L).user(user).currentMaintainedStreak(0).bestMaintainedStreak(0).build();
+        var everyDay = new ArrayList<UserActivityDate>();
+        for (var offset = 0; offset <= 366; offset++) {
+            everyDay.add(new UserActivityDate(1L, today.minusDays(offset)));
+        }
+
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(streakInfoRepository.findUserStreaksByUserIds(List.of(1L))).thenReturn(List.of(streakInfo));
+        when(progressEntryRepository.findActiveDatesByUserIds(eq(List.of(1L)), any())).thenReturn(everyDay);
+        when(taskCompletionRepository.findActiveDatesByUserIds(eq(List.of(1L)), anyList(), any())).thenReturn(List.of());
+        when(dailyJournalRepository.findStreakCoveringDatesByUserIds(eq(List.of(1L)), any(), eq(today))).thenReturn(List.of());
+        when(userStreakService.calculateCurrentStreak(user, today)).thenReturn(500);
+
+        userStreakRecalculationService.recalculateAllUsers();
+
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(streakInfoRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).containsExactly(streakInfo);
+        assertThat(streakInfo.getCurrentMaintainedStreak()).isEqualTo(500);
+        assertThat(streakInfo.getBestMaintainedStreak()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should count failed chunks and keep going")
+    void shouldCountFailedChunks() {
+        when(userRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(progressEntryRepository.findActiveDatesByUserIds(eq(List.of(1L)), any()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        var response = userStreakRecalculationService.recalculateAllUsers();
+
+        assertThat(response.getFailedChunks()).isEqualTo(1);
+        assertThat(response.getUsersProcessed()).isZero();
+        verify(streakInfoRepository, never()).saveAll(anyList());
+    }
+}
@@ -5,16 +5,17 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
-import com.relyon.metasmart.entity.actionplan.CompletionStatus;
+import com.relyon.metasmart.entity.activity.ActivityBitmap;
+import com.relyon.metasmart.entity.activity.ActivityCalendarType;
 import com.relyon.metasmart.entity.journal.DailyJournal;
 import com.relyon.metasmart.entity.streak.StreakInfo;
 import com.relyon.metasmart.entity.user.User;
 import com.relyon.metasmart.repository.DailyJournalRepository;
-import com.relyon.metasmart.repository.ProgressEntryRepository;
 import com.relyon.metasmart.repository.StreakInfoRepository;
-import com.relyon.metasmart.repository.TaskCompletionRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,13 +35,10 @@ class UserStreakServiceTest {
     private StreakInfoRepository streakInfoRepository;
 
     @Mock
-    private TaskCompletionRepository taskCompletionRepository;
-
-    @Mock
-    private ProgressEntryRepository progressEntryRepository;
+    private DailyJournalRepository dailyJournalRepository;
 
     @Mock
-    private DailyJournalRepository dailyJournalRepository;
+    private ActivityCalendarService activityCalendarService;
 
     @Mock
     private UserProfileService userProfileService;
@@ -130,17 +128,49 @@ class UserStreakServiceTest {
         @DisplayName("Should increment streak when user has real activity")
         void shouldIncrementStreakWhenUserHasRealActivity() {
             var today = LocalDate.now();
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(true);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasRealActivityOnDate(user, today)).thenReturn(true);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(false);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
+            stubCalendars(List.of(today, today.minusDays(1), today.minusDays(2),
+                    today.minusDays(3), today.minusDays(4), today.minusDays(5)), List.of());
 
             userStreakService.processEndOfDay(user, today);
 
             assertThat(streakInfo.getCurrentMaintainedStreak()).isEqualTo(6);
+            assertThat(streakInfo.getLastEndOfDayDate()).isEqualTo(today);
             verify(streakInfoRepository).save(streakInfo);
         }
 
+        @Test
+        @DisplayName("Should skip a day already processed")
+        void shouldSkipDayAlreadyProcessed() {
+            var today = LocalDate.now();
+            streakInfo.setLastEndOfDayDate(today);
+            when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
+                    .thenReturn(Optional.of(streakInfo));
+
+            userStreakService.processEndOfDay(user, today);
+
+            assertThat(streakInfo.getCurrentMaintainedStreak()).isEqualTo(5);
+            verify(activityCalendarService, never()).hasRealActivityOnDate(any(), any());
+            verify(streakInfoRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should not settle a day earlier than one already processed")
+        void shouldNotSettleEarlierDay() {
+            var today = LocalDate.now();
+            streakInfo.setLastEndOfDayDate(today);
+            when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
+                    .thenReturn(Optional.of(streakInfo));
+
+            userStreakService.processEndOfDay(user, today.minusDays(1));
+
+            verify(activityCalendarService, never()).hasRealActivityOnDate(any(), any());
+            verify(streakInfoRepository, never()).save(any());
+        }
+
         @Test
         @DisplayName("Should use shield when no real activity but has journal")
         void shouldUseShieldWhenNoRealActivityButHasJournal() {
@@ -152,9 +182,8 @@ class UserStreakServiceTest {
                     .shieldUsed(false)
                     .build();
 
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today)).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(true);
+            when(activityCalendarService.hasRealActivityOnDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(true);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
             when(dailyJournalRepository.countShieldsUsedInWeek(eq(user), any(), any())).thenReturn(0);
@@ -164,6 +193,7 @@ class UserStreakServiceTest {
 
             verify(userProfileService).useStreakShield(user, 1);
             assertThat(journal.getShieldUsed()).isTrue();
+            verify(activityCalendarService).onShieldUsed(user, today);
             verify(streakInfoRepository).save(streakInfo);
         }
 
@@ -173,9 +203,8 @@ class UserStreakServiceTest {
             var today = LocalDate.now();
             user.setStreakShields(0);
 
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today)).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasRealActivityOnDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(false);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
 
@@ -196,16 +225,39 @@ class UserStreakServiceTest {
                     .bestMaintainedStreak(0)
                     .build();
 
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(true);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasRealActivityOnDate(user, today)).thenReturn(true);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(false);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.empty());
             when(streakInfoRepository.save(any(StreakInfo.class))).thenReturn(newStreakInfo);
+            stubCalendars(List.of(today), List.of());
 
             userStreakService.processEndOfDay(user, today);
 
             verify(streakInfoRepository, times(2)).save(any(StreakInfo.class));
         }
+
+        @Test
+        @DisplayName("Should check real activity over the server dates overlapping the user's local day")
+        void shouldCheckActivityOverServerDatesOfLocalDay() {
+            var today = LocalDate.now();
+            var serverOffsetHours = ZoneId.systemDefault().getRules().getOffset(today.atStartOfDay()).getTotalSeconds() / 3600;
+            var zone = ZoneOffset.ofHours(serverOffsetHours >= 0 ? serverOffsetHours - 12 : serverOffsetHours + 12);
+            user.setStreakShields(0);
+            when(activityCalendarService.hasRealActivityBetween(eq(user), any(), any())).thenReturn(false);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(false);
+            when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
+                    .thenReturn(Optional.of(streakInfo));
+
+            userStreakService.processEndOfDay(user, today, zone);
+
+            var startCaptor = ArgumentCaptor.forClass(LocalDate.class);
+            var endCaptor = ArgumentCaptor.forClass(LocalDate.class);
+            verify(activityCalendarService).hasRealActivityBetween(eq(user), startCaptor.capture(), endCaptor.capture());
+            assertThat(endCaptor.getValue()).isEqualTo(startCaptor.getValue().plusDays(1));
+            verify(activityCalendarService, never()).hasRealActivityOnDate(any(), any());
+            assertThat(streakInfo.getLastEndOfDayDate()).isEqualTo(today);
+        }
     }
 
     @Nested
@@ -218,14 +270,7 @@ class UserStreakServiceTest {
             var today = LocalDate.now();
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(true);
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today.minusDays(1)))).thenReturn(true);
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today.minusDays(2)))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today.minusDays(2))).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today.minusDays(1))).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today.minusDays(2))).thenReturn(false);
-            when(dailyJournalRepository.findByUserAndJournalDate(eq(user), any())).thenReturn(Optional.empty());
+            stubCalendars(List.of(today, today.minusDays(1), today.minusDays(3)), List.of());
 
             userStreakService.recalculateStreak(user);
 
@@ -240,19 +285,42 @@ class UserStreakServiceTest {
             streakInfo.setBestMaintainedStreak(1);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(true);
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today.minusDays(1)))).thenReturn(true);
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today.minusDays(2)))).thenReturn(true);
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today.minusDays(3)))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today.minusDays(3))).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(eq(user), any())).thenReturn(false);
-            when(dailyJournalRepository.findByUserAndJournalDate(eq(user), any())).thenReturn(Optional.empty());
+            stubCalendars(List.of(today, today.minusDays(1), today.minusDays(2)), List.of());
 
             userStreakService.recalculateStreak(user);
 
             assertThat(streakInfo.getCurrentMaintainedStreak()).isEqualTo(3);
             assertThat(streakInfo.getBestMaintainedStreak()).isEqualTo(3);
         }
+
+        @Test
+        @DisplayName("Should count shielded days and a journal-only today")
+        void shouldCountShieldedDaysAndJournalOnlyToday() {
+            var today = LocalDate.now();
+            when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
+                    .thenReturn(Optional.of(streakInfo));
+            stubCalendars(List.of(today.minusDays(1), today.minusDays(3)), List.of(today.minusDays(2)));
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(true);
+
+            userStreakService.recalculateStreak(user);
+
+            assertThat(streakInfo.getCurrentMaintainedStreak()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Should reset streak when today has no activity")
+        void shouldResetStreakWhenTodayHasNoActivity() {
+            var today = LocalDate.now();
+            when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
+                    .thenReturn(Optional.of(streakInfo));
+            stubCalendars(List.of(today.minusDays(1), today.minusDays(2)), List.of());
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(false);
+
+            userStreakService.recalculateStreak(user);
+
+            assertThat(streakInfo.getCurrentMaintainedStreak()).isZero();
+            assertThat(streakInfo.getBestMaintainedStreak()).isEqualTo(10);
+        }
     }
 
     @Nested
@@ -279,11 +347,7 @@ class UserStreakServiceTest {
             streakInfo.setLastUpdatedAt(LocalDateTime.now().minusDays(3));
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(true);
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today.minusDays(1)))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today.minusDays(1))).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(eq(user), any())).thenReturn(false);
-            when(dailyJournalRepository.findByUserAndJournalDate(eq(user), any())).thenReturn(Optional.empty());
+            stubCalendars(List.of(today), List.of());
 
             userStreakService.onActivityRecorded(user);
 
@@ -372,9 +436,8 @@ class UserStreakServiceTest {
             var today = LocalDate.now();
             user.setStreakShields(0);
 
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today)).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(true);
+            when(activityCalendarService.hasRealActivityOnDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(true);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
 
@@ -390,9 +453,8 @@ class UserStreakServiceTest {
             var today = LocalDate.now();
             user.setStreakShields(2);
 
-            when(taskCompletionRepository.hasCompletedTaskOnDate(eq(user), any(), eq(today))).thenReturn(false);
-            when(progressEntryRepository.hasProgressOnDate(user, today)).thenReturn(false);
-            when(dailyJournalRepository.existsByUserAndJournalDate(user, today)).thenReturn(true);
+            when(activityCalendarService.hasRealActivityOnDate(user, today)).thenReturn(false);
+            when(activityCalendarService.hasJournalOnDate(user, today)).thenReturn(true);
             when(streakInfoRepository.findByUserAndGoalIsNullAndActionItemIsNull(user))
                     .thenReturn(Optional.of(streakInfo));
             when(dailyJournalRepository.countShieldsUsedInWeek(eq(user), any(), any())).thenReturn(1);
@@ -403,4 +465,11 @@ class UserStreakServiceTest {
             assertThat(streakInfo.getCurrentMaintainedStreak()).isZero();
         }
     }
+
+    private void stubCalendars(List<LocalDate> activityDays, List<LocalDate> shieldDays) {
+        when(activityCalendarService.getUserCalendar(user, ActivityCalendarType.ACTIVITY))
+                .thenReturn(ActivityBitmap.of(activityDays));
+        when(activityCalendarService.getUserCalendar(user, ActivityCalendarType.SHIELD))
+                .thenReturn(ActivityBitmap.of(shieldDays));
+    }
 }
@@ -0,0 +1,262 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.config.WebhookInboxConfig;
+import com.relyon.metasmart.entity.subscription.WebhookEvent;
+import com.relyon.metasmart.entity.subscription.WebhookEventStatus;
+import com.relyon.metasmart.repository.WebhookEventRepository;
+import com.stripe.model.Event;
+import com.stripe.model.EventDataObjectDeserializer;
+import com.stripe.model.Subscription;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookInboxServiceTest {
+
+    private static final String PAYLOAD = "{\"id\":\"evt_1\",\"object\":\"event\",\"type\":\"customer.subscription.updated\"}";
+
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+
+    @Mock
+    private StripeService stripeService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private WebhookInboxConfig webhookInboxConfig = new WebhookInboxConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private WebhookInboxService webhookInboxService;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        webhookInboxConfig.setMaxAttempts(3);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private WebhookEvent inboxEvent(int attempts) {
+        return WebhookEvent.builder()
+                .id(1L)
+                .eventId("evt_1")
+                .eventType("customer.subscription.updated")
+                .customerKey("cus_1")
+                .payload(PAYLOAD)
+                .status(WebhookEventStatus.PROCESSING)
+                .attempts(attempts)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Record tests")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Should record a new event keyed by its Stripe customer")
+        void shouldRecordNewEventKeyedByCustomer() {
+            var event = mock(Event.class);
+            var deserializer = mock(EventDataObjectDeserializer.class);
+            var subscription = mock(Subscription.class);
+            when(event.getId()).thenReturn("evt_1");
+            when(event.getType()).thenReturn("customer.subscription.updated");
+            when(event.getDataObjectDeserializer()).thenReturn(deserializer);
+            when(deserializer.getObject()).thenReturn(Optional.of(subscription));
+            when(subscription.getCustomer()).thenReturn("cus_1");
+            when(event.getCreated()).thenReturn(1_700_000_000L);
+
+            webhookInboxService.record(event, PAYLOAD);
+
+            var captor = ArgumentCaptor.forClass(WebhookEvent.class);
+            verify(webhookEventRepository).save(captor.capture());
+            assertThat(captor.getValue().getEventId()).isEqualTo("evt_1");
+            assertThat(captor.getValue().getCustomerKey()).isEqualTo("cus_1");
+            assertThat(captor.getValue().getStatus()).isEqualTo(WebhookEventStatus.PENDING);
+            assertThat(captor.getValue().getPayload()).isEqualTo(PAYLOAD);
+            assertThat(captor.getValue().getStripeCreatedAt())
+                    .isEqualTo(LocalDateTime.ofInstant(Instant.ofEpochSecond(1_700_000_000L), ZoneId.systemDefault()));
+            verifyNoInteractions(stripeService);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the event id when the event has no customer")
+        void shouldFallBackToEventIdWithoutCustomer() {
+            var event = mock(Event.class);
+            var deserializer = mock(EventDataObjectDeserializer.class);
+            when(event.getId()).thenReturn("evt_2");
+            when(event.getDataObjectDeserializer()).thenReturn(deserializer);
+            when(deserializer.getObject()).thenReturn(Optional.empty());
+
+            webhookInboxService.record(event, PAYLOAD);
+
+            var captor = ArgumentCaptor.forClass(WebhookEvent.class);
+            verify(webhookEventRepository).save(captor.capture());
+            assertThat(captor.getValue().getCustomerKey()).isEqualTo("evt_2");
+        }
+
+        @Test
+        @DisplayName("Should ignore a redelivered event")
+        void shouldIgnoreRedeliveredEvent() {
+            var event = mock(Event.class);
+            when(event.getId()).thenReturn("evt_1");
+            when(webhookEventRepository.existsByEventId("evt_1")).thenReturn(true);
+
+            webhookInboxService.record(event, PAYLOAD);
+
+            verify(webhookEventRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Process tests")
+    class ProcessTests {
+
+        @Test
+        @DisplayName("Should handle a claimed event and mark it processed")
+        void shouldHandleClaimedEvent() {
+            when(webhookEventRepository.claim(eq(1L), eq(now), any())).thenReturn(1);
+            when(webhookEventRepository.findById(1L)).thenReturn(Optional.of(inboxEvent(1)));
+            when(webhookEventRepository.markProcessed(eq(1L), eq(1), any())).thenReturn(1);
+
+            webhookInboxService.processEvent(1L, now);
+
+            var captor = ArgumentCaptor.forClass(Event.class);
+            verify(stripeService).handleWebhookEvent(captor.capture());
+            assertThat(captor.getValue().getId()).isEqualTo("evt_1");
+            assertThat(meterRegistry.counter(WebhookInboxService.EVENTS_METRIC, "result", "processed").count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should roll back handling when another worker reclaimed the event")
+        void shouldRollBackWhenLeaseLost() {
+            when(webhookEventRepository.claim(eq(1L), eq(now), any())).thenReturn(1);
+            when(webhookEventRepository.findById(1L)).thenReturn(Optional.of(inboxEvent(2)));
+            when(webhookEventRepository.markProcessed(eq(1L), eq(2), any())).thenReturn(0);
+
+            webhookInboxService.processEvent(1L, now);
+
+            assertThat(meterRegistry.counter(WebhookInboxService.EVENTS_METRIC, "result", "lease_lost").count()).isEqualTo(1.0);
+            assertThat(meterRegistry.counter(WebhookInboxService.EVENTS_METRIC, "result", "processed").count()).isZero();
+            verify(webhookEventRepository, never()).scheduleRetry(any(), anyInt(), any(), anyString());
+            verify(webhookEventRepository, never()).markDead(any(), anyInt(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should skip an event another worker already claimed")
+        void shouldSkipEventClaimedElsewhere() {
+            when(webhookEventRepository.claim(eq(1L), eq(now), any())).thenReturn(0);
+
+            webhookInboxService.processEvent(1L, now);
+
+            verify(webhookEventRepository, never()).findById(any());
+            verifyNoInteractions(stripeService);
+        }
+
+        @Test
+        @DisplayName("Should schedule a retry with backoff when handling fails")
+        void shouldScheduleRetryWhenHandlingFails() {
+            when(webhookEventRepository.claim(eq(1L), eq(now), any())).thenReturn(1);
+            when(webhookEventRepository.findById(1L)).thenReturn(Optional.of(inboxEvent(2)));
+            doThrow(new IllegalStateException("boom")).when(stripeService).handleWebhookEvent(any());
+
+            webhookInboxService.processEvent(1L, now);
+
+            var captor = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(webhookEventRepository).scheduleRetry(eq(1L), eq(2), captor.capture(), eq("IllegalStateException: boom"));
+            assertThat(captor.getValue()).isAfter(now.plusSeconds(59));
+            verify(webhookEventRepository, never()).markDead(any(), anyInt(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should dead-letter an event after the last attempt")
+        void shouldDeadLetterAfterLastAttempt() {
+            when(webhookEventRepository.claim(eq(1L), eq(now), any())).thenReturn(1);
+            when(webhookEventRepository.findById(1L)).thenReturn(Optional.of(inboxEvent(3)));
+            doThrow(new IllegalStateException("boom")).when(stripeService).handleWebhookEvent(any());
+
+            webhookInboxService.processEvent(1L, now);
+
+            verify(webhookEventRepository).markDead(1L, 3, "IllegalStateException: boom");
+            verify(webhookEventRepository, never()).scheduleRetry(any(), anyInt(), any(), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Prune tests")
+    class PruneTests {
+
+        @Test
+        @DisplayName("Should delete finished events in batches until a batch comes back short")
+        void shouldDeleteFinishedEventsInBatches() {
+            webhookInboxConfig.setPruneBatchSize(2);
+            when(webhookEventRepository.deleteFinishedBefore(eq("PROCESSED"), any(), eq(2))).thenReturn(2, 1);
+            when(webhookEventRepository.deleteFinishedBefore(eq("DEAD"), any(), eq(2))).thenReturn(0);
+
+            webhookInboxService.pruneFinishedEvents();
+
+            verify(webhookEventRepository, times(2)).deleteFinishedBefore(eq("PROCESSED"), any(), eq(2));
+            verify(webhookEventRepository).deleteFinishedBefore(eq("DEAD"), any(), eq(2));
+        }
+
+        @Test
+        @DisplayName("Should keep dead events longer than processed ones")
+        void shouldKeepDeadEventsLonger() {
+            when(webhookEventRepository.deleteFinishedBefore(anyString(), any(), anyInt())).thenReturn(0);
+
+            webhookInboxService.pruneFinishedEvents();
+
+            var processedCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+            var deadCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(webhookEventRepository).deleteFinishedBefore(eq("PROCESSED"), processedCutoff.capture(), anyInt());
+            verify(webhookEventRepository).deleteFinishedBefore(eq("DEAD"), deadCutoff.capture(), anyInt());
+            assertThat(deadCutoff.getValue()).isBefore(processedCutoff.getValue());
+            assertThat(processedCutoff.getValue()).isBefore(now.minusDays(29));
+        }
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per attempt up to the maximum")
+    void shouldDoubleBackoffUpToMaximum() {
+        assertThat(webhookInboxService.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(webhookInboxService.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(webhookInboxService.backoff(12)).isEqualTo(Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,216 @@
+package com.relyon.metasmart.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.relyon.metasmart.config.WeeklyDigestConfig;
+import com.relyon.metasmart.entity.notification.WeeklyDigestRange;
+import com.relyon.metasmart.entity.notification.dto.WeeklyDigest;
+import com.relyon.metasmart.repository.DailyActivityRollupRepository;
+import com.relyon.metasmart.repository.GoalRepository;
+import com.relyon.metasmart.repository.GuardianNudgeRepository;
+import com.relyon.metasmart.repository.MilestoneRepository;
+import com.relyon.metasmart.repository.StreakInfoRepository;
+import com.relyon.metasmart.repository.UserRepository;
+import com.relyon.metasmart.repository.WeeklyDigestRangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class WeeklyDigestServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-12T09:00:00Z");
+    private static final LocalDate WEEK_START = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private DailyActivityRollupRepository dailyActivityRollupRepository;
+
+    @Mock
+    private MilestoneRepository milestoneRepository;
+
+    @Mock
+    private GuardianNudgeRepository guardianNudgeRepository;
+
+    @Mock
+    private StreakInfoRepository streakInfoRepository;
+
+    @Mock
+    private WeeklyDigestRangeRepository weeklyDigestRangeRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private WeeklyDigestConfig weeklyDigestConfig = new WeeklyDigestConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private WeeklyDigestService weeklyDigestService;
+
+    @BeforeEach
+    void setUp() {
+        weeklyDigestConfig.setRangeSize(10);
+        weeklyDigestConfig.setParallelism(2);
+    }
+
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+
+    @Nested
+    @DisplayName("Send weekly digests")
+    class SendWeeklyDigestsTests {
+
+        @Test
+        @DisplayName("Should queue one digest per opted-in user with the range's aggregates")
+        void shouldQueueDigestsWithAggregates() {
+            runTransactionCallbacks();
+            when(userRepository.findMaxId()).thenReturn(5L);
+            when(weeklyDigestRangeRepository.findRangeStartsByWeekStart(WEEK_START)).thenReturn(List.of());
+            when(userRepository.findWeeklyDigestRecipients(0L, 10L, WEEK_START.plusWeeks(1).atStartOfDay()))
+                    .thenReturn(rows(new Object[]{1L, "One", "one@test.com"}, new Object[]{2L, "Two", "two@test.com"}));
+            when(goalRepository.countActiveByOwnerRange(0L, 10L))
+                    .thenReturn(rows(new Object[]{1L, 3L}, new Object[]{4L, 7L}));
+            when(dailyActivityRollupRepository.summarizeWeek(0L, 10L, WEEK_START.minusWeeks(1), WEEK_START, WEEK_START.plusWeeks(1)))
+                    .thenReturn(rows(new Object[]{1L, 4L, 6L, 3, 1}));
+            when(milestoneRepository.countAchievedByOwnerRange(0L, 10L, WEEK_START.atStartOfDay(), WEEK_START.plusWeeks(1).atStartOfDay()))
+                    .thenReturn(rows(new Object[]{2L, 2L}));
+            when(guardianNudgeRepository.countReceivedByOwnerRange(0L, 10L, WEEK_START.atStartOfDay(), WEEK_START.plusWeeks(1).atStartOfDay()))
+                    .thenReturn(rows(new Object[]{1L, 1L}));
+            when(streakInfoRepository.findUserStreaksInRange(0L, 10L))
+                    .thenReturn(rows(new Object[]{1L, 5, 8}));
+
+            weeklyDigestService.sendWeeklyDigests(NOW);
+
+            var digestCaptor = ArgumentCaptor.forClass(WeeklyDigest.class);
+            verify(emailService).sendWeeklyDigestEmail(eq("one@test.com"), eq("One"), digestCaptor.capture());
+            var first = digestCaptor.getValue();
+            assertThat(first.getWeekStart()).isEqualTo(WEEK_START);
+            assertThat(first.getActiveGoals()).isEqualTo(3);
+            assertThat(first.getProgressEntries()).isEqualTo(4);
+            assertThat(first.getTaskCompletions()).isEqualTo(6);
+            assertThat(first.getActiveDaysChange()).isEqualTo(2);
+            assertThat(first.getCurrentStreak()).isEqualTo(5);
+            assertThat(first.getBestStreak()).isEqualTo(8);
+            assertThat(first.getNudgesReceived()).isEqualTo(1);
+            assertThat(first.getMilestonesAchieved()).isZero();
+
+            verify(emailService).sendWeeklyDigestEmail(eq("two@test.com"), eq("Two"), digestCaptor.capture());
+            var second = digestCaptor.getValue();
+            assertThat(second.getMilestonesAchieved()).isEqualTo(2);
+            assertThat(second.getActiveGoals()).isZero();
+
+            var rangeCaptor = ArgumentCaptor.forClass(WeeklyDigestRange.class);
+            verify(weeklyDigestRangeRepository).save(rangeCaptor.capture());
+            assertThat(rangeCaptor.getValue().getRangeStart()).isZero();
+            assertThat(rangeCaptor.getValue().getRangeEnd()).isEqualTo(10L);
+            assertThat(rangeCaptor.getValue().getDigestsQueued()).isEqualTo(2);
+            assertThat(meterRegistry.counter(WeeklyDigestService.DIGESTS_QUEUED_METRIC).count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should skip ranges already recorded for the week")
+        void shouldSkipRecordedRanges() {
+            runTransactionCallbacks();
+            when(userRepository.findMaxId()).thenReturn(25L);
+            when(weeklyDigestRangeRepository.findRangeStartsByWeekStart(WEEK_START)).thenReturn(List.of(0L, 20L));
+            when(userRepository.findWeeklyDigestRecipients(eq(10L), eq(20L), any())).thenReturn(List.of());
+
+            weeklyDigestService.sendWeeklyDigests(NOW);
+
+            verify(userRepository, times(1)).findWeeklyDigestRecipients(anyLong(), anyLong(), any());
+            verify(weeklyDigestRangeRepository).save(any(WeeklyDigestRange.class));
+        }
+
+        @Test
+        @DisplayName("Should record a range without recipients and skip its aggregates")
+        void shouldRecordEmptyRange() {
+            runTransactionCallbacks();
+            when(userRepository.findMaxId()).thenReturn(5L);
+            when(weeklyDigestRangeRepository.findRangeStartsByWeekStart(WEEK_START)).thenReturn(List.of());
+            when(userRepository.findWeeklyDigestRecipients(eq(0L), eq(10L), any())).thenReturn(List.of());
+
+            weeklyDigestService.sendWeeklyDigests(NOW);
+
+            verifyNoInteractions(goalRepository, dailyActivityRollupRepository, milestoneRepository,
+                    guardianNudgeRepository, streakInfoRepository, emailService);
+            var rangeCaptor = ArgumentCaptor.forClass(WeeklyDigestRange.class);
+            verify(weeklyDigestRangeRepository).save(rangeCaptor.capture());
+            assertThat(rangeCaptor.getValue().getDigestsQueued()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should leave a failed range unrecorded and continue with the others")
+        void shouldContinueAfterFailedRange() {
+            runTransactionCallbacks();
+            when(userRepository.findMaxId()).thenReturn(15L);
+            when(weeklyDigestRangeRepository.findRangeStartsByWeekStart(WEEK_START)).thenReturn(List.of());
+            when(userRepository.findWeeklyDigestRecipients(eq(0L), eq(10L), any()))
+                    .thenThrow(new IllegalStateException("Connection reset"));
+            when(userRepository.findWeeklyDigestRecipients(eq(10L), eq(20L), any())).thenReturn(List.of());
+
+            weeklyDigestService.sendWeeklyDigests(NOW);
+
+            var rangeCaptor = ArgumentCaptor.forClass(WeeklyDigestRange.class);
+            verify(weeklyDigestRangeRepository).save(rangeCaptor.capture());
+            assertThat(rangeCaptor.getValue().getRangeStart()).isEqualTo(10L);
+            assertThat(meterRegistry.counter(WeeklyDigestService.FAILED_RANGES_METRIC).count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should do nothing when there are no users")
+        void shouldDoNothingWithoutUsers() {
+            when(userRepository.findMaxId()).thenReturn(null);
+
+            weeklyDigestService.sendWeeklyDigests(NOW);
+
+            verifyNoInteractions(weeklyDigestRangeRepository, transactionTemplate);
+            verify(emailService, never()).sendWeeklyDigestEmail(anyString(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should not run when disabled")
+        void shouldNotRunWhenDisabled() {
+            weeklyDigestConfig.setEnabled(false);
+
+            weeklyDigestService.sendWeeklyDigests();
+
+            verifyNoInteractions(userRepository, weeklyDigestRangeRepository, transactionTemplate);
+        }
+    }
+}